@@ -0,0 +1,243 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.hardware.camera2.CameraCaptureSession;
+import android.hardware.camera2.CaptureFailure;
+import android.hardware.camera2.CaptureRequest;
+import android.media.Image;
+import android.media.ImageReader;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the JPEG images of a single burst capture and reports them in capture order once every
+ * frame has either been processed or failed.
+ *
+ * <p>Each image is handed off as soon as it arrives, so the picture image reader is freed while the
+ * rest of the burst is still being captured: in memory mode the bytes are copied out right away, and
+ * in file mode the image is written on the I/O executor.
+ *
+ * <p>Images and capture callbacks are delivered on the camera background thread, while file writes
+ * complete on the I/O thread, so the bookkeeping is synchronized.
+ */
+final class BurstCapture implements ImageReader.OnImageAvailableListener {
+  /** Used to report the outcome of the burst. */
+  interface Callback {
+    /**
+     * Called once every frame of the burst has been handled and at least one succeeded.
+     *
+     * @param frames the successful frames, ordered by sensor timestamp.
+     */
+    void onComplete(@NonNull List<Messages.PlatformBurstFrame> frames);
+
+    /**
+     * Called when no frame of the burst could be captured.
+     *
+     * @param errorCode - The error code.
+     * @param errorMessage - The human readable error message.
+     */
+    void onError(@NonNull String errorCode, @Nullable String errorMessage);
+  }
+
+  private final int count;
+  private final boolean toMemory;
+  @Nullable private final File outputDir;
+  private final CaptureExecutors captureExecutors;
+  private final Callback callback;
+
+  private final List<Messages.PlatformBurstFrame> frames = new ArrayList<>();
+  private int failedFrames;
+  @Nullable private String lastErrorCode;
+  @Nullable private String lastErrorMessage;
+  private boolean finished;
+
+  /** Counts capture requests the camera failed to produce an image for. */
+  final CameraCaptureSession.CaptureCallback captureCallback =
+      new CameraCaptureSession.CaptureCallback() {
+        @Override
+        public void onCaptureFailed(
+            @NonNull CameraCaptureSession session,
+            @NonNull CaptureRequest request,
+            @NonNull CaptureFailure failure) {
+          // Only the metadata was lost when the image was captured, and the image still arrives.
+          if (failure.wasImageCaptured()) {
+            return;
+          }
+          onFrameFailed("captureFailed", "Burst frame failed with reason " + failure.getReason());
+        }
+
+        @Override
+        public void onCaptureBufferLost(
+            @NonNull CameraCaptureSession session,
+            @NonNull CaptureRequest request,
+            @NonNull Surface target,
+            long frameNumber) {
+          onFrameFailed("bufferLost", "The image of burst frame " + frameNumber + " was lost.");
+        }
+
+        @Override
+        public void onCaptureSequenceAborted(
+            @NonNull CameraCaptureSession session, int sequenceId) {
+          onAborted();
+        }
+      };
+
+  /**
+   * Creates a new burst.
+   *
+   * @param count the number of requests in the burst.
+   * @param toMemory whether frames are returned as bytes rather than saved to files.
+   * @param outputDir the directory files are saved to, when not capturing to memory.
+   * @param captureExecutors the executors that files are written on.
+   * @param callback the callback that is run once the burst is done.
+   */
+  BurstCapture(
+      int count,
+      boolean toMemory,
+      @Nullable File outputDir,
+      @NonNull CaptureExecutors captureExecutors,
+      @NonNull Callback callback) {
+    this.count = count;
+    this.toMemory = toMemory;
+    this.outputDir = outputDir;
+    this.captureExecutors = captureExecutors;
+    this.callback = callback;
+  }
+
+  @Override
+  public void onImageAvailable(@NonNull ImageReader reader) {
+    Image image = reader.acquireNextImage();
+    if (image == null) {
+      return;
+    }
+    onImage(image);
+  }
+
+  /** Hands a JPEG image of the burst off for processing. */
+  @VisibleForTesting
+  void onImage(@NonNull Image image) {
+    synchronized (this) {
+      // Images that arrive after the burst timed out are no longer reported.
+      if (finished) {
+        image.close();
+        return;
+      }
+    }
+    final long timestamp = image.getTimestamp();
+    final long width = image.getWidth();
+    final long height = image.getHeight();
+
+    if (toMemory) {
+      try {
+        ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        onFrameCompleted(
+            new Messages.PlatformBurstFrame.Builder()
+                .setSensorTimestamp(timestamp)
+                .setBytes(bytes)
+                .setWidth(width)
+                .setHeight(height)
+                .build());
+      } catch (IllegalStateException e) {
+        onFrameFailed("processError", e.getMessage());
+      } finally {
+        image.close();
+      }
+      return;
+    }
+
+    final File file;
+    try {
+      file = CaptureFiles.create(outputDir, "CAP", ".jpg");
+    } catch (IOException | SecurityException e) {
+      image.close();
+      onFrameFailed("cannotCreateFile", e.getMessage());
+      return;
+    }
+    captureExecutors.executeIo(
+        new ImageSaver(
+            image,
+            file,
+            new ImageSaver.Callback() {
+              @Override
+              public void onComplete(@NonNull String absolutePath) {
+                onFrameCompleted(
+                    new Messages.PlatformBurstFrame.Builder()
+                        .setSensorTimestamp(timestamp)
+                        .setPath(absolutePath)
+                        .setWidth(width)
+                        .setHeight(height)
+                        .build());
+              }
+
+              @Override
+              public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+                onFrameFailed(errorCode, errorMessage);
+              }
+            }));
+  }
+
+  private synchronized void onFrameCompleted(@NonNull Messages.PlatformBurstFrame frame) {
+    frames.add(frame);
+    finishIfDone();
+  }
+
+  /** Counts a frame that will not produce a result. */
+  @VisibleForTesting
+  synchronized void onFrameFailed(@NonNull String errorCode, @Nullable String errorMessage) {
+    failedFrames++;
+    lastErrorCode = errorCode;
+    lastErrorMessage = errorMessage;
+    finishIfDone();
+  }
+
+  /** Called when the camera aborts the burst before producing any of its frames. */
+  private synchronized void onAborted() {
+    failedFrames = count - frames.size();
+    lastErrorCode = "captureAborted";
+    lastErrorMessage = "The burst was aborted.";
+    finishIfDone();
+  }
+
+  /**
+   * Called when the burst has taken too long, failing every frame that has not completed yet so
+   * that the burst finishes even when the camera never reports some of its images.
+   */
+  synchronized void onTimeout() {
+    if (finished) {
+      return;
+    }
+    failedFrames = count - frames.size();
+    lastErrorCode = "captureTimeout";
+    lastErrorMessage = "The burst timed out before every frame was captured.";
+    finishIfDone();
+  }
+
+  private void finishIfDone() {
+    if (finished || frames.size() + failedFrames < count) {
+      return;
+    }
+    finished = true;
+    if (frames.isEmpty()) {
+      callback.onError(
+          lastErrorCode == null ? "captureFailed" : lastErrorCode, lastErrorMessage);
+      return;
+    }
+    // Files may finish writing out of order, but the sensor timestamps give the capture order.
+    Collections.sort(
+        frames, (a, b) -> Long.compare(a.getSensorTimestamp(), b.getSensorTimestamp()));
+    callback.onComplete(new ArrayList<>(frames));
+  }
+}
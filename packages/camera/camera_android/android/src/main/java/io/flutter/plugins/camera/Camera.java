@@ -7,6 +7,7 @@ package io.flutter.plugins.camera;
 import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.graphics.ImageFormat;
 import android.graphics.SurfaceTexture;
@@ -23,11 +24,13 @@ import android.media.CamcorderProfile;
 import android.media.EncoderProfiles;
 import android.media.Image;
 import android.media.ImageReader;
+import android.media.MediaCodec;
 import android.media.MediaRecorder;
 import android.os.Build.VERSION_CODES;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.Range;
 import android.util.Size;
@@ -57,7 +60,10 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
 import io.flutter.plugins.camera.media.ImageStreamReader;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
+import io.flutter.plugins.camera.media.ImageStreamTransport;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
@@ -66,9 +72,12 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 @FunctionalInterface
 interface ErrorCallback {
@@ -80,6 +89,17 @@ class Camera
         ImageReader.OnImageAvailableListener {
   private static final String TAG = "Camera";
 
+  /** The most still images a single burst capture may take. */
+  public static final int MAX_BURST_SIZE = 10;
+
+  /** How long a burst capture may take besides {@link #BURST_FRAME_TIMEOUT_MS} per frame. */
+  private static final long BURST_TIMEOUT_MS = 3000;
+  /** How much longer a burst capture may take for each of its frames. */
+  private static final long BURST_FRAME_TIMEOUT_MS = 1000;
+
+  /** A memory trim level above every level the system reports, for actions never to take. */
+  public static final int NEVER_TRIM_LEVEL = Integer.MAX_VALUE;
+
   /**
    * Holds all of the camera features/settings and will be used to update the request builder when
    * one changes.
@@ -115,12 +135,67 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /** Processes and saves still captures off the background thread. */
+  private final CaptureExecutors captureExecutors;
+
   CameraDeviceWrapper cameraDevice;
   CameraCaptureSession captureSession;
   @VisibleForTesting ImageReader pictureImageReader;
   ImageStreamReader imageStreamReader;
+  /** How image stream frames are delivered while Dart is busy. */
+  private ImageStreamDeliveryPolicy imageStreamDeliveryPolicy =
+      ImageStreamReader.DEFAULT_DELIVERY_POLICY;
+  /** How many image stream frames may be waiting on Dart when using a bounded queue. */
+  private int imageStreamMaxPendingFrames = ImageStreamReader.DEFAULT_MAX_PENDING_FRAMES;
+  /** How many images the image stream reader should hold. */
+  private int imageStreamBufferCount = ImageStreamReader.DEFAULT_MAX_IMAGES;
+  /** How the planes of image stream frames are transferred to Dart. */
+  private ImageStreamTransport imageStreamTransport = ImageStreamTransport.MESSAGE_CHANNEL;
+  /** The highest frame rate image stream frames are sent at, or 0 for no limit. */
+  private double imageStreamMaxFramesPerSecond;
+  /** Only every nth image stream frame is sent. */
+  private int imageStreamFrameStride = 1;
+  /** Which part of each image stream frame is sent to Dart. */
+  private ImageStreamRegion imageStreamRegion = ImageStreamRegion.FULL_FRAME;
+  /** How many images the current image stream reader was created with. */
+  private int imageStreamReaderBufferCount = ImageStreamReader.DEFAULT_MAX_IMAGES;
+  /** The lowest memory trim level at which pooled buffers are released. */
+  private int releaseBuffersTrimLevel = ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW;
+  /** The lowest memory trim level at which the image stream is paused. */
+  private int pauseImageStreamTrimLevel = ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN;
+  /** True after buffers were released for memory pressure, until the pressure is relieved. */
+  private boolean memoryTrimmed;
+  /** True while the image stream is paused for memory pressure. */
+  private boolean imageStreamPausedForMemory;
+  /** Whether preview sessions keep recent frames for zero shutter lag captures to memory. */
+  private boolean zeroShutterLagEnabled;
+  /** The recent preview frames, created once zero shutter lag is first used. */
+  @Nullable private ZeroShutterLagRing zeroShutterLagRing;
+  /** True when the current session feeds {@link #zeroShutterLagRing}. */
+  private boolean zeroShutterLagSessionActive;
+  /** Whether still captures skip the focus and precapture sequence once the preview converged. */
+  private boolean fastCaptureEnabled;
+  /** Whether pictures taken to a file are forced to storage before the capture completes. */
+  private boolean syncPictureFilesEnabled;
+  /** Where {@link #takePicture} saves pictures. */
+  @NonNull private PictureDestination pictureDestination = PictureDestination.CACHE_FILE;
+  /** True when the picture being taken is saved to the media store rather than to a file. */
+  private boolean captureToMediaStore;
+  /** Whether preview sessions are configured with the outputs of every mode up front. */
+  private boolean supersetSessionEnabled;
+  /** True when the current session has every output, so switching modes only changes targets. */
+  @VisibleForTesting boolean supersetSessionActive;
+  /** The persistent surface recordings are encoded from, once a superset session has been used. */
+  @VisibleForTesting @Nullable Surface recorderInputSurface;
+  /** The surface the preview is rendered to in the current session. */
+  @Nullable private Surface previewSurface;
   /** {@link CaptureRequest.Builder} for the camera preview */
   CaptureRequest.Builder previewRequestBuilder;
+  /**
+   * {@link CaptureRequest.Builder} for still captures in the current session, which is reused so
+   * that only the features that changed since the last capture have to update it.
+   */
+  @VisibleForTesting @Nullable CaptureRequest.Builder stillRequestBuilder;
 
   @VisibleForTesting MediaRecorder mediaRecorder;
   /** True when recording video. */
@@ -137,6 +212,34 @@ class Camera
 
   Messages.Result<String> flutterResult;
   Messages.Result<Messages.PlatformCapturedImageData> flutterResultMemory;
+  /** The sizes requested by the pending captureToMemory call, or null for the full capture. */
+  @Nullable private Messages.PlatformCaptureToMemoryOptions captureToMemoryOptions;
+
+  private final CaptureMetrics captureMetrics = new CaptureMetrics();
+  /** Measures how long opening the camera takes, up to the first preview frame. */
+  private final StartupTrace startupTrace = new StartupTrace();
+  /** True once the camera has been closed, so that pending startup work is dropped. */
+  private volatile boolean closed;
+  /**
+   * Guards {@link #closed} against the readers being assigned on the background thread, so that
+   * readers allocated while the camera is closed are released rather than leaked.
+   */
+  private final Object readerLock = new Object();
+  /** Submits the repeating request changes made by the camera controls once per frame. */
+  private final RepeatingRequestCoalescer repeatingRequestCoalescer;
+  /** Follows the pending still capture through its stages, if one has been requested. */
+  @Nullable private CaptureMetrics.Trace captureTrace;
+  /** The camera being switched to while recording, until it replaces the current camera. */
+  @Nullable private CameraSwitch pendingCameraSwitch;
+  /**
+   * Guards {@link #pendingCameraSwitch}, which is started and cancelled on the platform thread and
+   * completed on the background thread, so that the camera is not replaced while it is closed.
+   */
+  private final Object cameraSwitchLock = new Object();
+  /** The camera that was replaced while recording, until it has been closed. */
+  @Nullable private CameraDeviceWrapper retiredCameraDevice;
+  /** The preview output of the current session, which waits for the replaced camera to close. */
+  @Nullable private OutputConfiguration deferredPreviewOutput;
 
   /** A CameraDeviceWrapper implementation that forwards calls to a CameraDevice. */
   private class DefaultCameraDeviceWrapper implements CameraDeviceWrapper {
@@ -208,6 +311,24 @@ class Camera
       final DartMessenger dartMessenger,
       final CameraProperties cameraProperties,
       final VideoCaptureSettings videoCaptureSettings) {
+    this(
+        activity,
+        flutterTexture,
+        cameraFeatureFactory,
+        dartMessenger,
+        cameraProperties,
+        videoCaptureSettings,
+        new CaptureExecutors());
+  }
+
+  public Camera(
+      final Activity activity,
+      final SurfaceTextureEntry flutterTexture,
+      final CameraFeatureFactory cameraFeatureFactory,
+      final DartMessenger dartMessenger,
+      final CameraProperties cameraProperties,
+      final VideoCaptureSettings videoCaptureSettings,
+      final CaptureExecutors captureExecutors) {
 
     if (activity == null) {
       throw new IllegalStateException("No activity available!");
@@ -219,6 +340,7 @@ class Camera
     this.cameraProperties = cameraProperties;
     this.cameraFeatureFactory = cameraFeatureFactory;
     this.videoCaptureSettings = videoCaptureSettings;
+    this.captureExecutors = captureExecutors;
     this.cameraFeatures =
         CameraFeatures.init(
             cameraFeatureFactory,
@@ -232,11 +354,21 @@ class Camera
     captureProps = new CameraCaptureProperties();
     cameraCaptureCallback = CameraCaptureCallback.create(this, captureTimeouts, captureProps);
 
+    // Controls are set from the platform thread, so their updates are coalesced on it as well.
+    repeatingRequestCoalescer =
+        new RepeatingRequestCoalescer(
+            HandlerFactory.create(Looper.getMainLooper()), this::submitRepeatingRequest);
+
     startBackgroundThread();
   }
 
   @Override
   public void onConverged() {
+    markCaptureStage(
+        captureTrace,
+        cameraCaptureCallback.getCameraState() == CameraState.STATE_WAITING_FOCUS
+            ? Messages.PlatformCaptureStage.AUTO_FOCUS
+            : Messages.PlatformCaptureStage.PRECAPTURE);
     if (flutterResultMemory != null) {
       captureToMemoryAfterPrecapture();
     } else {
@@ -246,16 +378,18 @@ class Camera
 
   @Override
   public void onPrecapture() {
+    markCaptureStage(captureTrace, Messages.PlatformCaptureStage.AUTO_FOCUS);
     runPrecaptureSequence();
   }
 
   /**
-   * Updates the builder settings with all of the available features.
+   * Updates the builder settings with the features that changed since they were last applied to
+   * it, which is all of the available features for a new builder.
    *
    * @param requestBuilder request builder to update.
    */
   void updateBuilderSettings(CaptureRequest.Builder requestBuilder) {
-    for (CameraFeature<?> feature : cameraFeatures.getAllFeatures()) {
+    for (CameraFeature<?> feature : cameraFeatures.takeChangedFeatures(requestBuilder)) {
       if (BuildConfig.DEBUG) {
         Log.d(TAG, "Updating builder with feature: " + feature.getDebugName());
       }
@@ -264,6 +398,11 @@ class Camera
   }
 
   private void prepareMediaRecorder(String outputFilePath) throws IOException {
+    prepareMediaRecorder(outputFilePath, videoCaptureSettings.enableAudio);
+  }
+
+  private void prepareMediaRecorder(String outputFilePath, boolean enableAudio)
+      throws IOException {
     Log.i(TAG, "prepareMediaRecorder");
 
     if (mediaRecorder != null) {
@@ -300,7 +439,8 @@ class Camera
 
     mediaRecorder =
         mediaRecorderBuilder
-            .setEnableAudio(videoCaptureSettings.enableAudio)
+            .setEnableAudio(enableAudio)
+            .setInputSurface(recorderInputSurface)
             .setMediaOrientation(
                 lockedOrientation == null
                     ? getDeviceOrientationManager().getVideoOrientation()
@@ -312,7 +452,8 @@ class Camera
    * Updates the FpsRange camera features with the appropriate FPS range. It sets the minimum and
    * maximum fps range to the same value, as that's what is recommended for video recording.
    */
-  private void setFpsCameraFeatureForRecording(CameraProperties cameraProperties) {
+  private void setFpsCameraFeatureForRecording(
+      CameraFeatures cameraFeatures, CameraProperties cameraProperties) {
     Integer recordingFps = null;
 
     if (videoCaptureSettings.fps != null && videoCaptureSettings.fps.intValue() > 0) {
@@ -334,7 +475,7 @@ class Camera
 
       final FpsRangeFeature fpsRange = new FpsRangeFeature(cameraProperties);
       fpsRange.setValue(new Range<Integer>(recordingFps, recordingFps));
-      this.cameraFeatures.setFpsRange(fpsRange);
+      cameraFeatures.setFpsRange(fpsRange);
     }
   }
 
@@ -354,29 +495,54 @@ class Camera
       return;
     }
 
-    // Always capture using JPEG format.
-    pictureImageReader =
-        ImageReader.newInstance(
-            resolutionFeature.getCaptureSize().getWidth(),
-            resolutionFeature.getCaptureSize().getHeight(),
-            ImageFormat.JPEG,
-            1);
+    closed = false;
+    startupTrace.start();
+    cameraCaptureCallback.setFirstResultCallback(startupTrace::markFirstFrame);
 
-    imageStreamReader =
-        new ImageStreamReader(
-            resolutionFeature.getPreviewSize().getWidth(),
-            resolutionFeature.getPreviewSize().getHeight(),
-            this.imageFormatGroup,
-            1);
+    // Allocate the readers on the background thread while the camera service opens the device on
+    // this one. The device callbacks are delivered on the background thread as well, so they
+    // always run after the readers have been allocated.
+    backgroundHandler.post(
+        () -> {
+          if (closed) {
+            return;
+          }
+          // Always capture using JPEG format. The reader is sized for a full burst; buffers are
+          // only allocated as they are needed, so single captures still use one, and the ones a
+          // burst allocated are discarded when memory is trimmed.
+          ImageReader newPictureImageReader =
+              ImageReader.newInstance(
+                  resolutionFeature.getCaptureSize().getWidth(),
+                  resolutionFeature.getCaptureSize().getHeight(),
+                  ImageFormat.JPEG,
+                  MAX_BURST_SIZE);
+          ImageStreamReader newImageStreamReader = newImageStreamReader();
+
+          synchronized (readerLock) {
+            // The camera may have been closed while the readers were allocated.
+            if (closed) {
+              newPictureImageReader.close();
+              newImageStreamReader.close();
+              return;
+            }
+            // A camera that is switched to while recording replaces the readers of the former one.
+            closeImageReaders();
+            pictureImageReader = newPictureImageReader;
+            imageStreamReader = newImageStreamReader;
+            imageStreamReaderBufferCount = getEffectiveImageStreamBufferCount();
+          }
+        });
 
     // Open the camera.
     CameraManager cameraManager = CameraUtils.getCameraManager(activity);
     cameraManager.openCamera(
         cameraProperties.getCameraName(),
-        new CameraDevice.StateCallback() {
+        new DeviceStateCallback() {
           @Override
           public void onOpened(@NonNull CameraDevice device) {
-            cameraDevice = new DefaultCameraDeviceWrapper(device);
+            startupTrace.markDeviceOpened();
+            openedDevice = new DefaultCameraDeviceWrapper(device);
+            cameraDevice = openedDevice;
             try {
               // only send initialization if we werent already recording and switching cameras
               Runnable onSuccess =
@@ -403,55 +569,74 @@ class Camera
               close();
             }
           }
+        },
+        backgroundHandler);
+  }
 
-          @Override
-          public void onClosed(@NonNull CameraDevice camera) {
-            Log.i(TAG, "open | onClosed");
+  /**
+   * Handles a camera device being closed, disconnected or failing while it is the current camera.
+   * Once a camera switch while recording has replaced the device, it is only waited on to close.
+   */
+  private abstract class DeviceStateCallback extends CameraDevice.StateCallback {
+    /** The device, once it has been opened. */
+    @Nullable CameraDeviceWrapper openedDevice;
 
-            // Prevents calls to methods that would otherwise result in IllegalStateException
-            // exceptions.
-            cameraDevice = null;
-            closeCaptureSession();
-            dartMessenger.sendCameraClosingEvent();
-          }
+    @Override
+    public void onClosed(@NonNull CameraDevice camera) {
+      Log.i(TAG, "open | onClosed");
+      if (openedDevice != null && openedDevice == retiredCameraDevice) {
+        onRetiredCameraClosed();
+        return;
+      }
 
-          @Override
-          public void onDisconnected(@NonNull CameraDevice cameraDevice) {
-            Log.i(TAG, "open | onDisconnected");
+      // Prevents calls to methods that would otherwise result in IllegalStateException
+      // exceptions.
+      cameraDevice = null;
+      closeCaptureSession();
+      dartMessenger.sendCameraClosingEvent();
+    }
 
-            close();
-            dartMessenger.sendCameraErrorEvent("The camera was disconnected.");
-          }
+    @Override
+    public void onDisconnected(@NonNull CameraDevice cameraDevice) {
+      Log.i(TAG, "open | onDisconnected");
+      if (openedDevice != null && openedDevice == retiredCameraDevice) {
+        return;
+      }
 
-          @Override
-          public void onError(@NonNull CameraDevice cameraDevice, int errorCode) {
-            Log.i(TAG, "open | onError");
-
-            close();
-            String errorDescription;
-            switch (errorCode) {
-              case ERROR_CAMERA_IN_USE:
-                errorDescription = "The camera device is in use already.";
-                break;
-              case ERROR_MAX_CAMERAS_IN_USE:
-                errorDescription = "Max cameras in use";
-                break;
-              case ERROR_CAMERA_DISABLED:
-                errorDescription = "The camera device could not be opened due to a device policy.";
-                break;
-              case ERROR_CAMERA_DEVICE:
-                errorDescription = "The camera device has encountered a fatal error";
-                break;
-              case ERROR_CAMERA_SERVICE:
-                errorDescription = "The camera service has encountered a fatal error.";
-                break;
-              default:
-                errorDescription = "Unknown camera error";
-            }
-            dartMessenger.sendCameraErrorEvent(errorDescription);
-          }
-        },
-        backgroundHandler);
+      close();
+      dartMessenger.sendCameraErrorEvent("The camera was disconnected.");
+    }
+
+    @Override
+    public void onError(@NonNull CameraDevice cameraDevice, int errorCode) {
+      Log.i(TAG, "open | onError");
+      if (openedDevice != null && openedDevice == retiredCameraDevice) {
+        return;
+      }
+
+      close();
+      String errorDescription;
+      switch (errorCode) {
+        case ERROR_CAMERA_IN_USE:
+          errorDescription = "The camera device is in use already.";
+          break;
+        case ERROR_MAX_CAMERAS_IN_USE:
+          errorDescription = "Max cameras in use";
+          break;
+        case ERROR_CAMERA_DISABLED:
+          errorDescription = "The camera device could not be opened due to a device policy.";
+          break;
+        case ERROR_CAMERA_DEVICE:
+          errorDescription = "The camera device has encountered a fatal error";
+          break;
+        case ERROR_CAMERA_SERVICE:
+          errorDescription = "The camera service has encountered a fatal error.";
+          break;
+        default:
+          errorDescription = "Unknown camera error";
+      }
+      dartMessenger.sendCameraErrorEvent(errorDescription);
+    }
   }
 
   @VisibleForTesting
@@ -462,8 +647,18 @@ class Camera
   private void createCaptureSession(
       int templateType, Runnable onSuccessCallback, Surface... surfaces)
       throws CameraAccessException {
+    createCaptureSession(templateType, false, onSuccessCallback, surfaces);
+  }
+
+  private void createCaptureSession(
+      int templateType, boolean superset, Runnable onSuccessCallback, Surface... surfaces)
+      throws CameraAccessException {
     // Close any existing capture session.
     captureSession = null;
+    stillRequestBuilder = null;
+    supersetSessionActive = superset;
+    repeatingRequestCoalescer.failAll(
+        "cameraAccess", "The capture session was replaced before the setting was applied.");
 
     // Create a new capture builder.
     previewRequestBuilder = cameraDevice.createCaptureRequest(templateType);
@@ -476,6 +671,7 @@ class Camera
         resolutionFeature.getPreviewSize().getHeight());
     Surface flutterSurface = new Surface(surfaceTexture);
     previewRequestBuilder.addTarget(flutterSurface);
+    previewSurface = flutterSurface;
 
     List<Surface> remainingSurfaces = Arrays.asList(surfaces);
     if (templateType != CameraDevice.TEMPLATE_PREVIEW) {
@@ -491,12 +687,28 @@ class Camera
       }
     }
 
+    // The zero shutter lag ring is only part of preview sessions, and needs every preview frame.
+    zeroShutterLagSessionActive =
+        zeroShutterLagRing != null && remainingSurfaces.contains(zeroShutterLagRing.getSurface());
+    if (zeroShutterLagSessionActive) {
+      previewRequestBuilder.addTarget(zeroShutterLagRing.getSurface());
+      cameraCaptureCallback.setCaptureResultListener(zeroShutterLagRing);
+    } else if (zeroShutterLagRing != null) {
+      cameraCaptureCallback.setCaptureResultListener(null);
+      zeroShutterLagRing.clear();
+    }
+
+    // Focus and exposure have to converge again in the new session before a fast capture.
+    cameraCaptureCallback.resetConvergence();
+
     // Update camera regions.
     Size cameraBoundaries =
         CameraRegionUtils.getCameraBoundaries(cameraProperties, previewRequestBuilder);
     cameraFeatures.getExposurePoint().setCameraBoundaries(cameraBoundaries);
     cameraFeatures.getFocusPoint().setCameraBoundaries(cameraBoundaries);
 
+    final boolean zeroShutterLag = zeroShutterLagSessionActive;
+
     // Prepare the callback.
     CameraCaptureSession.StateCallback callback =
         new CameraCaptureSession.StateCallback() {
@@ -511,6 +723,7 @@ class Camera
               return;
             }
             captureSession = session;
+            startupTrace.markSessionConfigured();
 
             Log.i(TAG, "Updating builder settings");
             updateBuilderSettings(previewRequestBuilder);
@@ -522,6 +735,32 @@ class Camera
           @Override
           public void onConfigureFailed(@NonNull CameraCaptureSession cameraCaptureSession) {
             Log.i(TAG, "CameraCaptureSession onConfigureFailed");
+            if (superset) {
+              // Not every device supports the outputs of every mode at once, so fall back to
+              // sessions with only the outputs of the current mode.
+              Log.w(TAG, "Superset session not supported, using a session per mode");
+              supersetSessionEnabled = false;
+              supersetSessionActive = false;
+              try {
+                startRegularPreview(onSuccessCallback);
+              } catch (CameraAccessException e) {
+                dartMessenger.sendCameraErrorEvent(e.getMessage());
+              }
+              return;
+            }
+            if (zeroShutterLag) {
+              // A full-size YUV stream next to the preview and JPEG streams is only a guaranteed
+              // combination from LEVEL_3, so fall back to sessions without the ring.
+              Log.w(TAG, "Zero shutter lag session not supported, using a regular session");
+              zeroShutterLagEnabled = false;
+              closeZeroShutterLagRing();
+              try {
+                startRegularPreview(onSuccessCallback);
+              } catch (CameraAccessException e) {
+                dartMessenger.sendCameraErrorEvent(e.getMessage());
+              }
+              return;
+            }
             dartMessenger.sendCameraErrorEvent("Failed to configure camera session.");
           }
 
@@ -600,12 +839,48 @@ class Camera
     }
   }
 
+  /**
+   * Applies a control's feature to the repeating request, coalescing rapid changes such as zoom
+   * gestures into at most one new repeating request per preview frame.
+   */
+  private void updateRepeatingRequest(
+      @NonNull CameraFeature<?> feature,
+      @NonNull Runnable onApplied,
+      @NonNull ErrorCallback onError) {
+    Range<Integer> fpsRange = cameraFeatures.getFpsRange().getValue();
+    Integer maxFps = fpsRange == null ? null : fpsRange.getUpper();
+    repeatingRequestCoalescer.setFrameIntervalMillis(
+        maxFps == null || maxFps <= 0
+            ? RepeatingRequestCoalescer.DEFAULT_FRAME_INTERVAL_MILLIS
+            : 1000 / maxFps);
+    repeatingRequestCoalescer.update(feature, onApplied, onError);
+  }
+
+  private void submitRepeatingRequest(
+      @NonNull Collection<CameraFeature<?>> features,
+      @NonNull Runnable onSuccess,
+      @NonNull ErrorCallback onError) {
+    if (captureSession == null) {
+      // The setting is applied by the next session, but there is no request to report on now.
+      onError.onError("cameraAccess", "The capture session is not configured.");
+      return;
+    }
+    for (CameraFeature<?> feature : features) {
+      feature.updateBuilder(previewRequestBuilder);
+    }
+    refreshPreviewCaptureSession(onSuccess, onError);
+  }
+
   private void startCapture(boolean record, boolean stream) throws CameraAccessException {
+    Runnable successCallback = record ? () -> mediaRecorder.start() : null;
+    if (supersetSessionActive && captureSession != null) {
+      updateSupersetTargets(record, stream, successCallback);
+      return;
+    }
+
     List<Surface> surfaces = new ArrayList<>();
-    Runnable successCallback = null;
     if (record) {
-      surfaces.add(mediaRecorder.getSurface());
-      successCallback = () -> mediaRecorder.start();
+      surfaces.add(getMediaRecorderSurface());
     }
     if (stream && imageStreamReader != null) {
       surfaces.add(imageStreamReader.getSurface());
@@ -619,6 +894,77 @@ class Camera
         CameraDevice.TEMPLATE_RECORD, successCallback, surfaces.toArray(new Surface[0]));
   }
 
+  /**
+   * Configures a session with the preview, JPEG, image stream and recorder outputs, and starts the
+   * preview on it. Starting the image stream or a recording then only changes the outputs that the
+   * repeating request targets instead of configuring a new session.
+   *
+   * @return false if the recorder could not be prepared, in which case a regular preview session
+   *     should be used.
+   */
+  @SuppressLint("UseRequiresApi")
+  @TargetApi(VERSION_CODES.M)
+  private boolean startSupersetSession(@Nullable Runnable onSuccessCallback)
+      throws CameraAccessException {
+    if (recorderInputSurface == null) {
+      recorderInputSurface = MediaCodec.createPersistentInputSurface();
+    }
+    try {
+      // The persistent surface only gets its size once a recorder has been prepared with it, which
+      // has to happen before it can be part of a session. Recordings prepare their own recorder.
+      prepareMediaRecorder(getSupersetStandbyFile().getAbsolutePath(), false);
+    } catch (IOException | RuntimeException e) {
+      Log.w(TAG, "Failed to prepare the recorder for a superset session: " + e.getMessage());
+      return false;
+    }
+
+    List<Surface> surfaces = new ArrayList<>();
+    surfaces.add(pictureImageReader.getSurface());
+    if (imageStreamReader != null) {
+      surfaces.add(imageStreamReader.getSurface());
+    }
+    surfaces.add(recorderInputSurface);
+    createCaptureSession(
+        CameraDevice.TEMPLATE_PREVIEW, true, onSuccessCallback, surfaces.toArray(new Surface[0]));
+    return true;
+  }
+
+  /**
+   * Switches the superset session to another mode by replacing its repeating request, which keeps
+   * the session and the preview running.
+   */
+  private void updateSupersetTargets(
+      boolean record, boolean stream, @Nullable Runnable onSuccessCallback)
+      throws CameraAccessException {
+    Log.i(TAG, "updateSupersetTargets | record: " + record + " | stream: " + stream);
+    previewRequestBuilder =
+        cameraDevice.createCaptureRequest(
+            record || stream ? CameraDevice.TEMPLATE_RECORD : CameraDevice.TEMPLATE_PREVIEW);
+    previewRequestBuilder.addTarget(previewSurface);
+    if (record) {
+      previewRequestBuilder.addTarget(recorderInputSurface);
+    }
+    if (stream && imageStreamReader != null) {
+      previewRequestBuilder.addTarget(imageStreamReader.getSurface());
+    }
+    cameraCaptureCallback.resetConvergence();
+    updateBuilderSettings(previewRequestBuilder);
+
+    refreshPreviewCaptureSession(
+        onSuccessCallback, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+  }
+
+  /** The file the recorder that sizes the superset session's recorder surface writes to. */
+  @NonNull
+  private File getSupersetStandbyFile() {
+    return new File(applicationContext.getCacheDir(), "REC_standby.mp4");
+  }
+
+  /** Returns the surface that {@link #mediaRecorder} encodes. */
+  private Surface getMediaRecorderSurface() {
+    return recorderInputSurface != null ? recorderInputSurface : mediaRecorder.getSurface();
+  }
+
   public void takePicture(@NonNull final Messages.Result<String> result) {
     // Only take one picture at a time.
     if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
@@ -628,32 +974,35 @@ class Camera
       return;
     }
 
-    flutterResult = result;
+    captureTrace = captureMetrics.startTrace();
+    flutterResult = captureTrace.wrap(result);
     flutterResultMemory = null;
 
-    // Create temporary file.
-    final File outputDir = applicationContext.getCacheDir();
-    try {
-      captureFile = File.createTempFile("CAP", ".jpg", outputDir);
+    captureToMediaStore = pictureDestination == PictureDestination.MEDIA_STORE;
+    if (captureToMediaStore) {
+      // The media store item is created once the image is available.
       captureTimeouts.reset();
-    } catch (IOException | SecurityException e) {
-      dartMessenger.error(flutterResult, "cannotCreateFile", e.getMessage(), null);
-      return;
+    } else {
+      // Create temporary file.
+      final File outputDir = applicationContext.getCacheDir();
+      try {
+        captureFile = CaptureFiles.create(outputDir, "CAP", ".jpg");
+        captureTimeouts.reset();
+      } catch (IOException | SecurityException e) {
+        dartMessenger.error(flutterResult, "cannotCreateFile", e.getMessage(), null);
+        return;
+      }
     }
 
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
-    final AutoFocusFeature autoFocusFeature = cameraFeatures.getAutoFocus();
-    final boolean isAutoFocusSupported = autoFocusFeature.checkIsSupported();
-    if (isAutoFocusSupported && autoFocusFeature.getValue() == FocusMode.auto) {
-      runPictureAutoFocus();
-    } else {
-      runPrecaptureSequence();
-    }
+    startStillCapture();
   }
 
-  public void captureToMemory(@NonNull final Messages.Result<Messages.PlatformCapturedImageData> result) {
+  public void captureToMemory(
+      @Nullable Messages.PlatformCaptureToMemoryOptions options,
+      @NonNull final Messages.Result<Messages.PlatformCapturedImageData> result) {
     // Only take one picture at a time.
     if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
       result.error(
@@ -662,22 +1011,79 @@ class Camera
       return;
     }
 
-    flutterResultMemory = result;
+    captureTrace = captureMetrics.startTrace();
+    Messages.Result<Messages.PlatformCapturedImageData> tracedResult = captureTrace.wrap(result);
+    if (zeroShutterLagSessionActive && captureZeroShutterLagFrame(options, tracedResult)) {
+      return;
+    }
+
+    flutterResultMemory = tracedResult;
+    captureToMemoryOptions = options;
     flutterResult = null;
     captureFile = null;
 
     // Listen for picture being taken.
     pictureImageReader.setOnImageAvailableListener(this, backgroundHandler);
 
+    startStillCapture();
+  }
+
+  /**
+   * Starts the pending still capture. When fast capture is enabled and the preview shows that focus
+   * and exposure have already converged without needing the flash, the still request is sent right
+   * away; otherwise the focus and precapture sequence runs first.
+   */
+  private void startStillCapture() {
     final AutoFocusFeature autoFocusFeature = cameraFeatures.getAutoFocus();
-    final boolean isAutoFocusSupported = autoFocusFeature.checkIsSupported();
-    if (isAutoFocusSupported && autoFocusFeature.getValue() == FocusMode.auto) {
+    final boolean runAutoFocus =
+        autoFocusFeature.checkIsSupported() && autoFocusFeature.getValue() == FocusMode.auto;
+    final boolean fastCapture =
+        fastCaptureEnabled
+            && cameraFeatures.getFlash().getValue() != FlashMode.always
+            && cameraCaptureCallback.isConvergedForFastCapture(runAutoFocus);
+    captureMetrics.recordCaptureSequence(fastCapture);
+
+    if (fastCapture) {
+      Log.i(TAG, "startStillCapture | converged, skipping precapture");
+      if (flutterResultMemory != null) {
+        captureToMemoryAfterPrecapture();
+      } else {
+        takePictureAfterPrecapture();
+      }
+    } else if (runAutoFocus) {
       runPictureAutoFocus();
     } else {
       runPrecaptureSequence();
     }
   }
 
+  /**
+   * Encodes the best recent preview frame instead of capturing a new still.
+   *
+   * @return false if no frame is available, in which case a regular capture should be made.
+   */
+  private boolean captureZeroShutterLagFrame(
+      @Nullable Messages.PlatformCaptureToMemoryOptions options,
+      @NonNull final Messages.Result<Messages.PlatformCapturedImageData> result) {
+    ZeroShutterLagRing.Frame frame = zeroShutterLagRing.takeBestFrame();
+    if (frame == null) {
+      return false;
+    }
+    try {
+      captureExecutors.executeProcessing(
+          new ZeroShutterLagEncoder(
+              frame,
+              getStillCaptureOrientation(),
+              createMemoryCaptureCallback(options, captureTrace, result)));
+    } catch (RejectedExecutionException e) {
+      frame.close();
+      result.error(
+          new Messages.FlutterError(
+              "captureBusy", "Too many captures are being processed.", null));
+    }
+    return true;
+  }
+
   /**
    * Run the precapture sequence for capturing a still image. This method should be called when a
    * response is received in {@link #cameraCaptureCallback} from lockFocus().
@@ -727,32 +1133,23 @@ class Camera
     // This is the CaptureRequest.Builder that is used to take a picture.
     CaptureRequest.Builder stillBuilder;
     try {
-      stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
+      stillBuilder = createStillCaptureRequestBuilder();
     } catch (CameraAccessException e) {
       dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
       return;
     }
-    stillBuilder.addTarget(pictureImageReader.getSurface());
-
-    // Zoom.
-    stillBuilder.set(
-        CaptureRequest.SCALER_CROP_REGION,
-        previewRequestBuilder.get(CaptureRequest.SCALER_CROP_REGION));
-
-    // Have all features update the builder.
-    updateBuilderSettings(stillBuilder);
-
-    // Orientation.
-    final PlatformChannel.DeviceOrientation lockedOrientation =
-        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
-    stillBuilder.set(
-        CaptureRequest.JPEG_ORIENTATION,
-        lockedOrientation == null
-            ? getDeviceOrientationManager().getPhotoOrientation()
-            : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
 
     CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureStarted(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              long timestamp,
+              long frameNumber) {
+            markCaptureStage(captureTrace, Messages.PlatformCaptureStage.SENSOR_EXPOSURE);
+          }
+
           @Override
           public void onCaptureCompleted(
               @NonNull CameraCaptureSession session,
@@ -784,32 +1181,23 @@ class Camera
     // This is the CaptureRequest.Builder that is used to take a picture.
     CaptureRequest.Builder stillBuilder;
     try {
-      stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
+      stillBuilder = createStillCaptureRequestBuilder();
     } catch (CameraAccessException e) {
       dartMessenger.error(flutterResultMemory, "cameraAccess", e.getMessage(), null);
       return;
     }
-    stillBuilder.addTarget(pictureImageReader.getSurface());
-
-    // Zoom.
-    stillBuilder.set(
-        CaptureRequest.SCALER_CROP_REGION,
-        previewRequestBuilder.get(CaptureRequest.SCALER_CROP_REGION));
-
-    // Have all features update the builder.
-    updateBuilderSettings(stillBuilder);
-
-    // Orientation - same as takePicture to ensure correct orientation.
-    final PlatformChannel.DeviceOrientation lockedOrientation =
-        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
-    stillBuilder.set(
-        CaptureRequest.JPEG_ORIENTATION,
-        lockedOrientation == null
-            ? getDeviceOrientationManager().getPhotoOrientation()
-            : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
 
     CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureStarted(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              long timestamp,
+              long frameNumber) {
+            markCaptureStage(captureTrace, Messages.PlatformCaptureStage.SENSOR_EXPOSURE);
+          }
+
           @Override
           public void onCaptureCompleted(
               @NonNull CameraCaptureSession session,
@@ -827,6 +1215,113 @@ class Camera
     }
   }
 
+  /**
+   * Gets the still capture request builder of the current session, targeting the picture image
+   * reader, updated with the current zoom, feature settings and photo orientation.
+   *
+   * <p>The builder is created once per session, so later captures only apply the features that
+   * have changed since the previous capture.
+   */
+  private CaptureRequest.Builder createStillCaptureRequestBuilder() throws CameraAccessException {
+    if (stillRequestBuilder == null) {
+      stillRequestBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
+      stillRequestBuilder.addTarget(pictureImageReader.getSurface());
+    }
+    CaptureRequest.Builder stillBuilder = stillRequestBuilder;
+
+    // Zoom.
+    stillBuilder.set(
+        CaptureRequest.SCALER_CROP_REGION,
+        previewRequestBuilder.get(CaptureRequest.SCALER_CROP_REGION));
+
+    // Have the features that changed since the last capture update the builder.
+    updateBuilderSettings(stillBuilder);
+
+    // Orientation.
+    stillBuilder.set(CaptureRequest.JPEG_ORIENTATION, getStillCaptureOrientation());
+    return stillBuilder;
+  }
+
+  /** Returns the rotation of still captures, honoring a locked capture orientation. */
+  private int getStillCaptureOrientation() {
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
+    return lockedOrientation == null
+        ? getDeviceOrientationManager().getPhotoOrientation()
+        : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation);
+  }
+
+  /**
+   * Captures {@code count} still images back to back with a single burst request.
+   *
+   * <p>The precapture sequence is skipped so that frames are captured as fast as the sensor allows,
+   * using the focus and exposure the preview has settled on. Each frame is copied out or written to
+   * a file as soon as it arrives, and the results are returned in capture order.
+   *
+   * @param count the number of images, between 1 and {@link #MAX_BURST_SIZE}.
+   * @param toMemory whether to return the JPEG bytes instead of saving them to files.
+   * @param result the result that receives the captured frames.
+   */
+  public void captureBurst(
+      int count,
+      boolean toMemory,
+      @NonNull final Messages.Result<List<Messages.PlatformBurstFrame>> result) {
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error(
+          new Messages.FlutterError(
+              "captureAlreadyActive", "Picture is currently already being captured", null));
+      return;
+    }
+    if (cameraDevice == null || captureSession == null) {
+      result.error(new Messages.FlutterError("cameraAccess", "The camera is not open.", null));
+      return;
+    }
+
+    final Handler handler = backgroundHandler;
+    // Identifies the timeout of this burst among the messages of the handler.
+    final Object timeoutToken = new Object();
+    BurstCapture burst =
+        new BurstCapture(
+            count,
+            toMemory,
+            applicationContext.getCacheDir(),
+            captureExecutors,
+            new BurstCapture.Callback() {
+              @Override
+              public void onComplete(@NonNull List<Messages.PlatformBurstFrame> frames) {
+                handler.removeCallbacksAndMessages(timeoutToken);
+                handler.post(() -> cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW));
+                dartMessenger.finish(result, frames);
+              }
+
+              @Override
+              public void onError(@NonNull String errorCode, @Nullable String errorMessage) {
+                handler.removeCallbacksAndMessages(timeoutToken);
+                handler.post(() -> cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW));
+                dartMessenger.error(result, errorCode, errorMessage, null);
+              }
+            });
+
+    try {
+      List<CaptureRequest> requests = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        requests.add(createStillCaptureRequestBuilder().build());
+      }
+      cameraCaptureCallback.setCameraState(CameraState.STATE_CAPTURING);
+      pictureImageReader.setOnImageAvailableListener(burst, backgroundHandler);
+      Log.i(TAG, "sending burst capture request");
+      captureSession.captureBurst(requests, burst.captureCallback, backgroundHandler);
+      // Lost images are not always reported, so a burst that stalls fails its missing frames.
+      handler.postAtTime(
+          burst::onTimeout,
+          timeoutToken,
+          SystemClock.uptimeMillis() + BURST_TIMEOUT_MS + BURST_FRAME_TIMEOUT_MS * count);
+    } catch (CameraAccessException | IllegalStateException e) {
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+      dartMessenger.error(result, "cameraAccess", e.getMessage(), null);
+    }
+  }
+
   @SuppressWarnings("deprecation")
   private Display getDefaultDisplay() {
     return activity.getWindowManager().getDefaultDisplay();
@@ -947,6 +1442,7 @@ class Camera
     if (!recordingVideo) {
       return "";
     }
+    cancelCameraSwitch();
     // Re-create autofocus feature so it's using continuous capture focus mode now.
     cameraFeatures.setAutoFocus(
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, false));
@@ -1017,9 +1513,8 @@ class Camera
     // Save the new flash mode setting.
     final FlashFeature flashFeature = cameraFeatures.getFlash();
     flashFeature.setValue(newMode);
-    flashFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
+    updateRepeatingRequest(
+        flashFeature,
         result::success,
         (code, message) ->
             result.error(
@@ -1037,9 +1532,8 @@ class Camera
       @NonNull final Messages.VoidResult result, @NonNull ExposureMode newMode) {
     final ExposureLockFeature exposureLockFeature = cameraFeatures.getExposureLock();
     exposureLockFeature.setValue(newMode);
-    exposureLockFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
+    updateRepeatingRequest(
+        exposureLockFeature,
         result::success,
         (code, message) ->
             result.error(
@@ -1056,9 +1550,8 @@ class Camera
   public void setExposurePoint(@NonNull final Messages.VoidResult result, @Nullable Point point) {
     final ExposurePointFeature exposurePointFeature = cameraFeatures.getExposurePoint();
     exposurePointFeature.setValue(point);
-    exposurePointFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
+    updateRepeatingRequest(
+        exposurePointFeature,
         result::success,
         (code, message) ->
             result.error(
@@ -1134,16 +1627,21 @@ class Camera
   public void setFocusPoint(@NonNull final Messages.VoidResult result, @Nullable Point point) {
     final FocusPointFeature focusPointFeature = cameraFeatures.getFocusPoint();
     focusPointFeature.setValue(point);
-    focusPointFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
-        result::success,
+    updateRepeatingRequest(
+        focusPointFeature,
+        () -> {
+          result.success();
+          // Focus again on the new point once the request carrying it has been submitted.
+          try {
+            setFocusMode(cameraFeatures.getAutoFocus().getValue());
+          } catch (Messages.FlutterError e) {
+            Log.w(TAG, "setFocusPoint | " + e.getMessage());
+          }
+        },
         (code, message) ->
             result.error(
                 new Messages.FlutterError(
                     "setFocusPointFailed", "Could not set focus point.", null)));
-
-    this.setFocusMode(cameraFeatures.getAutoFocus().getValue());
   }
 
   /**
@@ -1156,9 +1654,8 @@ class Camera
   public void setExposureOffset(@NonNull final Messages.Result<Double> result, double offset) {
     final ExposureOffsetFeature exposureOffsetFeature = cameraFeatures.getExposureOffset();
     exposureOffsetFeature.setValue(offset);
-    exposureOffsetFeature.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
+    updateRepeatingRequest(
+        exposureOffsetFeature,
         () -> result.success(exposureOffsetFeature.getValue()),
         (code, message) ->
             result.error(
@@ -1211,9 +1708,8 @@ class Camera
     }
 
     zoomLevel.setValue(zoom);
-    zoomLevel.updateBuilder(previewRequestBuilder);
-
-    refreshPreviewCaptureSession(
+    updateRepeatingRequest(
+        zoomLevel,
         result::success,
         (code, message) ->
             result.error(
@@ -1274,6 +1770,31 @@ class Camera
     }
 
     Log.i(TAG, "startPreview");
+    if (supersetSessionEnabled && SdkCapabilityChecker.supportsPersistentInputSurface()) {
+      if (supersetSessionActive && captureSession != null) {
+        updateSupersetTargets(false, false, onSuccessCallback);
+        return;
+      }
+      if (startSupersetSession(onSuccessCallback)) {
+        return;
+      }
+    }
+    if (zeroShutterLagEnabled) {
+      if (zeroShutterLagRing == null) {
+        final ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
+        zeroShutterLagRing =
+            ZeroShutterLagRing.create(
+                resolutionFeature.getCaptureSize().getWidth(),
+                resolutionFeature.getCaptureSize().getHeight(),
+                backgroundHandler);
+      }
+      createCaptureSession(
+          CameraDevice.TEMPLATE_PREVIEW,
+          onSuccessCallback,
+          pictureImageReader.getSurface(),
+          zeroShutterLagRing.getSurface());
+      return;
+    }
     createCaptureSession(
         CameraDevice.TEMPLATE_PREVIEW, onSuccessCallback, pictureImageReader.getSurface());
   }
@@ -1288,10 +1809,19 @@ class Camera
       return;
     }
 
-    // get rotation for rendered video
-    final PlatformChannel.DeviceOrientation lockedOrientation =
-        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
-    DeviceOrientationManager orientationManager =
+    videoRenderer.setRotation(getVideoRendererRotation(cameraFeatures, cameraProperties));
+
+    createCaptureSession(
+        CameraDevice.TEMPLATE_RECORD, onSuccessCallback, videoRenderer.getInputSurface());
+  }
+
+  /** Gets the rotation the video renderer applies to the frames of a camera. */
+  private int getVideoRendererRotation(
+      CameraFeatures cameraFeatures, CameraProperties cameraProperties) {
+    // get rotation for rendered video
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
+    DeviceOrientationManager orientationManager =
         cameraFeatures.getSensorOrientation().getDeviceOrientationManager();
 
     int rotation = 0;
@@ -1308,14 +1838,19 @@ class Camera
       // the rotation should be flipped 180 degrees.
       rotation = (rotation + 180) % 360;
     }
-    videoRenderer.setRotation(rotation);
-
-    createCaptureSession(
-        CameraDevice.TEMPLATE_RECORD, onSuccessCallback, videoRenderer.getInputSurface());
+    return rotation;
   }
 
   public void startPreviewWithImageStream(EventChannel imageStreamChannel)
       throws CameraAccessException {
+    if (imageStreamReader != null
+        && imageStreamReaderBufferCount != getEffectiveImageStreamBufferCount()) {
+      // The reader is only part of the capture session while streaming, so it can be replaced.
+      // A superset session has the old reader as an output, so a new session is needed as well.
+      imageStreamReader.close();
+      createImageStreamReader();
+      supersetSessionActive = false;
+    }
     setStreamHandler(imageStreamChannel);
 
     startCapture(false, true);
@@ -1335,48 +1870,106 @@ class Camera
     if (image == null) {
       return;
     }
+    markCaptureStage(captureTrace, Messages.PlatformCaptureStage.JPEG_AVAILABLE);
+
+    try {
+      dispatchCapturedImage(image);
+    } catch (RejectedExecutionException e) {
+      image.close();
+      Messages.Result<?> result = flutterResultMemory != null ? flutterResultMemory : flutterResult;
+      dartMessenger.error(result, "captureBusy", "Too many captures are being processed.", null);
+    }
+    cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+  }
 
+  /** Hands a captured JPEG to the processing or I/O executor, depending on where it goes. */
+  private void dispatchCapturedImage(@NonNull Image image) {
     if (flutterResultMemory != null) {
       // Capture to memory
-      backgroundHandler.post(
+      captureExecutors.executeProcessing(
           new ImageMemoryProcessor(
               image,
-              new ImageMemoryProcessor.Callback() {
-                @Override
-                public void onComplete(@NonNull byte[] bytes, int width, int height) {
-                  Messages.PlatformCapturedImageData result = new Messages.PlatformCapturedImageData();
-                  result.setBytes(bytes);
-                  result.setWidth((long) width);
-                  result.setHeight((long) height);
-                  dartMessenger.finish(flutterResultMemory, result);
-                }
-
-                @Override
-                public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
-                  dartMessenger.error(flutterResultMemory, errorCode, errorMessage, null);
-                }
-              },
+              createMemoryCaptureCallback(
+                  captureToMemoryOptions, captureTrace, flutterResultMemory),
               true // Skip orientation correction - JPEG already has correct EXIF orientation
               ));
     } else {
       // Capture to file
-      backgroundHandler.post(
-          new ImageSaver(
-              image,
-              captureFile,
-              new ImageSaver.Callback() {
-                @Override
-                public void onComplete(@NonNull String absolutePath) {
-                  dartMessenger.finish(flutterResult, absolutePath);
-                }
+      final CaptureMetrics.Trace trace = captureTrace;
+      final ImageSaver.Callback callback =
+          new ImageSaver.Callback() {
+            @Override
+            public void onComplete(@NonNull String absolutePath) {
+              markCaptureStage(trace, Messages.PlatformCaptureStage.PROCESSING);
+              dartMessenger.finish(flutterResult, absolutePath);
+            }
 
-                @Override
-                public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
-                  dartMessenger.error(flutterResult, errorCode, errorMessage, null);
-                }
-              }));
+            @Override
+            public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+              dartMessenger.error(flutterResult, errorCode, errorMessage, null);
+            }
+          };
+      if (captureToMediaStore) {
+        captureExecutors.executeIo(
+            new MediaStoreImageSaver(
+                image,
+                applicationContext.getContentResolver(),
+                CaptureFiles.nextName("IMG_", ".jpg"),
+                syncPictureFilesEnabled,
+                callback));
+      } else {
+        captureExecutors.executeIo(
+            new ImageSaver(image, captureFile, syncPictureFilesEnabled, callback));
+      }
     }
-    cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+  }
+
+  /**
+   * Creates the callback that returns a JPEG captured to memory, scaled to the requested sizes.
+   * The callback runs on the processing executor, so the scaling does too.
+   */
+  @NonNull
+  private ImageMemoryProcessor.Callback createMemoryCaptureCallback(
+      @Nullable final Messages.PlatformCaptureToMemoryOptions options,
+      @Nullable final CaptureMetrics.Trace trace,
+      @NonNull final Messages.Result<Messages.PlatformCapturedImageData> result) {
+    return new ImageMemoryProcessor.Callback() {
+      @Override
+      public void onComplete(@NonNull byte[] bytes, int width, int height) {
+        try {
+          Messages.PlatformCapturedImageData data =
+              CapturedImageScaler.scale(bytes, width, height, options);
+          markCaptureStage(trace, Messages.PlatformCaptureStage.PROCESSING);
+          dartMessenger.finish(result, data);
+        } catch (IOException e) {
+          dartMessenger.error(result, "processError", e.getMessage(), null);
+        }
+      }
+
+      @Override
+      public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+        dartMessenger.error(result, errorCode, errorMessage, null);
+      }
+    };
+  }
+
+  private static void markCaptureStage(
+      @Nullable CaptureMetrics.Trace trace, @NonNull Messages.PlatformCaptureStage stage) {
+    if (trace != null) {
+      trace.mark(stage);
+    }
+  }
+
+  /** Returns latency histograms for each stage of the still captures taken by this camera. */
+  @NonNull
+  public Messages.PlatformCaptureMetrics getCaptureMetrics() {
+    return captureMetrics.getMetrics();
+  }
+
+  /** Returns how long the stages of the last time this camera was opened took. */
+  @NonNull
+  public Messages.PlatformStartupTrace getStartupTrace() {
+    return startupTrace.toPigeon();
   }
 
   @VisibleForTesting
@@ -1398,7 +1991,7 @@ class Camera
     cameraFeatures.setAutoFocus(
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
     // Update camera features with the desired fps range
-    setFpsCameraFeatureForRecording(cameraProperties);
+    setFpsCameraFeatureForRecording(cameraFeatures, cameraProperties);
   }
 
   private void setStreamHandler(EventChannel imageStreamChannel) {
@@ -1425,9 +2018,285 @@ class Camera
       return;
     }
 
+    imageStreamReader.setFrameRingDirectory(
+        imageStreamTransport == ImageStreamTransport.SHARED_MEMORY
+            ? applicationContext.getCacheDir()
+            : null);
     imageStreamReader.subscribeListener(this.captureProps, imageStreamSink, backgroundHandler);
   }
 
+  /** Called when Dart has received an image stream frame, freeing it up for reuse. */
+  public void receivedImageStreamData() {
+    if (imageStreamReader == null) {
+      return;
+    }
+
+    imageStreamReader.onFrameAcknowledged();
+  }
+
+  /**
+   * Sets how image stream frames are delivered while Dart is still busy with earlier frames.
+   *
+   * @param policy the {@link ImageStreamDeliveryPolicy} to use.
+   * @param maxPendingFrames how many frames may be waiting on Dart at once when using {@link
+   *     ImageStreamDeliveryPolicy#BOUNDED_QUEUE}.
+   */
+  public void setImageStreamDeliveryPolicy(
+      @NonNull ImageStreamDeliveryPolicy policy, int maxPendingFrames) {
+    if (imageStreamReader != null) {
+      imageStreamReader.setDeliveryPolicy(policy, maxPendingFrames);
+    }
+    imageStreamDeliveryPolicy = policy;
+    imageStreamMaxPendingFrames = maxPendingFrames;
+  }
+
+  /**
+   * Sets how many images the image stream reader holds, which takes effect the next time the image
+   * stream is started.
+   *
+   * <p>More images let the camera keep producing frames while earlier ones are being converted, at
+   * the cost of memory.
+   *
+   * @param bufferCount the number of images, at least {@link ImageStreamReader#MIN_MAX_IMAGES}.
+   */
+  public void setImageStreamBufferCount(int bufferCount) {
+    imageStreamBufferCount = bufferCount;
+  }
+
+  /**
+   * Sets how the planes of image stream frames are transferred to Dart, which takes effect the next
+   * time the image stream is started.
+   *
+   * @param transport the {@link ImageStreamTransport} to use.
+   */
+  public void setImageStreamTransport(@NonNull ImageStreamTransport transport) {
+    imageStreamTransport = transport;
+  }
+
+  /**
+   * Sets which part of each image stream frame is sent to Dart, and at what resolution.
+   *
+   * @param region the {@link ImageStreamRegion} to send.
+   */
+  public void setImageStreamRegion(@NonNull ImageStreamRegion region) {
+    if (imageStreamReader != null) {
+      imageStreamReader.setRegion(region);
+    }
+    imageStreamRegion = region;
+  }
+
+  /**
+   * Limits which image stream frames are sent to Dart, independently of the frame rate of the
+   * session. Frames that are not sent are closed before they are converted.
+   *
+   * @param maxFramesPerSecond the highest frame rate to send frames at, or 0 for no limit.
+   * @param frameStride only every nth frame is sent, 1 to send every frame.
+   */
+  public void setImageStreamFrameRateLimit(double maxFramesPerSecond, int frameStride) {
+    if (imageStreamReader != null) {
+      imageStreamReader.setFrameRateLimit(maxFramesPerSecond, frameStride);
+    }
+    imageStreamMaxFramesPerSecond = maxFramesPerSecond;
+    imageStreamFrameStride = frameStride;
+  }
+
+  /**
+   * Sets whether preview sessions keep a small ring of recent full-resolution frames, which takes
+   * effect the next time the preview is started.
+   *
+   * <p>While enabled, {@link #captureToMemory} encodes the newest frame whose focus and exposure
+   * had settled instead of running the focus and precapture sequence and capturing a new still.
+   * This costs the memory of a few full-resolution YUV frames and the bandwidth of an extra stream,
+   * and not every device supports it alongside the preview and JPEG streams.
+   *
+   * @param enabled whether zero shutter lag captures are enabled.
+   */
+  public void setZeroShutterLagEnabled(boolean enabled) {
+    zeroShutterLagEnabled = enabled;
+  }
+
+  /** Stops feeding the zero shutter lag ring and releases its frames. */
+  private void closeZeroShutterLagRing() {
+    if (zeroShutterLagRing != null) {
+      cameraCaptureCallback.setCaptureResultListener(null);
+      zeroShutterLagRing.close();
+      zeroShutterLagRing = null;
+      zeroShutterLagSessionActive = false;
+    }
+  }
+
+  /**
+   * Returns whether the current session keeps recent frames for zero shutter lag captures, which is
+   * false after a device failed to configure a session with the extra stream.
+   */
+  public boolean isZeroShutterLagActive() {
+    return zeroShutterLagSessionActive;
+  }
+
+  /**
+   * Sets whether {@link #takePicture} and {@link #captureToMemory} send the still request right
+   * away when the preview shows that autofocus and auto-exposure have already converged.
+   *
+   * <p>The focus and precapture sequence still runs when the scene has not settled, or when the
+   * flash is set to always fire, which needs the precapture sequence to meter the flash.
+   *
+   * @param enabled whether fast captures are enabled.
+   */
+  public void setFastCaptureEnabled(boolean enabled) {
+    fastCaptureEnabled = enabled;
+  }
+
+  /**
+   * Sets whether {@link #takePicture} forces the picture to storage before returning its path.
+   *
+   * <p>Without it, the picture is complete for every reader once its path is returned, but may be
+   * lost if the device loses power shortly after. Forcing it to storage makes captures take longer.
+   *
+   * @param enabled whether picture files are synced to storage.
+   */
+  public void setSyncPictureFilesEnabled(boolean enabled) {
+    syncPictureFilesEnabled = enabled;
+  }
+
+  /**
+   * Sets where {@link #takePicture} saves pictures, which takes effect from the next capture.
+   *
+   * <p>Pictures saved to the media store are written straight into a new item in the shared
+   * pictures collection, and {@link #takePicture} returns the content URI of the item instead of
+   * a path.
+   *
+   * @param destination where pictures are saved.
+   */
+  public void setPictureDestination(@NonNull PictureDestination destination) {
+    pictureDestination = destination;
+  }
+
+  /**
+   * Sets whether preview sessions are configured with the preview, JPEG, image stream and recorder
+   * outputs up front, which takes effect the next time the preview is started.
+   *
+   * <p>While enabled, starting or stopping the image stream or a recording only changes the outputs
+   * that the repeating request targets, so the preview keeps running instead of going black while
+   * a new session is configured. This requires API 23 for the persistent recorder surface, and
+   * falls back to a session per mode on devices that cannot configure all of the outputs at once.
+   * Zero shutter lag frames are not kept while a superset session is used.
+   *
+   * @param enabled whether superset sessions are enabled.
+   */
+  public void setSupersetSessionEnabled(boolean enabled) {
+    supersetSessionEnabled = enabled;
+  }
+
+  private void createImageStreamReader() {
+    imageStreamReader = newImageStreamReader();
+    imageStreamReaderBufferCount = getEffectiveImageStreamBufferCount();
+  }
+
+  /** Creates an image stream reader with the current image stream settings. */
+  @NonNull
+  private ImageStreamReader newImageStreamReader() {
+    final ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
+    ImageStreamReader reader =
+        new ImageStreamReader(
+            resolutionFeature.getPreviewSize().getWidth(),
+            resolutionFeature.getPreviewSize().getHeight(),
+            this.imageFormatGroup,
+            getEffectiveImageStreamBufferCount());
+    reader.setDeliveryPolicy(imageStreamDeliveryPolicy, imageStreamMaxPendingFrames);
+    reader.setRegion(imageStreamRegion);
+    reader.setFrameRateLimit(imageStreamMaxFramesPerSecond, imageStreamFrameStride);
+    reader.setPaused(imageStreamPausedForMemory);
+    return reader;
+  }
+
+  /** Returns how many images a new image stream reader holds, fewer while memory is trimmed. */
+  private int getEffectiveImageStreamBufferCount() {
+    return memoryTrimmed
+        ? Math.min(imageStreamBufferCount, ImageStreamReader.MIN_MAX_IMAGES)
+        : imageStreamBufferCount;
+  }
+
+  /**
+   * Sets the memory trim levels at which {@link #onTrimMemory} releases pooled buffers and pauses
+   * the image stream.
+   *
+   * @param releaseBuffersLevel the lowest {@link ComponentCallbacks2} trim level at which buffers
+   *     are released, or {@link #NEVER_TRIM_LEVEL} to keep them.
+   * @param pauseImageStreamLevel the lowest {@link ComponentCallbacks2} trim level at which the
+   *     image stream is paused, or {@link #NEVER_TRIM_LEVEL} to keep it running.
+   */
+  public void setMemoryTrimLevels(int releaseBuffersLevel, int pauseImageStreamLevel) {
+    releaseBuffersTrimLevel = releaseBuffersLevel;
+    pauseImageStreamTrimLevel = pauseImageStreamLevel;
+  }
+
+  /**
+   * Releases memory when the system asks the app to trim memory.
+   *
+   * <p>At the buffer release level, the plane buffers of pooled image stream frames and the zero
+   * shutter lag ring, when it is not part of the current session, are released, and image stream
+   * readers created from then on hold as few images as possible. At the pause level, image stream
+   * frames are dropped on arrival instead of being converted and sent to Dart. The still capture
+   * reader is part of the capture session, so it is kept, but on API 28+ the buffers that neither
+   * reader currently holds are discarded.
+   *
+   * <p>Everything is restored by {@link #onMemoryPressureRelieved()}.
+   *
+   * @param level the trim level, one of the {@code TRIM_MEMORY_*} constants of {@link
+   *     ComponentCallbacks2}.
+   */
+  public void onTrimMemory(int level) {
+    if (level >= releaseBuffersTrimLevel) {
+      Log.i(TAG, "Releasing buffers for memory trim level " + level);
+      memoryTrimmed = true;
+      if (imageStreamReader != null) {
+        imageStreamReader.trimMemory();
+      }
+      if (pictureImageReader != null && SdkCapabilityChecker.supportsDiscardFreeBuffers()) {
+        pictureImageReader.discardFreeBuffers();
+      }
+      if (zeroShutterLagRing != null && !zeroShutterLagSessionActive) {
+        // The ring is created again the next time a preview session uses it.
+        zeroShutterLagRing.close();
+        zeroShutterLagRing = null;
+      }
+    }
+    if (level >= pauseImageStreamTrimLevel && !imageStreamPausedForMemory) {
+      Log.i(TAG, "Pausing the image stream for memory trim level " + level);
+      imageStreamPausedForMemory = true;
+      if (imageStreamReader != null) {
+        imageStreamReader.setPaused(true);
+      }
+    }
+  }
+
+  /**
+   * Restores what {@link #onTrimMemory} released or paused, once memory pressure has subsided.
+   *
+   * <p>The image stream resumes right away. Released buffers are allocated again when they are
+   * next needed, and image stream readers created from then on hold as many images as configured.
+   */
+  public void onMemoryPressureRelieved() {
+    memoryTrimmed = false;
+    if (imageStreamPausedForMemory) {
+      imageStreamPausedForMemory = false;
+      if (imageStreamReader != null) {
+        imageStreamReader.setPaused(false);
+      }
+    }
+  }
+
+  /** Returns the image stream frame delivery counters since the stream was last started. */
+  @NonNull
+  public Messages.PlatformImageStreamStats getImageStreamStats() {
+    long delivered = imageStreamReader == null ? 0 : imageStreamReader.getDeliveredFrameCount();
+    long dropped = imageStreamReader == null ? 0 : imageStreamReader.getDroppedFrameCount();
+    return new Messages.PlatformImageStreamStats.Builder()
+        .setDeliveredFrames(delivered)
+        .setDroppedFrames(dropped)
+        .build();
+  }
+
   void closeCaptureSession() {
     if (captureSession != null) {
       Log.i(TAG, "closeCaptureSession");
@@ -1439,30 +2308,53 @@ class Camera
 
   public void close() {
     Log.i(TAG, "close");
+    synchronized (readerLock) {
+      closed = true;
+    }
+    repeatingRequestCoalescer.failAll(
+        "cameraAccess", "The camera was closed before the setting was applied.");
 
-    stopAndReleaseCamera();
-
-    if (pictureImageReader != null) {
-      pictureImageReader.close();
-      pictureImageReader = null;
+    synchronized (cameraSwitchLock) {
+      cancelCameraSwitch();
+      stopAndReleaseCamera();
     }
-    if (imageStreamReader != null) {
-      imageStreamReader.close();
-      imageStreamReader = null;
+
+    synchronized (readerLock) {
+      closeImageReaders();
     }
+    closeZeroShutterLagRing();
     if (mediaRecorder != null) {
       mediaRecorder.reset();
       mediaRecorder.release();
       mediaRecorder = null;
     }
+    if (recorderInputSurface != null) {
+      recorderInputSurface.release();
+      recorderInputSurface = null;
+      supersetSessionActive = false;
+      getSupersetStandbyFile().delete();
+    }
 
     stopBackgroundThread();
   }
 
+  /** Closes the picture and image stream readers. Must be called while holding readerLock. */
+  private void closeImageReaders() {
+    if (pictureImageReader != null) {
+      pictureImageReader.close();
+      pictureImageReader = null;
+    }
+    if (imageStreamReader != null) {
+      imageStreamReader.close();
+      imageStreamReader = null;
+    }
+  }
+
   private void stopAndReleaseCamera() {
     if (cameraDevice != null) {
       cameraDevice.close();
       cameraDevice = null;
+      stillRequestBuilder = null;
 
       // Closing the CameraDevice without closing the CameraCaptureSession is recommended
       // for quickly closing the camera:
@@ -1489,7 +2381,7 @@ class Camera
 
     videoRenderer =
         new VideoRenderer(
-            mediaRecorder.getSurface(),
+            getMediaRecorderSurface(),
             resolutionFeature.getCaptureSize().getWidth(),
             resolutionFeature.getCaptureSize().getHeight(),
             videoRendererUncaughtExceptionHandler);
@@ -1510,6 +2402,20 @@ class Camera
           null);
     }
 
+    if (canOpenAlongsideCurrentCamera(properties)) {
+      try {
+        startCameraSwitch(properties);
+        return;
+      } catch (CameraAccessException | IllegalArgumentException e) {
+        Log.w(TAG, "Failed to open the camera alongside the current one", e);
+        cancelCameraSwitch();
+      }
+    }
+    switchCameraWhileRecording(properties);
+  }
+
+  /** Closes the current camera and opens the new one, which pauses the recorded frames. */
+  private void switchCameraWhileRecording(CameraProperties properties) {
     stopAndReleaseCamera();
     prepareVideoRenderer();
     cameraProperties = properties;
@@ -1522,7 +2428,7 @@ class Camera
             videoCaptureSettings.resolutionPreset);
     cameraFeatures.setAutoFocus(
         cameraFeatureFactory.createAutoFocusFeature(cameraProperties, true));
-    setFpsCameraFeatureForRecording(cameraProperties);
+    setFpsCameraFeatureForRecording(cameraFeatures, cameraProperties);
     try {
       open(imageFormatGroup);
     } catch (CameraAccessException e) {
@@ -1530,6 +2436,302 @@ class Camera
     }
   }
 
+  /**
+   * A camera that is opened while the current camera keeps recording, which replaces the current
+   * camera once it produces frames.
+   */
+  private static final class CameraSwitch {
+    @NonNull final CameraProperties properties;
+    @NonNull final CameraFeatures features;
+    @Nullable CameraDeviceWrapper device;
+    @Nullable CameraCaptureSession session;
+    @Nullable CaptureRequest.Builder requestBuilder;
+    /** The preview output, which only gets its surface once the current camera released it. */
+    @Nullable OutputConfiguration previewOutput;
+    /** True once the camera has replaced the current camera. */
+    boolean completed;
+
+    CameraSwitch(@NonNull CameraProperties properties, @NonNull CameraFeatures features) {
+      this.properties = properties;
+      this.features = features;
+    }
+  }
+
+  /** Whether a camera can be opened and configured while the current camera keeps recording. */
+  private boolean canOpenAlongsideCurrentCamera(CameraProperties properties) {
+    if (!SdkCapabilityChecker.supportsConcurrentCameras()
+        || captureSession == null
+        || retiredCameraDevice != null) {
+      return false;
+    }
+    try {
+      return CameraInventory.getInstance(activity)
+          .canOpenConcurrently(cameraProperties.getCameraName(), properties.getCameraName());
+    } catch (CameraAccessException e) {
+      Log.w(TAG, "Failed to read the cameras that can be opened concurrently", e);
+      return false;
+    }
+  }
+
+  /**
+   * Opens the new camera while the current camera keeps recording. Once the video renderer has
+   * frames of the new camera, the current camera is closed, so the recording does not pause.
+   */
+  @SuppressLint("MissingPermission")
+  private void startCameraSwitch(@NonNull CameraProperties properties)
+      throws CameraAccessException {
+    cancelCameraSwitch();
+    CameraFeatures features =
+        CameraFeatures.init(
+            cameraFeatureFactory,
+            properties,
+            activity,
+            dartMessenger,
+            videoCaptureSettings.resolutionPreset);
+    features.setAutoFocus(cameraFeatureFactory.createAutoFocusFeature(properties, true));
+    setFpsCameraFeatureForRecording(features, properties);
+    final CameraSwitch cameraSwitch = new CameraSwitch(properties, features);
+    synchronized (cameraSwitchLock) {
+      pendingCameraSwitch = cameraSwitch;
+    }
+
+    CameraManager cameraManager = CameraUtils.getCameraManager(activity);
+    cameraManager.openCamera(
+        properties.getCameraName(),
+        new DeviceStateCallback() {
+          @Override
+          public void onOpened(@NonNull CameraDevice device) {
+            openedDevice = new DefaultCameraDeviceWrapper(device);
+            synchronized (cameraSwitchLock) {
+              if (cameraSwitch != pendingCameraSwitch) {
+                openedDevice.close();
+                return;
+              }
+              cameraSwitch.device = openedDevice;
+            }
+            try {
+              if (videoRenderer == null) {
+                // The current camera records straight into the media recorder, which the renderer
+                // can only render into once that camera has been closed.
+                completeCameraSwitch(cameraSwitch);
+              } else {
+                createCameraSwitchSession(cameraSwitch);
+              }
+            } catch (Exception e) {
+              Log.w(TAG, "Failed to configure the camera to switch to", e);
+              fallBackFromCameraSwitch(cameraSwitch);
+            }
+          }
+
+          @Override
+          public void onClosed(@NonNull CameraDevice camera) {
+            if (cameraSwitch.completed) {
+              super.onClosed(camera);
+            }
+          }
+
+          @Override
+          public void onDisconnected(@NonNull CameraDevice camera) {
+            if (cameraSwitch.completed) {
+              super.onDisconnected(camera);
+              return;
+            }
+            Log.i(TAG, "switch | onDisconnected");
+            camera.close();
+            fallBackFromCameraSwitch(cameraSwitch);
+          }
+
+          @Override
+          public void onError(@NonNull CameraDevice camera, int errorCode) {
+            if (cameraSwitch.completed) {
+              super.onError(camera, errorCode);
+              return;
+            }
+            Log.i(TAG, "switch | onError: " + errorCode);
+            camera.close();
+            fallBackFromCameraSwitch(cameraSwitch);
+          }
+        },
+        backgroundHandler);
+  }
+
+  /**
+   * Configures a session of the new camera that produces into a standby input of the video
+   * renderer. The preview surface is still used by the current camera, so it is deferred.
+   */
+  @SuppressLint("UseRequiresApi")
+  @TargetApi(VERSION_CODES.R)
+  private void createCameraSwitchSession(@NonNull final CameraSwitch cameraSwitch)
+      throws CameraAccessException, InterruptedException {
+    Surface rendererSurface =
+        videoRenderer.createStandbyInputSurface(
+            getVideoRendererRotation(cameraSwitch.features, cameraSwitch.properties),
+            () -> backgroundHandler.post(() -> completeCameraSwitch(cameraSwitch)));
+
+    CaptureRequest.Builder requestBuilder =
+        cameraSwitch.device.createCaptureRequest(CameraDevice.TEMPLATE_RECORD);
+    requestBuilder.addTarget(rendererSurface);
+    Size cameraBoundaries =
+        CameraRegionUtils.getCameraBoundaries(cameraSwitch.properties, requestBuilder);
+    cameraSwitch.features.getExposurePoint().setCameraBoundaries(cameraBoundaries);
+    cameraSwitch.features.getFocusPoint().setCameraBoundaries(cameraBoundaries);
+    for (CameraFeature<?> feature : cameraSwitch.features.takeChangedFeatures(requestBuilder)) {
+      feature.updateBuilder(requestBuilder);
+    }
+    cameraSwitch.requestBuilder = requestBuilder;
+
+    ResolutionFeature resolutionFeature = cameraSwitch.features.getResolution();
+    cameraSwitch.previewOutput =
+        new OutputConfiguration(resolutionFeature.getPreviewSize(), SurfaceTexture.class);
+    List<OutputConfiguration> outputConfigs =
+        Arrays.asList(new OutputConfiguration(rendererSurface), cameraSwitch.previewOutput);
+
+    cameraSwitch.device.createCaptureSession(
+        new SessionConfiguration(
+            SessionConfiguration.SESSION_REGULAR,
+            outputConfigs,
+            command -> backgroundHandler.post(command),
+            new CameraCaptureSession.StateCallback() {
+              @Override
+              public void onConfigured(@NonNull CameraCaptureSession session) {
+                synchronized (cameraSwitchLock) {
+                  if (cameraSwitch != pendingCameraSwitch) {
+                    return;
+                  }
+                  cameraSwitch.session = session;
+                }
+                try {
+                  // Results are only handled once this camera has replaced the current one.
+                  session.setRepeatingRequest(
+                      cameraSwitch.requestBuilder.build(), null, backgroundHandler);
+                } catch (CameraAccessException | IllegalStateException e) {
+                  Log.w(TAG, "Failed to start the camera to switch to", e);
+                  fallBackFromCameraSwitch(cameraSwitch);
+                }
+              }
+
+              @Override
+              public void onConfigureFailed(@NonNull CameraCaptureSession session) {
+                Log.w(TAG, "Failed to configure the session of the camera to switch to");
+                fallBackFromCameraSwitch(cameraSwitch);
+              }
+            }));
+  }
+
+  /** Replaces the current camera with the camera that was switched to and closes the former. */
+  private void completeCameraSwitch(@NonNull CameraSwitch cameraSwitch) {
+    // close() cancels the switch and releases the current camera under the same lock, so it either
+    // drops this switch or releases the camera that it switched to.
+    synchronized (cameraSwitchLock) {
+      if (cameraSwitch != pendingCameraSwitch) {
+        return;
+      }
+      Log.i(TAG, "completeCameraSwitch");
+      pendingCameraSwitch = null;
+      cameraSwitch.completed = true;
+
+      retiredCameraDevice = cameraDevice;
+      deferredPreviewOutput = cameraSwitch.previewOutput;
+      cameraDevice = cameraSwitch.device;
+      // Without a session yet, controls keep updating the former builder until it is created.
+      captureSession = cameraSwitch.session;
+      if (cameraSwitch.requestBuilder != null) {
+        previewRequestBuilder = cameraSwitch.requestBuilder;
+      }
+      stillRequestBuilder = null;
+      cameraProperties = cameraSwitch.properties;
+      cameraFeatures = cameraSwitch.features;
+    }
+    cameraCaptureCallback.resetConvergence();
+
+    if (retiredCameraDevice != null) {
+      // Closing the device without closing its session releases its outputs the fastest.
+      retiredCameraDevice.close();
+    } else {
+      onRetiredCameraClosed();
+    }
+  }
+
+  /** Gives the outputs the replaced camera released to the camera that was switched to. */
+  private void onRetiredCameraClosed() {
+    Log.i(TAG, "onRetiredCameraClosed");
+    retiredCameraDevice = null;
+    OutputConfiguration previewOutput = deferredPreviewOutput;
+    deferredPreviewOutput = null;
+    if (videoRenderer != null) {
+      videoRenderer.releaseRetiredInput();
+    }
+    if (closed || !recordingVideo) {
+      return;
+    }
+
+    try {
+      if (previewOutput == null) {
+        prepareVideoRenderer();
+        startPreview(null);
+      } else {
+        attachDeferredPreview(previewOutput);
+      }
+    } catch (Exception e) {
+      dartMessenger.sendCameraErrorEvent(e.getMessage());
+    }
+  }
+
+  @SuppressLint("UseRequiresApi")
+  @TargetApi(VERSION_CODES.R)
+  private void attachDeferredPreview(@NonNull OutputConfiguration previewOutput)
+      throws CameraAccessException {
+    ResolutionFeature resolutionFeature = cameraFeatures.getResolution();
+    SurfaceTexture surfaceTexture = flutterTexture.surfaceTexture();
+    surfaceTexture.setDefaultBufferSize(
+        resolutionFeature.getPreviewSize().getWidth(),
+        resolutionFeature.getPreviewSize().getHeight());
+    Surface flutterSurface = new Surface(surfaceTexture);
+    previewOutput.addSurface(flutterSurface);
+    captureSession.finalizeOutputConfigurations(Collections.singletonList(previewOutput));
+    previewRequestBuilder.addTarget(flutterSurface);
+    previewSurface = flutterSurface;
+
+    refreshPreviewCaptureSession(
+        null, (code, message) -> dartMessenger.sendCameraErrorEvent(message));
+  }
+
+  /** Closes the camera being switched to, if it has not replaced the current camera yet. */
+  private void cancelCameraSwitch() {
+    CameraSwitch cameraSwitch;
+    synchronized (cameraSwitchLock) {
+      cameraSwitch = pendingCameraSwitch;
+      if (cameraSwitch == null) {
+        return;
+      }
+      pendingCameraSwitch = null;
+    }
+    if (cameraSwitch.device != null) {
+      cameraSwitch.device.close();
+    }
+    if (videoRenderer != null) {
+      videoRenderer.discardStandbyInput();
+    }
+  }
+
+  /** Switches cameras by closing the current camera first, when the new one failed to open. */
+  private void fallBackFromCameraSwitch(@NonNull CameraSwitch cameraSwitch) {
+    synchronized (cameraSwitchLock) {
+      if (cameraSwitch != pendingCameraSwitch) {
+        return;
+      }
+      cancelCameraSwitch();
+    }
+    if (closed || !recordingVideo) {
+      return;
+    }
+    try {
+      switchCameraWhileRecording(cameraSwitch.properties);
+    } catch (Messages.FlutterError e) {
+      dartMessenger.sendCameraErrorEvent(e.getMessage());
+    }
+  }
+
   public void dispose() {
     Log.i(TAG, "dispose");
 
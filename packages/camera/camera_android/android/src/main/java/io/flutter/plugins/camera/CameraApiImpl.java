@@ -19,6 +19,7 @@ import io.flutter.plugins.camera.features.Point;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.view.TextureRegistry;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +31,8 @@ final class CameraApiImpl implements Messages.CameraApi {
   private final PermissionsRegistry permissionsRegistry;
   private final TextureRegistry textureRegistry;
   private final EventChannel imageStreamChannel;
+  private final CaptureExecutors captureExecutors = new CaptureExecutors();
+  private final MemoryPressureMonitor memoryPressureMonitor;
   @VisibleForTesting @Nullable Camera camera;
 
   CameraApiImpl(
@@ -47,10 +50,32 @@ final class CameraApiImpl implements Messages.CameraApi {
     imageStreamChannel =
         new EventChannel(messenger, "plugins.flutter.io/camera_android/imageStream");
     Messages.CameraApi.setUp(messenger, this);
+
+    memoryPressureMonitor =
+        new MemoryPressureMonitor(
+            activity,
+            new MemoryPressureMonitor.Listener() {
+              @Override
+              public void onTrimMemory(int level) {
+                if (camera != null) {
+                  camera.onTrimMemory(level);
+                }
+              }
+
+              @Override
+              public void onMemoryPressureRelieved() {
+                if (camera != null) {
+                  camera.onMemoryPressureRelieved();
+                }
+              }
+            });
+    memoryPressureMonitor.start();
   }
 
   void tearDownMessageHandler() {
     Messages.CameraApi.setUp(messenger, null);
+    memoryPressureMonitor.stop();
+    captureExecutors.shutdown();
   }
 
   private Long instantiateCamera(String cameraName, Messages.PlatformMediaSettings settings)
@@ -64,7 +89,7 @@ final class CameraApiImpl implements Messages.CameraApi {
             new Messages.CameraGlobalEventApi(messenger),
             new Messages.CameraEventApi(messenger, String.valueOf(cameraId)));
     CameraProperties cameraProperties =
-        new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity));
+        CameraInventory.getInstance(activity).getCameraProperties(cameraName);
     Integer fps = (settings.getFps() == null) ? null : settings.getFps().intValue();
     Integer videoBitrate =
         (settings.getVideoBitrate() == null) ? null : settings.getVideoBitrate().intValue();
@@ -81,7 +106,8 @@ final class CameraApiImpl implements Messages.CameraApi {
             dartMessenger,
             cameraProperties,
             new Camera.VideoCaptureSettings(
-                resolutionPreset, settings.getEnableAudio(), fps, videoBitrate, audioBitrate));
+                resolutionPreset, settings.getEnableAudio(), fps, videoBitrate, audioBitrate),
+            captureExecutors);
 
     return flutterSurfaceTexture.id();
   }
@@ -123,7 +149,7 @@ final class CameraApiImpl implements Messages.CameraApi {
       return Collections.emptyList();
     }
     try {
-      return CameraUtils.getAvailableCameras(activity);
+      return CameraInventory.getInstance(activity).getAvailableCameras();
     } catch (CameraAccessException e) {
       throw new RuntimeException(e);
     }
@@ -176,8 +202,41 @@ final class CameraApiImpl implements Messages.CameraApi {
   }
 
   @Override
-  public void captureToMemory(@NonNull Messages.Result<Messages.PlatformCapturedImageData> result) {
-    camera.captureToMemory(result);
+  public void captureToMemory(
+      @Nullable Messages.PlatformCaptureToMemoryOptions options,
+      @NonNull Messages.Result<Messages.PlatformCapturedImageData> result) {
+    if (options != null) {
+      String error = null;
+      if (options.getQuality() < 1 || options.getQuality() > 100) {
+        error = "quality must be between 1 and 100.";
+      } else if (options.getMaxDimension() != null && options.getMaxDimension() < 1) {
+        error = "maxDimension must be at least 1.";
+      } else if (options.getThumbnailMaxDimension() != null
+          && options.getThumbnailMaxDimension() < 1) {
+        error = "thumbnailMaxDimension must be at least 1.";
+      }
+      if (error != null) {
+        result.error(new Messages.FlutterError("IllegalArgumentException", error, null));
+        return;
+      }
+    }
+    camera.captureToMemory(options, result);
+  }
+
+  @Override
+  public void captureBurst(
+      @NonNull Long count,
+      @NonNull Boolean toMemory,
+      @NonNull Messages.Result<List<Messages.PlatformBurstFrame>> result) {
+    if (count < 1 || count > Camera.MAX_BURST_SIZE) {
+      result.error(
+          new Messages.FlutterError(
+              "IllegalArgumentException",
+              "count must be between 1 and " + Camera.MAX_BURST_SIZE + ".",
+              null));
+      return;
+    }
+    camera.captureBurst(count.intValue(), toMemory, result);
   }
 
   @Override
@@ -294,6 +353,136 @@ final class CameraApiImpl implements Messages.CameraApi {
     }
   }
 
+  @Override
+  public void receivedImageStreamData() {
+    // Acknowledgements can still arrive after the camera has been disposed.
+    if (camera != null) {
+      camera.receivedImageStreamData();
+    }
+  }
+
+  @Override
+  public void setImageStreamDeliveryPolicy(
+      @NonNull Messages.PlatformImageStreamDeliveryPolicy policy,
+      @NonNull Long maxPendingFrames) {
+    if (maxPendingFrames < 1) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException", "maxPendingFrames must be at least 1.", null);
+    }
+    camera.setImageStreamDeliveryPolicy(
+        CameraUtils.imageStreamDeliveryPolicyFromPigeon(policy), maxPendingFrames.intValue());
+  }
+
+  @Override
+  public void setImageStreamBufferCount(@NonNull Long bufferCount) {
+    if (bufferCount < ImageStreamReader.MIN_MAX_IMAGES) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException",
+          "bufferCount must be at least " + ImageStreamReader.MIN_MAX_IMAGES + ".",
+          null);
+    }
+    camera.setImageStreamBufferCount(bufferCount.intValue());
+  }
+
+  @Override
+  public void setImageStreamTransport(@NonNull Messages.PlatformImageStreamTransport transport) {
+    camera.setImageStreamTransport(CameraUtils.imageStreamTransportFromPigeon(transport));
+  }
+
+  @Override
+  public void setImageStreamRegion(@NonNull Messages.PlatformImageStreamRegion region) {
+    if (region.getDownsampleFactor() < 1) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException", "downsampleFactor must be at least 1.", null);
+    }
+    if ((region.getCropLeft() != null && region.getCropLeft() < 0)
+        || (region.getCropTop() != null && region.getCropTop() < 0)
+        || (region.getCropWidth() != null && region.getCropWidth() < 1)
+        || (region.getCropHeight() != null && region.getCropHeight() < 1)) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException", "The crop must be a non-empty rectangle in the frame.", null);
+    }
+    camera.setImageStreamRegion(CameraUtils.imageStreamRegionFromPigeon(region));
+  }
+
+  @Override
+  public void setImageStreamFrameRateLimit(
+      @Nullable Double maxFramesPerSecond, @NonNull Long frameStride) {
+    if (maxFramesPerSecond != null && !(maxFramesPerSecond > 0)) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException", "maxFramesPerSecond must be greater than 0.", null);
+    }
+    if (frameStride < 1) {
+      throw new Messages.FlutterError(
+          "IllegalArgumentException", "frameStride must be at least 1.", null);
+    }
+    camera.setImageStreamFrameRateLimit(
+        maxFramesPerSecond == null ? 0 : maxFramesPerSecond, frameStride.intValue());
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformImageStreamStats getImageStreamStats() {
+    return camera.getImageStreamStats();
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformCaptureExecutorStats getCaptureExecutorStats() {
+    return captureExecutors.getStats();
+  }
+
+  @Override
+  public void setZeroShutterLagEnabled(@NonNull Boolean enabled) {
+    camera.setZeroShutterLagEnabled(enabled);
+  }
+
+  @NonNull
+  @Override
+  public Boolean isZeroShutterLagActive() {
+    return camera.isZeroShutterLagActive();
+  }
+
+  @Override
+  public void setFastCaptureEnabled(@NonNull Boolean enabled) {
+    camera.setFastCaptureEnabled(enabled);
+  }
+
+  @Override
+  public void setSyncPictureFilesEnabled(@NonNull Boolean enabled) {
+    camera.setSyncPictureFilesEnabled(enabled);
+  }
+
+  @Override
+  public void setPictureDestination(@NonNull Messages.PlatformPictureDestination destination) {
+    camera.setPictureDestination(CameraUtils.pictureDestinationFromPigeon(destination));
+  }
+
+  @Override
+  public void setMemoryTrimLevels(
+      @Nullable Long releaseBuffersLevel, @Nullable Long pauseImageStreamLevel) {
+    camera.setMemoryTrimLevels(
+        releaseBuffersLevel == null ? Camera.NEVER_TRIM_LEVEL : releaseBuffersLevel.intValue(),
+        pauseImageStreamLevel == null ? Camera.NEVER_TRIM_LEVEL : pauseImageStreamLevel.intValue());
+  }
+
+  @Override
+  public void setSupersetSessionEnabled(@NonNull Boolean enabled) {
+    camera.setSupersetSessionEnabled(enabled);
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformCaptureMetrics getCaptureMetrics() {
+    return camera.getCaptureMetrics();
+  }
+
+  @NonNull
+  @Override
+  public Messages.PlatformStartupTrace getStartupTrace() {
+    return camera.getStartupTrace();
+  }
+
   @NonNull
   @Override
   public Double getMaxZoomLevel() {
@@ -343,7 +532,7 @@ final class CameraApiImpl implements Messages.CameraApi {
   public void setDescriptionWhileRecording(@NonNull String cameraName) {
     try {
       camera.setDescriptionWhileRecording(
-          new CameraPropertiesImpl(cameraName, CameraUtils.getCameraManager(activity)));
+          CameraInventory.getInstance(activity).getCameraProperties(cameraName));
     } catch (CameraAccessException e) {
       throw new Messages.FlutterError("CameraAccessException", e.getMessage(), null);
     }
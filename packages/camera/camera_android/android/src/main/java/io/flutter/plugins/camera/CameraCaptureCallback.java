@@ -11,6 +11,7 @@ import android.hardware.camera2.CaptureResult;
 import android.hardware.camera2.TotalCaptureResult;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
 import io.flutter.plugins.camera.types.CaptureTimeoutsWrapper;
@@ -25,6 +26,19 @@ class CameraCaptureCallback extends CaptureCallback {
   private CameraState cameraState;
   private final CaptureTimeoutsWrapper captureTimeouts;
   private final CameraCaptureProperties captureProps;
+  @Nullable private CaptureResultListener captureResultListener;
+  @Nullable private Runnable firstResultCallback;
+
+  /**
+   * The number of consecutive preview results in which autofocus and auto-exposure must have
+   * converged before a capture may skip the focus and precapture sequence.
+   */
+  @VisibleForTesting static final int CONVERGED_RESULTS_FOR_FAST_CAPTURE = 3;
+
+  /** The number of consecutive preview results in which autofocus has converged. */
+  private int focusConvergedResults;
+  /** The number of consecutive preview results in which auto-exposure has converged. */
+  private int exposureConvergedResults;
 
   // Lookup keys for state; overrideable for unit tests since Mockito can't mock them.
   @VisibleForTesting @NonNull
@@ -74,6 +88,51 @@ class CameraCaptureCallback extends CaptureCallback {
    */
   public void setCameraState(@NonNull CameraState state) {
     cameraState = state;
+    if (state != CameraState.STATE_PREVIEW) {
+      // Focus and exposure are triggered while capturing, so they have to settle again afterwards.
+      resetConvergence();
+    }
+  }
+
+  /** Forgets the convergence seen so far, for example because a new session has been started. */
+  public void resetConvergence() {
+    focusConvergedResults = 0;
+    exposureConvergedResults = 0;
+  }
+
+  /**
+   * Returns whether the recent preview results show that a still capture can be taken right away,
+   * without running the focus and precapture sequence.
+   *
+   * <p>Auto-exposure must have converged or be locked, so the flash is not required either, for
+   * the last {@link #CONVERGED_RESULTS_FOR_FAST_CAPTURE} preview results. When {@code checkFocus}
+   * is true, continuous autofocus must have settled on a focused lens position for as long.
+   *
+   * @param checkFocus whether autofocus has to have converged as well as auto-exposure.
+   * @return whether a fast capture can be taken.
+   */
+  public boolean isConvergedForFastCapture(boolean checkFocus) {
+    return cameraState == CameraState.STATE_PREVIEW
+        && exposureConvergedResults >= CONVERGED_RESULTS_FOR_FAST_CAPTURE
+        && (!checkFocus || focusConvergedResults >= CONVERGED_RESULTS_FOR_FAST_CAPTURE);
+  }
+
+  /**
+   * Sets the listener that receives every {@link TotalCaptureResult}.
+   *
+   * @param listener the listener, or null to stop forwarding results.
+   */
+  public void setCaptureResultListener(@Nullable CaptureResultListener listener) {
+    captureResultListener = listener;
+  }
+
+  /**
+   * Sets a callback that is run once, when the next {@link TotalCaptureResult} is received.
+   *
+   * @param callback the callback, or null to remove a callback that has not run yet.
+   */
+  public void setFirstResultCallback(@Nullable Runnable callback) {
+    firstResultCallback = callback;
   }
 
   private void process(CaptureResult result) {
@@ -88,6 +147,19 @@ class CameraCaptureCallback extends CaptureCallback {
       this.captureProps.setLastLensAperture(lensAperture);
       this.captureProps.setLastSensorExposureTime(sensorExposureTime);
       this.captureProps.setLastSensorSensitivity(sensorSensitivity);
+      Long sensorTimestamp = result.get(CaptureResult.SENSOR_TIMESTAMP);
+      if (sensorTimestamp != null) {
+        this.captureProps.recordCaptureMetadata(
+            sensorTimestamp,
+            lensAperture,
+            sensorExposureTime,
+            sensorSensitivity,
+            result.get(CaptureResult.LENS_FOCUS_DISTANCE));
+      }
+
+      if (cameraState == CameraState.STATE_PREVIEW) {
+        trackConvergence(afState, aeState);
+      }
     }
 
     if (cameraState != CameraState.STATE_PREVIEW) {
@@ -152,6 +224,26 @@ class CameraCaptureCallback extends CaptureCallback {
     }
   }
 
+  private void trackConvergence(@Nullable Integer afState, @Nullable Integer aeState) {
+    // CONTROL_AF_STATE and CONTROL_AE_STATE can be null on some devices
+    if (afState == null
+        || afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED
+        || afState == CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED) {
+      focusConvergedResults =
+          Math.min(focusConvergedResults + 1, CONVERGED_RESULTS_FOR_FAST_CAPTURE);
+    } else {
+      focusConvergedResults = 0;
+    }
+    if (aeState == null
+        || aeState == CaptureResult.CONTROL_AE_STATE_CONVERGED
+        || aeState == CaptureResult.CONTROL_AE_STATE_LOCKED) {
+      exposureConvergedResults =
+          Math.min(exposureConvergedResults + 1, CONVERGED_RESULTS_FOR_FAST_CAPTURE);
+    } else {
+      exposureConvergedResults = 0;
+    }
+  }
+
   private void handleWaitingFocusState(Integer aeState) {
     // CONTROL_AE_STATE can be null on some devices
     if (aeState == null || aeState == CaptureRequest.CONTROL_AE_STATE_CONVERGED) {
@@ -175,6 +267,14 @@ class CameraCaptureCallback extends CaptureCallback {
       @NonNull CaptureRequest request,
       @NonNull TotalCaptureResult result) {
     process(result);
+    if (firstResultCallback != null) {
+      Runnable callback = firstResultCallback;
+      firstResultCallback = null;
+      callback.run();
+    }
+    if (captureResultListener != null) {
+      captureResultListener.onCaptureResult(result);
+    }
   }
 
   /** An interface that describes the different state changes implementers can be informed about. */
@@ -188,4 +288,11 @@ class CameraCaptureCallback extends CaptureCallback {
      */
     void onPrecapture();
   }
+
+  /** An interface for receiving the complete results of the requests the callback is used for. */
+  interface CaptureResultListener {
+
+    /** Called when a {@link android.hardware.camera2.CaptureRequest} has completed. */
+    void onCaptureResult(@NonNull TotalCaptureResult result);
+  }
 }
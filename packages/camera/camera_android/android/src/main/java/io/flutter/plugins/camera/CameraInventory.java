@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.content.Context;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A process-wide cache of the cameras of the device and their {@link CameraProperties}.
+ *
+ * <p>Reading the characteristics of a camera is a binder call that gets expensive on devices with
+ * many logical and physical cameras. The characteristics of a camera never change, so they are read
+ * once per camera and shared by the camera list and every {@link Camera} that is created for it.
+ * The camera list itself is refreshed when a {@link CameraManager.AvailabilityCallback} reports a
+ * camera that may have been connected or disconnected.
+ */
+final class CameraInventory {
+  private static final String TAG = "CameraInventory";
+
+  @Nullable private static CameraInventory instance;
+
+  /**
+   * Gets the inventory of the process, creating it on first use.
+   *
+   * @param context any context of the application.
+   * @return the process-wide inventory.
+   */
+  @NonNull
+  static synchronized CameraInventory getInstance(@NonNull Context context) {
+    if (instance == null) {
+      instance =
+          new CameraInventory(
+              CameraUtils.getCameraManager(context.getApplicationContext()),
+              new Handler(Looper.getMainLooper()));
+    }
+    return instance;
+  }
+
+  private final CameraManager cameraManager;
+  private final Map<String, CameraProperties> cameraProperties = new HashMap<>();
+  /** The cameras of the device, or null when the list has to be read again. */
+  @Nullable private List<Messages.PlatformCameraDescription> cameras;
+  /** The combinations of cameras that can be opened at the same time, read on first use. */
+  @Nullable private Set<Set<String>> concurrentCameraIds;
+
+  private final CameraManager.AvailabilityCallback availabilityCallback =
+      new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String cameraId) {
+          onAvailabilityChanged(cameraId);
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String cameraId) {
+          onAvailabilityChanged(cameraId);
+        }
+      };
+
+  @VisibleForTesting
+  CameraInventory(@NonNull CameraManager cameraManager, @NonNull Handler handler) {
+    this.cameraManager = cameraManager;
+    cameraManager.registerAvailabilityCallback(availabilityCallback, handler);
+  }
+
+  /** Reads the camera list and the characteristics of every camera on a background thread. */
+  void prefetch() {
+    new Thread(
+            () -> {
+              try {
+                getAvailableCameras();
+              } catch (CameraAccessException | RuntimeException e) {
+                Log.w(TAG, "Failed to prefetch the available cameras", e);
+              }
+            },
+            "CameraInventoryPrefetch")
+        .start();
+  }
+
+  /**
+   * Gets all the available cameras of the device, reading them only if the list has changed.
+   *
+   * @return the available cameras.
+   * @throws CameraAccessException when the camera list or characteristics could not be read.
+   */
+  @NonNull
+  synchronized List<Messages.PlatformCameraDescription> getAvailableCameras()
+      throws CameraAccessException {
+    if (cameras != null) {
+      return cameras;
+    }
+
+    List<Messages.PlatformCameraDescription> availableCameras = new ArrayList<>();
+    for (String cameraName : cameraManager.getCameraIdList()) {
+      int cameraId;
+      try {
+        cameraId = Integer.parseInt(cameraName, 10);
+      } catch (NumberFormatException e) {
+        cameraId = -1;
+      }
+      if (cameraId < 0) {
+        continue;
+      }
+
+      CameraProperties properties = getCameraProperties(cameraName);
+      availableCameras.add(
+          new Messages.PlatformCameraDescription.Builder()
+              .setName(cameraName)
+              .setSensorOrientation((long) properties.getSensorOrientation())
+              .setLensDirection(CameraUtils.lensDirectionFromInteger(properties.getLensFacing()))
+              .build());
+    }
+    cameras = Collections.unmodifiableList(availableCameras);
+    return cameras;
+  }
+
+  /**
+   * Gets the properties of a camera, reading its characteristics only the first time.
+   *
+   * @param cameraName the identifier of the camera.
+   * @return the properties of the camera.
+   * @throws CameraAccessException when the characteristics of the camera could not be read.
+   */
+  @NonNull
+  synchronized CameraProperties getCameraProperties(@NonNull String cameraName)
+      throws CameraAccessException {
+    CameraProperties properties = cameraProperties.get(cameraName);
+    if (properties == null) {
+      properties = new CameraPropertiesImpl(cameraName, cameraManager);
+      cameraProperties.put(cameraName, properties);
+    }
+    return properties;
+  }
+
+  /**
+   * Gets whether two cameras can be opened and stream at the same time, as reported by {@link
+   * CameraManager#getConcurrentCameraIds()}.
+   *
+   * @param firstCameraName the identifier of one camera.
+   * @param secondCameraName the identifier of the other camera.
+   * @return true when both cameras are part of one of the concurrent combinations.
+   * @throws CameraAccessException when the concurrent combinations could not be read.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.R)
+  synchronized boolean canOpenConcurrently(
+      @NonNull String firstCameraName, @NonNull String secondCameraName)
+      throws CameraAccessException {
+    if (concurrentCameraIds == null) {
+      concurrentCameraIds = cameraManager.getConcurrentCameraIds();
+    }
+    for (Set<String> cameraIds : concurrentCameraIds) {
+      if (cameraIds.contains(firstCameraName) && cameraIds.contains(secondCameraName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Refreshes the camera list when a camera that is not in it becomes available, or when an
+   * external camera becomes unavailable, since it may have been disconnected. Built-in cameras
+   * become unavailable whenever they are opened, which does not change the list.
+   */
+  private synchronized void onAvailabilityChanged(@NonNull String cameraId) {
+    CameraProperties properties = cameraProperties.get(cameraId);
+    if (properties == null) {
+      cameras = null;
+    } else if (properties.getLensFacing() == CameraMetadata.LENS_FACING_EXTERNAL) {
+      // Another external camera may be connected with the same identifier later.
+      cameras = null;
+      cameraProperties.remove(cameraId);
+    }
+  }
+}
@@ -76,6 +76,8 @@ public final class CameraPlugin implements FlutterPlugin, ActivityAware {
       BinaryMessenger messenger,
       PermissionsRegistry permissionsRegistry,
       TextureRegistry textureRegistry) {
+    // Read the cameras off the main thread before the app asks for them.
+    CameraInventory.getInstance(activity).prefetch();
     cameraApi =
         new CameraApiImpl(
             activity, messenger, new CameraPermissions(), permissionsRegistry, textureRegistry);
@@ -17,6 +17,9 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
+import io.flutter.plugins.camera.media.ImageStreamTransport;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -277,4 +280,90 @@ public final class CameraUtils {
     }
     throw new IllegalStateException("Unreachable code");
   }
+
+  /**
+   * Converts a PlatformImageStreamDeliveryPolicy from Pigeon to an ImageStreamDeliveryPolicy from
+   * the media package.
+   *
+   * @param policy A PlatformImageStreamDeliveryPolicy.
+   * @return The corresponding ImageStreamDeliveryPolicy.
+   */
+  @NonNull
+  public static ImageStreamDeliveryPolicy imageStreamDeliveryPolicyFromPigeon(
+      @NonNull Messages.PlatformImageStreamDeliveryPolicy policy) {
+    switch (policy) {
+      case LATEST_ONLY:
+        return ImageStreamDeliveryPolicy.LATEST_ONLY;
+      case BOUNDED_QUEUE:
+        return ImageStreamDeliveryPolicy.BOUNDED_QUEUE;
+      case DROP_WHILE_BUSY:
+        return ImageStreamDeliveryPolicy.DROP_WHILE_BUSY;
+    }
+    throw new IllegalStateException("Unreachable code");
+  }
+
+  /**
+   * Converts a PlatformImageStreamTransport from Pigeon to an ImageStreamTransport from the media
+   * package.
+   *
+   * @param transport A PlatformImageStreamTransport.
+   * @return The corresponding ImageStreamTransport.
+   */
+  @NonNull
+  public static ImageStreamTransport imageStreamTransportFromPigeon(
+      @NonNull Messages.PlatformImageStreamTransport transport) {
+    switch (transport) {
+      case MESSAGE_CHANNEL:
+        return ImageStreamTransport.MESSAGE_CHANNEL;
+      case SHARED_MEMORY:
+        return ImageStreamTransport.SHARED_MEMORY;
+    }
+    throw new IllegalStateException("Unreachable code");
+  }
+
+  /**
+   * Converts a PlatformPictureDestination from Pigeon to a PictureDestination.
+   *
+   * @param destination A PlatformPictureDestination.
+   * @return The corresponding PictureDestination.
+   */
+  @NonNull
+  public static PictureDestination pictureDestinationFromPigeon(
+      @NonNull Messages.PlatformPictureDestination destination) {
+    switch (destination) {
+      case CACHE_FILE:
+        return PictureDestination.CACHE_FILE;
+      case MEDIA_STORE:
+        return PictureDestination.MEDIA_STORE;
+    }
+    throw new IllegalStateException("Unreachable code");
+  }
+
+  /**
+   * Converts a PlatformImageStreamRegion from Pigeon to an ImageStreamRegion from the media
+   * package.
+   *
+   * @param region A PlatformImageStreamRegion, without a crop if any of its crop fields is null.
+   * @return The corresponding ImageStreamRegion.
+   */
+  @NonNull
+  public static ImageStreamRegion imageStreamRegionFromPigeon(
+      @NonNull Messages.PlatformImageStreamRegion region) {
+    int downsampleFactor = region.getDownsampleFactor().intValue();
+    boolean lumaOnly = region.getLumaOnly();
+    if (region.getCropLeft() == null
+        || region.getCropTop() == null
+        || region.getCropWidth() == null
+        || region.getCropHeight() == null) {
+      return new ImageStreamRegion(
+          0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, downsampleFactor, lumaOnly);
+    }
+    return new ImageStreamRegion(
+        region.getCropLeft().intValue(),
+        region.getCropTop().intValue(),
+        region.getCropWidth().intValue(),
+        region.getCropHeight().intValue(),
+        downsampleFactor,
+        lumaOnly);
+  }
 }
@@ -0,0 +1,135 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The executors that still captures are handed off to once the camera has produced the image.
+ *
+ * <p>Camera callbacks and image stream frames are handled on the camera background thread, which
+ * acts as the capture-control thread. Decoding, rotating and encoding a JPEG can take hundreds of
+ * milliseconds, so that work runs on a small bounded pool instead, and file output runs on a single
+ * writer thread so that files are written one at a time and in order.
+ *
+ * <p>Idle threads time out, so an instance can be kept for the lifetime of the plugin.
+ */
+public class CaptureExecutors {
+  /** The most tasks that may wait for a processing thread before new ones are rejected. */
+  @VisibleForTesting static final int MAX_QUEUED_PROCESSING_TASKS = 4;
+
+  private static final long KEEP_ALIVE_SECONDS = 10;
+
+  private final TrackedExecutor processing;
+  private final TrackedExecutor io;
+
+  /** Creates the executors, using up to two processing threads depending on the CPU count. */
+  public CaptureExecutors() {
+    this(Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)));
+  }
+
+  @VisibleForTesting
+  CaptureExecutors(int processingThreads) {
+    processing =
+        new TrackedExecutor(
+            "CameraImageProcessing",
+            processingThreads,
+            new LinkedBlockingQueue<>(MAX_QUEUED_PROCESSING_TASKS));
+    io = new TrackedExecutor("CameraImageIo", 1, new LinkedBlockingQueue<>());
+  }
+
+  /**
+   * Runs CPU-bound image processing, such as decoding and re-encoding a JPEG.
+   *
+   * @throws RejectedExecutionException if too many images are already waiting to be processed.
+   */
+  public void executeProcessing(@NonNull Runnable task) {
+    processing.execute(task);
+  }
+
+  /** Runs file output on the single writer thread. */
+  public void executeIo(@NonNull Runnable task) {
+    io.execute(task);
+  }
+
+  /** Returns the current and peak queue depths and completed task counts of both executors. */
+  @NonNull
+  public Messages.PlatformCaptureExecutorStats getStats() {
+    return new Messages.PlatformCaptureExecutorStats.Builder()
+        .setProcessingQueueDepth((long) processing.depth.get())
+        .setProcessingMaxQueueDepth((long) processing.maxDepth.get())
+        .setProcessingCompletedTasks(processing.completed.get())
+        .setIoQueueDepth((long) io.depth.get())
+        .setIoMaxQueueDepth((long) io.maxDepth.get())
+        .setIoCompletedTasks(io.completed.get())
+        .build();
+  }
+
+  /** Stops accepting tasks. Tasks that were already submitted still run. */
+  public void shutdown() {
+    processing.executor.shutdown();
+    io.executor.shutdown();
+  }
+
+  /** A thread pool that keeps track of how many tasks are queued or running on it. */
+  private static final class TrackedExecutor {
+    final ThreadPoolExecutor executor;
+    /** Tasks that were submitted but have not finished yet. */
+    final AtomicInteger depth = new AtomicInteger();
+
+    final AtomicInteger maxDepth = new AtomicInteger();
+    final AtomicLong completed = new AtomicLong();
+
+    TrackedExecutor(
+        @NonNull String name, int threads, @NonNull LinkedBlockingQueue<Runnable> queue) {
+      executor =
+          new ThreadPoolExecutor(
+              threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, threadFactory(name));
+      executor.allowCoreThreadTimeOut(true);
+    }
+
+    void execute(@NonNull Runnable task) {
+      int currentDepth = depth.incrementAndGet();
+      int previousMax;
+      while (currentDepth > (previousMax = maxDepth.get())
+          && !maxDepth.compareAndSet(previousMax, currentDepth)) {
+        // Retry until the peak is at least the current depth.
+      }
+      try {
+        executor.execute(
+            () -> {
+              try {
+                task.run();
+              } finally {
+                depth.decrementAndGet();
+                completed.incrementAndGet();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        depth.decrementAndGet();
+        throw e;
+      }
+    }
+
+    private static ThreadFactory threadFactory(@NonNull String name) {
+      AtomicInteger count = new AtomicInteger();
+      return runnable ->
+          new Thread(
+              () -> {
+                android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+              },
+              name + "-" + count.incrementAndGet());
+    }
+  }
+}
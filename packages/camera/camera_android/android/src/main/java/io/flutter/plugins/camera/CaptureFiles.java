@@ -0,0 +1,56 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the files still captures are saved into.
+ *
+ * <p>Unlike {@link File#createTempFile}, the names come from a counter rather than a {@link
+ * java.security.SecureRandom}, which is slow to seed on the first capture. The counter starts at
+ * the time the class is loaded, so names do not repeat across launches of the app, and a name that
+ * is already taken is skipped.
+ */
+final class CaptureFiles {
+  private static final AtomicLong nextId = new AtomicLong(System.currentTimeMillis());
+
+  private CaptureFiles() {}
+
+  /**
+   * Creates a new, empty file.
+   *
+   * @param directory the directory to create the file in.
+   * @param prefix the start of the file name.
+   * @param suffix the end of the file name, such as its extension.
+   * @return the new file.
+   * @throws IOException when the file could not be created.
+   */
+  @NonNull
+  static File create(@NonNull File directory, @NonNull String prefix, @NonNull String suffix)
+      throws IOException {
+    while (true) {
+      File file = new File(directory, nextName(prefix, suffix));
+      if (file.createNewFile()) {
+        return file;
+      }
+    }
+  }
+
+  /**
+   * Returns a name that no earlier call has returned.
+   *
+   * @param prefix the start of the name.
+   * @param suffix the end of the name, such as its extension.
+   * @return the name.
+   */
+  @NonNull
+  static String nextName(@NonNull String prefix, @NonNull String suffix) {
+    return prefix + Long.toString(nextId.getAndIncrement(), 36) + suffix;
+  }
+}
@@ -0,0 +1,180 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates how long each stage of a still capture takes into histograms.
+ *
+ * <p>A {@link Trace} follows one capture through the camera background thread, the capture
+ * executors and the platform thread. Each stage runs from the end of the previous stage that took
+ * place, so a capture that skips autofocus counts that time towards precapture. Times come from
+ * {@link SystemClock#elapsedRealtimeNanos()}, and recording only updates counters, so nothing is
+ * logged while a capture is in flight.
+ */
+final class CaptureMetrics {
+  /** The exclusive upper bounds of the histogram buckets, from 1 ms doubling up to 8.192 s. */
+  @VisibleForTesting static final long[] BUCKET_UPPER_BOUNDS_MICROS = new long[14];
+
+  static {
+    for (int i = 0; i < BUCKET_UPPER_BOUNDS_MICROS.length; i++) {
+      BUCKET_UPPER_BOUNDS_MICROS[i] = 1000L << i;
+    }
+  }
+
+  private final Histogram[] histograms =
+      new Histogram[Messages.PlatformCaptureStage.values().length];
+  private long fastCaptureCount;
+  private long sequencedCaptureCount;
+
+  /** Starts following a capture that has just been requested. */
+  @NonNull
+  Trace startTrace() {
+    return new Trace(SystemClock.elapsedRealtimeNanos());
+  }
+
+  /**
+   * Records whether a capture skipped the focus and precapture sequence because the preview had
+   * already converged.
+   */
+  synchronized void recordCaptureSequence(boolean fastCapture) {
+    if (fastCapture) {
+      fastCaptureCount++;
+    } else {
+      sequencedCaptureCount++;
+    }
+  }
+
+  /** Returns the histograms of every stage that has been measured at least once. */
+  @NonNull
+  synchronized Messages.PlatformCaptureMetrics getMetrics() {
+    List<Long> bounds = new ArrayList<>(BUCKET_UPPER_BOUNDS_MICROS.length);
+    for (long bound : BUCKET_UPPER_BOUNDS_MICROS) {
+      bounds.add(bound);
+    }
+    List<Messages.PlatformCaptureStageMetrics> stages = new ArrayList<>();
+    for (Messages.PlatformCaptureStage stage : Messages.PlatformCaptureStage.values()) {
+      Histogram histogram = histograms[stage.ordinal()];
+      if (histogram != null) {
+        stages.add(histogram.toPigeon(stage));
+      }
+    }
+    return new Messages.PlatformCaptureMetrics.Builder()
+        .setBucketUpperBoundsMicros(bounds)
+        .setStages(stages)
+        .setFastCaptureCount(fastCaptureCount)
+        .setSequencedCaptureCount(sequencedCaptureCount)
+        .build();
+  }
+
+  private synchronized void record(@NonNull Messages.PlatformCaptureStage stage, long nanos) {
+    Histogram histogram = histograms[stage.ordinal()];
+    if (histogram == null) {
+      histogram = new Histogram();
+      histograms[stage.ordinal()] = histogram;
+    }
+    histogram.add(nanos / 1000);
+  }
+
+  /** The durations of one stage, with their count, total and extremes. */
+  private static final class Histogram {
+    private final long[] bucketCounts = new long[BUCKET_UPPER_BOUNDS_MICROS.length + 1];
+    private long count;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    void add(long micros) {
+      int bucket = 0;
+      while (bucket < BUCKET_UPPER_BOUNDS_MICROS.length
+          && micros >= BUCKET_UPPER_BOUNDS_MICROS[bucket]) {
+        bucket++;
+      }
+      bucketCounts[bucket]++;
+      count++;
+      totalMicros += micros;
+      minMicros = Math.min(minMicros, micros);
+      maxMicros = Math.max(maxMicros, micros);
+    }
+
+    @NonNull
+    Messages.PlatformCaptureStageMetrics toPigeon(@NonNull Messages.PlatformCaptureStage stage) {
+      List<Long> counts = new ArrayList<>(bucketCounts.length);
+      for (long bucketCount : bucketCounts) {
+        counts.add(bucketCount);
+      }
+      return new Messages.PlatformCaptureStageMetrics.Builder()
+          .setStage(stage)
+          .setCount(count)
+          .setTotalMicros(totalMicros)
+          .setMinMicros(minMicros)
+          .setMaxMicros(maxMicros)
+          .setBucketCounts(counts)
+          .build();
+    }
+  }
+
+  /**
+   * Follows one capture, recording each stage as it ends. A trace stops recording once its result
+   * has been delivered or has failed.
+   */
+  final class Trace {
+    private final long startNanos;
+    private long lastNanos;
+    private boolean ended;
+
+    private Trace(long startNanos) {
+      this.startNanos = startNanos;
+      this.lastNanos = startNanos;
+    }
+
+    /** Records that a stage has just ended. */
+    synchronized void mark(@NonNull Messages.PlatformCaptureStage stage) {
+      if (ended) {
+        return;
+      }
+      long now = SystemClock.elapsedRealtimeNanos();
+      record(stage, now - lastNanos);
+      lastNanos = now;
+    }
+
+    /**
+     * Wraps the result of the capture, so that delivering it records the delivery and total stages
+     * and reporting an error ends the trace without recording them.
+     */
+    @NonNull
+    <T> Messages.Result<T> wrap(@NonNull final Messages.Result<T> result) {
+      return new Messages.Result<T>() {
+        @Override
+        public void success(@NonNull T value) {
+          end(true);
+          result.success(value);
+        }
+
+        @Override
+        public void error(@NonNull Throwable error) {
+          end(false);
+          result.error(error);
+        }
+      };
+    }
+
+    private synchronized void end(boolean delivered) {
+      if (ended) {
+        return;
+      }
+      if (delivered) {
+        mark(Messages.PlatformCaptureStage.DELIVERY);
+        record(Messages.PlatformCaptureStage.TOTAL, lastNanos - startNanos);
+      }
+      ended = true;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Scales a JPEG captured to memory down to the size requested by the caller, and encodes its
+ * thumbnail, so that only the pixels the caller needs are sent over the channel.
+ *
+ * <p>The JPEG is decoded with the largest power of two {@code inSampleSize} that still leaves it at
+ * least as large as the requested size, so the decoder never holds the full resolution image, and
+ * the remaining factor is applied with a filtered scale. The thumbnail is scaled from the decoded
+ * image when there is one rather than decoding the JPEG again. The EXIF orientation of the capture
+ * is carried over to the scaled JPEGs, as the camera does not rotate the pixels either.
+ */
+final class CapturedImageScaler {
+  private CapturedImageScaler() {}
+
+  /**
+   * Builds the data returned by captureToMemory, scaling the captured JPEG to the given options.
+   * This decodes and encodes images, so it should run on the processing executor.
+   *
+   * @param jpeg the captured JPEG.
+   * @param width the width of the captured JPEG in pixels.
+   * @param height the height of the captured JPEG in pixels.
+   * @param options the requested sizes, or null to return the capture as it is.
+   * @throws IOException if the JPEG could not be decoded or encoded.
+   */
+  @NonNull
+  static Messages.PlatformCapturedImageData scale(
+      @NonNull byte[] jpeg,
+      int width,
+      int height,
+      @Nullable Messages.PlatformCaptureToMemoryOptions options)
+      throws IOException {
+    Messages.PlatformCapturedImageData data = new Messages.PlatformCapturedImageData();
+    if (options == null) {
+      data.setBytes(jpeg);
+      data.setWidth((long) width);
+      data.setHeight((long) height);
+      return data;
+    }
+
+    int orientation = JpegExif.getOrientation(jpeg);
+    int quality = options.getQuality().intValue();
+    Long maxDimension = options.getMaxDimension();
+    Long thumbnailMaxDimension = options.getThumbnailMaxDimension();
+    Bitmap image = null;
+    try {
+      if (maxDimension != null && Math.max(width, height) > maxDimension) {
+        image = decode(jpeg, width, height, maxDimension.intValue());
+        data.setBytes(encode(image, quality, orientation));
+        data.setWidth((long) image.getWidth());
+        data.setHeight((long) image.getHeight());
+      } else {
+        data.setBytes(jpeg);
+        data.setWidth((long) width);
+        data.setHeight((long) height);
+      }
+
+      if (thumbnailMaxDimension != null) {
+        int thumbnailSize = thumbnailMaxDimension.intValue();
+        Bitmap thumbnail =
+            image != null ? fit(image, thumbnailSize) : decode(jpeg, width, height, thumbnailSize);
+        try {
+          data.setThumbnailBytes(encode(thumbnail, quality, orientation));
+          data.setThumbnailWidth((long) thumbnail.getWidth());
+          data.setThumbnailHeight((long) thumbnail.getHeight());
+        } finally {
+          if (thumbnail != image) {
+            thumbnail.recycle();
+          }
+        }
+      }
+    } finally {
+      if (image != null) {
+        image.recycle();
+      }
+    }
+    return data;
+  }
+
+  /** Decodes a JPEG so that its longest side is at most {@code maxDimension} pixels. */
+  @NonNull
+  private static Bitmap decode(@NonNull byte[] jpeg, int width, int height, int maxDimension)
+      throws IOException {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = sampleSize(Math.max(width, height), maxDimension);
+    options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+    Bitmap bitmap = BitmapFactory.decodeByteArray(jpeg, 0, jpeg.length, options);
+    if (bitmap == null) {
+      throw new IOException("Failed to decode image");
+    }
+    Bitmap fitted = fit(bitmap, maxDimension);
+    if (fitted != bitmap) {
+      bitmap.recycle();
+    }
+    return fitted;
+  }
+
+  /** Scales a bitmap down so that its longest side is at most {@code maxDimension} pixels. */
+  @NonNull
+  private static Bitmap fit(@NonNull Bitmap bitmap, int maxDimension) {
+    int longest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+    if (longest <= maxDimension) {
+      return bitmap;
+    }
+    return Bitmap.createScaledBitmap(
+        bitmap,
+        scaledLength(bitmap.getWidth(), longest, maxDimension),
+        scaledLength(bitmap.getHeight(), longest, maxDimension),
+        true);
+  }
+
+  @NonNull
+  private static byte[] encode(@NonNull Bitmap bitmap, int quality, int orientation)
+      throws IOException {
+    ByteArrayOutputStream outputStream =
+        new ByteArrayOutputStream(bitmap.getWidth() * bitmap.getHeight() / 4);
+    if (!bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream)) {
+      throw new IOException("Failed to encode image");
+    }
+    byte[] bytes = outputStream.toByteArray();
+    if (orientation == JpegExif.ORIENTATION_UNDEFINED) {
+      return bytes;
+    }
+    return JpegExif.withOrientation(bytes, orientation);
+  }
+
+  /**
+   * Returns the largest power of two that an image whose longest side is {@code longest} pixels
+   * can be subsampled by while staying at least {@code maxDimension} pixels long.
+   */
+  @VisibleForTesting
+  static int sampleSize(int longest, int maxDimension) {
+    int sampleSize = 1;
+    while (longest / (sampleSize * 2) >= maxDimension) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  /** Returns a side of an image scaled so that its longest side becomes {@code maxDimension}. */
+  @VisibleForTesting
+  static int scaledLength(int length, int longest, int maxDimension) {
+    return Math.max(1, Math.round((float) length * maxDimension / longest));
+  }
+}
@@ -10,9 +10,7 @@ import android.graphics.Matrix;
 import android.media.ExifInterface;
 import android.media.Image;
 import androidx.annotation.NonNull;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
@@ -54,73 +52,72 @@ public class ImageMemoryProcessor implements Runnable {
 
   @Override
   public void run() {
-    long startTime = System.currentTimeMillis();
     try {
       // Get JPEG bytes from image buffer
-      long bufferStartTime = System.currentTimeMillis();
       ByteBuffer buffer = image.getPlanes()[0].getBuffer();
       byte[] jpegBytes = new byte[buffer.remaining()];
       buffer.get(jpegBytes);
-      android.util.Log.d("ImageMemoryProcessor", "Buffer extraction took: " + (System.currentTimeMillis() - bufferStartTime) + "ms");
 
       // Read EXIF orientation to check if rotation is needed
-      long exifStartTime = System.currentTimeMillis();
-      int orientation = getExifOrientation(jpegBytes);
-      android.util.Log.d("ImageMemoryProcessor", "EXIF reading took: " + (System.currentTimeMillis() - exifStartTime) + "ms");
-      
+      int orientation = JpegExif.getOrientation(jpegBytes);
+
       int imageWidth = image.getWidth();
       int imageHeight = image.getHeight();
       byte[] finalBytes = jpegBytes;
 
       // Only decode/rotate if orientation correction is needed and not skipped
-      if (!skipOrientationCorrection 
+      if (!skipOrientationCorrection
           && orientation != ExifInterface.ORIENTATION_NORMAL
           && orientation != ExifInterface.ORIENTATION_UNDEFINED) {
-        long rotateStartTime = System.currentTimeMillis();
-        android.util.Log.d("ImageMemoryProcessor", "Orientation needs correction: " + orientation);
-        
+        // Rotate the DCT blocks losslessly when the orientation is a plain rotation
+        int degrees = rotationDegrees(orientation);
+        JpegTransform.RotatedJpeg rotated =
+            degrees == 0 ? null : JpegTransform.rotate(jpegBytes, degrees);
+        if (rotated != null) {
+          JpegExif.setOrientation(rotated.bytes, JpegExif.ORIENTATION_NORMAL);
+          callback.onComplete(rotated.bytes, rotated.width, rotated.height);
+          return;
+        }
+
         // Decode JPEG to Bitmap with optimized settings
-        long decodeStartTime = System.currentTimeMillis();
         BitmapFactory.Options options = new BitmapFactory.Options();
         options.inMutable = true; // Allow in-place operations
         options.inPreferredConfig = Bitmap.Config.ARGB_8888;
         options.inTempStorage = new byte[32 * 1024]; // 32KB temp buffer for faster decoding
         options.inScaled = false; // Don't scale during decode
-        
+
         Bitmap bitmap = BitmapFactory.decodeByteArray(jpegBytes, 0, jpegBytes.length, options);
         if (bitmap == null) {
           callback.onError("decodeError", "Failed to decode image");
           return;
         }
-        android.util.Log.d("ImageMemoryProcessor", "Decode took: " + (System.currentTimeMillis() - decodeStartTime) + "ms, size: " + bitmap.getWidth() + "x" + bitmap.getHeight());
 
         // Rotate bitmap based on EXIF orientation
-        long rotateOnlyStartTime = System.currentTimeMillis();
         Bitmap orientedBitmap = rotateBitmap(bitmap, orientation);
         if (orientedBitmap != bitmap) {
           bitmap.recycle();
         }
-        android.util.Log.d("ImageMemoryProcessor", "Rotate only took: " + (System.currentTimeMillis() - rotateOnlyStartTime) + "ms");
 
         // Update dimensions after rotation
         imageWidth = orientedBitmap.getWidth();
         imageHeight = orientedBitmap.getHeight();
 
         // Re-compress to JPEG with optimized quality and buffer sizing
-        long compressStartTime = System.currentTimeMillis();
         // Estimate capacity: rotated images typically compress similarly
-        int estimatedCapacity = Math.max(jpegBytes.length, orientedBitmap.getWidth() * orientedBitmap.getHeight() / 10);
+        int estimatedCapacity =
+            Math.max(jpegBytes.length, orientedBitmap.getWidth() * orientedBitmap.getHeight() / 10);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream(estimatedCapacity);
-    boolean compressed = orientedBitmap.compress(Bitmap.CompressFormat.JPEG, 82, outputStream);
-        finalBytes = outputStream.toByteArray();
+        boolean compressed =
+            orientedBitmap.compress(Bitmap.CompressFormat.JPEG, 82, outputStream);
         orientedBitmap.recycle();
-        android.util.Log.d("ImageMemoryProcessor", "Compress took: " + (System.currentTimeMillis() - compressStartTime) + "ms, success: " + compressed + ", output size: " + finalBytes.length);
-        
-        android.util.Log.d("ImageMemoryProcessor", "Total rotation took: " + (System.currentTimeMillis() - rotateStartTime) + "ms");
+        if (!compressed) {
+          callback.onError("encodeError", "Failed to encode image");
+          return;
+        }
+        finalBytes = outputStream.toByteArray();
       }
 
       // Return byte[] directly - much faster than converting to List<Long>
-      android.util.Log.d("ImageMemoryProcessor", "Total processing took: " + (System.currentTimeMillis() - startTime) + "ms");
       callback.onComplete(finalBytes, imageWidth, imageHeight);
     } catch (Exception e) {
       callback.onError("processError", e.getMessage());
@@ -129,15 +126,17 @@ public class ImageMemoryProcessor implements Runnable {
     }
   }
 
-  private int getExifOrientation(byte[] jpegBytes) {
-    try {
-      ExifInterface exif = new ExifInterface(new ByteArrayInputStream(jpegBytes));
-      int orientation = exif.getAttributeInt(
-          ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
-      return orientation;
-    } catch (IOException e) {
-      // If EXIF cannot be read, assume normal orientation
-      return ExifInterface.ORIENTATION_NORMAL;
+  /** Returns the clockwise rotation of an EXIF orientation, or 0 if it is not a plain rotation. */
+  private static int rotationDegrees(int orientation) {
+    switch (orientation) {
+      case ExifInterface.ORIENTATION_ROTATE_90:
+        return 90;
+      case ExifInterface.ORIENTATION_ROTATE_180:
+        return 180;
+      case ExifInterface.ORIENTATION_ROTATE_270:
+        return 270;
+      default:
+        return 0;
     }
   }
 
@@ -12,8 +12,14 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
-/** Saves a JPEG {@link Image} into the specified {@link File}. */
+/**
+ * Saves a JPEG {@link Image} into the specified {@link File}.
+ *
+ * <p>The JPEG is written from the image buffer straight to the file channel, without copying it
+ * onto the heap.
+ */
 public class ImageSaver implements Runnable {
 
   /** The JPEG image */
@@ -22,6 +28,9 @@ public class ImageSaver implements Runnable {
   /** The file we save the image into. */
   private final File file;
 
+  /** Whether the file is forced to storage before completion is reported. */
+  private final boolean syncToStorage;
+
   /** Used to report the status of the save action. */
   private final Callback callback;
 
@@ -33,20 +42,32 @@ public class ImageSaver implements Runnable {
    * @param callback - The callback that is run on completion, or when an error is encountered.
    */
   ImageSaver(@NonNull Image image, @NonNull File file, @NonNull Callback callback) {
+    this(image, file, false, callback);
+  }
+
+  /**
+   * Creates an instance of the ImageSaver runnable
+   *
+   * @param image - The image to save
+   * @param file - The file to save the image to
+   * @param syncToStorage - Whether the file is forced to storage before completion is reported
+   * @param callback - The callback that is run on completion, or when an error is encountered.
+   */
+  ImageSaver(
+      @NonNull Image image, @NonNull File file, boolean syncToStorage, @NonNull Callback callback) {
     this.image = image;
     this.file = file;
+    this.syncToStorage = syncToStorage;
     this.callback = callback;
   }
 
   @Override
   public void run() {
     ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-    byte[] bytes = new byte[buffer.remaining()];
-    buffer.get(bytes);
     FileOutputStream output = null;
     try {
       output = FileOutputStreamFactory.create(file);
-      output.write(bytes);
+      write(buffer, output.getChannel(), syncToStorage);
 
       callback.onComplete(file.getAbsolutePath());
 
@@ -64,6 +85,25 @@ public class ImageSaver implements Runnable {
     }
   }
 
+  /**
+   * Writes the remaining bytes of a buffer to a channel, without copying them onto the heap.
+   *
+   * @param buffer the bytes to write.
+   * @param channel the channel to write to.
+   * @param syncToStorage whether to force the channel to storage once the bytes are written.
+   * @throws IOException when the bytes could not be written.
+   */
+  static void write(@NonNull ByteBuffer buffer, @NonNull FileChannel channel, boolean syncToStorage)
+      throws IOException {
+    // A single write may not drain the buffer.
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    if (syncToStorage) {
+      channel.force(true);
+    }
+  }
+
   /**
    * The interface for the callback that is passed to ImageSaver, for detecting completion or
    * failure of the image saving task.
@@ -0,0 +1,210 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Reads and writes the EXIF orientation of a JPEG held in memory.
+ *
+ * <p>Only the markers before the image data and the first IFD of the EXIF APP1 segment are walked,
+ * so this avoids parsing every tag the way {@link android.media.ExifInterface} does, and the
+ * orientation can be rewritten in place without copying the image.
+ */
+final class JpegExif {
+  /** The orientation value used when a JPEG has no orientation tag. */
+  static final int ORIENTATION_UNDEFINED = 0;
+
+  /** The orientation of an image that is already upright. */
+  static final int ORIENTATION_NORMAL = 1;
+
+  private static final int MARKER_SOI = 0xD8;
+  private static final int MARKER_APP1 = 0xE1;
+  private static final int MARKER_SOS = 0xDA;
+  private static final int MARKER_EOI = 0xD9;
+  private static final int TAG_ORIENTATION = 0x0112;
+  private static final int TYPE_SHORT = 3;
+
+  /** The EXIF APP1 segment written by {@link #withOrientation}, apart from the value. */
+  private static final byte[] ORIENTATION_SEGMENT = {
+    (byte) 0xFF, (byte) 0xE1, 0, 34, // APP1 marker and segment length.
+    'E', 'x', 'i', 'f', 0, 0, // EXIF identifier.
+    'M', 'M', 0, 42, 0, 0, 0, 8, // Big endian TIFF header, IFD0 at offset 8.
+    0, 1, // One IFD0 entry.
+    0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 0, 0, 0, // Orientation, SHORT, count 1, value.
+    0, 0, 0, 0 // No next IFD.
+  };
+
+  /** Where the orientation value is in {@link #ORIENTATION_SEGMENT}. */
+  private static final int ORIENTATION_VALUE_OFFSET = 28;
+
+  private JpegExif() {}
+
+  /**
+   * Returns the EXIF orientation of a JPEG.
+   *
+   * @return the orientation, or {@link #ORIENTATION_UNDEFINED} if there is none or the data is not
+   *     a JPEG.
+   */
+  static int getOrientation(@NonNull byte[] jpeg) {
+    OrientationTag tag = findOrientationTag(jpeg);
+    if (tag == null) {
+      return ORIENTATION_UNDEFINED;
+    }
+    return readShort(jpeg, tag.valueOffset, tag.bigEndian);
+  }
+
+  /**
+   * Rewrites the EXIF orientation of a JPEG in place.
+   *
+   * @return false if the JPEG has no orientation tag to rewrite.
+   */
+  static boolean setOrientation(@NonNull byte[] jpeg, int orientation) {
+    OrientationTag tag = findOrientationTag(jpeg);
+    if (tag == null) {
+      return false;
+    }
+    int offset = tag.valueOffset;
+    if (tag.bigEndian) {
+      jpeg[offset] = (byte) (orientation >> 8);
+      jpeg[offset + 1] = (byte) orientation;
+    } else {
+      jpeg[offset] = (byte) orientation;
+      jpeg[offset + 1] = (byte) (orientation >> 8);
+    }
+    return true;
+  }
+
+  /**
+   * Sets the EXIF orientation of a JPEG, rewriting the existing tag in place or otherwise inserting
+   * an EXIF segment holding only the orientation right after the start of image marker.
+   *
+   * @return {@code jpeg} itself if the tag was rewritten or the data is not a JPEG, or a new array
+   *     with the inserted segment.
+   */
+  @NonNull
+  static byte[] withOrientation(@NonNull byte[] jpeg, int orientation) {
+    if (!isJpeg(jpeg) || setOrientation(jpeg, orientation)) {
+      return jpeg;
+    }
+    byte[] tagged = new byte[jpeg.length + ORIENTATION_SEGMENT.length];
+    tagged[0] = jpeg[0];
+    tagged[1] = jpeg[1];
+    System.arraycopy(ORIENTATION_SEGMENT, 0, tagged, 2, ORIENTATION_SEGMENT.length);
+    tagged[2 + ORIENTATION_VALUE_OFFSET] = (byte) (orientation >> 8);
+    tagged[2 + ORIENTATION_VALUE_OFFSET + 1] = (byte) orientation;
+    System.arraycopy(jpeg, 2, tagged, 2 + ORIENTATION_SEGMENT.length, jpeg.length - 2);
+    return tagged;
+  }
+
+  private static boolean isJpeg(@NonNull byte[] jpeg) {
+    return jpeg.length >= 2 && jpeg[0] == (byte) 0xFF && (jpeg[1] & 0xFF) == MARKER_SOI;
+  }
+
+  /** Returns where the orientation value is, or null if there is none. */
+  @Nullable
+  private static OrientationTag findOrientationTag(@NonNull byte[] jpeg) {
+    if (!isJpeg(jpeg)) {
+      return null;
+    }
+    int offset = 2;
+    while (offset + 4 <= jpeg.length) {
+      if (jpeg[offset] != (byte) 0xFF) {
+        return null;
+      }
+      int marker = jpeg[offset + 1] & 0xFF;
+      if (marker == 0xFF) {
+        // Fill byte.
+        offset++;
+        continue;
+      }
+      if (marker == MARKER_SOS || marker == MARKER_EOI) {
+        return null;
+      }
+      int length = readShort(jpeg, offset + 2, true);
+      int segmentEnd = offset + 2 + length;
+      if (length < 2 || segmentEnd > jpeg.length) {
+        return null;
+      }
+      if (marker == MARKER_APP1) {
+        OrientationTag tag = findOrientationInApp1(jpeg, offset + 4, segmentEnd);
+        if (tag != null) {
+          return tag;
+        }
+      }
+      offset = segmentEnd;
+    }
+    return null;
+  }
+
+  @Nullable
+  private static OrientationTag findOrientationInApp1(@NonNull byte[] jpeg, int start, int end) {
+    int tiff = start + 6;
+    if (tiff + 8 > end
+        || jpeg[start] != 'E'
+        || jpeg[start + 1] != 'x'
+        || jpeg[start + 2] != 'i'
+        || jpeg[start + 3] != 'f'
+        || jpeg[start + 4] != 0
+        || jpeg[start + 5] != 0) {
+      return null;
+    }
+    boolean bigEndian;
+    if (jpeg[tiff] == 'M' && jpeg[tiff + 1] == 'M') {
+      bigEndian = true;
+    } else if (jpeg[tiff] == 'I' && jpeg[tiff + 1] == 'I') {
+      bigEndian = false;
+    } else {
+      return null;
+    }
+    if (readShort(jpeg, tiff + 2, bigEndian) != 42) {
+      return null;
+    }
+    long ifdOffset = readInt(jpeg, tiff + 4, bigEndian);
+    if (ifdOffset < 8 || tiff + ifdOffset + 2 > end) {
+      return null;
+    }
+    int ifd = tiff + (int) ifdOffset;
+    int entries = readShort(jpeg, ifd, bigEndian);
+    for (int i = 0; i < entries; i++) {
+      int entry = ifd + 2 + 12 * i;
+      if (entry + 12 > end) {
+        return null;
+      }
+      if (readShort(jpeg, entry, bigEndian) == TAG_ORIENTATION) {
+        if (readShort(jpeg, entry + 2, bigEndian) != TYPE_SHORT
+            || readInt(jpeg, entry + 4, bigEndian) != 1) {
+          return null;
+        }
+        return new OrientationTag(entry + 8, bigEndian);
+      }
+    }
+    return null;
+  }
+
+  private static int readShort(@NonNull byte[] data, int offset, boolean bigEndian) {
+    int first = data[offset] & 0xFF;
+    int second = data[offset + 1] & 0xFF;
+    return bigEndian ? (first << 8) | second : (second << 8) | first;
+  }
+
+  private static long readInt(@NonNull byte[] data, int offset, boolean bigEndian) {
+    long high = readShort(data, offset, bigEndian);
+    long low = readShort(data, offset + 2, bigEndian);
+    return bigEndian ? (high << 16) | low : (low << 16) | high;
+  }
+
+  /** Where the value of an orientation tag is, and the byte order it is written in. */
+  private static final class OrientationTag {
+    final int valueOffset;
+    final boolean bigEndian;
+
+    OrientationTag(int valueOffset, boolean bigEndian) {
+      this.valueOffset = valueOffset;
+      this.bigEndian = bigEndian;
+    }
+  }
+}
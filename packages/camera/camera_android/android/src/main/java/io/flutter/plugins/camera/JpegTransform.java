@@ -0,0 +1,1069 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rotates a baseline JPEG by 90, 180 or 270 degrees without decoding it to pixels, the way jpegtran
+ * does.
+ *
+ * <p>The Huffman-coded DCT coefficients are decoded, every 8x8 block is moved to its rotated place
+ * with its coefficients transposed and sign-flipped to match, and the blocks are coded again. The
+ * original Huffman tables are kept when they have a code for every symbol, as the standard tables
+ * that cameras use do, and otherwise tables optimized for the result are generated. The quantized
+ * coefficients themselves are unchanged, so there is no generation loss, and they take about a
+ * third of the memory of an ARGB_8888 bitmap.
+ *
+ * <p>Partial MCUs on an edge that would become the top or left edge of the rotated image are
+ * dropped, as with {@code jpegtran -trim}, which crops up to 15 pixels. Progressive, arithmetic
+ * coded, 12-bit and multi-scan JPEGs are not supported.
+ */
+final class JpegTransform {
+  /** A rotated JPEG and its size. */
+  static final class RotatedJpeg {
+    @NonNull final byte[] bytes;
+    final int width;
+    final int height;
+
+    RotatedJpeg(@NonNull byte[] bytes, int width, int height) {
+      this.bytes = bytes;
+      this.width = width;
+      this.height = height;
+    }
+  }
+
+  /** The natural order index of each coefficient in zigzag order. */
+  private static final int[] ZIGZAG = {
+    0, 1, 8, 16, 9, 2, 3, 10, 17, 24, 32, 25, 18, 11, 4, 5, 12, 19, 26, 33, 40, 48, 41, 34, 27, 20,
+    13, 6, 7, 14, 21, 28, 35, 42, 49, 56, 57, 50, 43, 36, 29, 22, 15, 23, 30, 37, 44, 51, 58, 59,
+    52, 45, 38, 31, 39, 46, 53, 60, 61, 54, 47, 55, 62, 63
+  };
+
+  /** The zigzag order index of each coefficient in natural order. */
+  private static final int[] NATURAL_TO_ZIGZAG = new int[64];
+
+  static {
+    for (int k = 0; k < 64; k++) {
+      NATURAL_TO_ZIGZAG[ZIGZAG[k]] = k;
+    }
+  }
+
+  private static final int MARKER_SOF0 = 0xC0;
+  private static final int MARKER_SOF1 = 0xC1;
+  private static final int MARKER_DHT = 0xC4;
+  private static final int MARKER_SOI = 0xD8;
+  private static final int MARKER_EOI = 0xD9;
+  private static final int MARKER_SOS = 0xDA;
+  private static final int MARKER_DQT = 0xDB;
+  private static final int MARKER_DRI = 0xDD;
+  private static final int MARKER_COM = 0xFE;
+
+  /** Thrown when a JPEG uses a feature that this class cannot transform. */
+  private static final class UnsupportedJpegException extends Exception {
+    UnsupportedJpegException(@NonNull String message) {
+      super(message);
+    }
+  }
+
+  private static final class Component {
+    int id;
+    int horizontalSampling;
+    int verticalSampling;
+    int quantizationTable;
+    int dcTable;
+    int acTable;
+    int blocksPerLine;
+    int blocksPerColumn;
+    short[] coefficients;
+  }
+
+  private final byte[] data;
+  /** The APPn and COM segments, copied to the output as they are. */
+  private final List<byte[]> metadataSegments = new ArrayList<>();
+  /** The payloads of the DQT segments. */
+  private final List<byte[]> quantizationSegments = new ArrayList<>();
+
+  private final HuffmanDecoder[] dcDecoders = new HuffmanDecoder[4];
+  private final HuffmanDecoder[] acDecoders = new HuffmanDecoder[4];
+  private int frameMarker;
+  private int width;
+  private int height;
+  @Nullable private Component[] components;
+  private int maxHorizontalSampling;
+  private int maxVerticalSampling;
+  private int restartInterval;
+  private boolean scanDecoded;
+
+  private JpegTransform(@NonNull byte[] data) {
+    this.data = data;
+  }
+
+  /**
+   * Rotates a JPEG clockwise.
+   *
+   * @param jpeg the JPEG to rotate.
+   * @param degrees 90, 180 or 270.
+   * @return the rotated JPEG, or null if the JPEG is malformed or uses unsupported features.
+   */
+  @Nullable
+  static RotatedJpeg rotate(@NonNull byte[] jpeg, int degrees) {
+    if (degrees != 90 && degrees != 180 && degrees != 270) {
+      throw new IllegalArgumentException("degrees must be 90, 180 or 270.");
+    }
+    try {
+      JpegTransform transform = new JpegTransform(jpeg);
+      transform.decode();
+      return transform.encodeRotated(degrees);
+    } catch (UnsupportedJpegException | IndexOutOfBoundsException e) {
+      return null;
+    }
+  }
+
+  // ---------------------------------------------------------------- Decoding.
+
+  private void decode() throws UnsupportedJpegException {
+    if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != MARKER_SOI) {
+      throw new UnsupportedJpegException("Not a JPEG");
+    }
+    int pos = 2;
+    while (true) {
+      if ((data[pos] & 0xFF) != 0xFF) {
+        throw new UnsupportedJpegException("Expected a marker");
+      }
+      int marker = data[pos + 1] & 0xFF;
+      if (marker == 0xFF) {
+        // Fill byte.
+        pos++;
+        continue;
+      }
+      pos += 2;
+      if (marker == MARKER_EOI) {
+        break;
+      }
+      int length = readShort(pos);
+      int segmentEnd = pos + length;
+      if (length < 2 || segmentEnd > data.length) {
+        throw new UnsupportedJpegException("Truncated segment");
+      }
+      int payload = pos + 2;
+      if (marker == MARKER_SOF0 || marker == MARKER_SOF1) {
+        parseFrame(marker, payload);
+      } else if (marker >= 0xC2 && marker <= 0xCF && marker != MARKER_DHT) {
+        throw new UnsupportedJpegException("Unsupported coding process");
+      } else if (marker == MARKER_DHT) {
+        parseHuffmanTables(payload, segmentEnd);
+      } else if (marker == MARKER_DQT) {
+        quantizationSegments.add(Arrays.copyOfRange(data, payload, segmentEnd));
+      } else if (marker == MARKER_DRI) {
+        restartInterval = readShort(payload);
+      } else if ((marker >= 0xE0 && marker <= 0xEF) || marker == MARKER_COM) {
+        metadataSegments.add(Arrays.copyOfRange(data, pos - 2, segmentEnd));
+      } else if (marker == MARKER_SOS) {
+        pos = decodeScan(payload);
+        continue;
+      }
+      pos = segmentEnd;
+    }
+    if (!scanDecoded) {
+      throw new UnsupportedJpegException("No image data");
+    }
+  }
+
+  private void parseFrame(int marker, int offset) throws UnsupportedJpegException {
+    if (components != null) {
+      throw new UnsupportedJpegException("Multiple frames");
+    }
+    if ((data[offset] & 0xFF) != 8) {
+      throw new UnsupportedJpegException("Only 8-bit samples are supported");
+    }
+    frameMarker = marker;
+    height = readShort(offset + 1);
+    width = readShort(offset + 3);
+    int count = data[offset + 5] & 0xFF;
+    if (width == 0 || height == 0 || count == 0 || count > 4) {
+      throw new UnsupportedJpegException("Unsupported frame");
+    }
+    components = new Component[count];
+    for (int i = 0; i < count; i++) {
+      int entry = offset + 6 + 3 * i;
+      Component component = new Component();
+      component.id = data[entry] & 0xFF;
+      component.horizontalSampling = (data[entry + 1] & 0xFF) >> 4;
+      component.verticalSampling = data[entry + 1] & 0x0F;
+      component.quantizationTable = data[entry + 2] & 0xFF;
+      if (component.horizontalSampling < 1
+          || component.horizontalSampling > 4
+          || component.verticalSampling < 1
+          || component.verticalSampling > 4) {
+        throw new UnsupportedJpegException("Invalid sampling factors");
+      }
+      if (count == 1) {
+        // A single component is never interleaved, so each MCU is one block.
+        component.horizontalSampling = 1;
+        component.verticalSampling = 1;
+      }
+      components[i] = component;
+    }
+    for (Component component : components) {
+      maxHorizontalSampling = Math.max(maxHorizontalSampling, component.horizontalSampling);
+      maxVerticalSampling = Math.max(maxVerticalSampling, component.verticalSampling);
+    }
+    int mcusPerLine = divideRoundingUp(width, 8 * maxHorizontalSampling);
+    int mcusPerColumn = divideRoundingUp(height, 8 * maxVerticalSampling);
+    for (Component component : components) {
+      component.blocksPerLine = mcusPerLine * component.horizontalSampling;
+      component.blocksPerColumn = mcusPerColumn * component.verticalSampling;
+      component.coefficients = new short[component.blocksPerLine * component.blocksPerColumn * 64];
+    }
+  }
+
+  private void parseHuffmanTables(int offset, int end) throws UnsupportedJpegException {
+    while (offset < end) {
+      int tableClass = (data[offset] & 0xFF) >> 4;
+      int tableId = data[offset] & 0x0F;
+      if (tableClass > 1 || tableId > 3) {
+        throw new UnsupportedJpegException("Invalid Huffman table");
+      }
+      int[] counts = new int[17];
+      int total = 0;
+      for (int length = 1; length <= 16; length++) {
+        counts[length] = data[offset + length] & 0xFF;
+        total += counts[length];
+      }
+      int[] values = new int[total];
+      for (int i = 0; i < total; i++) {
+        values[i] = data[offset + 17 + i] & 0xFF;
+      }
+      HuffmanDecoder decoder = new HuffmanDecoder(counts, values);
+      if (tableClass == 0) {
+        dcDecoders[tableId] = decoder;
+      } else {
+        acDecoders[tableId] = decoder;
+      }
+      offset += 17 + total;
+    }
+  }
+
+  /** Decodes the scan whose header starts at {@code offset}, returning where the next marker is. */
+  private int decodeScan(int offset) throws UnsupportedJpegException {
+    if (components == null || scanDecoded) {
+      throw new UnsupportedJpegException("Only single-scan JPEGs are supported");
+    }
+    int count = data[offset] & 0xFF;
+    if (count != components.length) {
+      throw new UnsupportedJpegException("Only interleaved scans are supported");
+    }
+    Component[] scanComponents = new Component[count];
+    for (int i = 0; i < count; i++) {
+      int id = data[offset + 1 + 2 * i] & 0xFF;
+      int tables = data[offset + 2 + 2 * i] & 0xFF;
+      Component component = null;
+      for (Component candidate : components) {
+        if (candidate.id == id) {
+          component = candidate;
+        }
+      }
+      if (component == null) {
+        throw new UnsupportedJpegException("Unknown scan component");
+      }
+      component.dcTable = tables >> 4;
+      component.acTable = tables & 0x0F;
+      if (component.dcTable > 3
+          || component.acTable > 3
+          || dcDecoders[component.dcTable] == null
+          || acDecoders[component.acTable] == null) {
+        throw new UnsupportedJpegException("Missing Huffman table");
+      }
+      scanComponents[i] = component;
+    }
+    // Keep the components in scan order, which is also the order they are written in.
+    for (int i = 0; i < count; i++) {
+      components[i] = scanComponents[i];
+    }
+
+    BitReader reader = new BitReader(data, offset + 1 + 2 * count + 3);
+    int mcusPerLine = divideRoundingUp(width, 8 * maxHorizontalSampling);
+    int mcusPerColumn = divideRoundingUp(height, 8 * maxVerticalSampling);
+    int[] predictions = new int[count];
+    int mcu = 0;
+    for (int mcuY = 0; mcuY < mcusPerColumn; mcuY++) {
+      for (int mcuX = 0; mcuX < mcusPerLine; mcuX++) {
+        if (restartInterval > 0 && mcu > 0 && mcu % restartInterval == 0) {
+          reader.restart();
+          Arrays.fill(predictions, 0);
+        }
+        for (int i = 0; i < count; i++) {
+          Component component = components[i];
+          HuffmanDecoder dcDecoder = dcDecoders[component.dcTable];
+          HuffmanDecoder acDecoder = acDecoders[component.acTable];
+          for (int y = 0; y < component.verticalSampling; y++) {
+            int row = mcuY * component.verticalSampling + y;
+            for (int x = 0; x < component.horizontalSampling; x++) {
+              int column = mcuX * component.horizontalSampling + x;
+              int block = (row * component.blocksPerLine + column) * 64;
+              predictions[i] =
+                  decodeBlock(
+                      reader, dcDecoder, acDecoder, component.coefficients, block, predictions[i]);
+            }
+          }
+        }
+        mcu++;
+      }
+    }
+    scanDecoded = true;
+    return reader.findNextMarker();
+  }
+
+  /** Decodes one block, returning the new DC prediction. */
+  private static int decodeBlock(
+      @NonNull BitReader reader,
+      @NonNull HuffmanDecoder dcDecoder,
+      @NonNull HuffmanDecoder acDecoder,
+      @NonNull short[] coefficients,
+      int offset,
+      int prediction)
+      throws UnsupportedJpegException {
+    int dc = prediction + reader.receiveExtend(reader.decode(dcDecoder));
+    coefficients[offset] = (short) dc;
+    for (int k = 1; k < 64; ) {
+      int symbol = reader.decode(acDecoder);
+      int run = symbol >> 4;
+      int size = symbol & 0x0F;
+      if (size == 0) {
+        if (run != 15) {
+          break;
+        }
+        k += 16;
+        continue;
+      }
+      k += run;
+      if (k > 63) {
+        throw new UnsupportedJpegException("Coefficient out of range");
+      }
+      coefficients[offset + ZIGZAG[k]] = (short) reader.receiveExtend(size);
+      k++;
+    }
+    return dc;
+  }
+
+  // ---------------------------------------------------------------- Encoding.
+
+  @NonNull
+  private RotatedJpeg encodeRotated(int degrees) throws UnsupportedJpegException {
+    Component[] frame = components;
+    boolean transpose = degrees != 180;
+    int mcuWidth = 8 * maxHorizontalSampling;
+    int mcuHeight = 8 * maxVerticalSampling;
+    // Trim the partial MCUs that would otherwise end up at the start of a line or column.
+    int trimmedWidth = degrees == 90 ? width : width - width % mcuWidth;
+    int trimmedHeight = degrees == 270 ? height : height - height % mcuHeight;
+    if (trimmedWidth == 0 || trimmedHeight == 0) {
+      throw new UnsupportedJpegException("Image is smaller than an MCU");
+    }
+    int outputWidth = transpose ? trimmedHeight : trimmedWidth;
+    int outputHeight = transpose ? trimmedWidth : trimmedHeight;
+    int mcusPerLine =
+        divideRoundingUp(
+            outputWidth, 8 * (transpose ? maxVerticalSampling : maxHorizontalSampling));
+    int mcusPerColumn =
+        divideRoundingUp(
+            outputHeight, 8 * (transpose ? maxHorizontalSampling : maxVerticalSampling));
+
+    // The component of each block of an MCU, in coding order.
+    int blocksPerMcu = 0;
+    for (Component component : frame) {
+      blocksPerMcu += component.horizontalSampling * component.verticalSampling;
+    }
+    int[] mcuComponents = new int[blocksPerMcu];
+    for (int i = 0, block = 0; i < frame.length; i++) {
+      for (int j = 0; j < frame[i].horizontalSampling * frame[i].verticalSampling; j++) {
+        mcuComponents[block++] = i;
+      }
+    }
+
+    // Where the source of each output block is, in coding order.
+    int[] sourceOffsets = new int[mcusPerLine * mcusPerColumn * blocksPerMcu];
+    int next = 0;
+    for (int mcuY = 0; mcuY < mcusPerColumn; mcuY++) {
+      for (int mcuX = 0; mcuX < mcusPerLine; mcuX++) {
+        for (Component component : frame) {
+          int horizontal = transpose ? component.verticalSampling : component.horizontalSampling;
+          int vertical = transpose ? component.horizontalSampling : component.verticalSampling;
+          // The number of source blocks covering the trimmed image, on the axes that flip.
+          int sourceColumns = trimmedWidth / mcuWidth * component.horizontalSampling;
+          int sourceRows = trimmedHeight / mcuHeight * component.verticalSampling;
+          for (int y = 0; y < vertical; y++) {
+            int outputRow = mcuY * vertical + y;
+            for (int x = 0; x < horizontal; x++) {
+              int outputColumn = mcuX * horizontal + x;
+              int sourceColumn;
+              int sourceRow;
+              if (degrees == 90) {
+                sourceColumn = outputRow;
+                sourceRow = sourceRows - 1 - outputColumn;
+              } else if (degrees == 270) {
+                sourceColumn = sourceColumns - 1 - outputRow;
+                sourceRow = outputColumn;
+              } else {
+                sourceColumn = sourceColumns - 1 - outputColumn;
+                sourceRow = sourceRows - 1 - outputRow;
+              }
+              sourceOffsets[next++] = (sourceRow * component.blocksPerLine + sourceColumn) * 64;
+            }
+          }
+        }
+      }
+    }
+
+    // The source of each output coefficient in zigzag order, and whether its sign flips.
+    int[] sourceIndex = new int[64];
+    boolean[] negate = new boolean[64];
+    for (int k = 0; k < 64; k++) {
+      int v = ZIGZAG[k] / 8;
+      int u = ZIGZAG[k] % 8;
+      sourceIndex[k] = transpose ? u * 8 + v : ZIGZAG[k];
+      negate[k] =
+          degrees == 90 ? (u & 1) != 0 : degrees == 270 ? (v & 1) != 0 : ((u + v) & 1) != 0;
+    }
+
+    HuffmanEncoder[] dcEncoders = new HuffmanEncoder[4];
+    HuffmanEncoder[] acEncoders = new HuffmanEncoder[4];
+    boolean reuseTables = true;
+    for (Component component : frame) {
+      reuseTables &=
+          hasEveryCode(dcDecoders[component.dcTable], true)
+              && hasEveryCode(acDecoders[component.acTable], false);
+    }
+    if (reuseTables) {
+      for (Component component : frame) {
+        HuffmanDecoder dcDecoder = dcDecoders[component.dcTable];
+        HuffmanDecoder acDecoder = acDecoders[component.acTable];
+        dcEncoders[component.dcTable] = new HuffmanEncoder(dcDecoder.counts, dcDecoder.values);
+        acEncoders[component.acTable] = new HuffmanEncoder(acDecoder.counts, acDecoder.values);
+      }
+    } else {
+      // Gather the symbol statistics of the rotated blocks to build optimal tables.
+      int[][] dcFrequencies = new int[4][257];
+      int[][] acFrequencies = new int[4][257];
+      int[] predictions = new int[frame.length];
+      for (int block = 0; block < sourceOffsets.length; block++) {
+        int i = mcuComponents[block % blocksPerMcu];
+        Component component = frame[i];
+        predictions[i] =
+            countBlock(
+                component.coefficients,
+                sourceOffsets[block],
+                sourceIndex,
+                predictions[i],
+                dcFrequencies[component.dcTable],
+                acFrequencies[component.acTable]);
+      }
+      for (int id = 0; id < 4; id++) {
+        dcEncoders[id] = createOptimalEncoder(dcFrequencies[id]);
+        acEncoders[id] = createOptimalEncoder(acFrequencies[id]);
+      }
+    }
+
+    BitWriter writer = new BitWriter(data.length + 1024);
+    writeHeaders(writer, transpose, outputWidth, outputHeight, dcEncoders, acEncoders);
+    int[] predictions = new int[frame.length];
+    for (int block = 0; block < sourceOffsets.length; block++) {
+      int i = mcuComponents[block % blocksPerMcu];
+      Component component = frame[i];
+      predictions[i] =
+          writeBlock(
+              writer,
+              component.coefficients,
+              sourceOffsets[block],
+              sourceIndex,
+              negate,
+              predictions[i],
+              dcEncoders[component.dcTable],
+              acEncoders[component.acTable]);
+    }
+    writer.flush();
+    writer.writeMarker(MARKER_EOI);
+    return new RotatedJpeg(writer.toByteArray(), outputWidth, outputHeight);
+  }
+
+  private void writeHeaders(
+      @NonNull BitWriter writer,
+      boolean transpose,
+      int outputWidth,
+      int outputHeight,
+      @NonNull HuffmanEncoder[] dcEncoders,
+      @NonNull HuffmanEncoder[] acEncoders)
+      throws UnsupportedJpegException {
+    Component[] frame = components;
+    writer.writeMarker(MARKER_SOI);
+    for (byte[] segment : metadataSegments) {
+      writer.writeBytes(segment);
+    }
+    for (byte[] quantization : quantizationSegments) {
+      writer.writeMarker(MARKER_DQT);
+      writer.writeShort(quantization.length + 2);
+      writer.writeBytes(transpose ? transposeQuantizationTables(quantization) : quantization);
+    }
+
+    writer.writeMarker(frameMarker);
+    writer.writeShort(8 + 3 * frame.length);
+    writer.writeByte(8);
+    writer.writeShort(outputHeight);
+    writer.writeShort(outputWidth);
+    writer.writeByte(frame.length);
+    for (Component component : frame) {
+      int horizontal = transpose ? component.verticalSampling : component.horizontalSampling;
+      int vertical = transpose ? component.horizontalSampling : component.verticalSampling;
+      writer.writeByte(component.id);
+      writer.writeByte((horizontal << 4) | vertical);
+      writer.writeByte(component.quantizationTable);
+    }
+
+    for (int tableClass = 0; tableClass < 2; tableClass++) {
+      HuffmanEncoder[] encoders = tableClass == 0 ? dcEncoders : acEncoders;
+      for (int id = 0; id < 4; id++) {
+        HuffmanEncoder encoder = encoders[id];
+        if (encoder == null) {
+          continue;
+        }
+        writer.writeMarker(MARKER_DHT);
+        writer.writeShort(2 + 17 + encoder.values.length);
+        writer.writeByte((tableClass << 4) | id);
+        for (int length = 1; length <= 16; length++) {
+          writer.writeByte(encoder.counts[length]);
+        }
+        for (int value : encoder.values) {
+          writer.writeByte(value);
+        }
+      }
+    }
+
+    writer.writeMarker(MARKER_SOS);
+    writer.writeShort(6 + 2 * frame.length);
+    writer.writeByte(frame.length);
+    for (Component component : frame) {
+      writer.writeByte(component.id);
+      writer.writeByte((component.dcTable << 4) | component.acTable);
+    }
+    writer.writeByte(0);
+    writer.writeByte(63);
+    writer.writeByte(0);
+  }
+
+  /**
+   * Returns whether a table has a code for every symbol that baseline coding may need, as the
+   * example tables of the specification that most encoders use do. Such a table can code the
+   * rotated blocks, however their runs of zeros change.
+   */
+  private static boolean hasEveryCode(@NonNull HuffmanDecoder decoder, boolean dc) {
+    boolean[] present = new boolean[256];
+    for (int value : decoder.values) {
+      present[value] = true;
+    }
+    if (dc) {
+      for (int size = 0; size <= 11; size++) {
+        if (!present[size]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (!present[0x00] || !present[0xF0]) {
+      return false;
+    }
+    for (int run = 0; run < 16; run++) {
+      for (int size = 1; size <= 10; size++) {
+        if (!present[(run << 4) | size]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Transposes every quantization table of a DQT payload, to match the transposed blocks. */
+  @NonNull
+  private static byte[] transposeQuantizationTables(@NonNull byte[] payload)
+      throws UnsupportedJpegException {
+    byte[] transposed = payload.clone();
+    int offset = 0;
+    while (offset < payload.length) {
+      int entrySize = (payload[offset] & 0xF0) == 0 ? 1 : 2;
+      int values = offset + 1;
+      if (values + 64 * entrySize > payload.length) {
+        throw new UnsupportedJpegException("Truncated quantization table");
+      }
+      for (int k = 0; k < 64; k++) {
+        int natural = ZIGZAG[k];
+        int source = NATURAL_TO_ZIGZAG[(natural % 8) * 8 + natural / 8];
+        for (int b = 0; b < entrySize; b++) {
+          transposed[values + k * entrySize + b] = payload[values + source * entrySize + b];
+        }
+      }
+      offset = values + 64 * entrySize;
+    }
+    return transposed;
+  }
+
+  /** Counts the symbols that coding a block takes, returning the new DC prediction. */
+  private static int countBlock(
+      @NonNull short[] coefficients,
+      int offset,
+      @NonNull int[] sourceIndex,
+      int prediction,
+      @NonNull int[] dcFrequencies,
+      @NonNull int[] acFrequencies) {
+    int dc = coefficients[offset];
+    dcFrequencies[bitLength(dc - prediction)]++;
+    int run = 0;
+    for (int k = 1; k < 64; k++) {
+      int coefficient = coefficients[offset + sourceIndex[k]];
+      if (coefficient == 0) {
+        run++;
+        continue;
+      }
+      while (run > 15) {
+        acFrequencies[0xF0]++;
+        run -= 16;
+      }
+      acFrequencies[(run << 4) | bitLength(coefficient)]++;
+      run = 0;
+    }
+    if (run > 0) {
+      acFrequencies[0]++;
+    }
+    return dc;
+  }
+
+  /** Writes the codes of a block, returning the new DC prediction. */
+  private static int writeBlock(
+      @NonNull BitWriter writer,
+      @NonNull short[] coefficients,
+      int offset,
+      @NonNull int[] sourceIndex,
+      @NonNull boolean[] negate,
+      int prediction,
+      @NonNull HuffmanEncoder dcEncoder,
+      @NonNull HuffmanEncoder acEncoder)
+      throws UnsupportedJpegException {
+    int dc = coefficients[offset];
+    int difference = dc - prediction;
+    int size = bitLength(difference);
+    dcEncoder.write(writer, size);
+    writer.writeValue(difference, size);
+    int run = 0;
+    for (int k = 1; k < 64; k++) {
+      int coefficient = coefficients[offset + sourceIndex[k]];
+      if (coefficient == 0) {
+        run++;
+        continue;
+      }
+      if (negate[k]) {
+        coefficient = -coefficient;
+      }
+      while (run > 15) {
+        acEncoder.write(writer, 0xF0);
+        run -= 16;
+      }
+      size = bitLength(coefficient);
+      acEncoder.write(writer, (run << 4) | size);
+      writer.writeValue(coefficient, size);
+      run = 0;
+    }
+    if (run > 0) {
+      acEncoder.write(writer, 0);
+    }
+    return dc;
+  }
+
+  /** Returns the number of bits needed for the magnitude of a value. */
+  private static int bitLength(int value) {
+    return 32 - Integer.numberOfLeadingZeros(Math.abs(value));
+  }
+
+  /** Creates an encoder with a table optimized for the given frequencies, or null if unused. */
+  @Nullable
+  private static HuffmanEncoder createOptimalEncoder(@NonNull int[] frequencies)
+      throws UnsupportedJpegException {
+    boolean used = false;
+    for (int frequency : frequencies) {
+      used |= frequency != 0;
+    }
+    if (!used) {
+      return null;
+    }
+    int[] counts = new int[17];
+    int[] values = generateOptimalTable(frequencies, counts);
+    return new HuffmanEncoder(counts, values);
+  }
+
+  /**
+   * Generates a length-limited Huffman table for the given symbol frequencies, following section
+   * K.2 of the JPEG specification.
+   *
+   * @param frequencies the count of each of the 256 symbols; the last entry is reserved.
+   * @param counts receives the number of codes of each length, from 1 to 16.
+   * @return the symbols in order of increasing code length.
+   */
+  @NonNull
+  private static int[] generateOptimalTable(@NonNull int[] frequencies, @NonNull int[] counts)
+      throws UnsupportedJpegException {
+    long[] frequency = new long[257];
+    for (int i = 0; i < 256; i++) {
+      frequency[i] = frequencies[i];
+    }
+    // Reserve one code point so that no code consists of only one bits.
+    frequency[256] = 1;
+    int[] codeSize = new int[257];
+    int[] others = new int[257];
+    Arrays.fill(others, -1);
+
+    while (true) {
+      int first = -1;
+      long smallest = Long.MAX_VALUE;
+      for (int i = 0; i <= 256; i++) {
+        if (frequency[i] != 0 && frequency[i] <= smallest) {
+          smallest = frequency[i];
+          first = i;
+        }
+      }
+      int second = -1;
+      smallest = Long.MAX_VALUE;
+      for (int i = 0; i <= 256; i++) {
+        if (frequency[i] != 0 && frequency[i] <= smallest && i != first) {
+          smallest = frequency[i];
+          second = i;
+        }
+      }
+      if (second < 0) {
+        break;
+      }
+      frequency[first] += frequency[second];
+      frequency[second] = 0;
+      codeSize[first]++;
+      while (others[first] >= 0) {
+        first = others[first];
+        codeSize[first]++;
+      }
+      others[first] = second;
+      codeSize[second]++;
+      while (others[second] >= 0) {
+        second = others[second];
+        codeSize[second]++;
+      }
+    }
+
+    int[] lengthCounts = new int[33];
+    for (int i = 0; i <= 256; i++) {
+      if (codeSize[i] > 32) {
+        throw new UnsupportedJpegException("Huffman code too long");
+      }
+      if (codeSize[i] > 0) {
+        lengthCounts[codeSize[i]]++;
+      }
+    }
+    // Limit the code lengths to 16 bits.
+    for (int i = 32; i > 16; i--) {
+      while (lengthCounts[i] > 0) {
+        int j = i - 2;
+        while (lengthCounts[j] == 0) {
+          j--;
+        }
+        lengthCounts[i] -= 2;
+        lengthCounts[i - 1]++;
+        lengthCounts[j + 1] += 2;
+        lengthCounts[j]--;
+      }
+    }
+    // Remove the reserved code point from the longest codes.
+    int longest = 16;
+    while (lengthCounts[longest] == 0) {
+      longest--;
+    }
+    lengthCounts[longest]--;
+    System.arraycopy(lengthCounts, 1, counts, 1, 16);
+
+    int total = 0;
+    for (int length = 1; length <= 16; length++) {
+      total += counts[length];
+    }
+    int[] values = new int[total];
+    int next = 0;
+    for (int length = 1; length <= 32 && next < total; length++) {
+      for (int symbol = 0; symbol < 256 && next < total; symbol++) {
+        if (codeSize[symbol] == length) {
+          values[next++] = symbol;
+        }
+      }
+    }
+    return values;
+  }
+
+  private int readShort(int offset) {
+    return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+  }
+
+  private static int divideRoundingUp(int value, int divisor) {
+    return (value + divisor - 1) / divisor;
+  }
+
+  // ---------------------------------------------------------------- Entropy coding.
+
+  /** Decodes Huffman codes, looking up codes of up to {@link #LOOKAHEAD_BITS} bits at once. */
+  private static final class HuffmanDecoder {
+    static final int LOOKAHEAD_BITS = 9;
+
+    final int[] counts;
+    final int[] maxCode = new int[17];
+    final int[] minCode = new int[17];
+    final int[] valuePointer = new int[17];
+    final int[] values;
+    final byte[] lookupLength = new byte[1 << LOOKAHEAD_BITS];
+    final byte[] lookupValue = new byte[1 << LOOKAHEAD_BITS];
+
+    HuffmanDecoder(@NonNull int[] counts, @NonNull int[] values) throws UnsupportedJpegException {
+      this.counts = counts;
+      this.values = values;
+      int code = 0;
+      int index = 0;
+      for (int length = 1; length <= 16; length++) {
+        valuePointer[length] = index;
+        minCode[length] = code;
+        for (int i = 0; i < counts[length]; i++) {
+          if (length <= LOOKAHEAD_BITS) {
+            int shift = LOOKAHEAD_BITS - length;
+            int first = code << shift;
+            for (int fill = 0; fill < 1 << shift; fill++) {
+              lookupLength[first + fill] = (byte) length;
+              lookupValue[first + fill] = (byte) values[index];
+            }
+          }
+          code++;
+          index++;
+        }
+        if (code > 1 << length) {
+          throw new UnsupportedJpegException("Invalid Huffman table");
+        }
+        maxCode[length] = counts[length] > 0 ? code - 1 : -1;
+        code <<= 1;
+      }
+    }
+  }
+
+  private static final class HuffmanEncoder {
+    final int[] counts;
+    final int[] values;
+    final int[] codes = new int[256];
+    final int[] sizes = new int[256];
+
+    HuffmanEncoder(@NonNull int[] counts, @NonNull int[] values) {
+      this.counts = counts;
+      this.values = values;
+      int code = 0;
+      int index = 0;
+      for (int length = 1; length <= 16; length++) {
+        for (int i = 0; i < counts[length]; i++) {
+          codes[values[index]] = code;
+          sizes[values[index]] = length;
+          code++;
+          index++;
+        }
+        code <<= 1;
+      }
+    }
+
+    void write(@NonNull BitWriter writer, int symbol) throws UnsupportedJpegException {
+      if (sizes[symbol] == 0) {
+        throw new UnsupportedJpegException("Missing Huffman code");
+      }
+      writer.writeBits(codes[symbol], sizes[symbol]);
+    }
+  }
+
+  /** Reads the entropy-coded data of a scan, removing stuffed zero bytes. */
+  private static final class BitReader {
+    private final byte[] data;
+    private int position;
+    /** The unread bits, starting at the most significant bit. */
+    private long buffer;
+
+    private int bufferedBits;
+    /** Set once a marker ends the data, after which zero bits are read. */
+    private boolean markerReached;
+
+    BitReader(@NonNull byte[] data, int position) {
+      this.data = data;
+      this.position = position;
+    }
+
+    private void fill() {
+      while (bufferedBits <= 56) {
+        int value = 0;
+        if (!markerReached) {
+          if (position >= data.length) {
+            markerReached = true;
+          } else {
+            value = data[position] & 0xFF;
+            if (value != 0xFF) {
+              position++;
+            } else if (position + 1 < data.length && data[position + 1] == 0) {
+              position += 2;
+            } else {
+              markerReached = true;
+              value = 0;
+            }
+          }
+        }
+        buffer |= (long) value << (56 - bufferedBits);
+        bufferedBits += 8;
+      }
+    }
+
+    private void skip(int bits) {
+      buffer <<= bits;
+      bufferedBits -= bits;
+    }
+
+    int decode(@NonNull HuffmanDecoder decoder) throws UnsupportedJpegException {
+      if (bufferedBits < 32) {
+        fill();
+      }
+      int lookahead = (int) (buffer >>> (64 - HuffmanDecoder.LOOKAHEAD_BITS));
+      int length = decoder.lookupLength[lookahead];
+      if (length > 0) {
+        skip(length);
+        return decoder.lookupValue[lookahead] & 0xFF;
+      }
+      for (length = HuffmanDecoder.LOOKAHEAD_BITS + 1; length <= 16; length++) {
+        int code = (int) (buffer >>> (64 - length));
+        if (code <= decoder.maxCode[length]) {
+          skip(length);
+          return decoder.values[decoder.valuePointer[length] + code - decoder.minCode[length]];
+        }
+      }
+      throw new UnsupportedJpegException("Invalid Huffman code");
+    }
+
+    /** Reads a value of {@code size} bits and extends its sign, per section F.2.2.1. */
+    int receiveExtend(int size) {
+      if (size == 0) {
+        return 0;
+      }
+      if (bufferedBits < size) {
+        fill();
+      }
+      int value = (int) (buffer >>> (64 - size));
+      skip(size);
+      return value < 1 << (size - 1) ? value - (1 << size) + 1 : value;
+    }
+
+    /** Skips to just after the next restart marker, discarding any buffered bits. */
+    void restart() throws UnsupportedJpegException {
+      buffer = 0;
+      bufferedBits = 0;
+      markerReached = false;
+      while (position + 1 < data.length) {
+        if ((data[position] & 0xFF) == 0xFF) {
+          int marker = data[position + 1] & 0xFF;
+          if (marker >= 0xD0 && marker <= 0xD7) {
+            position += 2;
+            return;
+          }
+          if (marker != 0 && marker != 0xFF) {
+            throw new UnsupportedJpegException("Missing restart marker");
+          }
+        }
+        position++;
+      }
+      throw new UnsupportedJpegException("Missing restart marker");
+    }
+
+    /** Returns the position of the marker that follows the scan. */
+    int findNextMarker() throws UnsupportedJpegException {
+      while (position + 1 < data.length) {
+        if ((data[position] & 0xFF) == 0xFF) {
+          int marker = data[position + 1] & 0xFF;
+          if (marker != 0 && marker != 0xFF && (marker < 0xD0 || marker > 0xD7)) {
+            return position;
+          }
+        }
+        position++;
+      }
+      throw new UnsupportedJpegException("Missing end of image");
+    }
+  }
+
+  /** Writes bytes and entropy-coded bits, stuffing a zero byte after every 0xFF in coded data. */
+  private static final class BitWriter {
+    private byte[] bytes;
+    private int size;
+    private int accumulator;
+    private int accumulatedBits;
+
+    BitWriter(int capacity) {
+      bytes = new byte[capacity];
+    }
+
+    void writeByte(int value) {
+      if (size == bytes.length) {
+        bytes = Arrays.copyOf(bytes, size * 2);
+      }
+      bytes[size++] = (byte) value;
+    }
+
+    void writeShort(int value) {
+      writeByte(value >> 8);
+      writeByte(value);
+    }
+
+    void writeMarker(int marker) {
+      writeByte(0xFF);
+      writeByte(marker);
+    }
+
+    void writeBytes(@NonNull byte[] values) {
+      for (byte value : values) {
+        writeByte(value);
+      }
+    }
+
+    void writeBits(int value, int count) {
+      accumulator = (accumulator << count) | (value & ((1 << count) - 1));
+      accumulatedBits += count;
+      while (accumulatedBits >= 8) {
+        int next = (accumulator >> (accumulatedBits - 8)) & 0xFF;
+        writeByte(next);
+        if (next == 0xFF) {
+          writeByte(0);
+        }
+        accumulatedBits -= 8;
+      }
+    }
+
+    /** Writes the low {@code size} bits of a coefficient, using one's complement if negative. */
+    void writeValue(int value, int size) {
+      if (size > 0) {
+        writeBits(value < 0 ? value - 1 : value, size);
+      }
+    }
+
+    /** Pads the last byte of coded data with one bits. */
+    void flush() {
+      if (accumulatedBits > 0) {
+        writeBits(0x7F, 8 - accumulatedBits);
+      }
+    }
+
+    @NonNull
+    byte[] toByteArray() {
+      return Arrays.copyOf(bytes, size);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.annotation.SuppressLint;
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.media.Image;
+import android.net.Uri;
+import android.os.Environment;
+import android.os.ParcelFileDescriptor;
+import android.provider.MediaStore;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Saves a JPEG {@link Image} as a new item in the shared pictures collection of the {@link
+ * MediaStore}.
+ *
+ * <p>The JPEG is written from the image buffer straight into the item's file descriptor, so the
+ * picture is written once instead of being saved to the cache and copied to the gallery. From
+ * Android 10 the item is pending while it is written, so other apps do not see a partial picture.
+ */
+public class MediaStoreImageSaver implements Runnable {
+  private static final String MIME_TYPE = "image/jpeg";
+
+  private final Image image;
+  private final ContentResolver contentResolver;
+  private final String displayName;
+  private final boolean syncToStorage;
+  private final ImageSaver.Callback callback;
+
+  /**
+   * Creates an instance of the MediaStoreImageSaver runnable
+   *
+   * @param image - The image to save
+   * @param contentResolver - The resolver to insert the item with
+   * @param displayName - The file name of the item
+   * @param syncToStorage - Whether the item is forced to storage before completion is reported
+   * @param callback - The callback that is run with the URI of the item on completion, or when an
+   *     error is encountered.
+   */
+  MediaStoreImageSaver(
+      @NonNull Image image,
+      @NonNull ContentResolver contentResolver,
+      @NonNull String displayName,
+      boolean syncToStorage,
+      @NonNull ImageSaver.Callback callback) {
+    this.image = image;
+    this.contentResolver = contentResolver;
+    this.displayName = displayName;
+    this.syncToStorage = syncToStorage;
+    this.callback = callback;
+  }
+
+  // The pending and relative path columns are only used where they are supported.
+  @SuppressLint("InlinedApi")
+  @Override
+  public void run() {
+    Uri uri = null;
+    try {
+      ContentValues values = new ContentValues();
+      values.put(MediaStore.MediaColumns.DISPLAY_NAME, displayName);
+      values.put(MediaStore.MediaColumns.MIME_TYPE, MIME_TYPE);
+      if (SdkCapabilityChecker.supportsPendingMediaStoreItems()) {
+        values.put(MediaStore.MediaColumns.RELATIVE_PATH, Environment.DIRECTORY_PICTURES);
+        values.put(MediaStore.MediaColumns.IS_PENDING, 1);
+      }
+      uri = contentResolver.insert(MediaStore.Images.Media.EXTERNAL_CONTENT_URI, values);
+      if (uri == null) {
+        callback.onError("IOError", "Failed creating a media store item for the image");
+        return;
+      }
+
+      write(uri);
+
+      if (SdkCapabilityChecker.supportsPendingMediaStoreItems()) {
+        ContentValues published = new ContentValues();
+        published.put(MediaStore.MediaColumns.IS_PENDING, 0);
+        contentResolver.update(uri, published, null, null);
+      }
+      callback.onComplete(uri.toString());
+    } catch (IOException | SecurityException e) {
+      deleteQuietly(uri);
+      callback.onError("IOError", "Failed saving image");
+    } finally {
+      image.close();
+    }
+  }
+
+  private void write(@NonNull Uri uri) throws IOException {
+    ParcelFileDescriptor descriptor = contentResolver.openFileDescriptor(uri, "w");
+    if (descriptor == null) {
+      throw new IOException("Could not open " + uri);
+    }
+    // The stream closes the descriptor when it is closed.
+    try (FileOutputStream output = new ParcelFileDescriptor.AutoCloseOutputStream(descriptor)) {
+      ImageSaver.write(image.getPlanes()[0].getBuffer(), output.getChannel(), syncToStorage);
+    }
+  }
+
+  /** Removes the partly written item, so no broken picture is left in the gallery. */
+  private void deleteQuietly(@Nullable Uri uri) {
+    if (uri == null) {
+      return;
+    }
+    try {
+      contentResolver.delete(uri, null, null);
+    } catch (SecurityException e) {
+      // The item stays pending, and the media store removes pending items after a while.
+    }
+  }
+}
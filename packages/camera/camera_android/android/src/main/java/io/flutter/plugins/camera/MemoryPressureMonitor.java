@@ -0,0 +1,102 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Forwards memory trim requests from the system to a listener, and tells it once the activity is
+ * resumed after a trim, which is when the app is back in the foreground.
+ *
+ * <p>The system does not report when memory pressure subsides, so resources released for a trim
+ * are restored when the activity is next resumed.
+ */
+final class MemoryPressureMonitor
+    implements ComponentCallbacks2, Application.ActivityLifecycleCallbacks {
+  /** Receives memory pressure changes on the main thread. */
+  interface Listener {
+    /**
+     * Called when the system asks the app to trim memory.
+     *
+     * @param level the trim level, one of the {@code TRIM_MEMORY_*} constants of {@link
+     *     ComponentCallbacks2}.
+     */
+    void onTrimMemory(int level);
+
+    /** Called when the activity is resumed after the system asked the app to trim memory. */
+    void onMemoryPressureRelieved();
+  }
+
+  private final Activity activity;
+  private final Listener listener;
+  private boolean trimmed;
+
+  MemoryPressureMonitor(@NonNull Activity activity, @NonNull Listener listener) {
+    this.activity = activity;
+    this.listener = listener;
+  }
+
+  /** Starts receiving trim requests and activity lifecycle changes. */
+  void start() {
+    Application application = activity.getApplication();
+    application.registerComponentCallbacks(this);
+    application.registerActivityLifecycleCallbacks(this);
+  }
+
+  /** Stops receiving trim requests and activity lifecycle changes. */
+  void stop() {
+    Application application = activity.getApplication();
+    application.unregisterComponentCallbacks(this);
+    application.unregisterActivityLifecycleCallbacks(this);
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    trimmed = true;
+    listener.onTrimMemory(level);
+  }
+
+  @Override
+  public void onLowMemory() {
+    onTrimMemory(TRIM_MEMORY_COMPLETE);
+  }
+
+  @Override
+  public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+  @Override
+  public void onActivityResumed(@NonNull Activity resumedActivity) {
+    if (resumedActivity == activity && trimmed) {
+      trimmed = false;
+      listener.onMemoryPressureRelieved();
+    }
+  }
+
+  @Override
+  public void onActivityCreated(
+      @NonNull Activity createdActivity, @Nullable Bundle savedInstanceState) {}
+
+  @Override
+  public void onActivityStarted(@NonNull Activity startedActivity) {}
+
+  @Override
+  public void onActivityPaused(@NonNull Activity pausedActivity) {}
+
+  @Override
+  public void onActivityStopped(@NonNull Activity stoppedActivity) {}
+
+  @Override
+  public void onActivitySaveInstanceState(
+      @NonNull Activity savedActivity, @NonNull Bundle outState) {}
+
+  @Override
+  public void onActivityDestroyed(@NonNull Activity destroyedActivity) {}
+}
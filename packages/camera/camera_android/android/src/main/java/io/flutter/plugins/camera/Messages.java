@@ -170,6 +170,89 @@ public class Messages {
     }
   }
 
+  /**
+   * How image stream frames are delivered while Dart is still busy with earlier
+   * frames.
+   */
+  public enum PlatformImageStreamDeliveryPolicy {
+    /** Keeps only the most recent frame and sends it once Dart catches up. */
+    LATEST_ONLY(0),
+    /**
+     * Sends frames until the given number are waiting on Dart, then drops new
+     * frames.
+     */
+    BOUNDED_QUEUE(1),
+    /** Drops every frame that arrives while Dart is busy with an earlier frame. */
+    DROP_WHILE_BUSY(2);
+
+    final int index;
+
+    PlatformImageStreamDeliveryPolicy(final int index) {
+      this.index = index;
+    }
+  }
+
+  /**
+   * The stages of a still capture whose latency is measured, each running from
+   * the end of the previous stage that took place.
+   */
+  public enum PlatformCaptureStage {
+    /** From the capture request until autofocus has locked. */
+    AUTO_FOCUS(0),
+    /** Until the auto-exposure precapture sequence has converged. */
+    PRECAPTURE(1),
+    /** Until the sensor starts exposing the still frame. */
+    SENSOR_EXPOSURE(2),
+    /** Until the camera has produced the JPEG. */
+    JPEG_AVAILABLE(3),
+    /** Until the image has been processed in memory or saved to a file. */
+    PROCESSING(4),
+    /** Until the result has been handed back to Dart. */
+    DELIVERY(5),
+    /** From the capture request until the result was handed back to Dart. */
+    TOTAL(6);
+
+    final int index;
+
+    PlatformCaptureStage(final int index) {
+      this.index = index;
+    }
+  }
+
+  /** How the planes of image stream frames are transferred to Dart. */
+  public enum PlatformImageStreamTransport {
+    /** The plane bytes are sent through the image stream event channel. */
+    MESSAGE_CHANNEL(0),
+    /**
+     * The planes are written into a memory-mapped file that Dart maps as well,
+     * and only their offsets are sent through the event channel.
+     */
+    SHARED_MEMORY(1);
+
+    final int index;
+
+    PlatformImageStreamTransport(final int index) {
+      this.index = index;
+    }
+  }
+
+  /** Where pictures taken to a file are saved. */
+  public enum PlatformPictureDestination {
+    /** A file in the app's cache directory, returned by its path. */
+    CACHE_FILE(0),
+    /**
+     * A new item in the shared pictures collection of the media store,
+     * returned by its content URI.
+     */
+    MEDIA_STORE(1);
+
+    final int index;
+
+    PlatformPictureDestination(final int index) {
+      this.index = index;
+    }
+  }
+
   /**
    * Pigeon equivalent of [CameraDescription].
    *
@@ -683,6 +766,37 @@ public class Messages {
       this.height = setterArg;
     }
 
+    /** A smaller JPEG of the same capture, when a thumbnail was requested. */
+    private @Nullable byte[] thumbnailBytes;
+
+    public @Nullable byte[] getThumbnailBytes() {
+      return thumbnailBytes;
+    }
+
+    public void setThumbnailBytes(@Nullable byte[] setterArg) {
+      this.thumbnailBytes = setterArg;
+    }
+
+    private @Nullable Long thumbnailWidth;
+
+    public @Nullable Long getThumbnailWidth() {
+      return thumbnailWidth;
+    }
+
+    public void setThumbnailWidth(@Nullable Long setterArg) {
+      this.thumbnailWidth = setterArg;
+    }
+
+    private @Nullable Long thumbnailHeight;
+
+    public @Nullable Long getThumbnailHeight() {
+      return thumbnailHeight;
+    }
+
+    public void setThumbnailHeight(@Nullable Long setterArg) {
+      this.thumbnailHeight = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformCapturedImageData() {}
 
@@ -691,13 +805,14 @@ public class Messages {
       if (this == o) { return true; }
       if (o == null || getClass() != o.getClass()) { return false; }
       PlatformCapturedImageData that = (PlatformCapturedImageData) o;
-      return Arrays.equals(bytes, that.bytes) && width.equals(that.width) && height.equals(that.height);
+      return Arrays.equals(bytes, that.bytes) && width.equals(that.width) && height.equals(that.height) && Arrays.equals(thumbnailBytes, that.thumbnailBytes) && Objects.equals(thumbnailWidth, that.thumbnailWidth) && Objects.equals(thumbnailHeight, that.thumbnailHeight);
     }
 
     @Override
     public int hashCode() {
-      int pigeonVar_result = Objects.hash(width, height);
+      int pigeonVar_result = Objects.hash(width, height, thumbnailWidth, thumbnailHeight);
       pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(bytes);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(thumbnailBytes);
       return pigeonVar_result;
     }
 
@@ -727,21 +842,51 @@ public class Messages {
         return this;
       }
 
+      private @Nullable byte[] thumbnailBytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setThumbnailBytes(@Nullable byte[] setterArg) {
+        this.thumbnailBytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long thumbnailWidth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setThumbnailWidth(@Nullable Long setterArg) {
+        this.thumbnailWidth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long thumbnailHeight;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setThumbnailHeight(@Nullable Long setterArg) {
+        this.thumbnailHeight = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformCapturedImageData build() {
         PlatformCapturedImageData pigeonReturn = new PlatformCapturedImageData();
         pigeonReturn.setBytes(bytes);
         pigeonReturn.setWidth(width);
         pigeonReturn.setHeight(height);
+        pigeonReturn.setThumbnailBytes(thumbnailBytes);
+        pigeonReturn.setThumbnailWidth(thumbnailWidth);
+        pigeonReturn.setThumbnailHeight(thumbnailHeight);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(3);
+      ArrayList<Object> toListResult = new ArrayList<>(6);
       toListResult.add(bytes);
       toListResult.add(width);
       toListResult.add(height);
+      toListResult.add(thumbnailBytes);
+      toListResult.add(thumbnailWidth);
+      toListResult.add(thumbnailHeight);
       return toListResult;
     }
 
@@ -753,6 +898,12 @@ public class Messages {
       pigeonResult.setWidth((Long) width);
       Object height = pigeonVar_list.get(2);
       pigeonResult.setHeight((Long) height);
+      Object thumbnailBytes = pigeonVar_list.get(3);
+      pigeonResult.setThumbnailBytes((byte[]) thumbnailBytes);
+      Object thumbnailWidth = pigeonVar_list.get(4);
+      pigeonResult.setThumbnailWidth((Long) thumbnailWidth);
+      Object thumbnailHeight = pigeonVar_list.get(5);
+      pigeonResult.setThumbnailHeight((Long) thumbnailHeight);
       return pigeonResult;
     }
   }
@@ -915,171 +1066,1549 @@ public class Messages {
     }
   }
 
-  private static class PigeonCodec extends StandardMessageCodec {
-    public static final PigeonCodec INSTANCE = new PigeonCodec();
+  /**
+   * Frame delivery counters for the image stream.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformImageStreamStats {
+    private @NonNull Long deliveredFrames;
 
-    private PigeonCodec() {}
+    public @NonNull Long getDeliveredFrames() {
+      return deliveredFrames;
+    }
 
-    @Override
-    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
-      switch (type) {
-        case (byte) 129: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformCameraLensDirection.values()[((Long) value).intValue()];
-        }
-        case (byte) 130: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformDeviceOrientation.values()[((Long) value).intValue()];
-        }
-        case (byte) 131: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformExposureMode.values()[((Long) value).intValue()];
-        }
-        case (byte) 132: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformFocusMode.values()[((Long) value).intValue()];
-        }
-        case (byte) 133: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformResolutionPreset.values()[((Long) value).intValue()];
-        }
-        case (byte) 134: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformImageFormatGroup.values()[((Long) value).intValue()];
-        }
-        case (byte) 135: {
-          Object value = readValue(buffer);
-          return value == null ? null : PlatformFlashMode.values()[((Long) value).intValue()];
-        }
-        case (byte) 136:
-          return PlatformCameraDescription.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 137:
-          return PlatformCameraState.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 138:
-          return PlatformSize.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 139:
-          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 140:
-          return PlatformCapturedImageData.fromList((ArrayList<Object>) readValue(buffer));
-        case (byte) 141:
-          return PlatformMediaSettings.fromList((ArrayList<Object>) readValue(buffer));
-        default:
-          return super.readValueOfType(type, buffer);
+    public void setDeliveredFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"deliveredFrames\" is null.");
       }
+      this.deliveredFrames = setterArg;
     }
 
-    @Override
-    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
-      if (value instanceof PlatformCameraLensDirection) {
-        stream.write(129);
-        writeValue(stream, value == null ? null : ((PlatformCameraLensDirection) value).index);
-      } else if (value instanceof PlatformDeviceOrientation) {
-        stream.write(130);
-        writeValue(stream, value == null ? null : ((PlatformDeviceOrientation) value).index);
-      } else if (value instanceof PlatformExposureMode) {
-        stream.write(131);
-        writeValue(stream, value == null ? null : ((PlatformExposureMode) value).index);
-      } else if (value instanceof PlatformFocusMode) {
-        stream.write(132);
-        writeValue(stream, value == null ? null : ((PlatformFocusMode) value).index);
-      } else if (value instanceof PlatformResolutionPreset) {
-        stream.write(133);
-        writeValue(stream, value == null ? null : ((PlatformResolutionPreset) value).index);
-      } else if (value instanceof PlatformImageFormatGroup) {
-        stream.write(134);
-        writeValue(stream, value == null ? null : ((PlatformImageFormatGroup) value).index);
-      } else if (value instanceof PlatformFlashMode) {
-        stream.write(135);
-        writeValue(stream, value == null ? null : ((PlatformFlashMode) value).index);
-      } else if (value instanceof PlatformCameraDescription) {
-        stream.write(136);
-        writeValue(stream, ((PlatformCameraDescription) value).toList());
-      } else if (value instanceof PlatformCameraState) {
-        stream.write(137);
-        writeValue(stream, ((PlatformCameraState) value).toList());
-      } else if (value instanceof PlatformSize) {
-        stream.write(138);
-        writeValue(stream, ((PlatformSize) value).toList());
-      } else if (value instanceof PlatformPoint) {
-        stream.write(139);
-        writeValue(stream, ((PlatformPoint) value).toList());
-      } else if (value instanceof PlatformCapturedImageData) {
-        stream.write(140);
-        writeValue(stream, ((PlatformCapturedImageData) value).toList());
-      } else if (value instanceof PlatformMediaSettings) {
-        stream.write(141);
-        writeValue(stream, ((PlatformMediaSettings) value).toList());
-      } else {
-        super.writeValue(stream, value);
+    private @NonNull Long droppedFrames;
+
+    public @NonNull Long getDroppedFrames() {
+      return droppedFrames;
+    }
+
+    public void setDroppedFrames(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"droppedFrames\" is null.");
       }
+      this.droppedFrames = setterArg;
     }
-  }
 
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformImageStreamStats() {}
 
-  /** Asynchronous error handling return type for non-nullable API method returns. */
-  public interface Result<T> {
-    /** Success case callback method for handling returns. */
-    void success(@NonNull T result);
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformImageStreamStats that = (PlatformImageStreamStats) o;
+      return deliveredFrames.equals(that.deliveredFrames) && droppedFrames.equals(that.droppedFrames);
+    }
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
-  }
-  /** Asynchronous error handling return type for nullable API method returns. */
-  public interface NullableResult<T> {
-    /** Success case callback method for handling returns. */
-    void success(@Nullable T result);
+    @Override
+    public int hashCode() {
+      return Objects.hash(deliveredFrames, droppedFrames);
+    }
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
-  }
-  /** Asynchronous error handling return type for void API method returns. */
-  public interface VoidResult {
-    /** Success case callback method for handling returns. */
-    void success();
+    public static final class Builder {
 
-    /** Failure case callback method for handling errors. */
-    void error(@NonNull Throwable error);
+      private @Nullable Long deliveredFrames;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDeliveredFrames(@NonNull Long setterArg) {
+        this.deliveredFrames = setterArg;
+        return this;
+      }
+
+      private @Nullable Long droppedFrames;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDroppedFrames(@NonNull Long setterArg) {
+        this.droppedFrames = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformImageStreamStats build() {
+        PlatformImageStreamStats pigeonReturn = new PlatformImageStreamStats();
+        pigeonReturn.setDeliveredFrames(deliveredFrames);
+        pigeonReturn.setDroppedFrames(droppedFrames);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(2);
+      toListResult.add(deliveredFrames);
+      toListResult.add(droppedFrames);
+      return toListResult;
+    }
+
+    static @NonNull PlatformImageStreamStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformImageStreamStats pigeonResult = new PlatformImageStreamStats();
+      Object deliveredFrames = pigeonVar_list.get(0);
+      pigeonResult.setDeliveredFrames((Long) deliveredFrames);
+      Object droppedFrames = pigeonVar_list.get(1);
+      pigeonResult.setDroppedFrames((Long) droppedFrames);
+      return pigeonResult;
+    }
   }
+
   /**
-   * Handles calls from Dart to the native side.
+   * Queue depths and completed task counts of the still capture executors.
    *
-   * Generated interface from Pigeon that represents a handler of messages from Flutter.
+   * Generated class from Pigeon that represents data sent in messages.
    */
-  public interface CameraApi {
-    /** Returns the list of available cameras. */
-    @NonNull 
-    List<PlatformCameraDescription> getAvailableCameras();
-    /** Creates a new camera with the given name and settings and returns its ID. */
-    void create(@NonNull String cameraName, @NonNull PlatformMediaSettings mediaSettings, @NonNull Result<Long> result);
-    /** Initializes the camera with the given ID for the given image format. */
-    void initialize(@NonNull PlatformImageFormatGroup imageFormat);
-    /** Disposes of the camera with the given ID. */
-    void dispose();
-    /** Locks the camera with the given ID to the given orientation. */
-    void lockCaptureOrientation(@NonNull PlatformDeviceOrientation orientation);
-    /** Unlocks the orientation for the camera with the given ID. */
-    void unlockCaptureOrientation();
-    /**
-     * Takes a picture on the camera with the given ID and returns a path to the
-     * resulting file.
-     */
-    void takePicture(@NonNull Result<String> result);
-    /** Starts recording a video on the camera with the given ID. */
-    void startVideoRecording(@NonNull Boolean enableStream);
-    /**
-     * Ends video recording on the camera with the given ID and returns the path
-     * to the resulting file.
-     */
-    @NonNull 
-    String stopVideoRecording();
-    /** Pauses video recording on the camera with the given ID. */
-    void pauseVideoRecording();
-    /** Resumes previously paused video recording on the camera with the given ID. */
-    void resumeVideoRecording();
-    /** Begins streaming frames from the camera. */
-    void startImageStream();
+  public static final class PlatformCaptureExecutorStats {
+    private @NonNull Long processingQueueDepth;
+
+    public @NonNull Long getProcessingQueueDepth() {
+      return processingQueueDepth;
+    }
+
+    public void setProcessingQueueDepth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"processingQueueDepth\" is null.");
+      }
+      this.processingQueueDepth = setterArg;
+    }
+
+    private @NonNull Long processingMaxQueueDepth;
+
+    public @NonNull Long getProcessingMaxQueueDepth() {
+      return processingMaxQueueDepth;
+    }
+
+    public void setProcessingMaxQueueDepth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"processingMaxQueueDepth\" is null.");
+      }
+      this.processingMaxQueueDepth = setterArg;
+    }
+
+    private @NonNull Long processingCompletedTasks;
+
+    public @NonNull Long getProcessingCompletedTasks() {
+      return processingCompletedTasks;
+    }
+
+    public void setProcessingCompletedTasks(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"processingCompletedTasks\" is null.");
+      }
+      this.processingCompletedTasks = setterArg;
+    }
+
+    private @NonNull Long ioQueueDepth;
+
+    public @NonNull Long getIoQueueDepth() {
+      return ioQueueDepth;
+    }
+
+    public void setIoQueueDepth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"ioQueueDepth\" is null.");
+      }
+      this.ioQueueDepth = setterArg;
+    }
+
+    private @NonNull Long ioMaxQueueDepth;
+
+    public @NonNull Long getIoMaxQueueDepth() {
+      return ioMaxQueueDepth;
+    }
+
+    public void setIoMaxQueueDepth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"ioMaxQueueDepth\" is null.");
+      }
+      this.ioMaxQueueDepth = setterArg;
+    }
+
+    private @NonNull Long ioCompletedTasks;
+
+    public @NonNull Long getIoCompletedTasks() {
+      return ioCompletedTasks;
+    }
+
+    public void setIoCompletedTasks(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"ioCompletedTasks\" is null.");
+      }
+      this.ioCompletedTasks = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformCaptureExecutorStats() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformCaptureExecutorStats that = (PlatformCaptureExecutorStats) o;
+      return processingQueueDepth.equals(that.processingQueueDepth) && processingMaxQueueDepth.equals(that.processingMaxQueueDepth) && processingCompletedTasks.equals(that.processingCompletedTasks) && ioQueueDepth.equals(that.ioQueueDepth) && ioMaxQueueDepth.equals(that.ioMaxQueueDepth) && ioCompletedTasks.equals(that.ioCompletedTasks);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(processingQueueDepth, processingMaxQueueDepth, processingCompletedTasks, ioQueueDepth, ioMaxQueueDepth, ioCompletedTasks);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long processingQueueDepth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setProcessingQueueDepth(@NonNull Long setterArg) {
+        this.processingQueueDepth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long processingMaxQueueDepth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setProcessingMaxQueueDepth(@NonNull Long setterArg) {
+        this.processingMaxQueueDepth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long processingCompletedTasks;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setProcessingCompletedTasks(@NonNull Long setterArg) {
+        this.processingCompletedTasks = setterArg;
+        return this;
+      }
+
+      private @Nullable Long ioQueueDepth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setIoQueueDepth(@NonNull Long setterArg) {
+        this.ioQueueDepth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long ioMaxQueueDepth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setIoMaxQueueDepth(@NonNull Long setterArg) {
+        this.ioMaxQueueDepth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long ioCompletedTasks;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setIoCompletedTasks(@NonNull Long setterArg) {
+        this.ioCompletedTasks = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformCaptureExecutorStats build() {
+        PlatformCaptureExecutorStats pigeonReturn = new PlatformCaptureExecutorStats();
+        pigeonReturn.setProcessingQueueDepth(processingQueueDepth);
+        pigeonReturn.setProcessingMaxQueueDepth(processingMaxQueueDepth);
+        pigeonReturn.setProcessingCompletedTasks(processingCompletedTasks);
+        pigeonReturn.setIoQueueDepth(ioQueueDepth);
+        pigeonReturn.setIoMaxQueueDepth(ioMaxQueueDepth);
+        pigeonReturn.setIoCompletedTasks(ioCompletedTasks);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(6);
+      toListResult.add(processingQueueDepth);
+      toListResult.add(processingMaxQueueDepth);
+      toListResult.add(processingCompletedTasks);
+      toListResult.add(ioQueueDepth);
+      toListResult.add(ioMaxQueueDepth);
+      toListResult.add(ioCompletedTasks);
+      return toListResult;
+    }
+
+    static @NonNull PlatformCaptureExecutorStats fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformCaptureExecutorStats pigeonResult = new PlatformCaptureExecutorStats();
+      Object processingQueueDepth = pigeonVar_list.get(0);
+      pigeonResult.setProcessingQueueDepth((Long) processingQueueDepth);
+      Object processingMaxQueueDepth = pigeonVar_list.get(1);
+      pigeonResult.setProcessingMaxQueueDepth((Long) processingMaxQueueDepth);
+      Object processingCompletedTasks = pigeonVar_list.get(2);
+      pigeonResult.setProcessingCompletedTasks((Long) processingCompletedTasks);
+      Object ioQueueDepth = pigeonVar_list.get(3);
+      pigeonResult.setIoQueueDepth((Long) ioQueueDepth);
+      Object ioMaxQueueDepth = pigeonVar_list.get(4);
+      pigeonResult.setIoMaxQueueDepth((Long) ioMaxQueueDepth);
+      Object ioCompletedTasks = pigeonVar_list.get(5);
+      pigeonResult.setIoCompletedTasks((Long) ioCompletedTasks);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * A single frame of a burst capture.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformBurstFrame {
+    /** The sensor timestamp of the frame, in nanoseconds. */
+    private @NonNull Long sensorTimestamp;
+
+    public @NonNull Long getSensorTimestamp() {
+      return sensorTimestamp;
+    }
+
+    public void setSensorTimestamp(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sensorTimestamp\" is null.");
+      }
+      this.sensorTimestamp = setterArg;
+    }
+
+    /** The path of the saved JPEG, when capturing to files. */
+    private @Nullable String path;
+
+    public @Nullable String getPath() {
+      return path;
+    }
+
+    public void setPath(@Nullable String setterArg) {
+      this.path = setterArg;
+    }
+
+    /** The JPEG bytes, when capturing to memory. */
+    private @Nullable byte[] bytes;
+
+    public @Nullable byte[] getBytes() {
+      return bytes;
+    }
+
+    public void setBytes(@Nullable byte[] setterArg) {
+      this.bytes = setterArg;
+    }
+
+    private @NonNull Long width;
+
+    public @NonNull Long getWidth() {
+      return width;
+    }
+
+    public void setWidth(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"width\" is null.");
+      }
+      this.width = setterArg;
+    }
+
+    private @NonNull Long height;
+
+    public @NonNull Long getHeight() {
+      return height;
+    }
+
+    public void setHeight(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"height\" is null.");
+      }
+      this.height = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformBurstFrame() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformBurstFrame that = (PlatformBurstFrame) o;
+      return sensorTimestamp.equals(that.sensorTimestamp) && Objects.equals(path, that.path) && Arrays.equals(bytes, that.bytes) && width.equals(that.width) && height.equals(that.height);
+    }
+
+    @Override
+    public int hashCode() {
+      int pigeonVar_result = Objects.hash(sensorTimestamp, path, width, height);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(bytes);
+      return pigeonVar_result;
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long sensorTimestamp;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSensorTimestamp(@NonNull Long setterArg) {
+        this.sensorTimestamp = setterArg;
+        return this;
+      }
+
+      private @Nullable String path;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setPath(@Nullable String setterArg) {
+        this.path = setterArg;
+        return this;
+      }
+
+      private @Nullable byte[] bytes;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBytes(@Nullable byte[] setterArg) {
+        this.bytes = setterArg;
+        return this;
+      }
+
+      private @Nullable Long width;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setWidth(@NonNull Long setterArg) {
+        this.width = setterArg;
+        return this;
+      }
+
+      private @Nullable Long height;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setHeight(@NonNull Long setterArg) {
+        this.height = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformBurstFrame build() {
+        PlatformBurstFrame pigeonReturn = new PlatformBurstFrame();
+        pigeonReturn.setSensorTimestamp(sensorTimestamp);
+        pigeonReturn.setPath(path);
+        pigeonReturn.setBytes(bytes);
+        pigeonReturn.setWidth(width);
+        pigeonReturn.setHeight(height);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(5);
+      toListResult.add(sensorTimestamp);
+      toListResult.add(path);
+      toListResult.add(bytes);
+      toListResult.add(width);
+      toListResult.add(height);
+      return toListResult;
+    }
+
+    static @NonNull PlatformBurstFrame fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformBurstFrame pigeonResult = new PlatformBurstFrame();
+      Object sensorTimestamp = pigeonVar_list.get(0);
+      pigeonResult.setSensorTimestamp((Long) sensorTimestamp);
+      Object path = pigeonVar_list.get(1);
+      pigeonResult.setPath((String) path);
+      Object bytes = pigeonVar_list.get(2);
+      pigeonResult.setBytes((byte[]) bytes);
+      Object width = pigeonVar_list.get(3);
+      pigeonResult.setWidth((Long) width);
+      Object height = pigeonVar_list.get(4);
+      pigeonResult.setHeight((Long) height);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Pigeon version of CaptureToMemoryOptions.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformCaptureToMemoryOptions {
+    /** The longest side of the image in pixels, or null for the full size. */
+    private @Nullable Long maxDimension;
+
+    public @Nullable Long getMaxDimension() {
+      return maxDimension;
+    }
+
+    public void setMaxDimension(@Nullable Long setterArg) {
+      this.maxDimension = setterArg;
+    }
+
+    /** The JPEG quality that scaled images are encoded with, from 1 to 100. */
+    private @NonNull Long quality;
+
+    public @NonNull Long getQuality() {
+      return quality;
+    }
+
+    public void setQuality(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"quality\" is null.");
+      }
+      this.quality = setterArg;
+    }
+
+    /** The longest side of the thumbnail in pixels, or null for no thumbnail. */
+    private @Nullable Long thumbnailMaxDimension;
+
+    public @Nullable Long getThumbnailMaxDimension() {
+      return thumbnailMaxDimension;
+    }
+
+    public void setThumbnailMaxDimension(@Nullable Long setterArg) {
+      this.thumbnailMaxDimension = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformCaptureToMemoryOptions() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformCaptureToMemoryOptions that = (PlatformCaptureToMemoryOptions) o;
+      return Objects.equals(maxDimension, that.maxDimension) && quality.equals(that.quality) && Objects.equals(thumbnailMaxDimension, that.thumbnailMaxDimension);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(maxDimension, quality, thumbnailMaxDimension);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long maxDimension;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxDimension(@Nullable Long setterArg) {
+        this.maxDimension = setterArg;
+        return this;
+      }
+
+      private @Nullable Long quality;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setQuality(@NonNull Long setterArg) {
+        this.quality = setterArg;
+        return this;
+      }
+
+      private @Nullable Long thumbnailMaxDimension;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setThumbnailMaxDimension(@Nullable Long setterArg) {
+        this.thumbnailMaxDimension = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformCaptureToMemoryOptions build() {
+        PlatformCaptureToMemoryOptions pigeonReturn = new PlatformCaptureToMemoryOptions();
+        pigeonReturn.setMaxDimension(maxDimension);
+        pigeonReturn.setQuality(quality);
+        pigeonReturn.setThumbnailMaxDimension(thumbnailMaxDimension);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(3);
+      toListResult.add(maxDimension);
+      toListResult.add(quality);
+      toListResult.add(thumbnailMaxDimension);
+      return toListResult;
+    }
+
+    static @NonNull PlatformCaptureToMemoryOptions fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformCaptureToMemoryOptions pigeonResult = new PlatformCaptureToMemoryOptions();
+      Object maxDimension = pigeonVar_list.get(0);
+      pigeonResult.setMaxDimension((Long) maxDimension);
+      Object quality = pigeonVar_list.get(1);
+      pigeonResult.setQuality((Long) quality);
+      Object thumbnailMaxDimension = pigeonVar_list.get(2);
+      pigeonResult.setThumbnailMaxDimension((Long) thumbnailMaxDimension);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Latency histogram of one stage of still capture.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformCaptureStageMetrics {
+    private @NonNull PlatformCaptureStage stage;
+
+    public @NonNull PlatformCaptureStage getStage() {
+      return stage;
+    }
+
+    public void setStage(@NonNull PlatformCaptureStage setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"stage\" is null.");
+      }
+      this.stage = setterArg;
+    }
+
+    private @NonNull Long count;
+
+    public @NonNull Long getCount() {
+      return count;
+    }
+
+    public void setCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"count\" is null.");
+      }
+      this.count = setterArg;
+    }
+
+    private @NonNull Long totalMicros;
+
+    public @NonNull Long getTotalMicros() {
+      return totalMicros;
+    }
+
+    public void setTotalMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"totalMicros\" is null.");
+      }
+      this.totalMicros = setterArg;
+    }
+
+    private @NonNull Long minMicros;
+
+    public @NonNull Long getMinMicros() {
+      return minMicros;
+    }
+
+    public void setMinMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"minMicros\" is null.");
+      }
+      this.minMicros = setterArg;
+    }
+
+    private @NonNull Long maxMicros;
+
+    public @NonNull Long getMaxMicros() {
+      return maxMicros;
+    }
+
+    public void setMaxMicros(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxMicros\" is null.");
+      }
+      this.maxMicros = setterArg;
+    }
+
+    /**
+     * The number of durations in each bucket of
+     * [PlatformCaptureMetrics.bucketUpperBoundsMicros], followed by the number
+     * of longer durations.
+     */
+    private @NonNull List<Long> bucketCounts;
+
+    public @NonNull List<Long> getBucketCounts() {
+      return bucketCounts;
+    }
+
+    public void setBucketCounts(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bucketCounts\" is null.");
+      }
+      this.bucketCounts = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformCaptureStageMetrics() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformCaptureStageMetrics that = (PlatformCaptureStageMetrics) o;
+      return stage.equals(that.stage) && count.equals(that.count) && totalMicros.equals(that.totalMicros) && minMicros.equals(that.minMicros) && maxMicros.equals(that.maxMicros) && bucketCounts.equals(that.bucketCounts);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(stage, count, totalMicros, minMicros, maxMicros, bucketCounts);
+    }
+
+    public static final class Builder {
+
+      private @Nullable PlatformCaptureStage stage;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setStage(@NonNull PlatformCaptureStage setterArg) {
+        this.stage = setterArg;
+        return this;
+      }
+
+      private @Nullable Long count;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCount(@NonNull Long setterArg) {
+        this.count = setterArg;
+        return this;
+      }
+
+      private @Nullable Long totalMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setTotalMicros(@NonNull Long setterArg) {
+        this.totalMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long minMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMinMicros(@NonNull Long setterArg) {
+        this.minMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxMicros(@NonNull Long setterArg) {
+        this.maxMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable List<Long> bucketCounts;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBucketCounts(@NonNull List<Long> setterArg) {
+        this.bucketCounts = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformCaptureStageMetrics build() {
+        PlatformCaptureStageMetrics pigeonReturn = new PlatformCaptureStageMetrics();
+        pigeonReturn.setStage(stage);
+        pigeonReturn.setCount(count);
+        pigeonReturn.setTotalMicros(totalMicros);
+        pigeonReturn.setMinMicros(minMicros);
+        pigeonReturn.setMaxMicros(maxMicros);
+        pigeonReturn.setBucketCounts(bucketCounts);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(6);
+      toListResult.add(stage);
+      toListResult.add(count);
+      toListResult.add(totalMicros);
+      toListResult.add(minMicros);
+      toListResult.add(maxMicros);
+      toListResult.add(bucketCounts);
+      return toListResult;
+    }
+
+    static @NonNull PlatformCaptureStageMetrics fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformCaptureStageMetrics pigeonResult = new PlatformCaptureStageMetrics();
+      Object stage = pigeonVar_list.get(0);
+      pigeonResult.setStage((PlatformCaptureStage) stage);
+      Object count = pigeonVar_list.get(1);
+      pigeonResult.setCount((Long) count);
+      Object totalMicros = pigeonVar_list.get(2);
+      pigeonResult.setTotalMicros((Long) totalMicros);
+      Object minMicros = pigeonVar_list.get(3);
+      pigeonResult.setMinMicros((Long) minMicros);
+      Object maxMicros = pigeonVar_list.get(4);
+      pigeonResult.setMaxMicros((Long) maxMicros);
+      Object bucketCounts = pigeonVar_list.get(5);
+      pigeonResult.setBucketCounts((List<Long>) bucketCounts);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Latency histograms of the still captures taken by a camera.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformCaptureMetrics {
+    /** The exclusive upper bounds of the histogram buckets. */
+    private @NonNull List<Long> bucketUpperBoundsMicros;
+
+    public @NonNull List<Long> getBucketUpperBoundsMicros() {
+      return bucketUpperBoundsMicros;
+    }
+
+    public void setBucketUpperBoundsMicros(@NonNull List<Long> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"bucketUpperBoundsMicros\" is null.");
+      }
+      this.bucketUpperBoundsMicros = setterArg;
+    }
+
+    /** The stages that have been measured at least once. */
+    private @NonNull List<PlatformCaptureStageMetrics> stages;
+
+    public @NonNull List<PlatformCaptureStageMetrics> getStages() {
+      return stages;
+    }
+
+    public void setStages(@NonNull List<PlatformCaptureStageMetrics> setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"stages\" is null.");
+      }
+      this.stages = setterArg;
+    }
+
+    /** The number of captures that skipped the focus and precapture sequence. */
+    private @NonNull Long fastCaptureCount;
+
+    public @NonNull Long getFastCaptureCount() {
+      return fastCaptureCount;
+    }
+
+    public void setFastCaptureCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"fastCaptureCount\" is null.");
+      }
+      this.fastCaptureCount = setterArg;
+    }
+
+    /** The number of captures that ran the focus and precapture sequence. */
+    private @NonNull Long sequencedCaptureCount;
+
+    public @NonNull Long getSequencedCaptureCount() {
+      return sequencedCaptureCount;
+    }
+
+    public void setSequencedCaptureCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"sequencedCaptureCount\" is null.");
+      }
+      this.sequencedCaptureCount = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformCaptureMetrics() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformCaptureMetrics that = (PlatformCaptureMetrics) o;
+      return bucketUpperBoundsMicros.equals(that.bucketUpperBoundsMicros) && stages.equals(that.stages) && fastCaptureCount.equals(that.fastCaptureCount) && sequencedCaptureCount.equals(that.sequencedCaptureCount);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bucketUpperBoundsMicros, stages, fastCaptureCount, sequencedCaptureCount);
+    }
+
+    public static final class Builder {
+
+      private @Nullable List<Long> bucketUpperBoundsMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBucketUpperBoundsMicros(@NonNull List<Long> setterArg) {
+        this.bucketUpperBoundsMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable List<PlatformCaptureStageMetrics> stages;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setStages(@NonNull List<PlatformCaptureStageMetrics> setterArg) {
+        this.stages = setterArg;
+        return this;
+      }
+
+      private @Nullable Long fastCaptureCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFastCaptureCount(@NonNull Long setterArg) {
+        this.fastCaptureCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long sequencedCaptureCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSequencedCaptureCount(@NonNull Long setterArg) {
+        this.sequencedCaptureCount = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformCaptureMetrics build() {
+        PlatformCaptureMetrics pigeonReturn = new PlatformCaptureMetrics();
+        pigeonReturn.setBucketUpperBoundsMicros(bucketUpperBoundsMicros);
+        pigeonReturn.setStages(stages);
+        pigeonReturn.setFastCaptureCount(fastCaptureCount);
+        pigeonReturn.setSequencedCaptureCount(sequencedCaptureCount);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(4);
+      toListResult.add(bucketUpperBoundsMicros);
+      toListResult.add(stages);
+      toListResult.add(fastCaptureCount);
+      toListResult.add(sequencedCaptureCount);
+      return toListResult;
+    }
+
+    static @NonNull PlatformCaptureMetrics fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformCaptureMetrics pigeonResult = new PlatformCaptureMetrics();
+      Object bucketUpperBoundsMicros = pigeonVar_list.get(0);
+      pigeonResult.setBucketUpperBoundsMicros((List<Long>) bucketUpperBoundsMicros);
+      Object stages = pigeonVar_list.get(1);
+      pigeonResult.setStages((List<PlatformCaptureStageMetrics>) stages);
+      Object fastCaptureCount = pigeonVar_list.get(2);
+      pigeonResult.setFastCaptureCount((Long) fastCaptureCount);
+      Object sequencedCaptureCount = pigeonVar_list.get(3);
+      pigeonResult.setSequencedCaptureCount((Long) sequencedCaptureCount);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * How long the stages of opening a camera took, or null for the stages
+   * that have not been reached.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformStartupTrace {
+    /** The time from the open request until the camera device was opened. */
+    private @Nullable Long deviceOpenedMicros;
+
+    public @Nullable Long getDeviceOpenedMicros() {
+      return deviceOpenedMicros;
+    }
+
+    public void setDeviceOpenedMicros(@Nullable Long setterArg) {
+      this.deviceOpenedMicros = setterArg;
+    }
+
+    /**
+     * The time from the open request until the preview session was
+     * configured.
+     */
+    private @Nullable Long sessionConfiguredMicros;
+
+    public @Nullable Long getSessionConfiguredMicros() {
+      return sessionConfiguredMicros;
+    }
+
+    public void setSessionConfiguredMicros(@Nullable Long setterArg) {
+      this.sessionConfiguredMicros = setterArg;
+    }
+
+    /**
+     * The time from the open request until the first preview frame was
+     * captured.
+     */
+    private @Nullable Long firstFrameMicros;
+
+    public @Nullable Long getFirstFrameMicros() {
+      return firstFrameMicros;
+    }
+
+    public void setFirstFrameMicros(@Nullable Long setterArg) {
+      this.firstFrameMicros = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformStartupTrace() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformStartupTrace that = (PlatformStartupTrace) o;
+      return Objects.equals(deviceOpenedMicros, that.deviceOpenedMicros) && Objects.equals(sessionConfiguredMicros, that.sessionConfiguredMicros) && Objects.equals(firstFrameMicros, that.firstFrameMicros);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(deviceOpenedMicros, sessionConfiguredMicros, firstFrameMicros);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long deviceOpenedMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDeviceOpenedMicros(@Nullable Long setterArg) {
+        this.deviceOpenedMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long sessionConfiguredMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setSessionConfiguredMicros(@Nullable Long setterArg) {
+        this.sessionConfiguredMicros = setterArg;
+        return this;
+      }
+
+      private @Nullable Long firstFrameMicros;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setFirstFrameMicros(@Nullable Long setterArg) {
+        this.firstFrameMicros = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformStartupTrace build() {
+        PlatformStartupTrace pigeonReturn = new PlatformStartupTrace();
+        pigeonReturn.setDeviceOpenedMicros(deviceOpenedMicros);
+        pigeonReturn.setSessionConfiguredMicros(sessionConfiguredMicros);
+        pigeonReturn.setFirstFrameMicros(firstFrameMicros);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(3);
+      toListResult.add(deviceOpenedMicros);
+      toListResult.add(sessionConfiguredMicros);
+      toListResult.add(firstFrameMicros);
+      return toListResult;
+    }
+
+    static @NonNull PlatformStartupTrace fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformStartupTrace pigeonResult = new PlatformStartupTrace();
+      Object deviceOpenedMicros = pigeonVar_list.get(0);
+      pigeonResult.setDeviceOpenedMicros((Long) deviceOpenedMicros);
+      Object sessionConfiguredMicros = pigeonVar_list.get(1);
+      pigeonResult.setSessionConfiguredMicros((Long) sessionConfiguredMicros);
+      Object firstFrameMicros = pigeonVar_list.get(2);
+      pigeonResult.setFirstFrameMicros((Long) firstFrameMicros);
+      return pigeonResult;
+    }
+  }
+
+  /**
+   * Which part of each image stream frame is sent, and at what resolution.
+   *
+   * Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformImageStreamRegion {
+    /** The first column to send, or null to send the whole frame. */
+    private @Nullable Long cropLeft;
+
+    public @Nullable Long getCropLeft() {
+      return cropLeft;
+    }
+
+    public void setCropLeft(@Nullable Long setterArg) {
+      this.cropLeft = setterArg;
+    }
+
+    /** The first row to send, or null to send the whole frame. */
+    private @Nullable Long cropTop;
+
+    public @Nullable Long getCropTop() {
+      return cropTop;
+    }
+
+    public void setCropTop(@Nullable Long setterArg) {
+      this.cropTop = setterArg;
+    }
+
+    /** The number of columns to send, or null to send the whole frame. */
+    private @Nullable Long cropWidth;
+
+    public @Nullable Long getCropWidth() {
+      return cropWidth;
+    }
+
+    public void setCropWidth(@Nullable Long setterArg) {
+      this.cropWidth = setterArg;
+    }
+
+    /** The number of rows to send, or null to send the whole frame. */
+    private @Nullable Long cropHeight;
+
+    public @Nullable Long getCropHeight() {
+      return cropHeight;
+    }
+
+    public void setCropHeight(@Nullable Long setterArg) {
+      this.cropHeight = setterArg;
+    }
+
+    /** Only every nth pixel of every nth row is sent. */
+    private @NonNull Long downsampleFactor;
+
+    public @NonNull Long getDownsampleFactor() {
+      return downsampleFactor;
+    }
+
+    public void setDownsampleFactor(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"downsampleFactor\" is null.");
+      }
+      this.downsampleFactor = setterArg;
+    }
+
+    /** Whether only the Y plane is sent. */
+    private @NonNull Boolean lumaOnly;
+
+    public @NonNull Boolean getLumaOnly() {
+      return lumaOnly;
+    }
+
+    public void setLumaOnly(@NonNull Boolean setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"lumaOnly\" is null.");
+      }
+      this.lumaOnly = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformImageStreamRegion() {}
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) { return true; }
+      if (o == null || getClass() != o.getClass()) { return false; }
+      PlatformImageStreamRegion that = (PlatformImageStreamRegion) o;
+      return Objects.equals(cropLeft, that.cropLeft) && Objects.equals(cropTop, that.cropTop) && Objects.equals(cropWidth, that.cropWidth) && Objects.equals(cropHeight, that.cropHeight) && downsampleFactor.equals(that.downsampleFactor) && lumaOnly.equals(that.lumaOnly);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(cropLeft, cropTop, cropWidth, cropHeight, downsampleFactor, lumaOnly);
+    }
+
+    public static final class Builder {
+
+      private @Nullable Long cropLeft;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropLeft(@Nullable Long setterArg) {
+        this.cropLeft = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropTop;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropTop(@Nullable Long setterArg) {
+        this.cropTop = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropWidth;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropWidth(@Nullable Long setterArg) {
+        this.cropWidth = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cropHeight;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCropHeight(@Nullable Long setterArg) {
+        this.cropHeight = setterArg;
+        return this;
+      }
+
+      private @Nullable Long downsampleFactor;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setDownsampleFactor(@NonNull Long setterArg) {
+        this.downsampleFactor = setterArg;
+        return this;
+      }
+
+      private @Nullable Boolean lumaOnly;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setLumaOnly(@NonNull Boolean setterArg) {
+        this.lumaOnly = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformImageStreamRegion build() {
+        PlatformImageStreamRegion pigeonReturn = new PlatformImageStreamRegion();
+        pigeonReturn.setCropLeft(cropLeft);
+        pigeonReturn.setCropTop(cropTop);
+        pigeonReturn.setCropWidth(cropWidth);
+        pigeonReturn.setCropHeight(cropHeight);
+        pigeonReturn.setDownsampleFactor(downsampleFactor);
+        pigeonReturn.setLumaOnly(lumaOnly);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<>(6);
+      toListResult.add(cropLeft);
+      toListResult.add(cropTop);
+      toListResult.add(cropWidth);
+      toListResult.add(cropHeight);
+      toListResult.add(downsampleFactor);
+      toListResult.add(lumaOnly);
+      return toListResult;
+    }
+
+    static @NonNull PlatformImageStreamRegion fromList(@NonNull ArrayList<Object> pigeonVar_list) {
+      PlatformImageStreamRegion pigeonResult = new PlatformImageStreamRegion();
+      Object cropLeft = pigeonVar_list.get(0);
+      pigeonResult.setCropLeft((Long) cropLeft);
+      Object cropTop = pigeonVar_list.get(1);
+      pigeonResult.setCropTop((Long) cropTop);
+      Object cropWidth = pigeonVar_list.get(2);
+      pigeonResult.setCropWidth((Long) cropWidth);
+      Object cropHeight = pigeonVar_list.get(3);
+      pigeonResult.setCropHeight((Long) cropHeight);
+      Object downsampleFactor = pigeonVar_list.get(4);
+      pigeonResult.setDownsampleFactor((Long) downsampleFactor);
+      Object lumaOnly = pigeonVar_list.get(5);
+      pigeonResult.setLumaOnly((Boolean) lumaOnly);
+      return pigeonResult;
+    }
+  }
+
+  private static class PigeonCodec extends StandardMessageCodec {
+    public static final PigeonCodec INSTANCE = new PigeonCodec();
+
+    private PigeonCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 129: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformCameraLensDirection.values()[((Long) value).intValue()];
+        }
+        case (byte) 130: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformDeviceOrientation.values()[((Long) value).intValue()];
+        }
+        case (byte) 131: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformExposureMode.values()[((Long) value).intValue()];
+        }
+        case (byte) 132: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformFocusMode.values()[((Long) value).intValue()];
+        }
+        case (byte) 133: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformResolutionPreset.values()[((Long) value).intValue()];
+        }
+        case (byte) 134: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformImageFormatGroup.values()[((Long) value).intValue()];
+        }
+        case (byte) 135: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformFlashMode.values()[((Long) value).intValue()];
+        }
+        case (byte) 136: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformImageStreamDeliveryPolicy.values()[((Long) value).intValue()];
+        }
+        case (byte) 137: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformCaptureStage.values()[((Long) value).intValue()];
+        }
+        case (byte) 138: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformImageStreamTransport.values()[((Long) value).intValue()];
+        }
+        case (byte) 139: {
+          Object value = readValue(buffer);
+          return value == null ? null : PlatformPictureDestination.values()[((Long) value).intValue()];
+        }
+        case (byte) 140:
+          return PlatformCameraDescription.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 141:
+          return PlatformCameraState.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 142:
+          return PlatformSize.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 143:
+          return PlatformPoint.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 144:
+          return PlatformCapturedImageData.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 145:
+          return PlatformMediaSettings.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 146:
+          return PlatformImageStreamStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 147:
+          return PlatformCaptureExecutorStats.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 148:
+          return PlatformBurstFrame.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 149:
+          return PlatformCaptureToMemoryOptions.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 150:
+          return PlatformCaptureStageMetrics.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 151:
+          return PlatformCaptureMetrics.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 152:
+          return PlatformStartupTrace.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 153:
+          return PlatformImageStreamRegion.fromList((ArrayList<Object>) readValue(buffer));
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+      if (value instanceof PlatformCameraLensDirection) {
+        stream.write(129);
+        writeValue(stream, value == null ? null : ((PlatformCameraLensDirection) value).index);
+      } else if (value instanceof PlatformDeviceOrientation) {
+        stream.write(130);
+        writeValue(stream, value == null ? null : ((PlatformDeviceOrientation) value).index);
+      } else if (value instanceof PlatformExposureMode) {
+        stream.write(131);
+        writeValue(stream, value == null ? null : ((PlatformExposureMode) value).index);
+      } else if (value instanceof PlatformFocusMode) {
+        stream.write(132);
+        writeValue(stream, value == null ? null : ((PlatformFocusMode) value).index);
+      } else if (value instanceof PlatformResolutionPreset) {
+        stream.write(133);
+        writeValue(stream, value == null ? null : ((PlatformResolutionPreset) value).index);
+      } else if (value instanceof PlatformImageFormatGroup) {
+        stream.write(134);
+        writeValue(stream, value == null ? null : ((PlatformImageFormatGroup) value).index);
+      } else if (value instanceof PlatformFlashMode) {
+        stream.write(135);
+        writeValue(stream, value == null ? null : ((PlatformFlashMode) value).index);
+      } else if (value instanceof PlatformImageStreamDeliveryPolicy) {
+        stream.write(136);
+        writeValue(stream, value == null ? null : ((PlatformImageStreamDeliveryPolicy) value).index);
+      } else if (value instanceof PlatformCaptureStage) {
+        stream.write(137);
+        writeValue(stream, value == null ? null : ((PlatformCaptureStage) value).index);
+      } else if (value instanceof PlatformImageStreamTransport) {
+        stream.write(138);
+        writeValue(stream, value == null ? null : ((PlatformImageStreamTransport) value).index);
+      } else if (value instanceof PlatformPictureDestination) {
+        stream.write(139);
+        writeValue(stream, value == null ? null : ((PlatformPictureDestination) value).index);
+      } else if (value instanceof PlatformCameraDescription) {
+        stream.write(140);
+        writeValue(stream, ((PlatformCameraDescription) value).toList());
+      } else if (value instanceof PlatformCameraState) {
+        stream.write(141);
+        writeValue(stream, ((PlatformCameraState) value).toList());
+      } else if (value instanceof PlatformSize) {
+        stream.write(142);
+        writeValue(stream, ((PlatformSize) value).toList());
+      } else if (value instanceof PlatformPoint) {
+        stream.write(143);
+        writeValue(stream, ((PlatformPoint) value).toList());
+      } else if (value instanceof PlatformCapturedImageData) {
+        stream.write(144);
+        writeValue(stream, ((PlatformCapturedImageData) value).toList());
+      } else if (value instanceof PlatformMediaSettings) {
+        stream.write(145);
+        writeValue(stream, ((PlatformMediaSettings) value).toList());
+      } else if (value instanceof PlatformImageStreamStats) {
+        stream.write(146);
+        writeValue(stream, ((PlatformImageStreamStats) value).toList());
+      } else if (value instanceof PlatformCaptureExecutorStats) {
+        stream.write(147);
+        writeValue(stream, ((PlatformCaptureExecutorStats) value).toList());
+      } else if (value instanceof PlatformBurstFrame) {
+        stream.write(148);
+        writeValue(stream, ((PlatformBurstFrame) value).toList());
+      } else if (value instanceof PlatformCaptureToMemoryOptions) {
+        stream.write(149);
+        writeValue(stream, ((PlatformCaptureToMemoryOptions) value).toList());
+      } else if (value instanceof PlatformCaptureStageMetrics) {
+        stream.write(150);
+        writeValue(stream, ((PlatformCaptureStageMetrics) value).toList());
+      } else if (value instanceof PlatformCaptureMetrics) {
+        stream.write(151);
+        writeValue(stream, ((PlatformCaptureMetrics) value).toList());
+      } else if (value instanceof PlatformStartupTrace) {
+        stream.write(152);
+        writeValue(stream, ((PlatformStartupTrace) value).toList());
+      } else if (value instanceof PlatformImageStreamRegion) {
+        stream.write(153);
+        writeValue(stream, ((PlatformImageStreamRegion) value).toList());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
+
+  /** Asynchronous error handling return type for non-nullable API method returns. */
+  public interface Result<T> {
+    /** Success case callback method for handling returns. */
+    void success(@NonNull T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for nullable API method returns. */
+  public interface NullableResult<T> {
+    /** Success case callback method for handling returns. */
+    void success(@Nullable T result);
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /** Asynchronous error handling return type for void API method returns. */
+  public interface VoidResult {
+    /** Success case callback method for handling returns. */
+    void success();
+
+    /** Failure case callback method for handling errors. */
+    void error(@NonNull Throwable error);
+  }
+  /**
+   * Handles calls from Dart to the native side.
+   *
+   * Generated interface from Pigeon that represents a handler of messages from Flutter.
+   */
+  public interface CameraApi {
+    /** Returns the list of available cameras. */
+    @NonNull 
+    List<PlatformCameraDescription> getAvailableCameras();
+    /** Creates a new camera with the given name and settings and returns its ID. */
+    void create(@NonNull String cameraName, @NonNull PlatformMediaSettings mediaSettings, @NonNull Result<Long> result);
+    /** Initializes the camera with the given ID for the given image format. */
+    void initialize(@NonNull PlatformImageFormatGroup imageFormat);
+    /** Disposes of the camera with the given ID. */
+    void dispose();
+    /** Locks the camera with the given ID to the given orientation. */
+    void lockCaptureOrientation(@NonNull PlatformDeviceOrientation orientation);
+    /** Unlocks the orientation for the camera with the given ID. */
+    void unlockCaptureOrientation();
+    /**
+     * Takes a picture on the camera with the given ID and returns a path to the
+     * resulting file.
+     */
+    void takePicture(@NonNull Result<String> result);
+    /** Starts recording a video on the camera with the given ID. */
+    void startVideoRecording(@NonNull Boolean enableStream);
+    /**
+     * Ends video recording on the camera with the given ID and returns the path
+     * to the resulting file.
+     */
+    @NonNull 
+    String stopVideoRecording();
+    /** Pauses video recording on the camera with the given ID. */
+    void pauseVideoRecording();
+    /** Resumes previously paused video recording on the camera with the given ID. */
+    void resumeVideoRecording();
+    /** Begins streaming frames from the camera. */
+    void startImageStream();
     /** Stops streaming frames from the camera. */
     void stopImageStream();
+    /**
+     * Called by the Dart side when it has received an image stream frame.
+     *
+     * This is used to throttle sending frames across the channel.
+     */
+    void receivedImageStreamData();
+    /**
+     * Sets how image stream frames are delivered while Dart is busy.
+     *
+     * [maxPendingFrames] is the number of frames that may be waiting on Dart
+     * at once when using [PlatformImageStreamDeliveryPolicy.boundedQueue].
+     */
+    void setImageStreamDeliveryPolicy(@NonNull PlatformImageStreamDeliveryPolicy policy, @NonNull Long maxPendingFrames);
+    /**
+     * Sets how many images the native image stream buffers, which takes effect
+     * the next time the image stream is started.
+     */
+    void setImageStreamBufferCount(@NonNull Long bufferCount);
+    /**
+     * Sets how the planes of image stream frames are transferred to Dart, which
+     * takes effect the next time the image stream is started.
+     */
+    void setImageStreamTransport(@NonNull PlatformImageStreamTransport transport);
+    /**
+     * Sets which part of each image stream frame is sent, and at what
+     * resolution.
+     */
+    void setImageStreamRegion(@NonNull PlatformImageStreamRegion region);
+    /**
+     * Limits the image stream to at most [maxFramesPerSecond], or no limit when
+     * null, and to every [frameStride]th frame, independently of the frame rate
+     * of the session.
+     */
+    void setImageStreamFrameRateLimit(@Nullable Double maxFramesPerSecond, @NonNull Long frameStride);
+    /**
+     * Returns the number of image stream frames delivered to and dropped before
+     * Dart since the image stream was last started.
+     */
+    @NonNull 
+    PlatformImageStreamStats getImageStreamStats();
+    /**
+     * Returns the queue depths of the executors that process and save still
+     * captures.
+     */
+    @NonNull 
+    PlatformCaptureExecutorStats getCaptureExecutorStats();
+    /**
+     * Sets whether preview sessions keep recent full-resolution frames so that
+     * [captureToMemory] can return one immediately, which takes effect the next
+     * time the preview is started.
+     */
+    void setZeroShutterLagEnabled(@NonNull Boolean enabled);
+    /**
+     * Returns whether the current preview session keeps recent frames for zero
+     * shutter lag captures. False when they are disabled or the device could
+     * not configure a session with the extra stream.
+     */
+    @NonNull 
+    Boolean isZeroShutterLagActive();
+    /**
+     * Sets whether still captures are taken immediately when autofocus and
+     * auto-exposure have already converged and the flash is not needed.
+     */
+    void setFastCaptureEnabled(@NonNull Boolean enabled);
+    /**
+     * Sets whether pictures taken to a file are forced to storage before their
+     * path is returned.
+     */
+    void setSyncPictureFilesEnabled(@NonNull Boolean enabled);
+    /**
+     * Sets where pictures taken to a file are saved, which takes effect from
+     * the next capture.
+     */
+    void setPictureDestination(@NonNull PlatformPictureDestination destination);
+    /**
+     * Sets the Android memory trim levels from which pooled camera buffers are
+     * released and the image stream is paused, or never when null. Both are
+     * restored once the app is back in the foreground.
+     */
+    void setMemoryTrimLevels(@Nullable Long releaseBuffersLevel, @Nullable Long pauseImageStreamLevel);
+    /**
+     * Sets whether preview sessions are configured with the outputs of every
+     * mode up front, so that starting the image stream or a recording does not
+     * configure a new session. Takes effect the next time the preview is
+     * started.
+     */
+    void setSupersetSessionEnabled(@NonNull Boolean enabled);
+    /**
+     * Returns latency histograms for each stage of the still captures taken
+     * since the camera was created.
+     */
+    @NonNull 
+    PlatformCaptureMetrics getCaptureMetrics();
+    /**
+     * Returns how long the stages of the last time the camera was opened
+     * took.
+     */
+    @NonNull 
+    PlatformStartupTrace getStartupTrace();
     /** Sets the flash mode of the camera with the given ID. */
     void setFlashMode(@NonNull PlatformFlashMode flashMode, @NonNull VoidResult result);
     /** Sets the exposure mode of the camera with the given ID. */
@@ -1137,8 +2666,18 @@ public class Messages {
      * The image is captured at the camera's current resolution and compressed
      * as JPEG. Orientation is automatically handled based on the device's
      * current orientation.
+     *
+     * When [options] are given, the image is scaled down to fit them before it
+     * is returned, and a thumbnail can be returned along with it.
+     */
+    void captureToMemory(@Nullable PlatformCaptureToMemoryOptions options, @NonNull Result<PlatformCapturedImageData> result);
+    /**
+     * Captures [count] still images back to back, without running the
+     * precapture sequence in between, and returns them in capture order.
+     *
+     * The images are saved to files unless [toMemory] is true.
      */
-    void captureToMemory(@NonNull Result<PlatformCapturedImageData> result);
+    void captureBurst(@NonNull Long count, @NonNull Boolean toMemory, @NonNull Result<List<PlatformBurstFrame>> result);
 
     /** The codec used by CameraApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -1153,14 +2692,245 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getAvailableCameras" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getAvailableCameras" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  List<PlatformCameraDescription> output = api.getAvailableCameras();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.create" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String cameraNameArg = (String) args.get(0);
+                PlatformMediaSettings mediaSettingsArg = (PlatformMediaSettings) args.get(1);
+                Result<Long> resultCallback =
+                    new Result<Long>() {
+                      public void success(Long result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.create(cameraNameArg, mediaSettingsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.initialize" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformImageFormatGroup imageFormatArg = (PlatformImageFormatGroup) args.get(0);
+                try {
+                  api.initialize(imageFormatArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.dispose" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.dispose();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.lockCaptureOrientation" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformDeviceOrientation orientationArg = (PlatformDeviceOrientation) args.get(0);
+                try {
+                  api.lockCaptureOrientation(orientationArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.unlockCaptureOrientation" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.unlockCaptureOrientation();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.takePicture" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                Result<String> resultCallback =
+                    new Result<String>() {
+                      public void success(String result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takePicture(resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.startVideoRecording" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enableStreamArg = (Boolean) args.get(0);
+                try {
+                  api.startVideoRecording(enableStreamArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.stopVideoRecording" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  String output = api.stopVideoRecording();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.pauseVideoRecording" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.pauseVideoRecording();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.resumeVideoRecording" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 try {
-                  List<PlatformCameraDescription> output = api.getAvailableCameras();
-                  wrapped.add(0, output);
+                  api.resumeVideoRecording();
+                  wrapped.add(0, null);
                 }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
@@ -1174,28 +2944,85 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.create" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.startImageStream" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.startImageStream();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.stopImageStream" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.stopImageStream();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.receivedImageStreamData" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  api.receivedImageStreamData();
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setImageStreamDeliveryPolicy" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                String cameraNameArg = (String) args.get(0);
-                PlatformMediaSettings mediaSettingsArg = (PlatformMediaSettings) args.get(1);
-                Result<Long> resultCallback =
-                    new Result<Long>() {
-                      public void success(Long result) {
-                        wrapped.add(0, result);
-                        reply.reply(wrapped);
-                      }
-
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
-
-                api.create(cameraNameArg, mediaSettingsArg, resultCallback);
+                PlatformImageStreamDeliveryPolicy policyArg = (PlatformImageStreamDeliveryPolicy) args.get(0);
+                Long maxPendingFramesArg = (Long) args.get(1);
+                try {
+                  api.setImageStreamDeliveryPolicy(policyArg, maxPendingFramesArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
               });
         } else {
           channel.setMessageHandler(null);
@@ -1204,15 +3031,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.initialize" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setImageStreamBufferCount" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                PlatformImageFormatGroup imageFormatArg = (PlatformImageFormatGroup) args.get(0);
+                Long bufferCountArg = (Long) args.get(0);
                 try {
-                  api.initialize(imageFormatArg);
+                  api.setImageStreamBufferCount(bufferCountArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1227,13 +3054,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.dispose" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setImageStreamTransport" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformImageStreamTransport transportArg = (PlatformImageStreamTransport) args.get(0);
                 try {
-                  api.dispose();
+                  api.setImageStreamTransport(transportArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1248,15 +3077,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.lockCaptureOrientation" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setImageStreamRegion" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                PlatformDeviceOrientation orientationArg = (PlatformDeviceOrientation) args.get(0);
+                PlatformImageStreamRegion regionArg = (PlatformImageStreamRegion) args.get(0);
                 try {
-                  api.lockCaptureOrientation(orientationArg);
+                  api.setImageStreamRegion(regionArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1271,13 +3100,16 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.unlockCaptureOrientation" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setImageStreamFrameRateLimit" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Double maxFramesPerSecondArg = (Double) args.get(0);
+                Long frameStrideArg = (Long) args.get(1);
                 try {
-                  api.unlockCaptureOrientation();
+                  api.setImageStreamFrameRateLimit(maxFramesPerSecondArg, frameStrideArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1292,25 +3124,19 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.takePicture" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getImageStreamStats" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
-                Result<String> resultCallback =
-                    new Result<String>() {
-                      public void success(String result) {
-                        wrapped.add(0, result);
-                        reply.reply(wrapped);
-                      }
-
-                      public void error(Throwable error) {
-                        ArrayList<Object> wrappedError = wrapError(error);
-                        reply.reply(wrappedError);
-                      }
-                    };
-
-                api.takePicture(resultCallback);
+                try {
+                  PlatformImageStreamStats output = api.getImageStreamStats();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
               });
         } else {
           channel.setMessageHandler(null);
@@ -1319,15 +3145,36 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.startVideoRecording" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getCaptureExecutorStats" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformCaptureExecutorStats output = api.getCaptureExecutorStats();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setZeroShutterLagEnabled" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 ArrayList<Object> args = (ArrayList<Object>) message;
-                Boolean enableStreamArg = (Boolean) args.get(0);
+                Boolean enabledArg = (Boolean) args.get(0);
                 try {
-                  api.startVideoRecording(enableStreamArg);
+                  api.setZeroShutterLagEnabled(enabledArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1342,13 +3189,13 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.stopVideoRecording" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.isZeroShutterLagActive" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
                 try {
-                  String output = api.stopVideoRecording();
+                  Boolean output = api.isZeroShutterLagActive();
                   wrapped.add(0, output);
                 }
  catch (Throwable exception) {
@@ -1363,13 +3210,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.pauseVideoRecording" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setFastCaptureEnabled" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enabledArg = (Boolean) args.get(0);
                 try {
-                  api.pauseVideoRecording();
+                  api.setFastCaptureEnabled(enabledArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1384,13 +3233,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.resumeVideoRecording" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setSyncPictureFilesEnabled" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enabledArg = (Boolean) args.get(0);
                 try {
-                  api.resumeVideoRecording();
+                  api.setSyncPictureFilesEnabled(enabledArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1405,13 +3256,15 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.startImageStream" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setPictureDestination" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformPictureDestination destinationArg = (PlatformPictureDestination) args.get(0);
                 try {
-                  api.startImageStream();
+                  api.setPictureDestination(destinationArg);
                   wrapped.add(0, null);
                 }
  catch (Throwable exception) {
@@ -1426,15 +3279,83 @@ public class Messages {
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
-                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.stopImageStream" + messageChannelSuffix, getCodec());
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setMemoryTrimLevels" + messageChannelSuffix, getCodec());
         if (api != null) {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long releaseBuffersLevelArg = (Long) args.get(0);
+                Long pauseImageStreamLevelArg = (Long) args.get(1);
                 try {
-                  api.stopImageStream();
+                  api.setMemoryTrimLevels(releaseBuffersLevelArg, pauseImageStreamLevelArg);
+                  wrapped.add(0, null);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.setSupersetSessionEnabled" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean enabledArg = (Boolean) args.get(0);
+                try {
+                  api.setSupersetSessionEnabled(enabledArg);
                   wrapped.add(0, null);
                 }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getCaptureMetrics" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformCaptureMetrics output = api.getCaptureMetrics();
+                  wrapped.add(0, output);
+                }
+ catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.getStartupTrace" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  PlatformStartupTrace output = api.getStartupTrace();
+                  wrapped.add(0, output);
+                }
  catch (Throwable exception) {
                   wrapped = wrapError(exception);
                 }
@@ -1819,6 +3740,8 @@ public class Messages {
           channel.setMessageHandler(
               (message, reply) -> {
                 ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                PlatformCaptureToMemoryOptions optionsArg = (PlatformCaptureToMemoryOptions) args.get(0);
                 Result<PlatformCapturedImageData> resultCallback =
                     new Result<PlatformCapturedImageData>() {
                       public void success(PlatformCapturedImageData result) {
@@ -1832,7 +3755,37 @@ public class Messages {
                       }
                     };
 
-                api.captureToMemory(resultCallback);
+                api.captureToMemory(optionsArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.camera_android.CameraApi.captureBurst" + messageChannelSuffix, getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long countArg = (Long) args.get(0);
+                Boolean toMemoryArg = (Boolean) args.get(1);
+                Result<List<PlatformBurstFrame>> resultCallback =
+                    new Result<List<PlatformBurstFrame>>() {
+                      public void success(List<PlatformBurstFrame> result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.captureBurst(countArg, toMemoryArg, resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
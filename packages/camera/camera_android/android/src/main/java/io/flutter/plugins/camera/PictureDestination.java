@@ -0,0 +1,14 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+/** Where {@link Camera#takePicture} saves pictures. */
+public enum PictureDestination {
+  /** A file in the app's cache directory, returned by its path. */
+  CACHE_FILE,
+
+  /** A new item in the shared pictures collection of the media store, returned by its URI. */
+  MEDIA_STORE,
+}
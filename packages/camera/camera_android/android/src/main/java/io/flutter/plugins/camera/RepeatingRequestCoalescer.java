@@ -0,0 +1,165 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.features.CameraFeature;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coalesces the repeating request updates of high frequency controls, such as a pinch to zoom
+ * gesture, so that at most one rebuilt repeating request is submitted per frame interval.
+ *
+ * <p>An update only marks its feature dirty. The first update after a quiet frame interval is
+ * submitted right away, and the updates that arrive within the interval after a submission are
+ * submitted together once it has passed, applying the latest value of each dirty feature once.
+ * Every pending result completes when the request carrying its update has been submitted, or fails
+ * with it, or with {@link #failAll} when the session goes away first. Updates and submissions all
+ * run on the thread of the given handler.
+ */
+final class RepeatingRequestCoalescer {
+  /** The frame interval used until one is known from the frame rate, in milliseconds. */
+  @VisibleForTesting static final long DEFAULT_FRAME_INTERVAL_MILLIS = 33;
+
+  /** Applies features to the repeating request and submits it. */
+  interface RequestSubmitter {
+    /**
+     * Applies the latest values of the given features to the repeating request and submits it.
+     *
+     * @param features the features that have changed since the last submission.
+     * @param onSuccess called once the request has been submitted.
+     * @param onError called if the request could not be submitted.
+     */
+    void submit(
+        @NonNull Collection<CameraFeature<?>> features,
+        @NonNull Runnable onSuccess,
+        @NonNull ErrorCallback onError);
+  }
+
+  /** The completion callbacks of one update. */
+  private static final class PendingUpdate {
+    final Runnable onApplied;
+    final ErrorCallback onError;
+
+    PendingUpdate(Runnable onApplied, ErrorCallback onError) {
+      this.onApplied = onApplied;
+      this.onError = onError;
+    }
+  }
+
+  private final Handler handler;
+  private final RequestSubmitter submitter;
+  private final Set<CameraFeature<?>> dirtyFeatures = new LinkedHashSet<>();
+  private final List<PendingUpdate> pendingUpdates = new ArrayList<>();
+  private final Runnable flushRunnable = this::flush;
+
+  private long frameIntervalMillis = DEFAULT_FRAME_INTERVAL_MILLIS;
+  private boolean submitted;
+  private long lastSubmitUptimeMillis;
+  private boolean flushScheduled;
+
+  RepeatingRequestCoalescer(@NonNull Handler handler, @NonNull RequestSubmitter submitter) {
+    this.handler = handler;
+    this.submitter = submitter;
+  }
+
+  /**
+   * Sets the shortest time between two submissions, which should match the frame interval of the
+   * preview.
+   */
+  void setFrameIntervalMillis(long frameIntervalMillis) {
+    this.frameIntervalMillis = frameIntervalMillis;
+  }
+
+  /**
+   * Marks a feature whose value has changed as dirty, submitting it now or with the next coalesced
+   * request.
+   *
+   * @param feature the feature to apply to the repeating request.
+   * @param onApplied called once the request carrying the update has been submitted.
+   * @param onError called if the request carrying the update could not be submitted.
+   */
+  void update(
+      @NonNull CameraFeature<?> feature,
+      @NonNull Runnable onApplied,
+      @NonNull ErrorCallback onError) {
+    dirtyFeatures.add(feature);
+    pendingUpdates.add(new PendingUpdate(onApplied, onError));
+    if (flushScheduled) {
+      return;
+    }
+
+    long nextSubmitUptimeMillis = lastSubmitUptimeMillis + frameIntervalMillis;
+    if (!submitted || SystemClock.uptimeMillis() >= nextSubmitUptimeMillis) {
+      flush();
+    } else {
+      flushScheduled = true;
+      handler.postAtTime(flushRunnable, nextSubmitUptimeMillis);
+    }
+  }
+
+  /**
+   * Drops the updates that have not been submitted yet and fails their results, because the
+   * repeating request they were meant for is going away. May be called from any thread.
+   *
+   * @param errorCode the error code the results fail with.
+   * @param errorMessage the error message the results fail with.
+   */
+  void failAll(@NonNull String errorCode, @NonNull String errorMessage) {
+    if (Looper.myLooper() != handler.getLooper()) {
+      handler.post(() -> failAll(errorCode, errorMessage));
+      return;
+    }
+    if (flushScheduled) {
+      handler.removeCallbacks(flushRunnable);
+      flushScheduled = false;
+    }
+    final List<PendingUpdate> updates = new ArrayList<>(pendingUpdates);
+    dirtyFeatures.clear();
+    pendingUpdates.clear();
+    for (PendingUpdate update : updates) {
+      update.onError.onError(errorCode, errorMessage);
+    }
+  }
+
+  /** Submits the pending updates right away. */
+  void flush() {
+    if (flushScheduled) {
+      handler.removeCallbacks(flushRunnable);
+      flushScheduled = false;
+    }
+    if (dirtyFeatures.isEmpty()) {
+      return;
+    }
+
+    final List<CameraFeature<?>> features = new ArrayList<>(dirtyFeatures);
+    final List<PendingUpdate> updates = new ArrayList<>(pendingUpdates);
+    dirtyFeatures.clear();
+    pendingUpdates.clear();
+    submitted = true;
+    lastSubmitUptimeMillis = SystemClock.uptimeMillis();
+
+    submitter.submit(
+        features,
+        () -> {
+          for (PendingUpdate update : updates) {
+            update.onApplied.run();
+          }
+        },
+        (errorCode, errorMessage) -> {
+          for (PendingUpdate update : updates) {
+            update.onError.onError(errorCode, errorMessage);
+          }
+        });
+  }
+}
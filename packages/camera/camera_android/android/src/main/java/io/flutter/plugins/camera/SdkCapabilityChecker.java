@@ -16,6 +16,18 @@ public class SdkCapabilityChecker {
   @VisibleForTesting
   public static int SDK_VERSION = Build.VERSION.SDK_INT;
 
+  @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.R)
+  public static boolean supportsConcurrentCameras() {
+    // See https://developer.android.com/reference/android/hardware/camera2/CameraManager#getConcurrentCameraIds()
+    return SDK_VERSION >= Build.VERSION_CODES.R;
+  }
+
+  @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.P)
+  public static boolean supportsDiscardFreeBuffers() {
+    // See https://developer.android.com/reference/android/media/ImageReader#discardFreeBuffers()
+    return SDK_VERSION >= Build.VERSION_CODES.P;
+  }
+
   @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.P)
   public static boolean supportsDistortionCorrection() {
     // See https://developer.android.com/reference/android/hardware/camera2/CameraCharacteristics#DISTORTION_CORRECTION_AVAILABLE_MODES
@@ -40,6 +52,18 @@ public class SdkCapabilityChecker {
     return SDK_VERSION >= Build.VERSION_CODES.M;
   }
 
+  @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.M)
+  public static boolean supportsPersistentInputSurface() {
+    // See https://developer.android.com/reference/android/media/MediaCodec#createPersistentInputSurface()
+    return SDK_VERSION >= Build.VERSION_CODES.M;
+  }
+
+  @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.Q)
+  public static boolean supportsPendingMediaStoreItems() {
+    // See https://developer.android.com/reference/android/provider/MediaStore.MediaColumns#IS_PENDING
+    return SDK_VERSION >= Build.VERSION_CODES.Q;
+  }
+
   @ChecksSdkIntAtLeast(api = Build.VERSION_CODES.P)
   public static boolean supportsSessionConfiguration() {
     // See https://developer.android.com/reference/android/hardware/camera2/params/SessionConfiguration
@@ -0,0 +1,70 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Measures how long the stages of opening a camera take, from the open request until the camera
+ * device is opened, the preview session is configured and the first preview frame is captured.
+ *
+ * <p>Only the first time each stage is reached after {@link #start()} is recorded, so restarting
+ * the preview later does not overwrite the cold start measurements. Times come from {@link
+ * SystemClock#elapsedRealtimeNanos()}.
+ */
+final class StartupTrace {
+  private long openRequestedNanos = -1;
+  @Nullable private Long deviceOpenedMicros;
+  @Nullable private Long sessionConfiguredMicros;
+  @Nullable private Long firstFrameMicros;
+
+  /** Starts a new trace when the camera is asked to open. */
+  synchronized void start() {
+    openRequestedNanos = SystemClock.elapsedRealtimeNanos();
+    deviceOpenedMicros = null;
+    sessionConfiguredMicros = null;
+    firstFrameMicros = null;
+  }
+
+  /** Records that the camera device has been opened. */
+  synchronized void markDeviceOpened() {
+    if (deviceOpenedMicros == null) {
+      deviceOpenedMicros = elapsedMicros();
+    }
+  }
+
+  /** Records that the preview session has been configured. */
+  synchronized void markSessionConfigured() {
+    if (sessionConfiguredMicros == null) {
+      sessionConfiguredMicros = elapsedMicros();
+    }
+  }
+
+  /** Records that a preview frame has been captured. */
+  synchronized void markFirstFrame() {
+    if (firstFrameMicros == null) {
+      firstFrameMicros = elapsedMicros();
+    }
+  }
+
+  @NonNull
+  synchronized Messages.PlatformStartupTrace toPigeon() {
+    return new Messages.PlatformStartupTrace.Builder()
+        .setDeviceOpenedMicros(deviceOpenedMicros)
+        .setSessionConfiguredMicros(sessionConfiguredMicros)
+        .setFirstFrameMicros(firstFrameMicros)
+        .build();
+  }
+
+  @Nullable
+  private Long elapsedMicros() {
+    if (openRequestedNanos < 0) {
+      return null;
+    }
+    return (SystemClock.elapsedRealtimeNanos() - openRequestedNanos) / 1000;
+  }
+}
@@ -17,11 +17,14 @@ import android.opengl.GLES11Ext;
 import android.opengl.GLES20;
 import android.opengl.GLUtils;
 import android.opengl.Matrix;
+import android.os.Build;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.util.Log;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -38,6 +41,10 @@ import java.nio.ByteOrder;
  * <p>This leaves the solution to be routing the recording through a surface texture and performing
  * a matrix transformation on it manually to get the correct orientation. This only happens when
  * setDescription is called mid video recording.
+ *
+ * <p>When another camera can be opened while the current one is still recording, it produces into a
+ * standby input instead, and the renderer switches inputs between two frames once the standby input
+ * receives its first frame, so the recording does not pause while the camera is switched.
  */
 public class VideoRenderer {
 
@@ -99,6 +106,36 @@ public class VideoRenderer {
   final Object surfaceTextureAvailableFrameLock = new Object();
   Boolean surfaceTextureFrameAvailable = false;
 
+  /** The input that replaces the current one once it receives a frame, if a switch is pending. */
+  @Nullable private SurfaceTexture standbySurfaceTexture;
+
+  @Nullable private Surface standbySurface;
+  private int standbyRotation;
+  @Nullable private Runnable onStandbyInputActive;
+  boolean standbyFrameAvailable = false;
+
+  /** The replaced input, which is kept until the camera that produced into it has been closed. */
+  @Nullable private SurfaceTexture retiredSurfaceTexture;
+
+  @Nullable private Surface retiredSurface;
+
+  private final SurfaceTexture.OnFrameAvailableListener frameAvailableListener =
+      new SurfaceTexture.OnFrameAvailableListener() {
+        @Override
+        public void onFrameAvailable(SurfaceTexture surfaceTexture) {
+          synchronized (surfaceTextureAvailableFrameLock) {
+            if (surfaceTexture == standbySurfaceTexture) {
+              standbyFrameAvailable = true;
+            } else {
+              if (surfaceTextureFrameAvailable)
+                Log.w(TAG, "Frame available before processing other frames. dropping frames");
+              surfaceTextureFrameAvailable = true;
+            }
+            surfaceTextureAvailableFrameLock.notifyAll();
+          }
+        }
+      };
+
   final int recordingWidth;
   final int recordingHeight;
   private int rotation = 0;
@@ -131,12 +168,115 @@ public class VideoRenderer {
     Log.d(TAG, "VideoRenderer setup complete");
   }
 
+  /**
+   * Creates an input that another camera can produce into while the current input is still being
+   * rendered. Once the standby input receives its first frame, the renderer switches to it between
+   * two frames and starts rotating frames by {@code rotation}.
+   *
+   * <p>Any standby input that did not become active yet is discarded.
+   *
+   * @param rotation the rotation of the frames of the standby input.
+   * @param onActive runs on the render thread once the standby input has replaced the current one.
+   * @return the surface the other camera should produce into.
+   */
+  @RequiresApi(api = Build.VERSION_CODES.O)
+  @NonNull
+  public Surface createStandbyInputSurface(int rotation, @NonNull Runnable onActive)
+      throws InterruptedException {
+    // Waits for the render thread to be set up.
+    getInputSurface();
+
+    // The texture is attached to the context of the render thread when the inputs are switched.
+    SurfaceTexture surfaceTexture = new SurfaceTexture(false);
+    surfaceTexture.setDefaultBufferSize(recordingWidth, recordingHeight);
+    Surface surface = new Surface(surfaceTexture);
+    synchronized (surfaceTextureAvailableFrameLock) {
+      discardStandbyInput();
+      standbySurfaceTexture = surfaceTexture;
+      standbySurface = surface;
+      standbyRotation = rotation;
+      onStandbyInputActive = onActive;
+    }
+    surfaceTexture.setOnFrameAvailableListener(
+        frameAvailableListener, new Handler(surfaceTextureFrameAvailableHandler.getLooper()));
+    return surface;
+  }
+
+  /** Releases the standby input if it did not become active yet. */
+  public void discardStandbyInput() {
+    synchronized (surfaceTextureAvailableFrameLock) {
+      if (standbySurfaceTexture == null) {
+        return;
+      }
+      standbySurfaceTexture.setOnFrameAvailableListener(null);
+      standbySurfaceTexture.release();
+      standbySurface.release();
+      standbySurfaceTexture = null;
+      standbySurface = null;
+      onStandbyInputActive = null;
+      standbyFrameAvailable = false;
+    }
+  }
+
+  /** Releases the input that was replaced by a standby input, once nothing produces into it. */
+  public void releaseRetiredInput() {
+    synchronized (lock) {
+      if (retiredSurfaceTexture == null) {
+        return;
+      }
+      retiredSurfaceTexture.release();
+      retiredSurface.release();
+      retiredSurfaceTexture = null;
+      retiredSurface = null;
+    }
+  }
+
+  /** Replaces the current input with the standby input. Must be called on the render thread. */
+  private void switchToStandbyInput() {
+    SurfaceTexture surfaceTexture;
+    Surface surface;
+    Runnable onActive;
+    synchronized (surfaceTextureAvailableFrameLock) {
+      if (standbySurfaceTexture == null) {
+        return;
+      }
+      surfaceTexture = standbySurfaceTexture;
+      surface = standbySurface;
+      onActive = onStandbyInputActive;
+      rotation = standbyRotation;
+      standbySurfaceTexture = null;
+      standbySurface = null;
+      onStandbyInputActive = null;
+    }
+
+    // Only one input can be attached to the texture at a time.
+    releaseRetiredInput();
+    inputSurfaceTexture.setOnFrameAvailableListener(null);
+    inputSurfaceTexture.detachFromGLContext();
+    GLES20.glGenTextures(1, textureHandles, 0);
+    GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureHandles[0]);
+    surfaceTexture.attachToGLContext(textureHandles[0]);
+
+    synchronized (lock) {
+      retiredSurfaceTexture = inputSurfaceTexture;
+      retiredSurface = inputSurface;
+      inputSurfaceTexture = surfaceTexture;
+      inputSurface = surface;
+    }
+    Log.d(TAG, "Switched to standby input");
+    if (onActive != null) {
+      onActive.run();
+    }
+  }
+
   /** Stop rendering and cleanup resources. */
   public void close() {
     thread.interrupt();
     surfaceTextureFrameAvailableHandler.quitSafely();
     cleanupOpenGL();
     inputSurfaceTexture.release();
+    discardStandbyInput();
+    releaseRetiredInput();
   }
 
   private void cleanupOpenGL() {
@@ -264,18 +404,7 @@ public class VideoRenderer {
       inputSurface = new Surface(inputSurfaceTexture);
 
       inputSurfaceTexture.setOnFrameAvailableListener(
-          new SurfaceTexture.OnFrameAvailableListener() {
-            @Override
-            public void onFrameAvailable(SurfaceTexture surfaceTexture) {
-              synchronized (surfaceTextureAvailableFrameLock) {
-                if (surfaceTextureFrameAvailable)
-                  Log.w(TAG, "Frame available before processing other frames. dropping frames");
-                surfaceTextureFrameAvailable = true;
-                surfaceTextureAvailableFrameLock.notifyAll();
-              }
-            }
-          },
-          new Handler(surfaceTextureFrameAvailableHandler.getLooper()));
+          frameAvailableListener, new Handler(surfaceTextureFrameAvailableHandler.getLooper()));
       lock.notifyAll();
     }
   }
@@ -295,12 +424,18 @@ public class VideoRenderer {
               // to correct rotation.
               while (!Thread.interrupted()) {
 
+                boolean switchInput;
                 synchronized (surfaceTextureAvailableFrameLock) {
-                  while (!surfaceTextureFrameAvailable) {
+                  while (!surfaceTextureFrameAvailable && !standbyFrameAvailable) {
                     surfaceTextureAvailableFrameLock.wait(500);
                   }
+                  switchInput = standbyFrameAvailable;
+                  standbyFrameAvailable = false;
                   surfaceTextureFrameAvailable = false;
                 }
+                if (switchInput) {
+                  switchToStandbyInput();
+                }
 
                 inputSurfaceTexture.updateTexImage();
 
@@ -0,0 +1,84 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugins.camera.media.ImageStreamReaderUtils;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Encodes a frame taken from the {@link ZeroShutterLagRing} into a JPEG, tagging it with the photo
+ * orientation the same way the camera tags a regular still capture.
+ */
+final class ZeroShutterLagEncoder implements Runnable {
+  private static final int JPEG_QUALITY = 95;
+
+  private final ZeroShutterLagRing.Frame frame;
+  private final int photoOrientation;
+  private final ImageMemoryProcessor.Callback callback;
+
+  /**
+   * Creates an instance of the ZeroShutterLagEncoder runnable
+   *
+   * @param frame - The frame to encode, which is closed once it has been read.
+   * @param photoOrientation - The clockwise rotation in degrees that makes the image upright.
+   * @param callback - The callback that is run on completion, or when an error is encountered.
+   */
+  ZeroShutterLagEncoder(
+      @NonNull ZeroShutterLagRing.Frame frame,
+      int photoOrientation,
+      @NonNull ImageMemoryProcessor.Callback callback) {
+    this.frame = frame;
+    this.photoOrientation = photoOrientation;
+    this.callback = callback;
+  }
+
+  @Override
+  public void run() {
+    try {
+      int width = frame.image.getWidth();
+      int height = frame.image.getHeight();
+      byte[] nv21 = new byte[ImageStreamReaderUtils.nv21Size(width, height)];
+      new ImageStreamReaderUtils()
+          .yuv420ThreePlanesToNV21(frame.image.getPlanes(), width, height, nv21);
+      // Hand the buffer back to the camera before the slower encode.
+      frame.close();
+
+      YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21, width, height, null);
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(nv21.length / 4);
+      if (!yuvImage.compressToJpeg(new Rect(0, 0, width, height), JPEG_QUALITY, outputStream)) {
+        callback.onError("encodeError", "Failed to encode image");
+        return;
+      }
+      callback.onComplete(
+          JpegExif.withOrientation(outputStream.toByteArray(), exifOrientation(photoOrientation)),
+          width,
+          height);
+    } catch (Exception e) {
+      callback.onError("processError", e.getMessage());
+    } finally {
+      frame.close();
+    }
+  }
+
+  /** Maps a clockwise rotation in degrees to the EXIF orientation that applies it. */
+  @VisibleForTesting
+  static int exifOrientation(int degrees) {
+    switch ((degrees % 360 + 360) % 360) {
+      case 90:
+        return 6;
+      case 180:
+        return 3;
+      case 270:
+        return 8;
+      default:
+        return 1;
+    }
+  }
+}
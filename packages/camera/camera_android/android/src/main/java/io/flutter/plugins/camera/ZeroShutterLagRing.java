@@ -0,0 +1,220 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import android.graphics.ImageFormat;
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.TotalCaptureResult;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Handler;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recent full-resolution frames of the preview session, along with their capture
+ * results, so that a still can be returned without running focus and precapture and waiting for a
+ * new exposure.
+ *
+ * <p>The ring's surface is a target of the repeating request. Images and capture results arrive on
+ * the camera background thread while frames are taken on the platform thread, so the ring is
+ * synchronized. Only one frame may be taken at a time, which bounds how many images are held.
+ */
+final class ZeroShutterLagRing
+    implements ImageReader.OnImageAvailableListener, CameraCaptureCallback.CaptureResultListener {
+  private static final String TAG = "ZeroShutterLagRing";
+
+  /** How many recent frames are kept. */
+  @VisibleForTesting static final int RING_SIZE = 3;
+
+  /**
+   * The newest image is acquired before the oldest one is evicted, and one taken frame may still be
+   * being encoded.
+   */
+  private static final int MAX_IMAGES = RING_SIZE + 2;
+
+  /** Capture results may arrive before or after their image, so a few more than images are kept. */
+  private static final int MAX_RESULTS = 2 * MAX_IMAGES;
+
+  private final ImageReader imageReader;
+  private final ArrayDeque<Image> images = new ArrayDeque<>(MAX_IMAGES);
+
+  private final Map<Long, TotalCaptureResult> results =
+      new LinkedHashMap<Long, TotalCaptureResult>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, TotalCaptureResult> eldest) {
+          return size() > MAX_RESULTS;
+        }
+      };
+
+  private boolean frameTaken;
+  private boolean closed;
+
+  /**
+   * Creates a ring of YUV_420_888 frames of the given size.
+   *
+   * @param width the width of the frames, usually the capture size.
+   * @param height the height of the frames, usually the capture size.
+   * @param handler the handler images are delivered on.
+   */
+  @NonNull
+  static ZeroShutterLagRing create(int width, int height, @NonNull Handler handler) {
+    ZeroShutterLagRing ring =
+        new ZeroShutterLagRing(
+            ImageReader.newInstance(width, height, ImageFormat.YUV_420_888, MAX_IMAGES));
+    ring.imageReader.setOnImageAvailableListener(ring, handler);
+    return ring;
+  }
+
+  @VisibleForTesting
+  ZeroShutterLagRing(@NonNull ImageReader imageReader) {
+    this.imageReader = imageReader;
+  }
+
+  /** Returns the surface that the repeating request should target. */
+  @NonNull
+  Surface getSurface() {
+    return imageReader.getSurface();
+  }
+
+  @Override
+  public void onImageAvailable(@NonNull ImageReader reader) {
+    Image image;
+    try {
+      image = reader.acquireNextImage();
+    } catch (IllegalStateException e) {
+      // Every image is held by the ring or the frame being encoded; this frame is skipped.
+      Log.w(TAG, "Skipping frame: " + e.getMessage());
+      return;
+    }
+    if (image != null) {
+      onImage(image);
+    }
+  }
+
+  /** Adds the newest frame to the ring, evicting the oldest one once the ring is full. */
+  @VisibleForTesting
+  synchronized void onImage(@NonNull Image image) {
+    if (closed) {
+      image.close();
+      return;
+    }
+    images.addLast(image);
+    while (images.size() > RING_SIZE) {
+      images.removeFirst().close();
+    }
+  }
+
+  @Override
+  public synchronized void onCaptureResult(@NonNull TotalCaptureResult result) {
+    Long timestamp = result.get(CaptureResult.SENSOR_TIMESTAMP);
+    if (timestamp != null) {
+      results.put(timestamp, result);
+    }
+  }
+
+  /**
+   * Removes the best recent frame from the ring: the newest one whose focus and exposure had
+   * settled, or the newest one if none had.
+   *
+   * @return the frame, which must be closed once it has been read, or null if the ring is empty or
+   *     a frame that was taken earlier has not been closed yet.
+   */
+  @Nullable
+  synchronized Frame takeBestFrame() {
+    if (closed || frameTaken || images.isEmpty()) {
+      return null;
+    }
+    Image best = images.peekLast();
+    TotalCaptureResult bestResult = results.get(best.getTimestamp());
+    Iterator<Image> newestFirst = images.descendingIterator();
+    while (newestFirst.hasNext()) {
+      Image image = newestFirst.next();
+      TotalCaptureResult result = results.get(image.getTimestamp());
+      if (result != null && isSettled(result)) {
+        best = image;
+        bestResult = result;
+        break;
+      }
+    }
+    images.remove(best);
+    frameTaken = true;
+    return new Frame(best, bestResult);
+  }
+
+  /** Closes every frame in the ring, for when the current session no longer feeds it. */
+  synchronized void clear() {
+    for (Image image : images) {
+      image.close();
+    }
+    images.clear();
+    results.clear();
+  }
+
+  /**
+   * Releases the ring. If a frame is still being read, the reader is closed once that frame is
+   * closed.
+   */
+  synchronized void close() {
+    clear();
+    closed = true;
+    if (!frameTaken) {
+      imageReader.close();
+    }
+  }
+
+  private synchronized void onFrameClosed() {
+    frameTaken = false;
+    if (closed) {
+      imageReader.close();
+    }
+  }
+
+  private static boolean isSettled(@NonNull TotalCaptureResult result) {
+    Integer afState = result.get(CaptureResult.CONTROL_AF_STATE);
+    boolean focused =
+        afState == null
+            || afState == CaptureResult.CONTROL_AF_STATE_INACTIVE
+            || afState == CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED
+            || afState == CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED;
+    Integer aeState = result.get(CaptureResult.CONTROL_AE_STATE);
+    boolean exposed =
+        aeState == null
+            || (aeState != CaptureResult.CONTROL_AE_STATE_SEARCHING
+                && aeState != CaptureResult.CONTROL_AE_STATE_PRECAPTURE);
+    return focused && exposed;
+  }
+
+  /** A frame taken from the ring, with the capture result it was produced by if one arrived. */
+  final class Frame {
+    @NonNull final Image image;
+    @Nullable final TotalCaptureResult result;
+    private boolean frameClosed;
+
+    private Frame(@NonNull Image image, @Nullable TotalCaptureResult result) {
+      this.image = image;
+      this.result = result;
+    }
+
+    /** Closes the image and lets the next frame be taken. Closing twice has no effect. */
+    void close() {
+      synchronized (ZeroShutterLagRing.this) {
+        if (frameClosed) {
+          return;
+        }
+        frameClosed = true;
+        image.close();
+        onFrameClosed();
+      }
+    }
+  }
+}
@@ -7,6 +7,7 @@ package io.flutter.plugins.camera.features;
 import android.hardware.camera2.CaptureRequest;
 import androidx.annotation.NonNull;
 import io.flutter.plugins.camera.CameraProperties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An interface describing a feature in the camera. This holds a setting value of type T and must
@@ -20,6 +21,9 @@ public abstract class CameraFeature<T> {
 
   protected final CameraProperties cameraProperties;
 
+  /** Changed on the thread that sets the value, and read on the threads that build requests. */
+  private final AtomicInteger revision = new AtomicInteger();
+
   protected CameraFeature(@NonNull CameraProperties cameraProperties) {
     this.cameraProperties = cameraProperties;
   }
@@ -58,4 +62,22 @@ public abstract class CameraFeature<T> {
    *     configure the settings and outputs needed to capture a single image from the camera device.
    */
   public abstract void updateBuilder(@NonNull CaptureRequest.Builder requestBuilder);
+
+  /**
+   * Gets the revision of this feature, which changes whenever the settings this feature applies in
+   * {@link #updateBuilder(CaptureRequest.Builder)} may have changed.
+   *
+   * @return int The current revision of this feature.
+   */
+  public final int getRevision() {
+    return revision.get();
+  }
+
+  /**
+   * Marks that the settings this feature applies to a request builder may have changed, so that
+   * request builders which already received this feature are updated again.
+   */
+  protected final void markChanged() {
+    revision.incrementAndGet();
+  }
 }
@@ -5,6 +5,7 @@
 package io.flutter.plugins.camera.features;
 
 import android.app.Activity;
+import android.hardware.camera2.CaptureRequest;
 import androidx.annotation.NonNull;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.DartMessenger;
@@ -20,10 +21,13 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.SensorOrientationFeature;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 /**
  * These are all of our available features in the camera. Used in the Camera to access all features
@@ -79,6 +83,21 @@ public class CameraFeatures {
 
   private final Map<String, CameraFeature<?>> featureMap = new HashMap<>();
 
+  /** The revisions of the features last applied to a request builder, and the changed features. */
+  private static final class AppliedFeatures {
+    /** The revision of each feature when it was last applied, boxed once per feature. */
+    final Map<CameraFeature<?>, int[]> revisions = new HashMap<>();
+    /** The features returned by the last call for the builder, reused by the next one. */
+    final List<CameraFeature<?>> changedFeatures = new ArrayList<>();
+  }
+
+  /**
+   * The features applied to each request builder. Builders are compared by identity and dropped
+   * once they are no longer used. Requests are built on the platform thread, the camera background
+   * thread and the session executor, so every access holds the lock of the map.
+   */
+  private final Map<CaptureRequest.Builder, AppliedFeatures> appliedFeatures = new WeakHashMap<>();
+
   /**
    * Gets a collection of all features that have been set.
    *
@@ -89,6 +108,51 @@ public class CameraFeatures {
     return this.featureMap.values();
   }
 
+  /**
+   * Gets the features that have to update the given request builder, and records that they have
+   * been applied to it.
+   *
+   * <p>A builder that has not been seen before gets all features. After that, only the features
+   * that were replaced or whose revision has changed since the last call for the same builder are
+   * returned, so a builder that is reused across requests is not updated with unchanged settings.
+   *
+   * <p>The returned list is reused by the next call for the same builder, so it has to be applied
+   * before the builder is updated again, which a builder that is not shared between threads
+   * ensures.
+   *
+   * @param requestBuilder the request builder the returned features will be applied to.
+   * @return the features whose settings have to be applied to the builder.
+   */
+  @NonNull
+  public List<CameraFeature<?>> takeChangedFeatures(
+      @NonNull CaptureRequest.Builder requestBuilder) {
+    synchronized (appliedFeatures) {
+      AppliedFeatures applied = appliedFeatures.get(requestBuilder);
+      if (applied == null) {
+        applied = new AppliedFeatures();
+        appliedFeatures.put(requestBuilder, applied);
+      }
+      List<CameraFeature<?>> changedFeatures = applied.changedFeatures;
+      changedFeatures.clear();
+      for (CameraFeature<?> feature : featureMap.values()) {
+        int revision = feature.getRevision();
+        int[] appliedRevision = applied.revisions.get(feature);
+        if (appliedRevision == null) {
+          applied.revisions.put(feature, new int[] {revision});
+          changedFeatures.add(feature);
+        } else if (appliedRevision[0] != revision) {
+          appliedRevision[0] = revision;
+          changedFeatures.add(feature);
+        }
+      }
+      if (applied.revisions.size() != featureMap.size()) {
+        // Replaced features are dropped along with their revisions.
+        applied.revisions.keySet().retainAll(featureMap.values());
+      }
+      return changedFeatures;
+    }
+  }
+
   /**
    * Gets the auto focus feature if it has been set.
    *
@@ -45,6 +45,7 @@ public class AutoFocusFeature extends CameraFeature<FocusMode> {
   @Override
   public void setValue(@NonNull FocusMode value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   @Override
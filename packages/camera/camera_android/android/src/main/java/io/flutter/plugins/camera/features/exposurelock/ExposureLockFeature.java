@@ -39,6 +39,7 @@ public class ExposureLockFeature extends CameraFeature<ExposureMode> {
   @Override
   public void setValue(@NonNull ExposureMode value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   // Available on all devices.
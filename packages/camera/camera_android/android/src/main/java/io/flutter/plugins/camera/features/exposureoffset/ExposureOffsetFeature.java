@@ -41,6 +41,7 @@ public class ExposureOffsetFeature extends CameraFeature<Double> {
   public void setValue(@NonNull Double value) {
     double stepSize = getExposureOffsetStepSize();
     this.currentSetting = value / stepSize;
+    markChanged();
   }
 
   // Available on all devices.
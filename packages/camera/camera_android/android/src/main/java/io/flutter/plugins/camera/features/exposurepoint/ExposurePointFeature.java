@@ -48,6 +48,7 @@ public class ExposurePointFeature extends CameraFeature<Point> {
   public void setCameraBoundaries(@NonNull Size cameraBoundaries) {
     this.cameraBoundaries = cameraBoundaries;
     this.buildExposureRectangle();
+    markChanged();
   }
 
   @NonNull
@@ -67,6 +68,7 @@ public class ExposurePointFeature extends CameraFeature<Point> {
   public void setValue(@Nullable Point value) {
     this.exposurePoint = (value == null || value.x == null || value.y == null) ? null : value;
     this.buildExposureRectangle();
+    markChanged();
   }
 
   // Whether or not this camera can set the exposure point.
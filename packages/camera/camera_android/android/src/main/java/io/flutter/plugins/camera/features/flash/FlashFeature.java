@@ -39,6 +39,7 @@ public class FlashFeature extends CameraFeature<FlashMode> {
   @Override
   public void setValue(@NonNull FlashMode value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   @Override
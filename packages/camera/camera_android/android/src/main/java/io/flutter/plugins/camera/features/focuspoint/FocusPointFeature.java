@@ -45,6 +45,7 @@ public class FocusPointFeature extends CameraFeature<Point> {
   public void setCameraBoundaries(@NonNull Size cameraBoundaries) {
     this.cameraBoundaries = cameraBoundaries;
     this.buildFocusRectangle();
+    markChanged();
   }
 
   @NonNull
@@ -64,6 +65,7 @@ public class FocusPointFeature extends CameraFeature<Point> {
   public void setValue(@Nullable Point value) {
     this.focusPoint = value == null || value.x == null || value.y == null ? null : value;
     this.buildFocusRectangle();
+    markChanged();
   }
 
   // Whether or not this camera can set the focus point.
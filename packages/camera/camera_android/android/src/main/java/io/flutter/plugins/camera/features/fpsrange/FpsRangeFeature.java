@@ -76,6 +76,7 @@ public class FpsRangeFeature extends CameraFeature<Range<Integer>> {
   @Override
   public void setValue(@NonNull Range<Integer> value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   // Always supported
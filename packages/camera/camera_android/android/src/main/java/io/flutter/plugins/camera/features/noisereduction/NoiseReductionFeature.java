@@ -59,6 +59,7 @@ public class NoiseReductionFeature extends CameraFeature<NoiseReductionMode> {
   @Override
   public void setValue(@NonNull NoiseReductionMode value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   @Override
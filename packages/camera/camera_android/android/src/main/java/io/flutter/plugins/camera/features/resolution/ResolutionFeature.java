@@ -17,7 +17,9 @@ import androidx.annotation.VisibleForTesting;
 import io.flutter.plugins.camera.CameraProperties;
 import io.flutter.plugins.camera.SdkCapabilityChecker;
 import io.flutter.plugins.camera.features.CameraFeature;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controls the resolutions configuration on the {@link android.hardware.camera2} API.
@@ -27,6 +29,14 @@ import java.util.List;
  * required to configure the resolution using the {@link android.hardware.camera2} API.
  */
 public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
+  /**
+   * The resolutions that have been resolved in this process, by camera identifier and preset.
+   *
+   * <p>Media profiles never change while the process runs, so reopening or switching cameras
+   * reuses the resolved profile and sizes instead of querying the media profiles again.
+   */
+  private static final Map<String, ResolvedResolution> resolvedResolutions = new HashMap<>();
+
   @Nullable private Size captureSize;
   @Nullable private Size previewSize;
   private CamcorderProfile recordingProfileLegacy;
@@ -109,6 +119,7 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
   public void setValue(@NonNull ResolutionPreset value) {
     this.currentSetting = value;
     configureResolution(currentSetting, cameraId);
+    markChanged();
   }
 
   @Override
@@ -264,15 +275,45 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
     }
   }
 
+  /** Forgets the resolutions that have been resolved so far. */
+  @VisibleForTesting
+  static void clearResolvedResolutions() {
+    synchronized (resolvedResolutions) {
+      resolvedResolutions.clear();
+    }
+  }
+
   private void configureResolution(ResolutionPreset resolutionPreset, int cameraId)
       throws IndexOutOfBoundsException {
     if (!checkIsSupported()) {
       return;
     }
-    boolean captureSizeCalculated = false;
+
+    String key = cameraId + ":" + resolutionPreset.name();
+    ResolvedResolution resolved;
+    synchronized (resolvedResolutions) {
+      resolved = resolvedResolutions.get(key);
+    }
+    if (resolved == null) {
+      resolved = resolveResolution(resolutionPreset, cameraId);
+      synchronized (resolvedResolutions) {
+        resolvedResolutions.put(key, resolved);
+      }
+    }
+
+    recordingProfile = resolved.recordingProfile;
+    recordingProfileLegacy = resolved.recordingProfileLegacy;
+    captureSize = resolved.captureSize;
+    previewSize = resolved.previewSize;
+  }
+
+  private ResolvedResolution resolveResolution(ResolutionPreset resolutionPreset, int cameraId)
+      throws IndexOutOfBoundsException {
+    EncoderProfiles recordingProfile = null;
+    CamcorderProfile recordingProfileLegacy = null;
+    Size captureSize = null;
 
     if (SdkCapabilityChecker.supportsEncoderProfiles()) {
-      recordingProfileLegacy = null;
       recordingProfile =
           getBestAvailableCamcorderProfileForResolutionPreset(cameraId, resolutionPreset);
       List<EncoderProfiles.VideoProfile> videoProfiles = recordingProfile.getVideoProfiles();
@@ -280,20 +321,45 @@ public class ResolutionFeature extends CameraFeature<ResolutionPreset> {
       EncoderProfiles.VideoProfile defaultVideoProfile = videoProfiles.get(0);
 
       if (defaultVideoProfile != null) {
-        captureSizeCalculated = true;
         captureSize = new Size(defaultVideoProfile.getWidth(), defaultVideoProfile.getHeight());
+      } else {
+        recordingProfile = null;
       }
     }
 
-    if (!captureSizeCalculated) {
-      recordingProfile = null;
-      CamcorderProfile camcorderProfile =
+    if (captureSize == null) {
+      recordingProfileLegacy =
           getBestAvailableCamcorderProfileForResolutionPresetLegacy(cameraId, resolutionPreset);
-      recordingProfileLegacy = camcorderProfile;
       captureSize =
           new Size(recordingProfileLegacy.videoFrameWidth, recordingProfileLegacy.videoFrameHeight);
     }
 
-    previewSize = computeBestPreviewSize(cameraId, resolutionPreset);
+    // Up to the high preset the best preview size is the capture size, which saves walking the
+    // media profiles a second time.
+    Size previewSize =
+        resolutionPreset.ordinal() <= ResolutionPreset.high.ordinal()
+            ? captureSize
+            : computeBestPreviewSize(cameraId, resolutionPreset);
+    return new ResolvedResolution(
+        recordingProfile, recordingProfileLegacy, captureSize, previewSize);
+  }
+
+  /** The profile and sizes resolved for a camera and {@link ResolutionPreset}. */
+  private static final class ResolvedResolution {
+    @Nullable final EncoderProfiles recordingProfile;
+    @Nullable final CamcorderProfile recordingProfileLegacy;
+    @NonNull final Size captureSize;
+    @Nullable final Size previewSize;
+
+    ResolvedResolution(
+        @Nullable EncoderProfiles recordingProfile,
+        @Nullable CamcorderProfile recordingProfileLegacy,
+        @NonNull Size captureSize,
+        @Nullable Size previewSize) {
+      this.recordingProfile = recordingProfile;
+      this.recordingProfileLegacy = recordingProfileLegacy;
+      this.captureSize = captureSize;
+      this.previewSize = previewSize;
+    }
   }
 }
@@ -60,6 +60,7 @@ public class SensorOrientationFeature extends CameraFeature<Integer> {
   @Override
   public void setValue(@NonNull Integer value) {
     this.currentSetting = value;
+    markChanged();
   }
 
   @Override
@@ -68,6 +68,7 @@ public class ZoomLevelFeature extends CameraFeature<Float> {
   @Override
   public void setValue(@NonNull Float value) {
     currentSetting = value;
+    markChanged();
   }
 
   @Override
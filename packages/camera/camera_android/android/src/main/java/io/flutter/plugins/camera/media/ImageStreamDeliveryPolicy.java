@@ -0,0 +1,23 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+/** How image stream frames are delivered while Dart is still busy with earlier frames. */
+public enum ImageStreamDeliveryPolicy {
+  /**
+   * Only one frame is sent to Dart at a time. The most recent frame that arrives meanwhile is kept
+   * and sent as soon as Dart acknowledges the previous one; older ones are dropped.
+   */
+  LATEST_ONLY,
+
+  /**
+   * Frames are sent until a configurable number of them are waiting on Dart, after which new frames
+   * are dropped.
+   */
+  BOUNDED_QUEUE,
+
+  /** Frames that arrive while Dart is busy with an earlier frame are dropped. */
+  DROP_WHILE_BUSY,
+}
@@ -0,0 +1,77 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+/**
+ * Decides which images of the image stream are converted, so that the stream keeps only every nth
+ * image and runs at most at a given frame rate regardless of the frame rate of the session.
+ *
+ * <p>Images are kept on a fixed cadence rather than by their distance to the last kept image, so
+ * that timestamp jitter does not halve the frame rate when the limit divides the session frame
+ * rate evenly.
+ *
+ * <p>The limit is set from the platform thread and images are checked on the camera background
+ * thread, so all methods are synchronized.
+ */
+final class ImageStreamFrameGovernor {
+  /** How early an image may arrive and still be kept, as a fraction of the frame interval. */
+  private static final double EARLY_TOLERANCE = 0.1;
+
+  private long minFrameIntervalNanos;
+  private int frameStride = 1;
+
+  private int imagesUntilNextKept;
+  private boolean hasKeptImage;
+  private long nextFrameTimestampNanos;
+
+  /**
+   * Sets which images are kept, and starts counting from the next image.
+   *
+   * @param maxFramesPerSecond the highest frame rate to keep images at, or 0 for no limit.
+   * @param frameStride only every nth image is kept, 1 to keep every image.
+   */
+  synchronized void setLimit(double maxFramesPerSecond, int frameStride) {
+    this.minFrameIntervalNanos =
+        maxFramesPerSecond > 0 ? Math.round(1_000_000_000 / maxFramesPerSecond) : 0;
+    this.frameStride = frameStride;
+    reset();
+  }
+
+  /** Starts counting from the next image, for example when the stream is started again. */
+  synchronized void reset() {
+    imagesUntilNextKept = 0;
+    hasKeptImage = false;
+  }
+
+  /**
+   * Returns whether the image with the given timestamp should be converted and sent to Dart.
+   *
+   * @param timestampNanos the timestamp of the image, from {@link android.media.Image#getTimestamp}
+   */
+  synchronized boolean shouldKeep(long timestampNanos) {
+    if (imagesUntilNextKept > 0) {
+      imagesUntilNextKept--;
+      return false;
+    }
+    if (minFrameIntervalNanos > 0 && hasKeptImage) {
+      long tolerance = (long) (minFrameIntervalNanos * EARLY_TOLERANCE);
+      if (timestampNanos < nextFrameTimestampNanos - tolerance) {
+        return false;
+      }
+    }
+
+    imagesUntilNextKept = frameStride - 1;
+    if (minFrameIntervalNanos > 0) {
+      if (!hasKeptImage || timestampNanos - nextFrameTimestampNanos > minFrameIntervalNanos) {
+        // Start a new cadence after the first image or a gap in the stream.
+        nextFrameTimestampNanos = timestampNanos + minFrameIntervalNanos;
+      } else {
+        nextFrameTimestampNanos += minFrameIntervalNanos;
+      }
+    }
+    hasKeptImage = true;
+    return true;
+  }
+}
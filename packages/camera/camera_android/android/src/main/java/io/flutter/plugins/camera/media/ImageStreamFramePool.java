@@ -0,0 +1,443 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import io.flutter.plugins.camera.types.CaptureMetadataIndex;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pool of reusable image stream frames that also decides which frames are delivered to Dart.
+ *
+ * <p>Each {@link Frame} owns the map, plane list and plane byte arrays that are sent to Dart, so
+ * that in steady state streaming does not allocate anything per frame. A frame is taken from the
+ * pool when an image arrives, handed to the pool again with {@link #submit(Frame)} once it has been
+ * filled, and only becomes available again once Dart has acknowledged it. How frames that arrive
+ * while Dart is busy are handled depends on the {@link ImageStreamDeliveryPolicy}.
+ *
+ * <p>The pool is used from the camera background thread and from the platform thread, so all
+ * methods are synchronized.
+ */
+final class ImageStreamFramePool {
+  /** A single reusable frame and the buffers that describe it to Dart. */
+  static final class Frame implements Runnable {
+    final Map<String, Object> imageBuffer = new HashMap<>();
+    private final List<Map<String, Object>> planes = new ArrayList<>(3);
+    private final List<Map<String, Object>> planeMaps = new ArrayList<>(3);
+    private final List<byte[]> planeBytes = new ArrayList<>(3);
+
+    @Nullable private EventChannel.EventSink sink;
+    private volatile boolean delivered;
+    /** The number of the frame in the order frames were filled in. */
+    private long sequence;
+
+    @Nullable private CameraCaptureProperties captureProps;
+    private long sensorTimestamp;
+    private final CaptureMetadataIndex.Entry captureMetadata = new CaptureMetadataIndex.Entry();
+
+    Frame() {
+      imageBuffer.put("planes", planes);
+    }
+
+    /**
+     * Returns the byte array backing the plane at {@code index}, reusing the previous one when it
+     * has the requested size.
+     */
+    @NonNull
+    byte[] planeBytes(int index, int size) {
+      while (planeBytes.size() <= index) {
+        planeBytes.add(null);
+      }
+      byte[] bytes = planeBytes.get(index);
+      if (bytes == null || bytes.length != size) {
+        bytes = new byte[size];
+        planeBytes.set(index, bytes);
+      }
+      return bytes;
+    }
+
+    /** Returns the reusable map describing the plane at {@code index}. */
+    @NonNull
+    Map<String, Object> plane(int index) {
+      while (planeMaps.size() <= index) {
+        planeMaps.add(new HashMap<>());
+      }
+      return planeMaps.get(index);
+    }
+
+    /** Sets how many of the reusable plane maps are part of this frame. */
+    void setPlaneCount(int count) {
+      if (planes.size() == count) {
+        return;
+      }
+      planes.clear();
+      for (int i = 0; i < count; i++) {
+        planes.add(plane(i));
+      }
+    }
+
+    /** Stores an int value, only boxing it when it differs from the value already stored. */
+    static void putInt(@NonNull Map<String, Object> map, @NonNull String key, int value) {
+      Object current = map.get(key);
+      if (!(current instanceof Integer) || (Integer) current != value) {
+        map.put(key, value);
+      }
+    }
+
+    /** Stores a long value, only boxing it when it differs from the value already stored. */
+    static void putLong(@NonNull Map<String, Object> map, @NonNull String key, long value) {
+      Object current = map.get(key);
+      if (!(current instanceof Long) || (Long) current != value) {
+        map.put(key, value);
+      }
+    }
+
+    /** Stores a float value, only boxing it when it differs from the value already stored. */
+    static void putFloat(@NonNull Map<String, Object> map, @NonNull String key, float value) {
+      Object current = map.get(key);
+      if (!(current instanceof Float) || Float.compare((Float) current, value) != 0) {
+        map.put(key, value);
+      }
+    }
+
+    /** Stores a value, keeping the previously stored instance when the two are equal. */
+    static void putObject(
+        @NonNull Map<String, Object> map, @NonNull String key, @Nullable Object value) {
+      Object current = map.get(key);
+      if (current == null ? value != null || !map.containsKey(key) : !current.equals(value)) {
+        map.put(key, value);
+      }
+    }
+
+    /** Stores a nullable int as a double, only boxing it when it differs from the stored value. */
+    static void putIntAsDouble(
+        @NonNull Map<String, Object> map, @NonNull String key, @Nullable Integer value) {
+      if (value == null) {
+        putObject(map, key, null);
+        return;
+      }
+      putIntAsDouble(map, key, value.intValue());
+    }
+
+    /** Stores an int as a double, only boxing it when it differs from the stored value. */
+    static void putIntAsDouble(@NonNull Map<String, Object> map, @NonNull String key, int value) {
+      Object current = map.get(key);
+      if (!(current instanceof Double) || (Double) current != value) {
+        map.put(key, (double) value);
+      }
+    }
+
+    void setSink(@NonNull EventChannel.EventSink sink) {
+      this.sink = sink;
+      this.delivered = false;
+    }
+
+    /**
+     * Sets the capture whose metadata is added to the frame when it is delivered.
+     *
+     * <p>The metadata is looked up at delivery rather than when the frame is filled, because the
+     * capture result often arrives after the image.
+     *
+     * @param captureProps the capture properties of the camera, which index its capture results.
+     * @param sensorTimestamp the timestamp of the image, from {@link
+     *     android.media.Image#getTimestamp}.
+     */
+    void setCaptureMetadata(@NonNull CameraCaptureProperties captureProps, long sensorTimestamp) {
+      this.captureProps = captureProps;
+      this.sensorTimestamp = sensorTimestamp;
+    }
+
+    /**
+     * Adds the metadata of the capture that produced the frame, or the latest known metadata if its
+     * capture result has not arrived.
+     */
+    private void putCaptureMetadata() {
+      CameraCaptureProperties props = captureProps;
+      captureProps = null;
+      if (props == null) {
+        return;
+      }
+      putLong(imageBuffer, "sensorTimestamp", sensorTimestamp);
+      if (!props.findCaptureMetadata(sensorTimestamp, captureMetadata)) {
+        putObject(imageBuffer, "lensAperture", props.getLastLensAperture());
+        putObject(imageBuffer, "sensorExposureTime", props.getLastSensorExposureTime());
+        putIntAsDouble(imageBuffer, "sensorSensitivity", props.getLastSensorSensitivity());
+        putObject(imageBuffer, "lensFocusDistance", null);
+        return;
+      }
+      if (captureMetadata.hasLensAperture()) {
+        putFloat(imageBuffer, "lensAperture", captureMetadata.getLensAperture());
+      } else {
+        putObject(imageBuffer, "lensAperture", null);
+      }
+      if (captureMetadata.hasSensorExposureTime()) {
+        putLong(imageBuffer, "sensorExposureTime", captureMetadata.getSensorExposureTime());
+      } else {
+        putObject(imageBuffer, "sensorExposureTime", null);
+      }
+      if (captureMetadata.hasSensorSensitivity()) {
+        putIntAsDouble(imageBuffer, "sensorSensitivity", captureMetadata.getSensorSensitivity());
+      } else {
+        putObject(imageBuffer, "sensorSensitivity", null);
+      }
+      if (captureMetadata.hasLensFocusDistance()) {
+        putFloat(imageBuffer, "lensFocusDistance", captureMetadata.getLensFocusDistance());
+      } else {
+        putObject(imageBuffer, "lensFocusDistance", null);
+      }
+    }
+
+    boolean isDelivered() {
+      return delivered;
+    }
+
+    /** Sets the number of the frame in the order frames are filled in. */
+    void setSequence(long sequence) {
+      this.sequence = sequence;
+    }
+
+    /** Returns the number of the frame in the order frames are filled in. */
+    long getSequence() {
+      return sequence;
+    }
+
+    /** Sends the frame to Dart. Must be run on the platform thread. */
+    @Override
+    public void run() {
+      EventChannel.EventSink target = sink;
+      sink = null;
+      if (target != null) {
+        putCaptureMetadata();
+        // The message codec copies the frame while encoding it, so once this returns the buffers
+        // are no longer referenced by the channel.
+        target.success(imageBuffer);
+      }
+      delivered = true;
+    }
+  }
+
+  private final ArrayDeque<Frame> free = new ArrayDeque<>();
+  private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+
+  @NonNull private ImageStreamDeliveryPolicy policy;
+  private int maxPendingFrames;
+  /** The latest frame kept back while Dart is busy, when using {@code LATEST_ONLY}. */
+  @Nullable private Frame held;
+
+  private long deliveredCount;
+  private long droppedCount;
+  /** The sequence number of the newest frame Dart has acknowledged, or -1 if none. */
+  private long acknowledgedSequence = -1;
+
+  /**
+   * Creates a new pool.
+   *
+   * @param policy how frames are delivered while Dart is busy.
+   * @param maxPendingFrames the number of frames that may be waiting on Dart at once when using
+   *     {@link ImageStreamDeliveryPolicy#BOUNDED_QUEUE}.
+   */
+  ImageStreamFramePool(@NonNull ImageStreamDeliveryPolicy policy, int maxPendingFrames) {
+    this.policy = policy;
+    this.maxPendingFrames = maxPendingFrames;
+    ensureCapacity();
+  }
+
+  /**
+   * Changes the delivery policy. Frames already sent to Dart are unaffected.
+   *
+   * @param policy how frames are delivered while Dart is busy.
+   * @param maxPendingFrames the number of frames that may be waiting on Dart at once when using
+   *     {@link ImageStreamDeliveryPolicy#BOUNDED_QUEUE}.
+   */
+  synchronized void setPolicy(@NonNull ImageStreamDeliveryPolicy policy, int maxPendingFrames) {
+    this.policy = policy;
+    this.maxPendingFrames = maxPendingFrames;
+    if (policy != ImageStreamDeliveryPolicy.LATEST_ONLY && held != null) {
+      free.add(held);
+      held = null;
+    }
+    ensureCapacity();
+  }
+
+  /**
+   * Takes a free frame out of the pool so it can be filled.
+   *
+   * @return the frame, or null if the incoming image should be dropped.
+   */
+  @Nullable
+  synchronized Frame acquire() {
+    if (policy != ImageStreamDeliveryPolicy.LATEST_ONLY && pending.size() >= getInFlightLimit()) {
+      droppedCount++;
+      return null;
+    }
+    Frame frame = free.poll();
+    if (frame == null) {
+      droppedCount++;
+    }
+    return frame;
+  }
+
+  /**
+   * Hands a filled frame back to the pool.
+   *
+   * @return true if the caller should post the frame to the platform thread now. Otherwise the
+   *     pool has either kept it back until Dart catches up or dropped it.
+   */
+  synchronized boolean submit(@NonNull Frame frame) {
+    if (pending.size() < getInFlightLimit()) {
+      pending.add(frame);
+      deliveredCount++;
+      return true;
+    }
+    if (policy == ImageStreamDeliveryPolicy.LATEST_ONLY) {
+      if (held != null) {
+        free.add(held);
+        droppedCount++;
+      }
+      held = frame;
+      return false;
+    }
+    // The limit was lowered while the frame was being filled.
+    free.add(frame);
+    droppedCount++;
+    return false;
+  }
+
+  /**
+   * Returns the oldest frame waiting on Dart to the pool.
+   *
+   * <p>Called once Dart acknowledges a frame. Acknowledgements that arrive before the frame was
+   * actually delivered, such as a late acknowledgement from a previous subscription, are ignored.
+   *
+   * @return a frame that was kept back and should now be posted to the platform thread, or null.
+   */
+  @Nullable
+  synchronized Frame release() {
+    Frame frame = pending.peek();
+    if (frame != null && frame.isDelivered()) {
+      pending.poll();
+      free.add(frame);
+      acknowledgedSequence = Math.max(acknowledgedSequence, frame.sequence);
+    }
+    if (held != null && pending.size() < getInFlightLimit()) {
+      Frame next = held;
+      held = null;
+      pending.add(next);
+      deliveredCount++;
+      return next;
+    }
+    return null;
+  }
+
+  /**
+   * Returns a frame that was acquired but never submitted, for example because filling it failed.
+   */
+  synchronized void recycle(@NonNull Frame frame) {
+    free.add(frame);
+  }
+
+  /**
+   * Forgets every frame that is waiting on Dart or kept back.
+   *
+   * <p>Frames that may still be queued for delivery are replaced rather than reused, so that they
+   * are never refilled while the platform thread is reading them.
+   */
+  synchronized void reset() {
+    pending.clear();
+    if (held != null) {
+      free.add(held);
+      held = null;
+    }
+    ensureCapacity();
+  }
+
+  /**
+   * Forgets every frame like {@link #reset()}, and replaces the free frames as well, for when the
+   * frames start describing their planes differently.
+   */
+  synchronized void clear() {
+    reset();
+    free.clear();
+    ensureCapacity();
+  }
+
+  /**
+   * Replaces the free frames with empty ones, releasing their plane buffers. Frames waiting on Dart
+   * or kept back keep their buffers.
+   */
+  synchronized void trim() {
+    int count = free.size();
+    free.clear();
+    for (int i = 0; i < count; i++) {
+      free.add(new Frame());
+    }
+  }
+
+  /** Returns the number of frames the pool holds for the current policy. */
+  synchronized int getCapacity() {
+    // LATEST_ONLY needs room for one frame being filled and one kept back besides the one in
+    // flight.
+    return getInFlightLimit() + (policy == ImageStreamDeliveryPolicy.LATEST_ONLY ? 2 : 0);
+  }
+
+  /** Counts a frame that was dropped before it reached the pool. */
+  synchronized void recordDropped() {
+    droppedCount++;
+  }
+
+  /** Resets the delivered and dropped frame counters. */
+  synchronized void resetCounters() {
+    deliveredCount = 0;
+    droppedCount = 0;
+  }
+
+  /** Returns the number of frames sent to Dart since the counters were last reset. */
+  synchronized long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  /** Returns the number of frames dropped since the counters were last reset. */
+  synchronized long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /**
+   * Returns the sequence number of the newest frame Dart has acknowledged, or -1 if none. Dart has
+   * received every frame delivered before it as well.
+   */
+  synchronized long getAcknowledgedSequence() {
+    return acknowledgedSequence;
+  }
+
+  /** Returns the number of frames currently waiting on Dart. */
+  synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  private int getInFlightLimit() {
+    return policy == ImageStreamDeliveryPolicy.BOUNDED_QUEUE ? maxPendingFrames : 1;
+  }
+
+  /** Adds or removes free frames so the pool holds exactly as many as the policy needs. */
+  private void ensureCapacity() {
+    int capacity = getCapacity();
+    int total = free.size() + pending.size() + (held == null ? 0 : 1);
+    while (total < capacity) {
+      free.add(new Frame());
+      total++;
+    }
+    while (total > capacity && !free.isEmpty()) {
+      free.poll();
+      total--;
+    }
+  }
+}
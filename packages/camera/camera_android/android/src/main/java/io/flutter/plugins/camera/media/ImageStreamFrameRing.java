@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A ring of fixed-size frame slots in a memory-mapped file, which the image stream writes frames
+ * into and Dart maps to read them without them being copied through the event channel.
+ *
+ * <p>Slots of frames that were dropped are reused first, and slots of frames Dart has acknowledged
+ * in the order they were written. Dart acknowledges a frame once the stream listener has handled
+ * it, so a slot is never overwritten while the listener reads the frame in it.
+ *
+ * <p>Only used from the image stream conversion thread.
+ */
+final class ImageStreamFrameRing {
+  /**
+   * How many more slots the ring has than the frame pool has frames, for frames that are never
+   * acknowledged because the stream was restarted. Their slots are only reused once a later frame
+   * is acknowledged.
+   */
+  static final int SPARE_SLOTS = 2;
+
+  @NonNull private final File file;
+  @NonNull private final MappedByteBuffer buffer;
+  private final int slotCount;
+  private final int slotSize;
+  /** The sequence number of the first frame that was not written into the ring once retired. */
+  private long retiredAtSequence = Long.MAX_VALUE;
+
+  /** The slots no frame is being written into or waiting on Dart with, reused from the front. */
+  private final ArrayDeque<Integer> releasedSlots = new ArrayDeque<>();
+  /** The slot of each frame, in the order the frames were written. */
+  private final Map<ImageStreamFramePool.Frame, Integer> frameSlots = new LinkedHashMap<>();
+  /** The sequence number of the frame last written into each slot. */
+  private final long[] slotSequences;
+
+  private ImageStreamFrameRing(
+      @NonNull File file, @NonNull MappedByteBuffer buffer, int slotCount, int slotSize) {
+    this.file = file;
+    this.buffer = buffer;
+    this.slotCount = slotCount;
+    this.slotSize = slotSize;
+    this.slotSequences = new long[slotCount];
+    for (int i = 0; i < slotCount; i++) {
+      releasedSlots.add(i);
+    }
+  }
+
+  /**
+   * Creates a ring in a new file.
+   *
+   * @param directory the directory to create the file in.
+   * @param frameCount the number of frames in the frame pool.
+   * @param slotSize the number of bytes in each slot.
+   * @return the new ring.
+   * @throws IOException when the file could not be created or mapped.
+   */
+  @NonNull
+  static ImageStreamFrameRing create(@NonNull File directory, int frameCount, int slotSize)
+      throws IOException {
+    int slotCount = frameCount + SPARE_SLOTS;
+    long size = (long) slotCount * slotSize;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The frame ring would be too large: " + size + " bytes");
+    }
+    File file = File.createTempFile("image_stream_ring", ".bin", directory);
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      randomAccessFile.setLength(size);
+      // The mapping stays valid after the file is closed.
+      MappedByteBuffer buffer =
+          randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+      return new ImageStreamFrameRing(file, buffer, slotCount, slotSize);
+    } catch (IOException | RuntimeException e) {
+      file.delete();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a view of the slot to write a frame into, positioned at the start of the slot and
+   * limited to its end. Positions in the view are offsets into the file.
+   *
+   * @param frame the pooled frame that is about to be filled, with its new sequence number set.
+   * @param acknowledgedSequence the sequence number of the newest frame Dart has acknowledged.
+   * @return the view, or null if every slot is still in use, for example because the pool has grown
+   *     since the ring was created.
+   */
+  @Nullable
+  ByteBuffer acquireSlot(@NonNull ImageStreamFramePool.Frame frame, long acknowledgedSequence) {
+    // The slot of the frame was not delivered if the frame is filled again before it was delivered.
+    Integer droppedSlot = frame.isDelivered() ? null : frameSlots.remove(frame);
+    Iterator<Map.Entry<ImageStreamFramePool.Frame, Integer>> iterator =
+        frameSlots.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<ImageStreamFramePool.Frame, Integer> entry = iterator.next();
+      // Dart has handled every frame up to the acknowledged one.
+      if (slotSequences[entry.getValue()] <= acknowledgedSequence) {
+        releasedSlots.addLast(entry.getValue());
+        iterator.remove();
+      }
+    }
+    if (droppedSlot != null) {
+      releasedSlots.addFirst(droppedSlot);
+    }
+
+    Integer slot = releasedSlots.pollFirst();
+    if (slot == null) {
+      return null;
+    }
+    frameSlots.put(frame, slot);
+    slotSequences[slot] = frame.getSequence();
+    ByteBuffer view = buffer.duplicate();
+    int start = slot * slotSize;
+    view.limit(start + slotSize);
+    view.position(start);
+    return view;
+  }
+
+  /** Returns whether the ring fits frames of the given size for a pool of the given size. */
+  boolean fits(int frameCount, int frameSize) {
+    return frameSize <= slotSize && frameCount + SPARE_SLOTS <= slotCount;
+  }
+
+  /** Returns the path of the file Dart should map. */
+  @NonNull
+  String getPath() {
+    return file.getAbsolutePath();
+  }
+
+  /** Returns the size of the file in bytes. */
+  int getSize() {
+    return slotCount * slotSize;
+  }
+
+  /**
+   * Marks the ring as replaced, from the frame with the given sequence number on. Frames already
+   * written into it may still be on their way to Dart, so the file is kept until {@link
+   * #isUnreferenced} returns true.
+   *
+   * @param sequence the sequence number of the first frame not written into the ring.
+   */
+  void retire(long sequence) {
+    retiredAtSequence = sequence;
+  }
+
+  /**
+   * Returns whether Dart has received every frame written into the retired ring, because it has
+   * acknowledged a later frame, so the file can be deleted.
+   *
+   * @param acknowledgedSequence the sequence number of the newest frame Dart has acknowledged.
+   */
+  boolean isUnreferenced(long acknowledgedSequence) {
+    return acknowledgedSequence >= retiredAtSequence;
+  }
+
+  /**
+   * Deletes the file. Dart unmaps it once no plane of a frame written into it is referenced
+   * anymore, and the memory is released once neither side maps it.
+   */
+  void close() {
+    file.delete();
+  }
+}
@@ -8,21 +8,41 @@ import android.graphics.ImageFormat;
 import android.media.Image;
 import android.media.ImageReader;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.camera.SdkCapabilityChecker;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.ArrayDeque;
 import java.util.Map;
 
 // Wraps an ImageReader to allow for testing of the image handler.
 public class ImageStreamReader {
 
+  /** The delivery policy used until {@link #setDeliveryPolicy} is called. */
+  @NonNull
+  public static final ImageStreamDeliveryPolicy DEFAULT_DELIVERY_POLICY =
+      ImageStreamDeliveryPolicy.BOUNDED_QUEUE;
+
+  /** How many frames can be waiting on Dart by default before new frames are dropped. */
+  public static final int DEFAULT_MAX_PENDING_FRAMES = 3;
+
+  /**
+   * How many images the image reader holds by default: one being converted, one just acquired and
+   * one being filled by the camera.
+   */
+  public static final int DEFAULT_MAX_IMAGES = 3;
+
+  /** The fewest images the image reader may hold for the conversion to overlap acquisition. */
+  public static final int MIN_MAX_IMAGES = 2;
+
   /**
    * The image format we are going to send back to dart. Usually it's the same as streamImageFormat
    * but in the case of NV21 we will actually request YUV frames but convert it to NV21 before
@@ -32,6 +52,54 @@ public class ImageStreamReader {
 
   private final ImageReader imageReader;
   private final ImageStreamReaderUtils imageStreamReaderUtils;
+  private final ImageStreamFramePool framePool =
+      new ImageStreamFramePool(DEFAULT_DELIVERY_POLICY, DEFAULT_MAX_PENDING_FRAMES);
+  private final ImageStreamFrameGovernor frameGovernor = new ImageStreamFrameGovernor();
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  /**
+   * Converts frames off the camera background thread, so that the next image can be acquired while
+   * the previous one is still being converted. Started when the listener is first subscribed.
+   */
+  @Nullable private HandlerThread conversionThread;
+
+  @Nullable private Handler conversionHandler;
+
+  private final Object pendingImageLock = new Object();
+  /** The newest acquired image that is waiting for the conversion thread. */
+  @Nullable private Image pendingImage;
+  /** True while a conversion task is posted to the conversion thread or running on it. */
+  private boolean conversionScheduled;
+
+  @Nullable private CameraCaptureProperties streamCaptureProps;
+  @Nullable private EventChannel.EventSink streamSink;
+
+  /** The directory to create the frame ring in, or null to send the planes through the channel. */
+  @Nullable private volatile File frameRingDirectory;
+
+  /** The ring frames are written into, only used on the thread that converts the frames. */
+  @Nullable private ImageStreamFrameRing frameRing;
+
+  /**
+   * Replaced rings that frames on their way to Dart may still point at, oldest first. Only used on
+   * the thread that converts the frames.
+   */
+  private final ArrayDeque<ImageStreamFrameRing> retiredFrameRings = new ArrayDeque<>();
+
+  /** The sequence number of the next frame, only used on the thread that converts the frames. */
+  private long nextFrameSequence;
+
+  /** The part of each frame that is sent to Dart. */
+  @NonNull private volatile ImageStreamRegion region = ImageStreamRegion.FULL_FRAME;
+
+  /** True while images are closed as soon as they are acquired instead of being sent. */
+  private volatile boolean paused;
+
+  // The region aligned to the size of the last converted frame, only used on the conversion thread.
+  @Nullable private ImageStreamRegion alignedRegionSource;
+  @Nullable private ImageStreamRegion alignedRegion;
+  private int alignedRegionImageWidth;
+  private int alignedRegionImageHeight;
 
   /**
    * Creates a new instance of the {@link ImageStreamReader}.
@@ -55,7 +123,8 @@ public class ImageStreamReader {
    * @param width is the image width
    * @param height is the image height
    * @param imageFormat is the {@link ImageFormat} that should be returned to dart.
-   * @param maxImages is how many images can be acquired at one time, usually 1.
+   * @param maxImages is how many images can be acquired at one time, at least {@link
+   *     #MIN_MAX_IMAGES} and usually {@link #DEFAULT_MAX_IMAGES}.
    */
   public ImageStreamReader(int width, int height, int imageFormat, int maxImages) {
     this.dartImageFormat = imageFormat;
@@ -84,6 +153,10 @@ public class ImageStreamReader {
   /**
    * Processes a new frame (image) from the image reader and send the frame to Dart.
    *
+   * <p>The frame is written into a pooled buffer which is reused once Dart acknowledges it through
+   * {@link #onFrameAcknowledged()}. Whether a frame that arrives while Dart is busy is sent later
+   * or dropped depends on the {@link ImageStreamDeliveryPolicy}.
+   *
    * @param image is the image which needs processed as an {@link Image}
    * @param captureProps is the capture props from the camera class as {@link
    *     CameraCaptureProperties}
@@ -95,93 +168,557 @@ public class ImageStreamReader {
       @NonNull Image image,
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink) {
+    ImageStreamFramePool.Frame frame = framePool.acquire();
+    if (frame == null) {
+      // Dart is still busy with the frames already sent, so the delivery policy skips this one.
+      image.close();
+      return;
+    }
+
+    frame.setSequence(nextFrameSequence++);
+    deleteUnreferencedFrameRings();
     try {
-      Map<String, Object> imageBuffer = new HashMap<>();
+      Map<String, Object> imageBuffer = frame.imageBuffer;
 
       // Get plane data ready
-      if (dartImageFormat == ImageFormat.NV21) {
-        imageBuffer.put("planes", parsePlanesForNv21(image));
+      ImageStreamRegion imageRegion = alignRegion(image);
+      File ringDirectory = frameRingDirectory;
+      if (ringDirectory != null) {
+        writePlanesToFrameRing(image, imageRegion, frame, ringDirectory);
       } else {
-        imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
+        retireFrameRing();
+        if (imageRegion != null) {
+          parsePlanesForRegion(image, imageRegion, frame, null);
+        } else if (dartImageFormat == ImageFormat.NV21) {
+          parsePlanesForNv21(image, frame);
+        } else {
+          parsePlanesForYuvOrJpeg(image, frame);
+        }
       }
 
-      imageBuffer.put("width", image.getWidth());
-      imageBuffer.put("height", image.getHeight());
-      imageBuffer.put("format", dartImageFormat);
-      imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
-      imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
-      Integer sensorSensitivity = captureProps.getLastSensorSensitivity();
-      imageBuffer.put(
-          "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
-
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(() -> imageStreamSink.success(imageBuffer));
+      ImageStreamFramePool.Frame.putInt(
+          imageBuffer,
+          "width",
+          imageRegion == null ? image.getWidth() : imageRegion.getOutputWidth());
+      ImageStreamFramePool.Frame.putInt(
+          imageBuffer,
+          "height",
+          imageRegion == null ? image.getHeight() : imageRegion.getOutputHeight());
+      ImageStreamFramePool.Frame.putInt(imageBuffer, "format", dartImageFormat);
+      frame.setCaptureMetadata(captureProps, image.getTimestamp());
+
+      frame.setSink(imageStreamSink);
+      if (framePool.submit(frame)) {
+        mainHandler.post(frame);
+      }
       image.close();
 
     } catch (IllegalStateException e) {
+      framePool.recycle(frame);
       // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(
+      mainHandler.post(
           () ->
               imageStreamSink.error(
                   "IllegalStateException",
                   "Caught IllegalStateException: " + e.getMessage(),
                   null));
       image.close();
+    } catch (IOException e) {
+      framePool.recycle(frame);
+      mainHandler.post(
+          () ->
+              imageStreamSink.error(
+                  "IOException", "Could not write to the frame ring: " + e.getMessage(), null));
+      image.close();
     }
   }
 
   /**
-   * Given an input image, will return a list of maps suitable to send back to dart where each map
-   * describes the image plane.
+   * Returns the oldest frame sent to Dart to the frame pool, and sends the frame that was kept back
+   * while Dart was busy, if any.
+   *
+   * <p>Called when Dart acknowledges a frame, once the stream listener has handled it.
+   */
+  public void onFrameAcknowledged() {
+    ImageStreamFramePool.Frame next = framePool.release();
+    if (next != null) {
+      mainHandler.post(next);
+    }
+  }
+
+  /**
+   * Sets how frames are delivered while Dart is still busy with earlier frames.
+   *
+   * @param policy the {@link ImageStreamDeliveryPolicy} to use.
+   * @param maxPendingFrames how many frames may be waiting on Dart at once when using {@link
+   *     ImageStreamDeliveryPolicy#BOUNDED_QUEUE}. Must be at least 1.
+   */
+  public void setDeliveryPolicy(@NonNull ImageStreamDeliveryPolicy policy, int maxPendingFrames) {
+    if (maxPendingFrames < 1) {
+      throw new IllegalArgumentException("maxPendingFrames must be at least 1.");
+    }
+    framePool.setPolicy(policy, maxPendingFrames);
+  }
+
+  /**
+   * Sets whether frames are written into a ring of frame slots in a memory-mapped file that Dart
+   * maps, instead of the plane bytes being sent through the event channel. Should be called before
+   * the listener is subscribed.
+   *
+   * <p>Only the path of the file and the offsets of the planes are sent for each frame. A slot is
+   * reused once Dart has acknowledged the frame in it, after the stream listener has handled it.
+   *
+   * @param directory the directory to create the file in, or null to send the plane bytes through
+   *     the event channel.
+   */
+  public void setFrameRingDirectory(@Nullable File directory) {
+    File previous = frameRingDirectory;
+    if (directory == null ? previous == null : directory.equals(previous)) {
+      return;
+    }
+    frameRingDirectory = directory;
+    // The frames describe their planes differently when written into the ring.
+    framePool.clear();
+  }
+
+  /**
+   * Sets which part of each frame is sent to Dart, and at what resolution.
+   *
+   * <p>Takes effect from the next frame. Only applies to YUV_420_888 and NV21 streams.
+   *
+   * @param region the {@link ImageStreamRegion} to send.
+   */
+  public void setRegion(@NonNull ImageStreamRegion region) {
+    this.region = region;
+  }
+
+  /**
+   * Sets which images are converted and sent to Dart, so that the stream runs at most at the given
+   * frame rate and keeps only every nth image, independently of the frame rate of the session.
+   *
+   * <p>Images that are not kept are closed as soon as they are acquired, without reading their
+   * planes, and are not counted as dropped.
+   *
+   * @param maxFramesPerSecond the highest frame rate to send frames at, or 0 for no limit.
+   * @param frameStride only every nth image is sent. Must be at least 1.
+   */
+  public void setFrameRateLimit(double maxFramesPerSecond, int frameStride) {
+    if (frameStride < 1) {
+      throw new IllegalArgumentException("frameStride must be at least 1.");
+    }
+    frameGovernor.setLimit(maxFramesPerSecond, frameStride);
+  }
+
+  /**
+   * Sets whether the stream is paused. While paused, images are closed as soon as they are
+   * acquired, without reading their planes, and are not counted as dropped. The camera keeps
+   * streaming into the reader, so resuming does not need a new capture session.
+   *
+   * @param paused whether to pause the stream.
+   */
+  public void setPaused(boolean paused) {
+    this.paused = paused;
+  }
+
+  /**
+   * Releases the plane buffers of the pooled frames that are not waiting on Dart, and on API 28+
+   * the image buffers the reader does not currently hold. The buffers are allocated again by the
+   * next frames that need them.
+   *
+   * <p>Frames written into the frame ring have no plane buffers of their own, so nothing is
+   * released for them.
+   */
+  public void trimMemory() {
+    if (frameRingDirectory == null) {
+      framePool.trim();
+    }
+    if (SdkCapabilityChecker.supportsDiscardFreeBuffers()) {
+      imageReader.discardFreeBuffers();
+    }
+  }
+
+  /** Returns how many frames were sent to Dart since the stream was last subscribed. */
+  public long getDeliveredFrameCount() {
+    return framePool.getDeliveredCount();
+  }
+
+  /** Returns how many frames were dropped since the stream was last subscribed. */
+  public long getDroppedFrameCount() {
+    return framePool.getDroppedCount();
+  }
+
+  /**
+   * Given an input image, will fill the frame with a list of maps suitable to send back to dart
+   * where each map describes the image plane.
    *
    * <p>For Yuv / Jpeg, we do no further processing on the frame so we simply send it as-is.
    *
    * @param image - the image to process.
-   * @return parsed map describing the image planes to be sent to dart.
+   * @param frame - the pooled frame that receives the parsed planes.
    */
-  @NonNull
-  public List<Map<String, Object>> parsePlanesForYuvOrJpeg(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
+  @VisibleForTesting
+  void parsePlanesForYuvOrJpeg(@NonNull Image image, @NonNull ImageStreamFramePool.Frame frame) {
+    Image.Plane[] imagePlanes = image.getPlanes();
 
     // For YUV420 and JPEG, just send the data as-is for each plane.
-    for (Image.Plane plane : image.getPlanes()) {
+    for (int i = 0; i < imagePlanes.length; i++) {
+      Image.Plane plane = imagePlanes[i];
       ByteBuffer buffer = plane.getBuffer();
 
-      byte[] bytes = new byte[buffer.remaining()];
+      byte[] bytes = frame.planeBytes(i, buffer.remaining());
       buffer.get(bytes, 0, bytes.length);
 
-      Map<String, Object> planeBuffer = new HashMap<>();
-      planeBuffer.put("bytesPerRow", plane.getRowStride());
-      planeBuffer.put("bytesPerPixel", plane.getPixelStride());
+      Map<String, Object> planeBuffer = frame.plane(i);
+      ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerRow", plane.getRowStride());
+      ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerPixel", plane.getPixelStride());
       planeBuffer.put("bytes", bytes);
+    }
+    frame.setPlaneCount(imagePlanes.length);
+  }
+
+  /**
+   * Given an input image, will fill the frame with a single-plane NV21 image. Assumes YUV420 as an
+   * input type.
+   *
+   * @param image - the image to process.
+   * @param frame - the pooled frame that receives the parsed plane.
+   */
+  @VisibleForTesting
+  void parsePlanesForNv21(@NonNull Image image, @NonNull ImageStreamFramePool.Frame frame) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+
+    // We will convert the YUV data to NV21 which is a single-plane image
+    byte[] bytes = frame.planeBytes(0, ImageStreamReaderUtils.nv21Size(width, height));
+    imageStreamReaderUtils.yuv420ThreePlanesToNV21(image.getPlanes(), width, height, bytes);
 
-      planes.add(planeBuffer);
+    Map<String, Object> planeBuffer = frame.plane(0);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerRow", width);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+    frame.setPlaneCount(1);
+  }
+
+  /**
+   * Given an input image, will write its planes into a slot of the frame ring and fill the frame
+   * with the location of each plane in the ring file.
+   *
+   * <p>NV21 frames are converted into the reused plane array of the frame first, and then copied
+   * into the slot at once.
+   *
+   * @param image - the image to process.
+   * @param imageRegion - the aligned region of the image to write, or null to write all of it.
+   * @param frame - the pooled frame that receives the location of the planes.
+   * @param directory - the directory to create the ring in if there is no fitting one yet.
+   * @throws IOException when the ring could not be created.
+   */
+  @VisibleForTesting
+  void writePlanesToFrameRing(
+      @NonNull Image image,
+      @Nullable ImageStreamRegion imageRegion,
+      @NonNull ImageStreamFramePool.Frame frame,
+      @NonNull File directory)
+      throws IOException {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    int width = image.getWidth();
+    int height = image.getHeight();
+    boolean nv21 = dartImageFormat == ImageFormat.NV21;
+
+    int frameSize = 0;
+    if (imageRegion != null) {
+      frameSize = imageRegion.getOutputSize();
+    } else if (nv21) {
+      frameSize = ImageStreamReaderUtils.nv21Size(width, height);
+    } else {
+      for (Image.Plane plane : imagePlanes) {
+        frameSize += plane.getBuffer().remaining();
+      }
     }
-    return planes;
+    ByteBuffer slot = acquireFrameRingSlot(frame, directory, frameSize);
+
+    if (imageRegion != null) {
+      parsePlanesForRegion(image, imageRegion, frame, slot);
+    } else if (nv21) {
+      byte[] bytes = frame.planeBytes(0, frameSize);
+      imageStreamReaderUtils.yuv420ThreePlanesToNV21(imagePlanes, width, height, bytes);
+      putFrameRingPlane(frame.plane(0), slot.position(), bytes.length, width, 1);
+      slot.put(bytes);
+      frame.setPlaneCount(1);
+    } else {
+      for (int i = 0; i < imagePlanes.length; i++) {
+        Image.Plane plane = imagePlanes[i];
+        ByteBuffer buffer = plane.getBuffer();
+        putFrameRingPlane(
+            frame.plane(i),
+            slot.position(),
+            buffer.remaining(),
+            plane.getRowStride(),
+            plane.getPixelStride());
+        slot.put(buffer);
+      }
+      frame.setPlaneCount(imagePlanes.length);
+    }
+
+    ImageStreamFrameRing ring = frameRing;
+    ImageStreamFramePool.Frame.putObject(frame.imageBuffer, "ringPath", ring.getPath());
+    ImageStreamFramePool.Frame.putInt(frame.imageBuffer, "ringSize", ring.getSize());
   }
 
   /**
-   * Given an input image, will return a single-plane NV21 image. Assumes YUV420 as an input type.
+   * Given an input image, will fill the frame with the planes of a region of it, downsampled and
+   * without row padding. Assumes YUV420 as an input type.
+   *
+   * <p>Sends the Y, U and V planes for YUV420, a single plane for NV21, and only the Y plane when
+   * the region is luma only.
    *
    * @param image - the image to process.
-   * @return parsed map describing the image planes to be sent to dart.
+   * @param imageRegion - the region of the image, aligned to its size.
+   * @param frame - the pooled frame that receives the planes.
+   * @param slot - the frame ring slot to write the planes into, or null to send their bytes.
+   */
+  @VisibleForTesting
+  void parsePlanesForRegion(
+      @NonNull Image image,
+      @NonNull ImageStreamRegion imageRegion,
+      @NonNull ImageStreamFramePool.Frame frame,
+      @Nullable ByteBuffer slot) {
+    Image.Plane[] imagePlanes = image.getPlanes();
+    int left = imageRegion.getCropLeft();
+    int top = imageRegion.getCropTop();
+    int width = imageRegion.getCropWidth();
+    int height = imageRegion.getCropHeight();
+    int step = imageRegion.getDownsampleFactor();
+    int outputWidth = imageRegion.getOutputWidth();
+    int lumaSize = outputWidth * imageRegion.getOutputHeight();
+
+    if (imageRegion.isLumaOnly()) {
+      byte[] bytes = frame.planeBytes(0, lumaSize);
+      imageStreamReaderUtils.copyPlaneRegion(
+          imagePlanes[0], left, top, width, height, step, bytes, 0, 1);
+      putRegionPlane(frame, 0, bytes, outputWidth, slot);
+      frame.setPlaneCount(1);
+      return;
+    }
+
+    int chromaSize = lumaSize / 4;
+    if (dartImageFormat == ImageFormat.NV21) {
+      byte[] bytes = frame.planeBytes(0, lumaSize + 2 * chromaSize);
+      imageStreamReaderUtils.copyPlaneRegion(
+          imagePlanes[0], left, top, width, height, step, bytes, 0, 1);
+      // Interleave the chroma planes, V first.
+      imageStreamReaderUtils.copyPlaneRegion(
+          imagePlanes[2], left / 2, top / 2, width / 2, height / 2, step, bytes, lumaSize, 2);
+      imageStreamReaderUtils.copyPlaneRegion(
+          imagePlanes[1], left / 2, top / 2, width / 2, height / 2, step, bytes, lumaSize + 1, 2);
+      putRegionPlane(frame, 0, bytes, outputWidth, slot);
+      frame.setPlaneCount(1);
+      return;
+    }
+
+    byte[] luma = frame.planeBytes(0, lumaSize);
+    imageStreamReaderUtils.copyPlaneRegion(
+        imagePlanes[0], left, top, width, height, step, luma, 0, 1);
+    putRegionPlane(frame, 0, luma, outputWidth, slot);
+    for (int i = 1; i < 3; i++) {
+      byte[] chroma = frame.planeBytes(i, chromaSize);
+      imageStreamReaderUtils.copyPlaneRegion(
+          imagePlanes[i], left / 2, top / 2, width / 2, height / 2, step, chroma, 0, 1);
+      putRegionPlane(frame, i, chroma, outputWidth / 2, slot);
+    }
+    frame.setPlaneCount(3);
+  }
+
+  private static void putRegionPlane(
+      @NonNull ImageStreamFramePool.Frame frame,
+      int index,
+      @NonNull byte[] bytes,
+      int bytesPerRow,
+      @Nullable ByteBuffer slot) {
+    Map<String, Object> planeBuffer = frame.plane(index);
+    if (slot != null) {
+      putFrameRingPlane(planeBuffer, slot.position(), bytes.length, bytesPerRow, 1);
+      slot.put(bytes);
+      return;
+    }
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerRow", bytesPerRow);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+  }
+
+  /**
+   * Returns the region of the image to send aligned to its size, or null when the whole image is
+   * sent as it is.
+   */
+  @Nullable
+  private ImageStreamRegion alignRegion(@NonNull Image image) {
+    ImageStreamRegion requested = region;
+    if (requested.isFullFrame() || dartImageFormat == ImageFormat.JPEG) {
+      return null;
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    if (requested != alignedRegionSource
+        || width != alignedRegionImageWidth
+        || height != alignedRegionImageHeight) {
+      alignedRegion = requested.alignTo(width, height);
+      alignedRegionSource = requested;
+      alignedRegionImageWidth = width;
+      alignedRegionImageHeight = height;
+    }
+    return alignedRegion;
+  }
+
+  private static void putFrameRingPlane(
+      @NonNull Map<String, Object> planeBuffer,
+      int offset,
+      int length,
+      int bytesPerRow,
+      int bytesPerPixel) {
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "offset", offset);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "length", length);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerRow", bytesPerRow);
+    ImageStreamFramePool.Frame.putInt(planeBuffer, "bytesPerPixel", bytesPerPixel);
+  }
+
+  /**
+   * Returns the slot to write the frame into, replacing the ring when frames no longer fit in its
+   * slots or when all of its slots are still in use.
    */
   @NonNull
-  public List<Map<String, Object>> parsePlanesForNv21(@NonNull Image image) {
-    List<Map<String, Object>> planes = new ArrayList<>();
+  private ByteBuffer acquireFrameRingSlot(
+      @NonNull ImageStreamFramePool.Frame frame, @NonNull File directory, int frameSize)
+      throws IOException {
+    int frameCount = framePool.getCapacity();
+    long acknowledgedSequence = framePool.getAcknowledgedSequence();
+    ImageStreamFrameRing ring = frameRing;
+    ByteBuffer slot =
+        ring != null && ring.fits(frameCount, frameSize)
+            ? ring.acquireSlot(frame, acknowledgedSequence)
+            : null;
+    if (slot == null) {
+      retireFrameRing();
+      ring = ImageStreamFrameRing.create(directory, frameCount, frameSize);
+      frameRing = ring;
+      // A new ring always has a free slot.
+      slot = ring.acquireSlot(frame, acknowledgedSequence);
+    }
+    return slot;
+  }
 
-    // We will convert the YUV data to NV21 which is a single-plane image
-    ByteBuffer bytes =
-        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
-            image.getPlanes(), image.getWidth(), image.getHeight());
+  /**
+   * Stops writing into the frame ring, if any. Its file is deleted once Dart has received every
+   * frame that was written into it, since Dart only maps the file when the first of them arrives.
+   */
+  private void retireFrameRing() {
+    if (frameRing != null) {
+      // The frame being converted is the first one not written into the ring.
+      frameRing.retire(nextFrameSequence - 1);
+      retiredFrameRings.add(frameRing);
+      frameRing = null;
+    }
+  }
+
+  /** Deletes the files of the retired frame rings that Dart has received every frame of. */
+  private void deleteUnreferencedFrameRings() {
+    long acknowledgedSequence = framePool.getAcknowledgedSequence();
+    while (!retiredFrameRings.isEmpty()
+        && retiredFrameRings.peek().isUnreferenced(acknowledgedSequence)) {
+      retiredFrameRings.poll().close();
+    }
+  }
+
+  /** Deletes the files of the frame ring and of every retired ring. */
+  private void closeFrameRing() {
+    if (frameRing != null) {
+      frameRing.close();
+      frameRing = null;
+    }
+    while (!retiredFrameRings.isEmpty()) {
+      retiredFrameRings.poll().close();
+    }
+  }
 
-    Map<String, Object> planeBuffer = new HashMap<>();
-    planeBuffer.put("bytesPerRow", image.getWidth());
-    planeBuffer.put("bytesPerPixel", 1);
-    planeBuffer.put("bytes", bytes.array());
-    planes.add(planeBuffer);
-    return planes;
+  /**
+   * Acquires the newest image from the image reader and hands it to the conversion thread.
+   *
+   * <p>Only the newest image is kept while the conversion thread is busy, and older ones are closed
+   * and counted as dropped, so the camera never stalls waiting for a buffer. Frames skipped by
+   * {@link ImageReader#acquireLatestImage()} itself are not counted, and neither are images skipped
+   * by the frame rate limit or while the stream is paused, which are closed right after they are
+   * acquired.
+   *
+   * @param reader is the image reader that has a new image available.
+   */
+  @VisibleForTesting
+  void onImageReaderImageAvailable(@NonNull ImageReader reader) {
+    // Free the buffer of a frame that was not converted yet before acquiring, so that
+    // acquireLatestImage always has a buffer to skip ahead with.
+    closePendingImage();
+    Image image = reader.acquireLatestImage();
+    if (image == null) {
+      return;
+    }
+    if (paused || !frameGovernor.shouldKeep(image.getTimestamp())) {
+      image.close();
+      return;
+    }
+
+    synchronized (pendingImageLock) {
+      Handler handler = conversionHandler;
+      if (handler == null) {
+        image.close();
+        return;
+      }
+      pendingImage = image;
+      if (!conversionScheduled) {
+        conversionScheduled = true;
+        handler.post(this::convertPendingImages);
+      }
+    }
+  }
+
+  /** Converts pending images on the conversion thread until there are none left. */
+  private void convertPendingImages() {
+    while (true) {
+      Image image;
+      CameraCaptureProperties captureProps;
+      EventChannel.EventSink imageStreamSink;
+      synchronized (pendingImageLock) {
+        image = pendingImage;
+        pendingImage = null;
+        captureProps = streamCaptureProps;
+        imageStreamSink = streamSink;
+        if (image == null) {
+          conversionScheduled = false;
+          return;
+        }
+      }
+      if (captureProps == null || imageStreamSink == null) {
+        image.close();
+        continue;
+      }
+      onImageAvailable(image, captureProps, imageStreamSink);
+    }
+  }
+
+  /** Closes the image waiting for the conversion thread, if any. */
+  private void closePendingImage() {
+    Image image;
+    synchronized (pendingImageLock) {
+      image = pendingImage;
+      pendingImage = null;
+    }
+    if (image != null) {
+      image.close();
+      framePool.recordDropped();
+    }
+  }
+
+  /** Returns the looper of the conversion thread, or null if it has not been started. */
+  @VisibleForTesting
+  @Nullable
+  Looper getConversionLooper() {
+    return conversionThread == null ? null : conversionThread.getLooper();
   }
 
   /** Returns the image reader surface. */
@@ -202,14 +739,19 @@ public class ImageStreamReader {
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink,
       @NonNull Handler handler) {
-    imageReader.setOnImageAvailableListener(
-        reader -> {
-          Image image = reader.acquireNextImage();
-          if (image == null) return;
-
-          onImageAvailable(image, captureProps, imageStreamSink);
-        },
-        handler);
+    framePool.reset();
+    framePool.resetCounters();
+    frameGovernor.reset();
+    synchronized (pendingImageLock) {
+      streamCaptureProps = captureProps;
+      streamSink = imageStreamSink;
+      if (conversionThread == null) {
+        conversionThread = new HandlerThread("CameraImageStreamConversion");
+        conversionThread.start();
+        conversionHandler = new Handler(conversionThread.getLooper());
+      }
+    }
+    imageReader.setOnImageAvailableListener(this::onImageReaderImageAvailable, handler);
   }
 
   /**
@@ -219,10 +761,39 @@ public class ImageStreamReader {
    */
   public void removeListener(@NonNull Handler handler) {
     imageReader.setOnImageAvailableListener(null, handler);
+    closePendingImage();
+    synchronized (pendingImageLock) {
+      streamCaptureProps = null;
+      streamSink = null;
+    }
+    framePool.reset();
   }
 
-  /** Closes the image reader. */
+  /**
+   * Closes the image reader.
+   *
+   * <p>If a frame is being converted, the reader is closed once the conversion finishes.
+   */
   public void close() {
-    imageReader.close();
+    closePendingImage();
+    HandlerThread thread;
+    Handler handler;
+    synchronized (pendingImageLock) {
+      thread = conversionThread;
+      handler = conversionHandler;
+      conversionThread = null;
+      conversionHandler = null;
+    }
+    if (thread == null || handler == null) {
+      imageReader.close();
+      closeFrameRing();
+      return;
+    }
+    handler.post(
+        () -> {
+          imageReader.close();
+          closeFrameRing();
+        });
+    thread.quitSafely();
   }
 }
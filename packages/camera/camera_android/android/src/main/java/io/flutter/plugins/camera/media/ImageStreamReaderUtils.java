@@ -2,16 +2,26 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 //
-// Note: the code in this file is taken directly from the official Google MLKit example:
+// Note: parts of the code in this file are taken from the official Google MLKit example:
 // https://github.com/googlesamples/mlkit
 
 package io.flutter.plugins.camera.media;
 
 import android.media.Image;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import java.nio.ByteBuffer;
 
+/**
+ * Converts and copies the planes of camera images.
+ *
+ * <p>Instances keep scratch buffers between calls, so an instance must only be used by one thread
+ * at a time. The image stream uses its own instance on its conversion thread.
+ */
 public class ImageStreamReaderUtils {
+  /** Scratch space for a single source row of a plane whose pixels are not contiguous. */
+  @Nullable private byte[] rowBuffer;
+
   /**
    * Converts YUV_420_888 to NV21 bytebuffer.
    *
@@ -29,35 +39,136 @@ public class ImageStreamReaderUtils {
    * before the U buffer and the planes have a pixelStride of 2. If this is case, we can just copy
    * them to the NV21 array.
    *
+   * <p>Each call returns a new buffer and may be made from any thread. To convert into a reused
+   * array instead, use {@link #yuv420ThreePlanesToNV21(Image.Plane[], int, int, byte[])}.
+   *
    * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
    */
   @NonNull
   public ByteBuffer yuv420ThreePlanesToNV21(
       @NonNull Image.Plane[] yuv420888planes, int width, int height) {
+    byte[] out = new byte[nv21Size(width, height)];
+    // A new instance keeps the scratch buffers of this one to the thread that owns it.
+    new ImageStreamReaderUtils().yuv420ThreePlanesToNV21(yuv420888planes, width, height, out);
+    return ByteBuffer.wrap(out);
+  }
+
+  /**
+   * Converts YUV_420_888 to NV21 into a caller-provided array, so that the output buffer can be
+   * reused across frames.
+   *
+   * <p>This uses the scratch buffers of the instance, so it must only be called by the thread that
+   * uses the instance, and the caller must not hand the array out while it converts the next frame
+   * into it.
+   *
+   * @param yuv420888planes the planes of the YUV_420_888 image.
+   * @param width the image width.
+   * @param height the image height.
+   * @param out the destination, which must hold at least {@link #nv21Size(int, int)} bytes.
+   */
+  public void yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
     int imageSize = width * height;
-    byte[] out = new byte[imageSize + 2 * (imageSize / 4)];
 
-    if (areUVPlanesNV21(yuv420888planes, width, height)) {
-      // Copy the Y values.
-      yuv420888planes[0].getBuffer().get(out, 0, imageSize);
+    // Copy the Y values.
+    unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
 
+    if (areUVPlanesNV21(yuv420888planes, width, height)) {
       ByteBuffer uBuffer = yuv420888planes[1].getBuffer();
       ByteBuffer vBuffer = yuv420888planes[2].getBuffer();
       // Get the first V value from the V buffer, since the U buffer does not contain it.
       vBuffer.get(out, imageSize, 1);
       // Copy the first U value and the remaining VU values from the U buffer.
       uBuffer.get(out, imageSize + 1, 2 * imageSize / 4 - 1);
+      uBuffer.rewind();
+      vBuffer.rewind();
     } else {
-      // Fallback to copying the UV values one by one, which is slower but also works.
-      // Unpack Y.
-      unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
+      // Interleave the chroma planes row by row.
       // Unpack U.
-      unpackPlane(yuv420888planes[1], width, height, out, imageSize + 1, 2);
+      unpackPlane(yuv420888planes[1], width / 2, height / 2, out, imageSize + 1, 2);
       // Unpack V.
-      unpackPlane(yuv420888planes[2], width, height, out, imageSize, 2);
+      unpackPlane(yuv420888planes[2], width / 2, height / 2, out, imageSize, 2);
     }
+  }
 
-    return ByteBuffer.wrap(out);
+  /**
+   * Copies a region of an image plane into a byte array, keeping every {@code step}th pixel of
+   * every {@code step}th row of the region.
+   *
+   * <p>Each source row is read with one bulk copy of the bytes that hold the kept pixels, and the
+   * pixels are written to 'out' starting at 'offset', spaced by 'outputStride'. Rows of contiguous
+   * pixels are copied straight into the output when the output is not interleaved; otherwise the
+   * row is copied into a reused scratch buffer and gathered from there. Note that there is no row
+   * padding on the output.
+   *
+   * @param plane the plane to copy from.
+   * @param left the first column of the region, in pixels of the plane.
+   * @param top the first row of the region, in pixels of the plane.
+   * @param width the number of columns in the region.
+   * @param height the number of rows in the region.
+   * @param step the downsampling factor, 1 to keep every pixel.
+   * @param out the destination array.
+   * @param offset the index in 'out' of the first pixel.
+   * @param outputStride the distance in 'out' between two consecutive pixels.
+   */
+  public void copyPlaneRegion(
+      @NonNull Image.Plane plane,
+      int left,
+      int top,
+      int width,
+      int height,
+      int step,
+      @NonNull byte[] out,
+      int offset,
+      int outputStride) {
+    int outputWidth = width / step;
+    int outputHeight = height / step;
+    if (outputWidth == 0 || outputHeight == 0) {
+      return;
+    }
+    ByteBuffer buffer = plane.getBuffer();
+    int rowStride = plane.getRowStride();
+    int pixelStride = plane.getPixelStride();
+    int inputStride = pixelStride * step;
+    int limit = buffer.limit();
+
+    int rowLength = (outputWidth - 1) * inputStride + 1;
+    byte[] row = null;
+    if (inputStride != 1 || outputStride != 1) {
+      if (rowBuffer == null || rowBuffer.length < rowLength) {
+        rowBuffer = new byte[rowLength];
+      }
+      row = rowBuffer;
+    }
+
+    int outputRowStart = offset;
+    for (int outputRow = 0; outputRow < outputHeight; outputRow++) {
+      int rowStart = (top + outputRow * step) * rowStride + left * pixelStride;
+      int length = Math.min(rowLength, limit - rowStart);
+      if (length <= 0) {
+        break;
+      }
+      buffer.position(rowStart);
+
+      if (row == null) {
+        buffer.get(out, outputRowStart, length);
+      } else {
+        buffer.get(row, 0, length);
+        int outputPos = outputRowStart;
+        for (int inputPos = 0; inputPos < length; inputPos += inputStride) {
+          out[outputPos] = row[inputPos];
+          outputPos += outputStride;
+        }
+      }
+      outputRowStart += outputWidth * outputStride;
+    }
+    buffer.rewind();
+  }
+
+  /** Returns the number of bytes in an NV21 image of the given size. */
+  public static int nv21Size(int width, int height) {
+    int imageSize = width * height;
+    return imageSize + 2 * (imageSize / 4);
   }
 
   /**
@@ -104,51 +215,84 @@ public class ImageStreamReaderUtils {
   }
 
   /**
-   * Copyright 2020 Google LLC. All rights reserved.
-   *
-   * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
-   * except in compliance with the License. You may obtain a copy of the License at
-   *
-   * <p>http://www.apache.org/licenses/LICENSE-2.0
-   *
-   * <p>Unless required by applicable law or agreed to in writing, software distributed under the
-   * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
-   * either express or implied. See the License for the specific language governing permissions and
-   * limitations under the License.
-   *
-   * <p>Unpack an image plane into a byte array.
+   * Unpacks an image plane into a byte array.
    *
-   * <p>The input plane data will be copied in 'out', starting at 'offset' and every pixel will be
-   * spaced by 'pixelStride'. Note that there is no row padding on the output.
+   * <p>The plane is read one row at a time with bulk copies, and its pixels are written to 'out'
+   * starting at 'offset', spaced by 'outputStride'. Rows of pixel stride 1 are copied straight into
+   * the output when the output is not interleaved; otherwise the row is copied into a reused scratch
+   * buffer and scattered from there. Note that there is no row padding on the output.
    *
-   * <p>https://github.com/googlesamples/mlkit/blob/master/android/vision-quickstart/app/src/main/java/com/google/mlkit/vision/demo/BitmapUtils.java
+   * @param plane the plane to unpack.
+   * @param planeWidth the number of pixels in a row of the plane.
+   * @param planeHeight the number of rows in the plane.
+   * @param out the destination array.
+   * @param offset the index in 'out' of the first pixel.
+   * @param outputStride the distance in 'out' between two consecutive pixels.
    */
-  private static void unpackPlane(
-      @NonNull Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride)
+  private void unpackPlane(
+      @NonNull Image.Plane plane,
+      int planeWidth,
+      int planeHeight,
+      @NonNull byte[] out,
+      int offset,
+      int outputStride)
       throws IllegalStateException {
     ByteBuffer buffer = plane.getBuffer();
-    buffer.rewind();
+    int rowStride = plane.getRowStride();
+    int pixelStride = plane.getPixelStride();
+    int limit = buffer.limit();
 
-    // Compute the size of the current plane.
-    // We assume that it has the aspect ratio as the original image.
-    int numRow = (buffer.limit() + plane.getRowStride() - 1) / plane.getRowStride();
-    if (numRow == 0) {
+    if (pixelStride == 1 && outputStride == 1 && rowStride == planeWidth) {
+      // The plane has no padding, so it can be copied in one go.
+      buffer.rewind();
+      buffer.get(out, offset, Math.min(planeWidth * planeHeight, limit));
+      buffer.rewind();
       return;
     }
-    int scaleFactor = height / numRow;
-    int numCol = width / scaleFactor;
-
-    // Extract the data in the output buffer.
-    int outputPos = offset;
-    int rowStart = 0;
-    for (int row = 0; row < numRow; row++) {
-      int inputPos = rowStart;
-      for (int col = 0; col < numCol; col++) {
-        out[outputPos] = buffer.get(inputPos);
-        outputPos += pixelStride;
-        inputPos += plane.getPixelStride();
+
+    // The last row may not include the padding, so only read the bytes that hold pixels.
+    int rowLength = (planeWidth - 1) * pixelStride + 1;
+    byte[] row = null;
+    if (pixelStride != 1 || outputStride != 1) {
+      if (rowBuffer == null || rowBuffer.length < rowLength) {
+        rowBuffer = new byte[rowLength];
       }
-      rowStart += plane.getRowStride();
+      row = rowBuffer;
     }
+
+    int outputRowStart = offset;
+    for (int rowIndex = 0; rowIndex < planeHeight; rowIndex++) {
+      int rowStart = rowIndex * rowStride;
+      int length = Math.min(rowLength, limit - rowStart);
+      if (length <= 0) {
+        break;
+      }
+      buffer.position(rowStart);
+
+      if (row == null) {
+        buffer.get(out, outputRowStart, length);
+      } else {
+        buffer.get(row, 0, length);
+        int outputPos = outputRowStart;
+        if (pixelStride == 2 && outputStride == 2) {
+          for (int inputPos = 0; inputPos < length; inputPos += 2) {
+            out[outputPos] = row[inputPos];
+            outputPos += 2;
+          }
+        } else if (pixelStride == 1) {
+          for (int inputPos = 0; inputPos < length; inputPos++) {
+            out[outputPos] = row[inputPos];
+            outputPos += outputStride;
+          }
+        } else {
+          for (int inputPos = 0; inputPos < length; inputPos += pixelStride) {
+            out[outputPos] = row[inputPos];
+            outputPos += outputStride;
+          }
+        }
+      }
+      outputRowStart += planeWidth * outputStride;
+    }
+    buffer.rewind();
   }
 }
@@ -0,0 +1,120 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Which part of each image stream frame is sent to Dart, and at what resolution.
+ *
+ * <p>Only applies to YUV_420_888 and NV21 streams. The region is copied out of the planes while the
+ * frame is being converted, so the pixels outside of it are never sent. The planes of a cropped or
+ * downsampled frame have no row padding and a pixel stride of 1.
+ */
+public final class ImageStreamRegion {
+  /** Sends every pixel of every plane. */
+  @NonNull
+  public static final ImageStreamRegion FULL_FRAME =
+      new ImageStreamRegion(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, 1, false);
+
+  private final int cropLeft;
+  private final int cropTop;
+  private final int cropWidth;
+  private final int cropHeight;
+  private final int downsampleFactor;
+  private final boolean lumaOnly;
+
+  /**
+   * Creates a new region.
+   *
+   * @param cropLeft the first column to send.
+   * @param cropTop the first row to send.
+   * @param cropWidth the number of columns to send, before downsampling.
+   * @param cropHeight the number of rows to send, before downsampling.
+   * @param downsampleFactor only every nth pixel of every nth row is sent. Must be at least 1.
+   * @param lumaOnly whether only the Y plane is sent.
+   */
+  public ImageStreamRegion(
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int downsampleFactor,
+      boolean lumaOnly) {
+    this.cropLeft = cropLeft;
+    this.cropTop = cropTop;
+    this.cropWidth = cropWidth;
+    this.cropHeight = cropHeight;
+    this.downsampleFactor = downsampleFactor;
+    this.lumaOnly = lumaOnly;
+  }
+
+  /** Returns whether every pixel of every plane is sent. */
+  public boolean isFullFrame() {
+    return cropLeft == 0
+        && cropTop == 0
+        && cropWidth == Integer.MAX_VALUE
+        && cropHeight == Integer.MAX_VALUE
+        && downsampleFactor == 1
+        && !lumaOnly;
+  }
+
+  /**
+   * Returns this region clamped to an image of the given size.
+   *
+   * <p>The origin is rounded down to even pixels so that the chroma planes line up with the luma
+   * plane, and the size is rounded down to a multiple of twice the downsampling factor so that the
+   * downsampled chroma planes are exactly half the size of the downsampled luma plane.
+   */
+  @NonNull
+  ImageStreamRegion alignTo(int imageWidth, int imageHeight) {
+    int left = Math.min(cropLeft, imageWidth) & ~1;
+    int top = Math.min(cropTop, imageHeight) & ~1;
+    int alignment = 2 * downsampleFactor;
+    int width = Math.min(cropWidth, imageWidth - left) / alignment * alignment;
+    int height = Math.min(cropHeight, imageHeight - top) / alignment * alignment;
+    return new ImageStreamRegion(left, top, width, height, downsampleFactor, lumaOnly);
+  }
+
+  public int getCropLeft() {
+    return cropLeft;
+  }
+
+  public int getCropTop() {
+    return cropTop;
+  }
+
+  public int getCropWidth() {
+    return cropWidth;
+  }
+
+  public int getCropHeight() {
+    return cropHeight;
+  }
+
+  public int getDownsampleFactor() {
+    return downsampleFactor;
+  }
+
+  public boolean isLumaOnly() {
+    return lumaOnly;
+  }
+
+  /** Returns the width of the frames sent to Dart. */
+  int getOutputWidth() {
+    return cropWidth / downsampleFactor;
+  }
+
+  /** Returns the height of the frames sent to Dart. */
+  int getOutputHeight() {
+    return cropHeight / downsampleFactor;
+  }
+
+  /** Returns the number of bytes in all planes of a frame sent to Dart. */
+  int getOutputSize() {
+    int lumaSize = getOutputWidth() * getOutputHeight();
+    return lumaOnly ? lumaSize : lumaSize + 2 * (lumaSize / 4);
+  }
+}
@@ -0,0 +1,17 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+/** How the planes of image stream frames are transferred to Dart. */
+public enum ImageStreamTransport {
+  /** The plane bytes are sent through the image stream event channel. */
+  MESSAGE_CHANNEL,
+
+  /**
+   * The planes are written into a ring of frame slots in a memory-mapped file that Dart maps as
+   * well, and only the slot offsets are sent through the event channel.
+   */
+  SHARED_MEMORY,
+}
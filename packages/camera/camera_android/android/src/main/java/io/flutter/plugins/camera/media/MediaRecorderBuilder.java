@@ -7,6 +7,7 @@ package io.flutter.plugins.camera.media;
 import android.media.CamcorderProfile;
 import android.media.EncoderProfiles;
 import android.media.MediaRecorder;
+import android.view.Surface;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import io.flutter.plugins.camera.SdkCapabilityChecker;
@@ -49,6 +50,7 @@ public class MediaRecorderBuilder {
 
   private boolean enableAudio;
   private int mediaOrientation;
+  @Nullable private Surface inputSurface;
 
   public MediaRecorderBuilder(
       @NonNull CamcorderProfile camcorderProfile, @NonNull RecordingParameters parameters) {
@@ -92,6 +94,20 @@ public class MediaRecorderBuilder {
     return this;
   }
 
+  /**
+   * Sets a persistent input surface for the recorder to encode, instead of the surface it creates
+   * when prepared. This requires API 23.
+   *
+   * @param inputSurface a surface from {@link
+   *     android.media.MediaCodec#createPersistentInputSurface}, or null to use the recorder's own
+   *     surface.
+   */
+  @NonNull
+  public MediaRecorderBuilder setInputSurface(@Nullable Surface inputSurface) {
+    this.inputSurface = inputSurface;
+    return this;
+  }
+
   @NonNull
   public MediaRecorder build() throws IOException, NullPointerException, IndexOutOfBoundsException {
     MediaRecorder mediaRecorder = recorderFactory.makeMediaRecorder();
@@ -159,6 +175,9 @@ public class MediaRecorderBuilder {
 
     mediaRecorder.setOutputFile(parameters.outputFilePath);
     mediaRecorder.setOrientationHint(this.mediaOrientation);
+    if (inputSurface != null && SdkCapabilityChecker.supportsPersistentInputSurface()) {
+      mediaRecorder.setInputSurface(inputSurface);
+    }
 
     mediaRecorder.prepare();
 
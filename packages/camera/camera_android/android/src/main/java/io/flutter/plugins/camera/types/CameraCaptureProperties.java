@@ -8,10 +8,16 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 public class CameraCaptureProperties {
+  /** How many of the most recent capture results can be matched with images by timestamp. */
+  private static final int CAPTURE_METADATA_CAPACITY = 32;
 
-  private Float lastLensAperture;
-  private Long lastSensorExposureTime;
-  private Integer lastSensorSensitivity;
+  // Written on the camera background thread and read on the image stream threads.
+  private volatile Float lastLensAperture;
+  private volatile Long lastSensorExposureTime;
+  private volatile Integer lastSensorSensitivity;
+
+  private final CaptureMetadataIndex captureMetadata =
+      new CaptureMetadataIndex(CAPTURE_METADATA_CAPACITY);
 
   /**
    * Gets the last known lens aperture. (As f-stop value)
@@ -70,4 +76,38 @@ public class CameraCaptureProperties {
   public void setLastSensorSensitivity(@NonNull Integer lastSensorSensitivity) {
     this.lastSensorSensitivity = lastSensorSensitivity;
   }
+
+  /**
+   * Records the metadata of a capture result so that it can be matched with the image the capture
+   * produced.
+   *
+   * @param sensorTimestamp the start of exposure of the capture in nanoseconds.
+   * @param lensAperture the lens aperture as an f-stop value, if reported.
+   * @param sensorExposureTime the sensor exposure time in nanoseconds, if reported.
+   * @param sensorSensitivity the sensor sensitivity in ISO arithmetic units, if reported.
+   * @param lensFocusDistance the lens focus distance in diopters, if reported.
+   */
+  public void recordCaptureMetadata(
+      long sensorTimestamp,
+      @Nullable Float lensAperture,
+      @Nullable Long sensorExposureTime,
+      @Nullable Integer sensorSensitivity,
+      @Nullable Float lensFocusDistance) {
+    captureMetadata.record(
+        sensorTimestamp, lensAperture, sensorExposureTime, sensorSensitivity, lensFocusDistance);
+  }
+
+  /**
+   * Finds the metadata of the capture with the given sensor timestamp, among the most recent
+   * capture results.
+   *
+   * @param sensorTimestamp the timestamp of the image, from {@link
+   *     android.media.Image#getTimestamp}.
+   * @param entry the entry to fill in with the metadata.
+   * @return whether the capture result was found.
+   */
+  public boolean findCaptureMetadata(
+      long sensorTimestamp, @NonNull CaptureMetadataIndex.Entry entry) {
+    return captureMetadata.find(sensorTimestamp, entry);
+  }
 }
@@ -0,0 +1,188 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded index of the metadata of the most recent capture results, keyed by their sensor
+ * timestamp, so that an image can be matched with the result of the capture that produced it.
+ *
+ * <p>Results are written into a fixed ring of slots that is overwritten once full. Each slot is
+ * guarded by a sequence number that is odd while the slot is being written, so readers on other
+ * threads never see a half-written slot and neither side takes a lock or allocates.
+ */
+public final class CaptureMetadataIndex {
+  /** The metadata of a single capture result, filled in by {@link #find(long, Entry)}. */
+  public static final class Entry {
+    private long sensorTimestamp;
+    private int present;
+    private float lensAperture;
+    private long sensorExposureTime;
+    private int sensorSensitivity;
+    private float lensFocusDistance;
+
+    /** Returns the start of exposure of the capture in nanoseconds. */
+    public long getSensorTimestamp() {
+      return sensorTimestamp;
+    }
+
+    /** Returns whether the result reported the lens aperture. */
+    public boolean hasLensAperture() {
+      return (present & HAS_LENS_APERTURE) != 0;
+    }
+
+    /** Returns the lens aperture as an f-stop value. */
+    public float getLensAperture() {
+      return lensAperture;
+    }
+
+    /** Returns whether the result reported the sensor exposure time. */
+    public boolean hasSensorExposureTime() {
+      return (present & HAS_SENSOR_EXPOSURE_TIME) != 0;
+    }
+
+    /** Returns the sensor exposure time in nanoseconds. */
+    public long getSensorExposureTime() {
+      return sensorExposureTime;
+    }
+
+    /** Returns whether the result reported the sensor sensitivity. */
+    public boolean hasSensorSensitivity() {
+      return (present & HAS_SENSOR_SENSITIVITY) != 0;
+    }
+
+    /** Returns the sensor sensitivity in ISO arithmetic units. */
+    public int getSensorSensitivity() {
+      return sensorSensitivity;
+    }
+
+    /** Returns whether the result reported the lens focus distance. */
+    public boolean hasLensFocusDistance() {
+      return (present & HAS_LENS_FOCUS_DISTANCE) != 0;
+    }
+
+    /** Returns the lens focus distance in diopters. */
+    public float getLensFocusDistance() {
+      return lensFocusDistance;
+    }
+  }
+
+  private static final int HAS_LENS_APERTURE = 1;
+  private static final int HAS_SENSOR_EXPOSURE_TIME = 1 << 1;
+  private static final int HAS_SENSOR_SENSITIVITY = 1 << 2;
+  private static final int HAS_LENS_FOCUS_DISTANCE = 1 << 3;
+
+  // The layout of the values of a slot in the array.
+  private static final int SEQUENCE = 0;
+  private static final int SENSOR_TIMESTAMP = 1;
+  private static final int PRESENT = 2;
+  private static final int LENS_APERTURE = 3;
+  private static final int SENSOR_EXPOSURE_TIME = 4;
+  private static final int SENSOR_SENSITIVITY = 5;
+  private static final int LENS_FOCUS_DISTANCE = 6;
+  private static final int SLOT_LENGTH = 7;
+
+  private final int capacity;
+  private final AtomicLongArray slots;
+  private final AtomicLong nextSlot = new AtomicLong();
+
+  /**
+   * Creates an index.
+   *
+   * @param capacity the number of most recent results that can be found.
+   */
+  public CaptureMetadataIndex(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1, was " + capacity);
+    }
+    this.capacity = capacity;
+    this.slots = new AtomicLongArray(capacity * SLOT_LENGTH);
+  }
+
+  /**
+   * Records the metadata of a capture result, replacing the oldest recorded result once the index
+   * is full.
+   *
+   * @param sensorTimestamp the start of exposure of the capture in nanoseconds.
+   * @param lensAperture the lens aperture as an f-stop value, if reported.
+   * @param sensorExposureTime the sensor exposure time in nanoseconds, if reported.
+   * @param sensorSensitivity the sensor sensitivity in ISO arithmetic units, if reported.
+   * @param lensFocusDistance the lens focus distance in diopters, if reported.
+   */
+  public void record(
+      long sensorTimestamp,
+      @Nullable Float lensAperture,
+      @Nullable Long sensorExposureTime,
+      @Nullable Integer sensorSensitivity,
+      @Nullable Float lensFocusDistance) {
+    int base = (int) (nextSlot.getAndIncrement() % capacity) * SLOT_LENGTH;
+    long sequence = slots.get(base + SEQUENCE);
+    slots.set(base + SEQUENCE, sequence + 1);
+
+    int present = 0;
+    if (lensAperture != null) {
+      present |= HAS_LENS_APERTURE;
+      slots.set(base + LENS_APERTURE, Float.floatToIntBits(lensAperture));
+    }
+    if (sensorExposureTime != null) {
+      present |= HAS_SENSOR_EXPOSURE_TIME;
+      slots.set(base + SENSOR_EXPOSURE_TIME, sensorExposureTime);
+    }
+    if (sensorSensitivity != null) {
+      present |= HAS_SENSOR_SENSITIVITY;
+      slots.set(base + SENSOR_SENSITIVITY, sensorSensitivity);
+    }
+    if (lensFocusDistance != null) {
+      present |= HAS_LENS_FOCUS_DISTANCE;
+      slots.set(base + LENS_FOCUS_DISTANCE, Float.floatToIntBits(lensFocusDistance));
+    }
+    slots.set(base + PRESENT, present);
+    slots.set(base + SENSOR_TIMESTAMP, sensorTimestamp);
+
+    slots.set(base + SEQUENCE, sequence + 2);
+  }
+
+  /**
+   * Finds the metadata of the capture with the given sensor timestamp.
+   *
+   * @param sensorTimestamp the sensor timestamp of the capture, as reported by {@link
+   *     android.media.Image#getTimestamp()} for the image it produced.
+   * @param entry the entry to fill in with the metadata.
+   * @return whether a result with the timestamp was found. The entry is left unchanged otherwise.
+   */
+  public boolean find(long sensorTimestamp, @NonNull Entry entry) {
+    for (int slot = 0; slot < capacity; slot++) {
+      int base = slot * SLOT_LENGTH;
+      long sequence = slots.get(base + SEQUENCE);
+      // Skip slots that were never written or are being written.
+      if (sequence == 0
+          || (sequence & 1) != 0
+          || slots.get(base + SENSOR_TIMESTAMP) != sensorTimestamp) {
+        continue;
+      }
+      int present = (int) slots.get(base + PRESENT);
+      float lensAperture = Float.intBitsToFloat((int) slots.get(base + LENS_APERTURE));
+      long sensorExposureTime = slots.get(base + SENSOR_EXPOSURE_TIME);
+      int sensorSensitivity = (int) slots.get(base + SENSOR_SENSITIVITY);
+      float lensFocusDistance = Float.intBitsToFloat((int) slots.get(base + LENS_FOCUS_DISTANCE));
+      if (slots.get(base + SEQUENCE) != sequence) {
+        // The slot was overwritten while it was read, so the result is gone.
+        continue;
+      }
+      entry.sensorTimestamp = sensorTimestamp;
+      entry.present = present;
+      entry.lensAperture = lensAperture;
+      entry.sensorExposureTime = sensorExposureTime;
+      entry.sensorSensitivity = sensorSensitivity;
+      entry.lensFocusDistance = lensFocusDistance;
+      return true;
+    }
+    return false;
+  }
+}
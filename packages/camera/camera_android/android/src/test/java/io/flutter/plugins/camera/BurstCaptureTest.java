@@ -0,0 +1,172 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraCaptureSession;
+import android.hardware.camera2.CaptureFailure;
+import android.hardware.camera2.CaptureRequest;
+import android.media.Image;
+import android.view.Surface;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class BurstCaptureTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final CaptureExecutors mockCaptureExecutors = mock(CaptureExecutors.class);
+  private final BurstCapture.Callback mockCallback = mock(BurstCapture.Callback.class);
+
+  private static Image createImage(long timestamp, byte[] bytes) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(ByteBuffer.wrap(bytes));
+    Image image = mock(Image.class);
+    when(image.getTimestamp()).thenReturn(timestamp);
+    when(image.getWidth()).thenReturn(4);
+    when(image.getHeight()).thenReturn(3);
+    when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return image;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Messages.PlatformBurstFrame> captureCompletedFrames() {
+    ArgumentCaptor<List<Messages.PlatformBurstFrame>> captor = ArgumentCaptor.forClass(List.class);
+    verify(mockCallback, times(1)).onComplete(captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  public void onImage_toMemory_returnsFramesOrderedByTimestamp() {
+    BurstCapture burst = new BurstCapture(2, true, null, mockCaptureExecutors, mockCallback);
+    Image later = createImage(200L, new byte[] {2});
+    Image earlier = createImage(100L, new byte[] {1});
+
+    burst.onImage(later);
+    verify(mockCallback, never()).onComplete(any());
+    burst.onImage(earlier);
+
+    List<Messages.PlatformBurstFrame> frames = captureCompletedFrames();
+    assertEquals(2, frames.size());
+    assertEquals(100L, (long) frames.get(0).getSensorTimestamp());
+    assertArrayEquals(new byte[] {1}, frames.get(0).getBytes());
+    assertEquals(200L, (long) frames.get(1).getSensorTimestamp());
+    assertEquals(4L, (long) frames.get(1).getWidth());
+    assertEquals(3L, (long) frames.get(1).getHeight());
+    verify(later, times(1)).close();
+    verify(earlier, times(1)).close();
+  }
+
+  @Test
+  public void onImage_toFile_savesFramesOnIoExecutor() throws Exception {
+    doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockCaptureExecutors)
+        .executeIo(any());
+    File outputDir = temporaryFolder.newFolder();
+    BurstCapture burst = new BurstCapture(1, false, outputDir, mockCaptureExecutors, mockCallback);
+
+    burst.onImage(createImage(100L, new byte[] {1, 2, 3}));
+
+    List<Messages.PlatformBurstFrame> frames = captureCompletedFrames();
+    assertEquals(1, frames.size());
+    assertNull(frames.get(0).getBytes());
+    assertNotNull(frames.get(0).getPath());
+    assertEquals(3L, new File(frames.get(0).getPath()).length());
+  }
+
+  @Test
+  public void onFrameFailed_completesWithRemainingFrames() {
+    BurstCapture burst = new BurstCapture(2, true, null, mockCaptureExecutors, mockCallback);
+
+    burst.onImage(createImage(100L, new byte[] {1}));
+    burst.onFrameFailed("captureFailed", "failed");
+
+    assertEquals(1, captureCompletedFrames().size());
+    verify(mockCallback, never()).onError(anyString(), any());
+  }
+
+  @Test
+  public void onFrameFailed_reportsErrorWhenEveryFrameFailed() {
+    BurstCapture burst = new BurstCapture(2, true, null, mockCaptureExecutors, mockCallback);
+
+    burst.onFrameFailed("captureFailed", "first");
+    burst.onFrameFailed("captureFailed", "second");
+
+    verify(mockCallback, times(1)).onError(eq("captureFailed"), eq("second"));
+    verify(mockCallback, never()).onComplete(any());
+  }
+
+  @Test
+  public void captureCallback_ignoresFailuresWhoseImageWasCaptured() {
+    BurstCapture burst = new BurstCapture(1, true, null, mockCaptureExecutors, mockCallback);
+    CaptureFailure mockFailure = mock(CaptureFailure.class);
+    when(mockFailure.wasImageCaptured()).thenReturn(true);
+
+    burst.captureCallback.onCaptureFailed(
+        mock(CameraCaptureSession.class), mock(CaptureRequest.class), mockFailure);
+    verify(mockCallback, never()).onError(anyString(), any());
+    burst.onImage(createImage(100L, new byte[] {1}));
+
+    assertEquals(1, captureCompletedFrames().size());
+  }
+
+  @Test
+  public void captureCallback_countsLostBuffersAsFailedFrames() {
+    BurstCapture burst = new BurstCapture(2, true, null, mockCaptureExecutors, mockCallback);
+
+    burst.onImage(createImage(100L, new byte[] {1}));
+    burst.captureCallback.onCaptureBufferLost(
+        mock(CameraCaptureSession.class), mock(CaptureRequest.class), mock(Surface.class), 7L);
+
+    assertEquals(1, captureCompletedFrames().size());
+  }
+
+  @Test
+  public void onTimeout_failsOutstandingFramesAndDropsLateImages() {
+    BurstCapture burst = new BurstCapture(3, true, null, mockCaptureExecutors, mockCallback);
+    Image lateImage = createImage(300L, new byte[] {3});
+
+    burst.onImage(createImage(100L, new byte[] {1}));
+    burst.onTimeout();
+    burst.onImage(lateImage);
+    burst.onTimeout();
+
+    List<Messages.PlatformBurstFrame> frames = captureCompletedFrames();
+    assertEquals(1, frames.size());
+    verify(lateImage, times(1)).close();
+    verify(lateImage, never()).getPlanes();
+  }
+
+  @Test
+  public void onTimeout_reportsErrorWhenNoFrameArrived() {
+    BurstCapture burst = new BurstCapture(2, true, null, mockCaptureExecutors, mockCallback);
+
+    burst.onTimeout();
+
+    verify(mockCallback, times(1)).onError(eq("captureTimeout"), anyString());
+    verify(mockCallback, never()).onComplete(any());
+  }
+}
@@ -4,32 +4,51 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.hardware.camera2.CameraAccessException;
 import androidx.lifecycle.LifecycleObserver;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
+import io.flutter.plugins.camera.media.ImageStreamTransport;
 import io.flutter.view.TextureRegistry;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 public class CameraApiImplTest {
 
   CameraApiImpl handler;
   Messages.VoidResult mockResult;
   Camera mockCamera;
+  Application mockApplication;
 
   @Before
   public void setUp() {
+    Activity mockActivity = mock(Activity.class);
+    mockApplication = mock(Application.class);
+    when(mockActivity.getApplication()).thenReturn(mockApplication);
     handler =
         new CameraApiImpl(
-            mock(Activity.class),
+            mockActivity,
             mock(BinaryMessenger.class),
             mock(CameraPermissions.class),
             mock(CameraPermissions.PermissionsRegistry.class),
@@ -68,4 +87,246 @@ public class CameraApiImplTest {
 
     verify(mockCamera, times(1)).resumePreview();
   }
+
+  @Test
+  public void setImageStreamDeliveryPolicy_shouldForwardConvertedPolicyToCamera() {
+    handler.setImageStreamDeliveryPolicy(
+        Messages.PlatformImageStreamDeliveryPolicy.LATEST_ONLY, 2L);
+
+    verify(mockCamera, times(1))
+        .setImageStreamDeliveryPolicy(ImageStreamDeliveryPolicy.LATEST_ONLY, 2);
+  }
+
+  @Test
+  public void setImageStreamDeliveryPolicy_shouldThrowOnInvalidMaxPendingFrames() {
+    assertThrows(
+        Messages.FlutterError.class,
+        () ->
+            handler.setImageStreamDeliveryPolicy(
+                Messages.PlatformImageStreamDeliveryPolicy.BOUNDED_QUEUE, 0L));
+
+    verify(mockCamera, never())
+        .setImageStreamDeliveryPolicy(any(ImageStreamDeliveryPolicy.class), anyInt());
+  }
+
+  @Test
+  public void setImageStreamBufferCount_shouldForwardCountToCamera() {
+    handler.setImageStreamBufferCount(4L);
+
+    verify(mockCamera, times(1)).setImageStreamBufferCount(4);
+  }
+
+  @Test
+  public void setImageStreamTransport_shouldForwardConvertedTransportToCamera() {
+    handler.setImageStreamTransport(Messages.PlatformImageStreamTransport.SHARED_MEMORY);
+
+    verify(mockCamera, times(1)).setImageStreamTransport(ImageStreamTransport.SHARED_MEMORY);
+  }
+
+  @Test
+  public void setImageStreamRegion_shouldForwardConvertedRegionToCamera() {
+    handler.setImageStreamRegion(
+        new Messages.PlatformImageStreamRegion.Builder()
+            .setDownsampleFactor(4L)
+            .setLumaOnly(true)
+            .build());
+
+    ArgumentCaptor<ImageStreamRegion> regionCaptor =
+        ArgumentCaptor.forClass(ImageStreamRegion.class);
+    verify(mockCamera, times(1)).setImageStreamRegion(regionCaptor.capture());
+    assertEquals(4, regionCaptor.getValue().getDownsampleFactor());
+    assertTrue(regionCaptor.getValue().isLumaOnly());
+  }
+
+  @Test
+  public void setImageStreamRegion_shouldThrowOnInvalidDownsampleFactor() {
+    assertThrows(
+        Messages.FlutterError.class,
+        () ->
+            handler.setImageStreamRegion(
+                new Messages.PlatformImageStreamRegion.Builder()
+                    .setDownsampleFactor(0L)
+                    .setLumaOnly(false)
+                    .build()));
+
+    verify(mockCamera, never()).setImageStreamRegion(any(ImageStreamRegion.class));
+  }
+
+  @Test
+  public void setImageStreamFrameRateLimit_shouldForwardLimitToCamera() {
+    handler.setImageStreamFrameRateLimit(10.0, 2L);
+    handler.setImageStreamFrameRateLimit(null, 1L);
+
+    verify(mockCamera, times(1)).setImageStreamFrameRateLimit(10.0, 2);
+    verify(mockCamera, times(1)).setImageStreamFrameRateLimit(0, 1);
+  }
+
+  @Test
+  public void setImageStreamFrameRateLimit_shouldThrowOnInvalidLimit() {
+    assertThrows(
+        Messages.FlutterError.class, () -> handler.setImageStreamFrameRateLimit(0.0, 1L));
+    assertThrows(
+        Messages.FlutterError.class, () -> handler.setImageStreamFrameRateLimit(null, 0L));
+
+    verify(mockCamera, never()).setImageStreamFrameRateLimit(anyDouble(), anyInt());
+  }
+
+  @Test
+  public void setImageStreamBufferCount_shouldThrowOnTooFewBuffers() {
+    assertThrows(Messages.FlutterError.class, () -> handler.setImageStreamBufferCount(1L));
+
+    verify(mockCamera, never()).setImageStreamBufferCount(anyInt());
+  }
+
+  @Test
+  public void setZeroShutterLagEnabled_shouldForwardToCamera() {
+    handler.setZeroShutterLagEnabled(true);
+
+    verify(mockCamera, times(1)).setZeroShutterLagEnabled(true);
+  }
+
+  @Test
+  public void isZeroShutterLagActive_shouldReturnCameraState() {
+    when(mockCamera.isZeroShutterLagActive()).thenReturn(true);
+
+    assertTrue(handler.isZeroShutterLagActive());
+  }
+
+  @Test
+  public void setFastCaptureEnabled_shouldForwardToCamera() {
+    handler.setFastCaptureEnabled(true);
+
+    verify(mockCamera, times(1)).setFastCaptureEnabled(true);
+  }
+
+  @Test
+  public void setSyncPictureFilesEnabled_shouldForwardToCamera() {
+    handler.setSyncPictureFilesEnabled(true);
+
+    verify(mockCamera, times(1)).setSyncPictureFilesEnabled(true);
+  }
+
+  @Test
+  public void setPictureDestination_shouldForwardConvertedDestinationToCamera() {
+    handler.setPictureDestination(Messages.PlatformPictureDestination.MEDIA_STORE);
+
+    verify(mockCamera, times(1)).setPictureDestination(PictureDestination.MEDIA_STORE);
+  }
+
+  @Test
+  public void setMemoryTrimLevels_shouldForwardLevelsToCamera() {
+    handler.setMemoryTrimLevels(15L, null);
+
+    verify(mockCamera, times(1)).setMemoryTrimLevels(15, Camera.NEVER_TRIM_LEVEL);
+  }
+
+  @Test
+  public void onTrimMemory_shouldForwardToCamera() {
+    ArgumentCaptor<ComponentCallbacks2> callbacksCaptor =
+        ArgumentCaptor.forClass(ComponentCallbacks2.class);
+    verify(mockApplication).registerComponentCallbacks(callbacksCaptor.capture());
+
+    callbacksCaptor.getValue().onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+    verify(mockCamera, times(1)).onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+  }
+
+  @Test
+  public void tearDownMessageHandler_shouldStopListeningForTrimMemory() {
+    handler.tearDownMessageHandler();
+
+    verify(mockApplication, times(1)).unregisterComponentCallbacks(any());
+  }
+
+  @Test
+  public void setSupersetSessionEnabled_shouldForwardToCamera() {
+    handler.setSupersetSessionEnabled(true);
+
+    verify(mockCamera, times(1)).setSupersetSessionEnabled(true);
+  }
+
+  @Test
+  public void getCaptureMetrics_shouldReturnCameraMetrics() {
+    Messages.PlatformCaptureMetrics metrics = new CaptureMetrics().getMetrics();
+    when(mockCamera.getCaptureMetrics()).thenReturn(metrics);
+
+    assertEquals(metrics, handler.getCaptureMetrics());
+  }
+
+  @Test
+  public void getStartupTrace_shouldReturnCameraTrace() {
+    Messages.PlatformStartupTrace trace = new StartupTrace().toPigeon();
+    when(mockCamera.getStartupTrace()).thenReturn(trace);
+
+    assertEquals(trace, handler.getStartupTrace());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void captureBurst_shouldRejectInvalidCount() {
+    Messages.Result<List<Messages.PlatformBurstFrame>> mockBurstResult =
+        mock(Messages.Result.class);
+
+    handler.captureBurst((long) Camera.MAX_BURST_SIZE + 1, false, mockBurstResult);
+
+    verify(mockBurstResult, times(1)).error(any(Messages.FlutterError.class));
+    verify(mockCamera, never()).captureBurst(anyInt(), anyBoolean(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void captureBurst_shouldForwardToCamera() {
+    Messages.Result<List<Messages.PlatformBurstFrame>> mockBurstResult =
+        mock(Messages.Result.class);
+
+    handler.captureBurst(3L, true, mockBurstResult);
+
+    verify(mockCamera, times(1)).captureBurst(3, true, mockBurstResult);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void captureToMemory_shouldRejectInvalidQuality() {
+    Messages.Result<Messages.PlatformCapturedImageData> mockMemoryResult =
+        mock(Messages.Result.class);
+    Messages.PlatformCaptureToMemoryOptions options =
+        new Messages.PlatformCaptureToMemoryOptions.Builder().setQuality(0L).build();
+
+    handler.captureToMemory(options, mockMemoryResult);
+
+    verify(mockMemoryResult, times(1)).error(any(Messages.FlutterError.class));
+    verify(mockCamera, never()).captureToMemory(any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void captureToMemory_shouldForwardOptionsToCamera() {
+    Messages.Result<Messages.PlatformCapturedImageData> mockMemoryResult =
+        mock(Messages.Result.class);
+    Messages.PlatformCaptureToMemoryOptions options =
+        new Messages.PlatformCaptureToMemoryOptions.Builder()
+            .setMaxDimension(1280L)
+            .setQuality(90L)
+            .setThumbnailMaxDimension(256L)
+            .build();
+
+    handler.captureToMemory(options, mockMemoryResult);
+
+    verify(mockCamera, times(1)).captureToMemory(options, mockMemoryResult);
+  }
+
+  @Test
+  public void getCaptureExecutorStats_shouldReportIdleExecutors() {
+    Messages.PlatformCaptureExecutorStats stats = handler.getCaptureExecutorStats();
+
+    assertEquals(0L, (long) stats.getProcessingQueueDepth());
+    assertEquals(0L, (long) stats.getIoQueueDepth());
+  }
+
+  @Test
+  public void receivedImageStreamData_shouldIgnoreDisposedCamera() {
+    handler.camera = null;
+
+    handler.receivedImageStreamData();
+  }
 }
@@ -4,6 +4,8 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -70,6 +72,36 @@ public class CameraCaptureCallbackTest {
     verify(mockCaptureProps, times(1)).setLastSensorSensitivity(3);
   }
 
+  @Test
+  public void onCaptureCompleted_recordsCaptureMetadataBySensorTimestamp() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    when(mockResult.get(CaptureResult.SENSOR_TIMESTAMP)).thenReturn(100L);
+    when(mockResult.get(CaptureResult.LENS_APERTURE)).thenReturn(1.0f);
+    when(mockResult.get(CaptureResult.SENSOR_EXPOSURE_TIME)).thenReturn(2L);
+    when(mockResult.get(CaptureResult.SENSOR_SENSITIVITY)).thenReturn(3);
+    when(mockResult.get(CaptureResult.LENS_FOCUS_DISTANCE)).thenReturn(4.0f);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockCaptureProps, times(1)).recordCaptureMetadata(100L, 1.0f, 2L, 3, 4.0f);
+  }
+
+  @Test
+  public void onCaptureCompleted_runsFirstResultCallbackOnce() {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    Runnable mockCallback = mock(Runnable.class);
+    cameraCaptureCallback.setFirstResultCallback(mockCallback);
+
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+
+    verify(mockCallback, times(1)).run();
+  }
+
   @Test
   public void onCaptureCompleted_checksBothAutoFocusAndAutoExposure() {
     CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
@@ -87,4 +119,64 @@ public class CameraCaptureCallbackTest {
     verify(mockResult, times(1)).get(CaptureResult.CONTROL_AE_STATE);
     verify(mockResult, times(1)).get(CaptureResult.CONTROL_AF_STATE);
   }
+
+  private void completePreviewResults(int count, int afState, int aeState) {
+    CameraCaptureSession mockSession = mock(CameraCaptureSession.class);
+    CaptureRequest mockRequest = mock(CaptureRequest.class);
+    TotalCaptureResult mockResult = mock(TotalCaptureResult.class);
+    when(mockResult.get(CaptureResult.CONTROL_AF_STATE)).thenReturn(afState);
+    when(mockResult.get(CaptureResult.CONTROL_AE_STATE)).thenReturn(aeState);
+    for (int i = 0; i < count; i++) {
+      cameraCaptureCallback.onCaptureCompleted(mockSession, mockRequest, mockResult);
+    }
+  }
+
+  @Test
+  public void isConvergedForFastCapture_afterEnoughConvergedPreviewResults() {
+    completePreviewResults(
+        CameraCaptureCallback.CONVERGED_RESULTS_FOR_FAST_CAPTURE - 1,
+        CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+        CaptureResult.CONTROL_AE_STATE_CONVERGED);
+    assertFalse(cameraCaptureCallback.isConvergedForFastCapture(true));
+
+    completePreviewResults(
+        1,
+        CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+        CaptureResult.CONTROL_AE_STATE_CONVERGED);
+    assertTrue(cameraCaptureCallback.isConvergedForFastCapture(true));
+  }
+
+  @Test
+  public void isConvergedForFastCapture_isFalseWhenFlashIsRequired() {
+    completePreviewResults(
+        CameraCaptureCallback.CONVERGED_RESULTS_FOR_FAST_CAPTURE,
+        CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+        CaptureResult.CONTROL_AE_STATE_FLASH_REQUIRED);
+
+    assertFalse(cameraCaptureCallback.isConvergedForFastCapture(false));
+  }
+
+  @Test
+  public void isConvergedForFastCapture_onlyChecksFocusWhenAsked() {
+    completePreviewResults(
+        CameraCaptureCallback.CONVERGED_RESULTS_FOR_FAST_CAPTURE,
+        CaptureResult.CONTROL_AF_STATE_PASSIVE_SCAN,
+        CaptureResult.CONTROL_AE_STATE_CONVERGED);
+
+    assertFalse(cameraCaptureCallback.isConvergedForFastCapture(true));
+    assertTrue(cameraCaptureCallback.isConvergedForFastCapture(false));
+  }
+
+  @Test
+  public void isConvergedForFastCapture_isResetWhenCapturing() {
+    completePreviewResults(
+        CameraCaptureCallback.CONVERGED_RESULTS_FOR_FAST_CAPTURE,
+        CaptureResult.CONTROL_AF_STATE_PASSIVE_FOCUSED,
+        CaptureResult.CONTROL_AE_STATE_CONVERGED);
+
+    cameraCaptureCallback.setCameraState(CameraState.STATE_CAPTURING);
+    cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+
+    assertFalse(cameraCaptureCallback.isConvergedForFastCapture(true));
+  }
 }
@@ -0,0 +1,115 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CameraMetadata;
+import android.os.Handler;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CameraInventoryTest {
+  private final CameraManager mockCameraManager = mock(CameraManager.class);
+  private final CameraCharacteristics mockBackCharacteristics = mock(CameraCharacteristics.class);
+  private final CameraCharacteristics mockExternalCharacteristics =
+      mock(CameraCharacteristics.class);
+
+  private CameraInventory cameraInventory;
+  private CameraManager.AvailabilityCallback availabilityCallback;
+
+  @Before
+  public void before() throws CameraAccessException {
+    when(mockBackCharacteristics.get(CameraCharacteristics.SENSOR_ORIENTATION)).thenReturn(90);
+    when(mockBackCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_BACK);
+    when(mockExternalCharacteristics.get(CameraCharacteristics.SENSOR_ORIENTATION)).thenReturn(0);
+    when(mockExternalCharacteristics.get(CameraCharacteristics.LENS_FACING))
+        .thenReturn(CameraMetadata.LENS_FACING_EXTERNAL);
+    when(mockCameraManager.getCameraCharacteristics("0")).thenReturn(mockBackCharacteristics);
+    when(mockCameraManager.getCameraCharacteristics("5")).thenReturn(mockExternalCharacteristics);
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0"});
+
+    cameraInventory = new CameraInventory(mockCameraManager, mock(Handler.class));
+    ArgumentCaptor<CameraManager.AvailabilityCallback> callbackCaptor =
+        ArgumentCaptor.forClass(CameraManager.AvailabilityCallback.class);
+    verify(mockCameraManager).registerAvailabilityCallback(callbackCaptor.capture(), any());
+    availabilityCallback = callbackCaptor.getValue();
+  }
+
+  @Test
+  public void getAvailableCameras_shouldReadCharacteristicsOnce() throws CameraAccessException {
+    List<Messages.PlatformCameraDescription> cameras = cameraInventory.getAvailableCameras();
+    CameraProperties properties = cameraInventory.getCameraProperties("0");
+
+    assertSame(cameras, cameraInventory.getAvailableCameras());
+    assertSame(properties, cameraInventory.getCameraProperties("0"));
+    assertEquals(1, cameras.size());
+    assertEquals("0", cameras.get(0).getName());
+    assertEquals(90L, (long) cameras.get(0).getSensorOrientation());
+    assertEquals(Messages.PlatformCameraLensDirection.BACK, cameras.get(0).getLensDirection());
+    verify(mockCameraManager, times(1)).getCameraIdList();
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+  }
+
+  @Test
+  public void getAvailableCameras_shouldNotRefreshWhenBuiltInCameraIsOpened()
+      throws CameraAccessException {
+    cameraInventory.getAvailableCameras();
+
+    availabilityCallback.onCameraUnavailable("0");
+    availabilityCallback.onCameraAvailable("0");
+    cameraInventory.getAvailableCameras();
+
+    verify(mockCameraManager, times(1)).getCameraIdList();
+  }
+
+  @Test
+  public void getAvailableCameras_shouldRefreshWhenExternalCameraIsConnectedAndDisconnected()
+      throws CameraAccessException {
+    cameraInventory.getAvailableCameras();
+
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0", "5"});
+    availabilityCallback.onCameraAvailable("5");
+    assertEquals(2, cameraInventory.getAvailableCameras().size());
+
+    when(mockCameraManager.getCameraIdList()).thenReturn(new String[] {"0"});
+    availabilityCallback.onCameraUnavailable("5");
+    assertEquals(1, cameraInventory.getAvailableCameras().size());
+
+    verify(mockCameraManager, times(3)).getCameraIdList();
+    verify(mockCameraManager, times(1)).getCameraCharacteristics("0");
+  }
+
+  @Test
+  public void canOpenConcurrently_shouldReadConcurrentCameraIdsOnce() throws CameraAccessException {
+    when(mockCameraManager.getConcurrentCameraIds())
+        .thenReturn(Collections.singleton(new HashSet<>(Arrays.asList("0", "1"))));
+
+    assertTrue(cameraInventory.canOpenConcurrently("0", "1"));
+    assertTrue(cameraInventory.canOpenConcurrently("1", "0"));
+    assertFalse(cameraInventory.canOpenConcurrently("0", "5"));
+    verify(mockCameraManager, times(1)).getConcurrentCameraIds();
+  }
+}
@@ -7,12 +7,15 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.graphics.ImageFormat;
 import android.graphics.SurfaceTexture;
@@ -57,6 +60,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +68,7 @@ import java.util.Objects;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.mockito.MockedConstruction;
@@ -277,6 +282,77 @@ public class CameraTest {
         .sendCameraInitializedEvent(any(), any(), any(), any(), any(), any());
   }
 
+  @Test
+  public void open_shouldReleaseReadersAllocatedWhileClosing() throws CameraAccessException {
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE))
+        .thenReturn(mock(CameraManager.class));
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+    when(resolutionFeature.checkIsSupported()).thenReturn(true);
+    final Size mockSize = mock(Size.class);
+    when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
+    when(resolutionFeature.getCaptureSize()).thenReturn(mockSize);
+    ArgumentCaptor<Runnable> postCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+    camera.open(ImageFormat.JPEG);
+    verify(mockHandler).post(postCaptor.capture());
+
+    List<ImageReader> allocatedReaders = new ArrayList<>();
+    try (MockedStatic<ImageReader> mockedImageReader = mockStatic(ImageReader.class)) {
+      mockedImageReader
+          .when(() -> ImageReader.newInstance(anyInt(), anyInt(), anyInt(), anyInt()))
+          .thenAnswer(
+              invocation -> {
+                // The camera is closed on the platform thread while the readers are allocated.
+                if (allocatedReaders.isEmpty()) {
+                  camera.close();
+                }
+                ImageReader mockImageReader = mock(ImageReader.class);
+                allocatedReaders.add(mockImageReader);
+                return mockImageReader;
+              });
+      postCaptor.getValue().run();
+    }
+
+    assertEquals(2, allocatedReaders.size());
+    for (ImageReader reader : allocatedReaders) {
+      verify(reader, times(1)).close();
+    }
+    assertNull(camera.pictureImageReader);
+    assertNull(camera.imageStreamReader);
+  }
+
+  @Test
+  public void open_shouldCloseReadersItReplaces() throws CameraAccessException {
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE))
+        .thenReturn(mock(CameraManager.class));
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+    when(resolutionFeature.checkIsSupported()).thenReturn(true);
+    final Size mockSize = mock(Size.class);
+    when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
+    when(resolutionFeature.getCaptureSize()).thenReturn(mockSize);
+    ImageReader formerPictureImageReader = mock(ImageReader.class);
+    ImageStreamReader formerImageStreamReader = mock(ImageStreamReader.class);
+    camera.pictureImageReader = formerPictureImageReader;
+    camera.imageStreamReader = formerImageStreamReader;
+    ArgumentCaptor<Runnable> postCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+    camera.open(ImageFormat.JPEG);
+    verify(mockHandler).post(postCaptor.capture());
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    try (MockedStatic<ImageReader> mockedImageReader = mockStatic(ImageReader.class)) {
+      mockedImageReader
+          .when(() -> ImageReader.newInstance(anyInt(), anyInt(), anyInt(), anyInt()))
+          .thenReturn(mockImageReader);
+      postCaptor.getValue().run();
+    }
+
+    verify(formerPictureImageReader, times(1)).close();
+    verify(formerImageStreamReader, times(1)).close();
+    assertEquals(mockImageReader, camera.pictureImageReader);
+    verify(mockImageReader, never()).close();
+  }
+
   @Test
   public void shouldNotImplementLifecycleObserverInterface() {
     Class<Camera> cameraClass = Camera.class;
@@ -661,6 +737,69 @@ public class CameraTest {
                 new FlutterErrorMatcher("setZoomLevelFailed", "Could not set zoom level.", null)));
   }
 
+  @Test
+  public void setZoomLevel_shouldCoalesceUpdatesWithinAFrame() throws CameraAccessException {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    Messages.VoidResult firstResult = mock(Messages.VoidResult.class);
+    Messages.VoidResult secondResult = mock(Messages.VoidResult.class);
+    Messages.VoidResult thirdResult = mock(Messages.VoidResult.class);
+
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(0f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+
+    camera.setZoomLevel(firstResult, 1.0f);
+    camera.setZoomLevel(secondResult, 1.2f);
+    camera.setZoomLevel(thirdResult, 1.4f);
+
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+    verify(firstResult, times(1)).success();
+    verify(secondResult, never()).success();
+
+    // The remaining updates are submitted together once the frame interval has passed.
+    ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler, times(1)).postAtTime(flushCaptor.capture(), anyLong());
+    flushCaptor.getValue().run();
+
+    verify(mockCaptureSession, times(2)).setRepeatingRequest(any(), any(), any());
+    verify(mockZoomLevelFeature, times(2)).updateBuilder(any());
+    verify(secondResult, times(1)).success();
+    verify(thirdResult, times(1)).success();
+  }
+
+  @Test
+  public void close_shouldFailCoalescedSettingsThatWereNotSubmitted() {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    Messages.VoidResult firstResult = mock(Messages.VoidResult.class);
+    Messages.VoidResult secondResult = mock(Messages.VoidResult.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(0f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+
+    camera.setZoomLevel(firstResult, 1.0f);
+    camera.setZoomLevel(secondResult, 1.2f);
+    camera.close();
+
+    verify(firstResult, times(1)).success();
+    verify(secondResult, never()).success();
+    verify(secondResult, times(1)).error(any());
+  }
+
+  @Test
+  public void setZoomLevel_shouldFailWithoutCaptureSession() {
+    ZoomLevelFeature mockZoomLevelFeature =
+        mockCameraFeatureFactory.createZoomLevelFeature(mockCameraProperties);
+    Messages.VoidResult mockResult = mock(Messages.VoidResult.class);
+    when(mockZoomLevelFeature.getMinimumZoomLevel()).thenReturn(0f);
+    when(mockZoomLevelFeature.getMaximumZoomLevel()).thenReturn(2f);
+    camera.captureSession = null;
+
+    camera.setZoomLevel(mockResult, 1.0f);
+
+    verify(mockResult, never()).success();
+    verify(mockResult, times(1)).error(any());
+  }
+
   @Test
   public void pauseVideoRecording_shouldNotThrowWhenNotRecording() {
     camera.recordingVideo = false;
@@ -750,6 +889,106 @@ public class CameraTest {
     camera.setDescriptionWhileRecording(newCameraProperties);
   }
 
+  @Test
+  public void setDescriptionWhileRecording_opensNewCameraAlongsideCurrentOneWhenSupported()
+      throws CameraAccessException {
+    final CameraDeviceWrapper mockCameraDevice = mock(CameraDeviceWrapper.class);
+    final CameraManager mockCameraManager = mock(CameraManager.class);
+    final CameraInventory mockCameraInventory = mock(CameraInventory.class);
+    final CameraProperties newCameraProperties = mock(CameraProperties.class);
+    camera.cameraDevice = mockCameraDevice;
+    camera.mediaRecorder = mock(MediaRecorder.class);
+    camera.recordingVideo = true;
+    camera.videoRenderer = mock(VideoRenderer.class);
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.R;
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE)).thenReturn(mockCameraManager);
+    when(newCameraProperties.getCameraName()).thenReturn("0");
+    when(mockCameraInventory.canOpenConcurrently("1", "0")).thenReturn(true);
+
+    try (MockedStatic<CameraInventory> mockedCameraInventory = mockStatic(CameraInventory.class)) {
+      mockedCameraInventory
+          .when(() -> CameraInventory.getInstance(any()))
+          .thenReturn(mockCameraInventory);
+
+      camera.setDescriptionWhileRecording(newCameraProperties);
+    }
+
+    verify(mockCameraManager, times(1))
+        .openCamera(eq("0"), any(CameraDevice.StateCallback.class), any(Handler.class));
+    verify(mockCameraDevice, never()).close();
+  }
+
+  @Test
+  public void setDescriptionWhileRecording_closesCurrentCameraWhenNewCameraFailsToOpenAlongside()
+      throws CameraAccessException {
+    final CameraDeviceWrapper mockCameraDevice = mock(CameraDeviceWrapper.class);
+    final CameraManager mockCameraManager = mock(CameraManager.class);
+    final CameraInventory mockCameraInventory = mock(CameraInventory.class);
+    final CameraProperties newCameraProperties = mock(CameraProperties.class);
+    final VideoRenderer mockVideoRenderer = mock(VideoRenderer.class);
+    camera.cameraDevice = mockCameraDevice;
+    camera.mediaRecorder = mock(MediaRecorder.class);
+    camera.recordingVideo = true;
+    camera.videoRenderer = mockVideoRenderer;
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.R;
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE)).thenReturn(mockCameraManager);
+    when(newCameraProperties.getCameraName()).thenReturn("0");
+    when(mockCameraInventory.canOpenConcurrently("1", "0")).thenReturn(true);
+    ArgumentCaptor<CameraDevice.StateCallback> callbackCaptor =
+        ArgumentCaptor.forClass(CameraDevice.StateCallback.class);
+
+    try (MockedStatic<CameraInventory> mockedCameraInventory = mockStatic(CameraInventory.class)) {
+      mockedCameraInventory
+          .when(() -> CameraInventory.getInstance(any()))
+          .thenReturn(mockCameraInventory);
+
+      camera.setDescriptionWhileRecording(newCameraProperties);
+    }
+    verify(mockCameraManager).openCamera(eq("0"), callbackCaptor.capture(), any(Handler.class));
+    final CameraDevice mockNewCameraDevice = mock(CameraDevice.class);
+    callbackCaptor
+        .getValue()
+        .onError(mockNewCameraDevice, CameraDevice.StateCallback.ERROR_MAX_CAMERAS_IN_USE);
+
+    verify(mockNewCameraDevice, times(1)).close();
+    verify(mockVideoRenderer, times(1)).discardStandbyInput();
+    verify(mockCameraDevice, times(1)).close();
+  }
+
+  @Test
+  public void close_shouldCloseCameraThatOpensAfterSwitchWasCancelled()
+      throws CameraAccessException {
+    final CameraDeviceWrapper mockCameraDevice = mock(CameraDeviceWrapper.class);
+    final CameraManager mockCameraManager = mock(CameraManager.class);
+    final CameraInventory mockCameraInventory = mock(CameraInventory.class);
+    final CameraProperties newCameraProperties = mock(CameraProperties.class);
+    camera.cameraDevice = mockCameraDevice;
+    camera.mediaRecorder = mock(MediaRecorder.class);
+    camera.recordingVideo = true;
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.R;
+    when(mockActivity.getSystemService(Context.CAMERA_SERVICE)).thenReturn(mockCameraManager);
+    when(newCameraProperties.getCameraName()).thenReturn("0");
+    when(mockCameraInventory.canOpenConcurrently("1", "0")).thenReturn(true);
+    ArgumentCaptor<CameraDevice.StateCallback> callbackCaptor =
+        ArgumentCaptor.forClass(CameraDevice.StateCallback.class);
+
+    try (MockedStatic<CameraInventory> mockedCameraInventory = mockStatic(CameraInventory.class)) {
+      mockedCameraInventory
+          .when(() -> CameraInventory.getInstance(any()))
+          .thenReturn(mockCameraInventory);
+
+      camera.setDescriptionWhileRecording(newCameraProperties);
+    }
+    verify(mockCameraManager).openCamera(eq("0"), callbackCaptor.capture(), any(Handler.class));
+    camera.close();
+    final CameraDevice mockNewCameraDevice = mock(CameraDevice.class);
+    callbackCaptor.getValue().onOpened(mockNewCameraDevice);
+
+    verify(mockCameraDevice, times(1)).close();
+    verify(mockNewCameraDevice, times(1)).close();
+    assertNull(camera.cameraDevice);
+  }
+
   @Test
   public void startPreview_shouldPullStreamFromVideoRenderer()
       throws InterruptedException, CameraAccessException {
@@ -857,6 +1096,152 @@ public class CameraTest {
         .getSurface(); // stream pulled from regular imageReader's surface.
   }
 
+  @Test
+  public void onTrimMemory_shouldReleaseBuffersAndPauseImageStreamAtConfiguredLevels() {
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    camera.imageStreamReader = mockImageStreamReader;
+
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+    verify(mockImageStreamReader, never()).trimMemory();
+    verify(mockImageStreamReader, never()).setPaused(anyBoolean());
+
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+    verify(mockImageStreamReader, times(1)).trimMemory();
+    verify(mockImageStreamReader, never()).setPaused(anyBoolean());
+
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    verify(mockImageStreamReader, times(2)).trimMemory();
+    verify(mockImageStreamReader, times(1)).setPaused(true);
+
+    camera.onMemoryPressureRelieved();
+    verify(mockImageStreamReader, times(1)).setPaused(false);
+  }
+
+  @Test
+  public void onTrimMemory_shouldDiscardFreePictureBuffersFromApi28() {
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    camera.pictureImageReader = mockPictureImageReader;
+
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.O_MR1;
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+    verify(mockPictureImageReader, never()).discardFreeBuffers();
+
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.P;
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+    verify(mockPictureImageReader, times(1)).discardFreeBuffers();
+  }
+
+  @Test
+  public void onTrimMemory_shouldDoNothingWhenLevelsAreNever() {
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    camera.imageStreamReader = mockImageStreamReader;
+    camera.setMemoryTrimLevels(Camera.NEVER_TRIM_LEVEL, Camera.NEVER_TRIM_LEVEL);
+
+    camera.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+    camera.onMemoryPressureRelieved();
+
+    verify(mockImageStreamReader, never()).trimMemory();
+    verify(mockImageStreamReader, never()).setPaused(anyBoolean());
+  }
+
+  @Test
+  public void startPreviewWithImageStream_shouldOnlyRetargetSupersetSession()
+      throws CameraAccessException {
+    CaptureRequest.Builder mockStreamRequestBuilder = mock(CaptureRequest.Builder.class);
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mockStreamRequestBuilder);
+    CameraDeviceWrapper fakeCamera = spy(new FakeCameraDeviceWrapper(mockRequestBuilders));
+    ImageStreamReader mockImageStreamReader = mock(ImageStreamReader.class);
+    Surface mockStreamSurface = mock(Surface.class);
+    when(mockImageStreamReader.getSurface()).thenReturn(mockStreamSurface);
+    camera.cameraDevice = fakeCamera;
+    camera.imageStreamReader = mockImageStreamReader;
+    camera.supersetSessionActive = true;
+
+    camera.startPreviewWithImageStream(mock(EventChannel.class));
+
+    verify(fakeCamera, never()).createCaptureSession(any());
+    verify(fakeCamera, never()).createCaptureSession(any(), any(), any());
+    verify(fakeCamera).createCaptureRequest(CameraDevice.TEMPLATE_RECORD);
+    verify(mockStreamRequestBuilder).addTarget(mockStreamSurface);
+    verify(mockCaptureSession, never()).close();
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void startPreview_shouldOnlyRetargetSupersetSession()
+      throws CameraAccessException, InterruptedException {
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.M;
+    CaptureRequest.Builder mockPreviewRequestBuilder = mock(CaptureRequest.Builder.class);
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mockPreviewRequestBuilder);
+    CameraDeviceWrapper fakeCamera = spy(new FakeCameraDeviceWrapper(mockRequestBuilders));
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    Surface mockRecorderSurface = mock(Surface.class);
+    camera.cameraDevice = fakeCamera;
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.recorderInputSurface = mockRecorderSurface;
+    camera.supersetSessionActive = true;
+    camera.setSupersetSessionEnabled(true);
+
+    camera.startPreview(null);
+
+    verify(fakeCamera, never()).createCaptureSession(any());
+    verify(fakeCamera, never()).createCaptureSession(any(), any(), any());
+    verify(fakeCamera).createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+    verify(mockPreviewRequestBuilder, never()).addTarget(mockRecorderSurface);
+    verify(mockCaptureSession, times(1)).setRepeatingRequest(any(), any(), any());
+  }
+
+  @Test
+  public void startPreview_shouldFallBackToSessionWithoutZeroShutterLagRingWhenConfigureFails()
+      throws CameraAccessException, InterruptedException {
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.M;
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    List<Integer> sessionOutputCounts = new ArrayList<>();
+    CameraDeviceWrapper fakeCamera =
+        new FakeCameraDeviceWrapper(mockRequestBuilders) {
+          @Override
+          public void createCaptureSession(
+              @NonNull List<Surface> outputs,
+              @NonNull CameraCaptureSession.StateCallback callback,
+              @Nullable Handler handler) {
+            sessionOutputCounts.add(outputs.size());
+            if (outputs.size() > 2) {
+              callback.onConfigureFailed(mockCaptureSession);
+            } else {
+              callback.onConfigured(mockCaptureSession);
+            }
+          }
+        };
+    ImageReader mockPictureImageReader = mock(ImageReader.class);
+    when(mockPictureImageReader.getSurface()).thenReturn(mock(Surface.class));
+    ImageReader mockRingImageReader = mock(ImageReader.class);
+    when(mockRingImageReader.getSurface()).thenReturn(mock(Surface.class));
+    Size mockSize = mock(Size.class);
+    ResolutionFeature resolutionFeature = mockCameraFeatureFactory.mockResolutionFeature;
+    when(resolutionFeature.getPreviewSize()).thenReturn(mockSize);
+    when(resolutionFeature.getCaptureSize()).thenReturn(mockSize);
+    camera.cameraDevice = fakeCamera;
+    camera.pictureImageReader = mockPictureImageReader;
+    camera.setZeroShutterLagEnabled(true);
+
+    try (MockedStatic<ImageReader> mockedImageReader = mockStatic(ImageReader.class)) {
+      mockedImageReader
+          .when(() -> ImageReader.newInstance(anyInt(), anyInt(), anyInt(), anyInt()))
+          .thenReturn(mockRingImageReader);
+      camera.startPreview(null);
+    }
+
+    assertEquals(Arrays.asList(3, 2), sessionOutputCounts);
+    assertFalse(camera.isZeroShutterLagActive());
+    verify(mockRingImageReader, times(1)).close();
+    verify(mockDartMessenger, never()).sendCameraErrorEvent(any());
+  }
+
   @Test
   public void setDescriptionWhileRecording_shouldErrorWhenNotRecording() {
     camera.recordingVideo = false;
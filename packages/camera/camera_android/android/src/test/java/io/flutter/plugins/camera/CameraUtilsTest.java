@@ -5,6 +5,7 @@
 package io.flutter.plugins.camera;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
@@ -22,6 +23,9 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryPolicy;
+import io.flutter.plugins.camera.media.ImageStreamRegion;
+import io.flutter.plugins.camera.media.ImageStreamTransport;
 import java.util.List;
 import org.junit.Test;
 
@@ -171,4 +175,70 @@ public class CameraUtilsTest {
     assertEquals(
         CameraUtils.flashModeFromPigeon(Messages.PlatformFlashMode.TORCH), FlashMode.torch);
   }
+
+  @Test
+  public void imageStreamDeliveryPolicyFromPigeonTest() {
+    assertEquals(
+        CameraUtils.imageStreamDeliveryPolicyFromPigeon(
+            Messages.PlatformImageStreamDeliveryPolicy.LATEST_ONLY),
+        ImageStreamDeliveryPolicy.LATEST_ONLY);
+    assertEquals(
+        CameraUtils.imageStreamDeliveryPolicyFromPigeon(
+            Messages.PlatformImageStreamDeliveryPolicy.BOUNDED_QUEUE),
+        ImageStreamDeliveryPolicy.BOUNDED_QUEUE);
+    assertEquals(
+        CameraUtils.imageStreamDeliveryPolicyFromPigeon(
+            Messages.PlatformImageStreamDeliveryPolicy.DROP_WHILE_BUSY),
+        ImageStreamDeliveryPolicy.DROP_WHILE_BUSY);
+  }
+
+  @Test
+  public void imageStreamTransportFromPigeonTest() {
+    assertEquals(
+        CameraUtils.imageStreamTransportFromPigeon(
+            Messages.PlatformImageStreamTransport.MESSAGE_CHANNEL),
+        ImageStreamTransport.MESSAGE_CHANNEL);
+    assertEquals(
+        CameraUtils.imageStreamTransportFromPigeon(
+            Messages.PlatformImageStreamTransport.SHARED_MEMORY),
+        ImageStreamTransport.SHARED_MEMORY);
+  }
+
+  @Test
+  public void pictureDestinationFromPigeonTest() {
+    assertEquals(
+        CameraUtils.pictureDestinationFromPigeon(Messages.PlatformPictureDestination.CACHE_FILE),
+        PictureDestination.CACHE_FILE);
+    assertEquals(
+        CameraUtils.pictureDestinationFromPigeon(Messages.PlatformPictureDestination.MEDIA_STORE),
+        PictureDestination.MEDIA_STORE);
+  }
+
+  @Test
+  public void imageStreamRegionFromPigeonTest() {
+    ImageStreamRegion cropped =
+        CameraUtils.imageStreamRegionFromPigeon(
+            new Messages.PlatformImageStreamRegion.Builder()
+                .setCropLeft(10L)
+                .setCropTop(20L)
+                .setCropWidth(300L)
+                .setCropHeight(200L)
+                .setDownsampleFactor(2L)
+                .setLumaOnly(true)
+                .build());
+    assertEquals(10, cropped.getCropLeft());
+    assertEquals(20, cropped.getCropTop());
+    assertEquals(300, cropped.getCropWidth());
+    assertEquals(200, cropped.getCropHeight());
+    assertEquals(2, cropped.getDownsampleFactor());
+    assertTrue(cropped.isLumaOnly());
+
+    ImageStreamRegion full =
+        CameraUtils.imageStreamRegionFromPigeon(
+            new Messages.PlatformImageStreamRegion.Builder()
+                .setDownsampleFactor(1L)
+                .setLumaOnly(false)
+                .build());
+    assertTrue(full.isFullFrame());
+  }
 }
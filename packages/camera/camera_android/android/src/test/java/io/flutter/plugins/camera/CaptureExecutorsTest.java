@@ -0,0 +1,100 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class CaptureExecutorsTest {
+  private final CaptureExecutors captureExecutors = new CaptureExecutors(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    captureExecutors.shutdown();
+  }
+
+  private Runnable blockingTask(CountDownLatch done) {
+    return () -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      done.countDown();
+    };
+  }
+
+  @Test
+  public void executeProcessing_tracksQueueDepth() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(2);
+
+    captureExecutors.executeProcessing(blockingTask(done));
+    captureExecutors.executeProcessing(blockingTask(done));
+
+    Messages.PlatformCaptureExecutorStats stats = captureExecutors.getStats();
+    assertEquals(2L, (long) stats.getProcessingQueueDepth());
+    assertEquals(2L, (long) stats.getProcessingMaxQueueDepth());
+    assertEquals(0L, (long) stats.getIoQueueDepth());
+
+    release.countDown();
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    // The depth is updated just after each task returns.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (captureExecutors.getStats().getProcessingCompletedTasks() < 2
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    stats = captureExecutors.getStats();
+    assertEquals(0L, (long) stats.getProcessingQueueDepth());
+    assertEquals(2L, (long) stats.getProcessingMaxQueueDepth());
+    assertEquals(2L, (long) stats.getProcessingCompletedTasks());
+  }
+
+  @Test
+  public void executeProcessing_rejectsTasksWhenQueueIsFull() {
+    CountDownLatch done = new CountDownLatch(CaptureExecutors.MAX_QUEUED_PROCESSING_TASKS + 1);
+    for (int i = 0; i <= CaptureExecutors.MAX_QUEUED_PROCESSING_TASKS; i++) {
+      captureExecutors.executeProcessing(blockingTask(done));
+    }
+
+    assertThrows(
+        RejectedExecutionException.class, () -> captureExecutors.executeProcessing(() -> {}));
+    assertEquals(
+        CaptureExecutors.MAX_QUEUED_PROCESSING_TASKS + 1L,
+        (long) captureExecutors.getStats().getProcessingQueueDepth());
+  }
+
+  @Test
+  public void executeIo_runsTasksInOrder() throws InterruptedException {
+    List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch done = new CountDownLatch(3);
+
+    for (int i = 0; i < 3; i++) {
+      final int index = i;
+      captureExecutors.executeIo(
+          () -> {
+            order.add(index);
+            done.countDown();
+          });
+    }
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(0, 1, 2), order);
+  }
+}
@@ -0,0 +1,34 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CaptureFilesTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void create_createsEmptyFilesWithDistinctNames() throws IOException {
+    File directory = temporaryFolder.getRoot();
+
+    File first = CaptureFiles.create(directory, "CAP", ".jpg");
+    File second = CaptureFiles.create(directory, "CAP", ".jpg");
+
+    assertNotEquals(first, second);
+    assertEquals(directory, first.getParentFile());
+    assertTrue(first.getName().startsWith("CAP"));
+    assertTrue(first.getName().endsWith(".jpg"));
+    assertTrue(first.isFile());
+    assertEquals(0, first.length());
+  }
+}
@@ -0,0 +1,101 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class CaptureMetricsTest {
+  private final CaptureMetrics captureMetrics = new CaptureMetrics();
+
+  private Messages.PlatformCaptureStageMetrics getStage(Messages.PlatformCaptureStage stage) {
+    for (Messages.PlatformCaptureStageMetrics metrics : captureMetrics.getMetrics().getStages()) {
+      if (metrics.getStage() == stage) {
+        return metrics;
+      }
+    }
+    throw new AssertionError("No metrics for " + stage);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void trace_recordsStagesAndTotalOnDelivery() {
+    Messages.Result<String> mockResult = mock(Messages.Result.class);
+    CaptureMetrics.Trace trace = captureMetrics.startTrace();
+    Messages.Result<String> tracedResult = trace.wrap(mockResult);
+
+    ShadowSystemClock.advanceBy(Duration.ofMillis(3));
+    trace.mark(Messages.PlatformCaptureStage.AUTO_FOCUS);
+    ShadowSystemClock.advanceBy(Duration.ofMillis(10));
+    trace.mark(Messages.PlatformCaptureStage.PROCESSING);
+    ShadowSystemClock.advanceBy(Duration.ofMillis(1));
+    tracedResult.success("path");
+
+    verify(mockResult, times(1)).success("path");
+    Messages.PlatformCaptureStageMetrics autoFocus =
+        getStage(Messages.PlatformCaptureStage.AUTO_FOCUS);
+    assertEquals(1L, (long) autoFocus.getCount());
+    assertEquals(3000L, (long) autoFocus.getTotalMicros());
+    // 3 ms falls in the [2 ms, 4 ms) bucket.
+    assertEquals(1L, (long) autoFocus.getBucketCounts().get(2));
+    assertEquals(1000L, (long) getStage(Messages.PlatformCaptureStage.DELIVERY).getMinMicros());
+    assertEquals(14000L, (long) getStage(Messages.PlatformCaptureStage.TOTAL).getMaxMicros());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void trace_stopsRecordingOnError() {
+    Messages.Result<String> mockResult = mock(Messages.Result.class);
+    CaptureMetrics.Trace trace = captureMetrics.startTrace();
+    Messages.FlutterError error = new Messages.FlutterError("captureFailed", "failed", null);
+
+    trace.mark(Messages.PlatformCaptureStage.PRECAPTURE);
+    trace.wrap(mockResult).error(error);
+    trace.mark(Messages.PlatformCaptureStage.PROCESSING);
+
+    verify(mockResult, times(1)).error(error);
+    List<Messages.PlatformCaptureStageMetrics> stages = captureMetrics.getMetrics().getStages();
+    assertEquals(1, stages.size());
+    assertEquals(Messages.PlatformCaptureStage.PRECAPTURE, stages.get(0).getStage());
+  }
+
+  @Test
+  public void getMetrics_countsLongDurationsInLastBucket() {
+    CaptureMetrics.Trace trace = captureMetrics.startTrace();
+
+    ShadowSystemClock.advanceBy(Duration.ofSeconds(10));
+    trace.mark(Messages.PlatformCaptureStage.SENSOR_EXPOSURE);
+
+    Messages.PlatformCaptureMetrics metrics = captureMetrics.getMetrics();
+    List<Long> bucketCounts = metrics.getStages().get(0).getBucketCounts();
+    assertEquals(
+        CaptureMetrics.BUCKET_UPPER_BOUNDS_MICROS.length,
+        metrics.getBucketUpperBoundsMicros().size());
+    assertEquals(metrics.getBucketUpperBoundsMicros().size() + 1, bucketCounts.size());
+    assertEquals(1L, (long) bucketCounts.get(bucketCounts.size() - 1));
+    assertEquals(1000L, (long) metrics.getBucketUpperBoundsMicros().get(0));
+  }
+
+  @Test
+  public void recordCaptureSequence_countsFastAndSequencedCaptures() {
+    captureMetrics.recordCaptureSequence(true);
+    captureMetrics.recordCaptureSequence(false);
+    captureMetrics.recordCaptureSequence(true);
+
+    Messages.PlatformCaptureMetrics metrics = captureMetrics.getMetrics();
+    assertEquals(2L, (long) metrics.getFastCaptureCount());
+    assertEquals(1L, (long) metrics.getSequencedCaptureCount());
+  }
+}
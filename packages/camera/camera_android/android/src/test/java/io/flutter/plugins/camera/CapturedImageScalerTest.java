@@ -0,0 +1,58 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import org.junit.Test;
+
+public class CapturedImageScalerTest {
+  @Test
+  public void sampleSize_isLargestPowerOfTwoThatKeepsRequestedSize() {
+    assertEquals(1, CapturedImageScaler.sampleSize(4000, 4000));
+    assertEquals(1, CapturedImageScaler.sampleSize(4000, 2001));
+    assertEquals(2, CapturedImageScaler.sampleSize(4000, 2000));
+    assertEquals(2, CapturedImageScaler.sampleSize(4000, 1280));
+    assertEquals(8, CapturedImageScaler.sampleSize(4000, 256));
+  }
+
+  @Test
+  public void scaledLength_keepsAspectRatio() {
+    assertEquals(1280, CapturedImageScaler.scaledLength(4000, 4000, 1280));
+    assertEquals(960, CapturedImageScaler.scaledLength(3000, 4000, 1280));
+    assertEquals(1, CapturedImageScaler.scaledLength(1, 4000, 256));
+  }
+
+  @Test
+  public void scale_withoutOptionsReturnsCaptureAsIs() throws IOException {
+    byte[] jpeg = {1, 2, 3};
+
+    Messages.PlatformCapturedImageData data = CapturedImageScaler.scale(jpeg, 4, 3, null);
+
+    assertSame(jpeg, data.getBytes());
+    assertEquals(4L, (long) data.getWidth());
+    assertEquals(3L, (long) data.getHeight());
+    assertNull(data.getThumbnailBytes());
+  }
+
+  @Test
+  public void scale_keepsCaptureThatAlreadyFits() throws IOException {
+    byte[] jpeg = {1, 2, 3};
+    Messages.PlatformCaptureToMemoryOptions options =
+        new Messages.PlatformCaptureToMemoryOptions.Builder()
+            .setMaxDimension(1280L)
+            .setQuality(90L)
+            .build();
+
+    Messages.PlatformCapturedImageData data = CapturedImageScaler.scale(jpeg, 640, 480, options);
+
+    assertSame(jpeg, data.getBytes());
+    assertEquals(640L, (long) data.getWidth());
+    assertNull(data.getThumbnailBytes());
+  }
+}
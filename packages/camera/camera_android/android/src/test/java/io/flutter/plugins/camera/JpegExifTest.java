@@ -0,0 +1,100 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.media.ExifInterface;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class JpegExifTest {
+  /** A start of image marker, a comment segment and an end of image marker. */
+  private static final byte[] JPEG = {
+    (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xFE, 0, 3, 'x', (byte) 0xFF, (byte) 0xD9
+  };
+
+  /** A JPEG with a little endian EXIF segment whose orientation is 6. */
+  private static final byte[] LITTLE_ENDIAN_JPEG = {
+    (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0, 34,
+    'E', 'x', 'i', 'f', 0, 0,
+    'I', 'I', 42, 0, 8, 0, 0, 0,
+    1, 0,
+    0x12, 0x01, 3, 0, 1, 0, 0, 0, 6, 0, 0, 0,
+    0, 0, 0, 0,
+    (byte) 0xFF, (byte) 0xD9
+  };
+
+  private static int readOrientation(byte[] jpeg) throws IOException {
+    ExifInterface exif = new ExifInterface(new ByteArrayInputStream(jpeg));
+    return exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_UNDEFINED);
+  }
+
+  @Test
+  public void getOrientation_readsLittleEndianTag() {
+    assertEquals(
+        ExifInterface.ORIENTATION_ROTATE_90, JpegExif.getOrientation(LITTLE_ENDIAN_JPEG));
+  }
+
+  @Test
+  public void getOrientation_returnsUndefinedWithoutTag() {
+    assertEquals(JpegExif.ORIENTATION_UNDEFINED, JpegExif.getOrientation(JPEG));
+    assertEquals(JpegExif.ORIENTATION_UNDEFINED, JpegExif.getOrientation(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  public void setOrientation_rewritesTagInPlace() throws IOException {
+    byte[] jpeg = LITTLE_ENDIAN_JPEG.clone();
+
+    assertTrue(JpegExif.setOrientation(jpeg, ExifInterface.ORIENTATION_NORMAL));
+
+    assertEquals(LITTLE_ENDIAN_JPEG.length, jpeg.length);
+    assertEquals(ExifInterface.ORIENTATION_NORMAL, readOrientation(jpeg));
+  }
+
+  @Test
+  public void setOrientation_returnsFalseWithoutTag() {
+    byte[] jpeg = JPEG.clone();
+
+    assertFalse(JpegExif.setOrientation(jpeg, ExifInterface.ORIENTATION_ROTATE_90));
+
+    assertArrayEquals(JPEG, jpeg);
+  }
+
+  @Test
+  public void withOrientation_insertsReadableSegment() throws IOException {
+    byte[] tagged = JpegExif.withOrientation(JPEG, ExifInterface.ORIENTATION_ROTATE_90);
+
+    assertNotSame(JPEG, tagged);
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_90, readOrientation(tagged));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_90, JpegExif.getOrientation(tagged));
+  }
+
+  @Test
+  public void withOrientation_rewritesExistingTag() {
+    byte[] jpeg = LITTLE_ENDIAN_JPEG.clone();
+
+    byte[] tagged = JpegExif.withOrientation(jpeg, ExifInterface.ORIENTATION_ROTATE_180);
+
+    assertSame(jpeg, tagged);
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_180, JpegExif.getOrientation(tagged));
+  }
+
+  @Test
+  public void withOrientation_leavesNonJpegDataUntouched() {
+    byte[] data = {1, 2, 3};
+
+    assertSame(data, JpegExif.withOrientation(data, ExifInterface.ORIENTATION_ROTATE_90));
+  }
+}
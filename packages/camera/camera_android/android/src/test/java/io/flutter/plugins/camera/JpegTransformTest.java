@@ -0,0 +1,180 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.junit.Test;
+
+public class JpegTransformTest {
+  /** A 40x24 baseline JPEG with 4:2:0 chroma subsampling, so its MCUs are 16x16. */
+  private static final byte[] JPEG =
+      Base64.getDecoder()
+          .decode(
+              "/9j/4AAQSkZJRgABAgAAAQABAAD/2wBDAAgGBgcGBQgHBwcJCQgKDBQNDAsLDBkSEw8UHRof"
+                  + "Hh0aHBwgJC4nICIsIxwcKDcpLDAxNDQ0Hyc5PTgyPC4zNDL/2wBDAQkJCQwLDBgNDRgyIRwh"
+                  + "MjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjIyMjL/wAAR"
+                  + "CAAYACgDASIAAhEBAxEB/8QAHwAAAQUBAQEBAQEAAAAAAAAAAAECAwQFBgcICQoL/8QAtRAA"
+                  + "AgEDAwIEAwUFBAQAAAF9AQIDAAQRBRIhMUEGE1FhByJxFDKBkaEII0KxwRVS0fAkM2JyggkK"
+                  + "FhcYGRolJicoKSo0NTY3ODk6Q0RFRkdISUpTVFVWV1hZWmNkZWZnaGlqc3R1dnd4eXqDhIWG"
+                  + "h4iJipKTlJWWl5iZmqKjpKWmp6ipqrKztLW2t7i5usLDxMXGx8jJytLT1NXW19jZ2uHi4+Tl"
+                  + "5ufo6erx8vP09fb3+Pn6/8QAHwEAAwEBAQEBAQEBAQAAAAAAAAECAwQFBgcICQoL/8QAtREA"
+                  + "AgECBAQDBAcFBAQAAQJ3AAECAxEEBSExBhJBUQdhcRMiMoEIFEKRobHBCSMzUvAVYnLRChYk"
+                  + "NOEl8RcYGRomJygpKjU2Nzg5OkNERUZHSElKU1RVVldYWVpjZGVmZ2hpanN0dXZ3eHl6goOE"
+                  + "hYaHiImKkpOUlZaXmJmaoqOkpaanqKmqsrO0tba3uLm6wsPExcbHyMnK0tPU1dbX2Nna4uPk"
+                  + "5ebn6Onq8vP09fb3+Pn6/9oADAMBAAIRAxEAPwDxyDTP9mtGHTOny10MGmf7NaMGmf7Nc0a5"
+                  + "yYTMvM56HTOny1ow6Z0+Wuhg0z/ZrRh0zp8tbxrn0+EzLzOfh0zp8tFdjDpnT5aK2Vc+ipZl"
+                  + "7u5mw6Z0+WtGHTOny0UV85GbPwHCV59zRg0z/ZrRh0z/AGaKK3jNn0+Erz7mjBpnT5aKKK2U"
+                  + "2fRUq8+Xc//Z");
+
+  @Test
+  public void rotate_swapsDimensionsAndTrimsPartialMcus() {
+    JpegTransform.RotatedJpeg rotated90 = JpegTransform.rotate(JPEG, 90);
+    JpegTransform.RotatedJpeg rotated180 = JpegTransform.rotate(JPEG, 180);
+    JpegTransform.RotatedJpeg rotated270 = JpegTransform.rotate(JPEG, 270);
+
+    assertNotNull(rotated90);
+    assertEquals(16, rotated90.width);
+    assertEquals(40, rotated90.height);
+    assertNotNull(rotated180);
+    assertEquals(32, rotated180.width);
+    assertEquals(16, rotated180.height);
+    assertNotNull(rotated270);
+    assertEquals(24, rotated270.width);
+    assertEquals(32, rotated270.height);
+  }
+
+  @Test
+  public void rotate_twiceByQuarterTurnMatchesHalfTurn() {
+    byte[] halfTurn = JpegTransform.rotate(JPEG, 180).bytes;
+
+    byte[] clockwise = JpegTransform.rotate(JpegTransform.rotate(JPEG, 90).bytes, 90).bytes;
+    byte[] counterClockwise =
+        JpegTransform.rotate(JpegTransform.rotate(JPEG, 270).bytes, 270).bytes;
+
+    assertArrayEquals(halfTurn, clockwise);
+    assertArrayEquals(halfTurn, counterClockwise);
+  }
+
+  @Test
+  public void rotate_rotatesPixels() throws IOException {
+    // ImageIO encodes color images with 4:2:0 chroma subsampling, so the 40x24 image has partial
+    // MCUs on its right and bottom edges.
+    byte[] jpeg = encodeJpeg(createGradientImage(40, 24));
+    BufferedImage original = decodeJpeg(jpeg);
+
+    for (int degrees : new int[] {90, 180, 270}) {
+      JpegTransform.RotatedJpeg rotated = JpegTransform.rotate(jpeg, degrees);
+      assertNotNull(rotated);
+      BufferedImage actual = decodeJpeg(rotated.bytes);
+      assertEquals(rotated.width, actual.getWidth());
+      assertEquals(rotated.height, actual.getHeight());
+
+      for (int y = 0; y < rotated.height; y++) {
+        for (int x = 0; x < rotated.width; x++) {
+          // Partial MCUs are trimmed from the right and bottom of the original, so every rotated
+          // pixel comes from the top left of the original.
+          int originalX;
+          int originalY;
+          if (degrees == 90) {
+            originalX = y;
+            originalY = rotated.width - 1 - x;
+          } else if (degrees == 180) {
+            originalX = rotated.width - 1 - x;
+            originalY = rotated.height - 1 - y;
+          } else {
+            originalX = rotated.height - 1 - y;
+            originalY = x;
+          }
+          assertPixelsMatch(
+              degrees + " degrees at " + x + "," + y,
+              original.getRGB(originalX, originalY),
+              actual.getRGB(x, y));
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates an image whose channels change in different directions, so that a block that is
+   * mirrored or transposed the wrong way differs from the rotated original.
+   */
+  private static BufferedImage createGradientImage(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int red = 40 + x * 4;
+        int green = 40 + y * 7;
+        int blue = 200 - (x + y) * 2;
+        image.setRGB(x, y, (red << 16) | (green << 8) | blue);
+      }
+    }
+    return image;
+  }
+
+  private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ImageWriteParam param = writer.getDefaultWriteParam();
+    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+    param.setCompressionQuality(0.95f);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(stream);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+
+  private static BufferedImage decodeJpeg(byte[] jpeg) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(jpeg));
+  }
+
+  /**
+   * Checks that two pixels match within the error that decoding adds, since chroma is upsampled
+   * from neighbors that differ once the image is rotated.
+   */
+  private static void assertPixelsMatch(String message, int expected, int actual) {
+    for (int shift = 0; shift < 24; shift += 8) {
+      int difference = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+      assertTrue(message + ": " + Integer.toHexString(actual), difference <= 8);
+    }
+  }
+
+  @Test
+  public void rotate_returnsNullForUnsupportedData() {
+    byte[] progressive = JPEG.clone();
+    for (int i = 0; i + 1 < progressive.length; i++) {
+      if (progressive[i] == (byte) 0xFF && progressive[i + 1] == (byte) 0xC0) {
+        progressive[i + 1] = (byte) 0xC2;
+        break;
+      }
+    }
+
+    assertNull(JpegTransform.rotate(progressive, 90));
+    assertNull(JpegTransform.rotate(new byte[] {1, 2, 3}, 90));
+  }
+
+  @Test
+  public void rotate_rejectsOtherAngles() {
+    assertThrows(IllegalArgumentException.class, () -> JpegTransform.rotate(JPEG, 45));
+  }
+}
@@ -0,0 +1,149 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.media.Image;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Environment;
+import android.os.ParcelFileDescriptor;
+import android.provider.MediaStore;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MediaStoreImageSaverTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final byte[] JPEG = {0x42, 0x00, 0x13};
+  private static final Uri ITEM_URI = Uri.parse("content://media/external/images/media/7");
+
+  private final int sdkVersion = SdkCapabilityChecker.SDK_VERSION;
+  private Image mockImage;
+  private ContentResolver mockContentResolver;
+  private ImageSaver.Callback mockCallback;
+  private File itemFile;
+
+  @Before
+  public void before() throws IOException {
+    Image.Plane mockPlane = mock(Image.Plane.class);
+    when(mockPlane.getBuffer()).thenReturn(ByteBuffer.wrap(JPEG));
+    mockImage = mock(Image.class);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {mockPlane});
+
+    itemFile = temporaryFolder.newFile();
+    mockContentResolver = mock(ContentResolver.class);
+    when(mockContentResolver.insert(eq(MediaStore.Images.Media.EXTERNAL_CONTENT_URI), any()))
+        .thenReturn(ITEM_URI);
+    when(mockContentResolver.openFileDescriptor(ITEM_URI, "w"))
+        .thenAnswer(
+            invocation ->
+                ParcelFileDescriptor.open(itemFile, ParcelFileDescriptor.MODE_WRITE_ONLY));
+    mockCallback = mock(ImageSaver.Callback.class);
+  }
+
+  @After
+  public void after() {
+    SdkCapabilityChecker.SDK_VERSION = sdkVersion;
+  }
+
+  private MediaStoreImageSaver createSaver() {
+    return new MediaStoreImageSaver(
+        mockImage, mockContentResolver, "IMG_1.jpg", false, mockCallback);
+  }
+
+  @Test
+  public void run_writesPendingItemAndPublishesIt() throws IOException {
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.Q;
+
+    createSaver().run();
+
+    ArgumentCaptor<ContentValues> insertedCaptor = ArgumentCaptor.forClass(ContentValues.class);
+    verify(mockContentResolver)
+        .insert(eq(MediaStore.Images.Media.EXTERNAL_CONTENT_URI), insertedCaptor.capture());
+    ContentValues inserted = insertedCaptor.getValue();
+    assertEquals("IMG_1.jpg", inserted.getAsString(MediaStore.MediaColumns.DISPLAY_NAME));
+    assertEquals("image/jpeg", inserted.getAsString(MediaStore.MediaColumns.MIME_TYPE));
+    assertEquals(
+        Environment.DIRECTORY_PICTURES,
+        inserted.getAsString(MediaStore.MediaColumns.RELATIVE_PATH));
+    assertEquals(1, (int) inserted.getAsInteger(MediaStore.MediaColumns.IS_PENDING));
+
+    ArgumentCaptor<ContentValues> updatedCaptor = ArgumentCaptor.forClass(ContentValues.class);
+    verify(mockContentResolver).update(eq(ITEM_URI), updatedCaptor.capture(), isNull(), isNull());
+    ContentValues updated = updatedCaptor.getValue();
+    assertEquals(0, (int) updated.getAsInteger(MediaStore.MediaColumns.IS_PENDING));
+
+    assertArrayEquals(JPEG, Files.readAllBytes(itemFile.toPath()));
+    verify(mockCallback, times(1)).onComplete(ITEM_URI.toString());
+    verify(mockCallback, never()).onError(any(), any());
+    verify(mockImage, times(1)).close();
+  }
+
+  @Test
+  public void run_doesNotMarkItemPendingBeforeAndroid10() throws IOException {
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.P;
+
+    createSaver().run();
+
+    ArgumentCaptor<ContentValues> insertedCaptor = ArgumentCaptor.forClass(ContentValues.class);
+    verify(mockContentResolver)
+        .insert(eq(MediaStore.Images.Media.EXTERNAL_CONTENT_URI), insertedCaptor.capture());
+    assertFalse(insertedCaptor.getValue().containsKey(MediaStore.MediaColumns.IS_PENDING));
+    verify(mockContentResolver, never()).update(any(), any(), any(), any());
+    assertArrayEquals(JPEG, Files.readAllBytes(itemFile.toPath()));
+    verify(mockCallback, times(1)).onComplete(ITEM_URI.toString());
+  }
+
+  @Test
+  public void run_reportsErrorWhenItemCannotBeInserted() {
+    when(mockContentResolver.insert(any(), any())).thenReturn(null);
+
+    createSaver().run();
+
+    verify(mockCallback, times(1))
+        .onError("IOError", "Failed creating a media store item for the image");
+    verify(mockCallback, never()).onComplete(any());
+    verify(mockImage, times(1)).close();
+  }
+
+  @Test
+  public void run_deletesItemWhenItCannotBeWritten() throws FileNotFoundException {
+    when(mockContentResolver.openFileDescriptor(ITEM_URI, "w"))
+        .thenThrow(new FileNotFoundException());
+
+    createSaver().run();
+
+    verify(mockContentResolver, times(1)).delete(ITEM_URI, null, null);
+    verify(mockCallback, times(1)).onError("IOError", "Failed saving image");
+    verify(mockCallback, never()).onComplete(any());
+    verify(mockImage, times(1)).close();
+  }
+}
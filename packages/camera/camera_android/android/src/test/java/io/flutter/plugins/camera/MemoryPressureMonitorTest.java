@@ -0,0 +1,65 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MemoryPressureMonitorTest {
+  private final Activity mockActivity = mock(Activity.class);
+  private final Application mockApplication = mock(Application.class);
+  private final MemoryPressureMonitor.Listener mockListener =
+      mock(MemoryPressureMonitor.Listener.class);
+
+  private MemoryPressureMonitor monitor;
+
+  @Before
+  public void before() {
+    when(mockActivity.getApplication()).thenReturn(mockApplication);
+    monitor = new MemoryPressureMonitor(mockActivity, mockListener);
+  }
+
+  @Test
+  public void startAndStop_registerAndUnregisterCallbacks() {
+    monitor.start();
+    monitor.stop();
+
+    verify(mockApplication, times(1)).registerComponentCallbacks(monitor);
+    verify(mockApplication, times(1)).registerActivityLifecycleCallbacks(monitor);
+    verify(mockApplication, times(1)).unregisterComponentCallbacks(monitor);
+    verify(mockApplication, times(1)).unregisterActivityLifecycleCallbacks(monitor);
+  }
+
+  @Test
+  public void onLowMemory_forwardsCompleteTrimLevel() {
+    monitor.onLowMemory();
+
+    verify(mockListener, times(1)).onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+  }
+
+  @Test
+  public void onActivityResumed_relievesPressureOnlyAfterTrim() {
+    monitor.onActivityResumed(mockActivity);
+    verify(mockListener, never()).onMemoryPressureRelieved();
+
+    monitor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    monitor.onActivityResumed(mock(Activity.class));
+    verify(mockListener, never()).onMemoryPressureRelieved();
+
+    monitor.onActivityResumed(mockActivity);
+    monitor.onActivityResumed(mockActivity);
+    verify(mockListener, times(1)).onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    verify(mockListener, times(1)).onMemoryPressureRelieved();
+  }
+}
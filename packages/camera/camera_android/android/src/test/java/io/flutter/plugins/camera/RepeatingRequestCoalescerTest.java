@@ -0,0 +1,113 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Handler;
+import android.os.Looper;
+import io.flutter.plugins.camera.features.CameraFeature;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RepeatingRequestCoalescerTest {
+  private final List<List<CameraFeature<?>>> submittedFeatures = new ArrayList<>();
+  private final List<Runnable> submittedSuccesses = new ArrayList<>();
+  private final List<ErrorCallback> submittedErrors = new ArrayList<>();
+  private final RepeatingRequestCoalescer coalescer =
+      new RepeatingRequestCoalescer(
+          new Handler(Looper.getMainLooper()),
+          (features, onSuccess, onError) -> {
+            submittedFeatures.add(new ArrayList<>(features));
+            submittedSuccesses.add(onSuccess);
+            submittedErrors.add(onError);
+          });
+
+  @Test
+  public void update_submitsFirstUpdateRightAway() {
+    CameraFeature<?> zoom = mock(CameraFeature.class);
+    Runnable onApplied = mock(Runnable.class);
+
+    coalescer.update(zoom, onApplied, mock(ErrorCallback.class));
+
+    assertEquals(Arrays.asList(Arrays.asList(zoom)), submittedFeatures);
+    submittedSuccesses.get(0).run();
+    verify(onApplied, times(1)).run();
+  }
+
+  @Test
+  public void update_coalescesUpdatesWithinFrameInterval() {
+    CameraFeature<?> zoom = mock(CameraFeature.class);
+    CameraFeature<?> exposure = mock(CameraFeature.class);
+    Runnable firstZoomApplied = mock(Runnable.class);
+    Runnable secondZoomApplied = mock(Runnable.class);
+    Runnable thirdZoomApplied = mock(Runnable.class);
+    Runnable exposureApplied = mock(Runnable.class);
+
+    coalescer.update(zoom, firstZoomApplied, mock(ErrorCallback.class));
+    coalescer.update(zoom, secondZoomApplied, mock(ErrorCallback.class));
+    coalescer.update(exposure, exposureApplied, mock(ErrorCallback.class));
+    coalescer.update(zoom, thirdZoomApplied, mock(ErrorCallback.class));
+    assertEquals(1, submittedFeatures.size());
+
+    shadowOf(Looper.getMainLooper())
+        .idleFor(Duration.ofMillis(RepeatingRequestCoalescer.DEFAULT_FRAME_INTERVAL_MILLIS));
+
+    assertEquals(2, submittedFeatures.size());
+    assertEquals(Arrays.asList(zoom, exposure), submittedFeatures.get(1));
+    submittedSuccesses.get(1).run();
+    verify(firstZoomApplied, never()).run();
+    verify(secondZoomApplied, times(1)).run();
+    verify(exposureApplied, times(1)).run();
+    verify(thirdZoomApplied, times(1)).run();
+  }
+
+  @Test
+  public void update_failsEveryCoalescedUpdateWithTheRequest() {
+    CameraFeature<?> zoom = mock(CameraFeature.class);
+    ErrorCallback firstError = mock(ErrorCallback.class);
+    ErrorCallback secondError = mock(ErrorCallback.class);
+
+    coalescer.update(zoom, mock(Runnable.class), mock(ErrorCallback.class));
+    coalescer.update(zoom, mock(Runnable.class), firstError);
+    coalescer.update(zoom, mock(Runnable.class), secondError);
+    coalescer.flush();
+
+    submittedErrors.get(1).onError("cameraAccess", "Camera is closed");
+    verify(firstError, times(1)).onError("cameraAccess", "Camera is closed");
+    verify(secondError, times(1)).onError("cameraAccess", "Camera is closed");
+  }
+
+  @Test
+  public void failAll_failsUpdatesThatWereNotSubmitted() {
+    CameraFeature<?> zoom = mock(CameraFeature.class);
+    ErrorCallback submittedError = mock(ErrorCallback.class);
+    Runnable pendingApplied = mock(Runnable.class);
+    ErrorCallback pendingError = mock(ErrorCallback.class);
+
+    coalescer.update(zoom, mock(Runnable.class), submittedError);
+    coalescer.update(zoom, pendingApplied, pendingError);
+    coalescer.failAll("cameraAccess", "The camera was closed.");
+    shadowOf(Looper.getMainLooper())
+        .idleFor(Duration.ofMillis(RepeatingRequestCoalescer.DEFAULT_FRAME_INTERVAL_MILLIS));
+
+    assertEquals(1, submittedFeatures.size());
+    verify(submittedError, never()).onError(any(), any());
+    verify(pendingApplied, never()).run();
+    verify(pendingError, times(1)).onError("cameraAccess", "The camera was closed.");
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Duration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class StartupTraceTest {
+  private final StartupTrace startupTrace = new StartupTrace();
+
+  @Test
+  public void toPigeon_reportsStagesFromOpenRequest() {
+    startupTrace.start();
+    ShadowSystemClock.advanceBy(Duration.ofMillis(120));
+    startupTrace.markDeviceOpened();
+    ShadowSystemClock.advanceBy(Duration.ofMillis(80));
+    startupTrace.markSessionConfigured();
+
+    Messages.PlatformStartupTrace trace = startupTrace.toPigeon();
+    assertEquals(120000L, (long) trace.getDeviceOpenedMicros());
+    assertEquals(200000L, (long) trace.getSessionConfiguredMicros());
+    assertNull(trace.getFirstFrameMicros());
+  }
+
+  @Test
+  public void mark_keepsFirstTimeEachStageIsReached() {
+    startupTrace.start();
+    ShadowSystemClock.advanceBy(Duration.ofMillis(10));
+    startupTrace.markFirstFrame();
+    ShadowSystemClock.advanceBy(Duration.ofMillis(10));
+    startupTrace.markFirstFrame();
+
+    assertEquals(10000L, (long) startupTrace.toPigeon().getFirstFrameMicros());
+  }
+
+  @Test
+  public void start_clearsPreviousTrace() {
+    startupTrace.start();
+    startupTrace.markDeviceOpened();
+
+    startupTrace.start();
+
+    assertNull(startupTrace.toPigeon().getDeviceOpenedMicros());
+  }
+
+  @Test
+  public void mark_ignoresStagesBeforeStart() {
+    startupTrace.markDeviceOpened();
+
+    assertNull(startupTrace.toPigeon().getDeviceOpenedMicros());
+  }
+}
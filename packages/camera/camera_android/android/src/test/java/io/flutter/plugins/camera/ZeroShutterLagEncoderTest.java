@@ -0,0 +1,23 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertEquals;
+
+import android.media.ExifInterface;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ZeroShutterLagEncoderTest {
+  @Test
+  public void exifOrientation_mapsRotationToExifValue() {
+    assertEquals(ExifInterface.ORIENTATION_NORMAL, ZeroShutterLagEncoder.exifOrientation(0));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_90, ZeroShutterLagEncoder.exifOrientation(90));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_180, ZeroShutterLagEncoder.exifOrientation(180));
+    assertEquals(ExifInterface.ORIENTATION_ROTATE_270, ZeroShutterLagEncoder.exifOrientation(270));
+  }
+}
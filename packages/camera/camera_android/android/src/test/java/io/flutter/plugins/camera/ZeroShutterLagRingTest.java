@@ -0,0 +1,118 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.hardware.camera2.CaptureResult;
+import android.hardware.camera2.TotalCaptureResult;
+import android.media.Image;
+import android.media.ImageReader;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ZeroShutterLagRingTest {
+  private final ImageReader mockImageReader = mock(ImageReader.class);
+  private final ZeroShutterLagRing ring = new ZeroShutterLagRing(mockImageReader);
+
+  private static Image createImage(long timestamp) {
+    Image image = mock(Image.class);
+    when(image.getTimestamp()).thenReturn(timestamp);
+    return image;
+  }
+
+  private static TotalCaptureResult createResult(long timestamp, int afState, int aeState) {
+    TotalCaptureResult result = mock(TotalCaptureResult.class);
+    when(result.get(CaptureResult.SENSOR_TIMESTAMP)).thenReturn(timestamp);
+    when(result.get(CaptureResult.CONTROL_AF_STATE)).thenReturn(afState);
+    when(result.get(CaptureResult.CONTROL_AE_STATE)).thenReturn(aeState);
+    return result;
+  }
+
+  @Test
+  public void onImage_evictsOldestFrameWhenFull() {
+    Image[] images = new Image[ZeroShutterLagRing.RING_SIZE + 1];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = createImage(i);
+      ring.onImage(images[i]);
+    }
+
+    verify(images[0], times(1)).close();
+    verify(images[1], never()).close();
+  }
+
+  @Test
+  public void takeBestFrame_prefersNewestSettledFrame() {
+    Image settled = createImage(100L);
+    Image searching = createImage(200L);
+    ring.onImage(settled);
+    ring.onImage(searching);
+    TotalCaptureResult settledResult =
+        createResult(
+            100L,
+            CaptureResult.CONTROL_AF_STATE_FOCUSED_LOCKED,
+            CaptureResult.CONTROL_AE_STATE_CONVERGED);
+    ring.onCaptureResult(settledResult);
+    ring.onCaptureResult(
+        createResult(
+            200L,
+            CaptureResult.CONTROL_AF_STATE_PASSIVE_SCAN,
+            CaptureResult.CONTROL_AE_STATE_SEARCHING));
+
+    ZeroShutterLagRing.Frame frame = ring.takeBestFrame();
+
+    assertNotNull(frame);
+    assertSame(settled, frame.image);
+    assertSame(settledResult, frame.result);
+  }
+
+  @Test
+  public void takeBestFrame_fallsBackToNewestFrame() {
+    Image older = createImage(100L);
+    Image newer = createImage(200L);
+    ring.onImage(older);
+    ring.onImage(newer);
+
+    ZeroShutterLagRing.Frame frame = ring.takeBestFrame();
+
+    assertNotNull(frame);
+    assertSame(newer, frame.image);
+    assertNull(frame.result);
+  }
+
+  @Test
+  public void takeBestFrame_allowsOneFrameAtATime() {
+    ring.onImage(createImage(100L));
+    ring.onImage(createImage(200L));
+
+    ZeroShutterLagRing.Frame frame = ring.takeBestFrame();
+    assertNotNull(frame);
+    assertNull(ring.takeBestFrame());
+
+    frame.close();
+    assertNotNull(ring.takeBestFrame());
+  }
+
+  @Test
+  public void close_waitsForTakenFrameBeforeClosingReader() {
+    ring.onImage(createImage(100L));
+    ZeroShutterLagRing.Frame frame = ring.takeBestFrame();
+
+    ring.close();
+    verify(mockImageReader, never()).close();
+
+    frame.close();
+    verify(mockImageReader, times(1)).close();
+  }
+}
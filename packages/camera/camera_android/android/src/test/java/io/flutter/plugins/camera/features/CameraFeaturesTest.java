@@ -0,0 +1,91 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import android.hardware.camera2.CaptureRequest;
+import io.flutter.plugins.camera.CameraProperties;
+import io.flutter.plugins.camera.features.exposurelock.ExposureLockFeature;
+import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
+import io.flutter.plugins.camera.features.flash.FlashFeature;
+import io.flutter.plugins.camera.features.flash.FlashMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+public class CameraFeaturesTest {
+  private final CameraProperties mockCameraProperties = mock(CameraProperties.class);
+
+  @Test
+  public void takeChangedFeatures_shouldReturnAllFeaturesForNewBuilder() {
+    CameraFeatures cameraFeatures = new CameraFeatures();
+    FlashFeature flashFeature = new FlashFeature(mockCameraProperties);
+    ExposureLockFeature exposureLockFeature = new ExposureLockFeature(mockCameraProperties);
+    cameraFeatures.setFlash(flashFeature);
+    cameraFeatures.setExposureLock(exposureLockFeature);
+    CaptureRequest.Builder mockRequestBuilder = mock(CaptureRequest.Builder.class);
+    cameraFeatures.takeChangedFeatures(mock(CaptureRequest.Builder.class));
+
+    assertEquals(
+        new HashSet<>(Arrays.asList(flashFeature, exposureLockFeature)),
+        new HashSet<>(cameraFeatures.takeChangedFeatures(mockRequestBuilder)));
+  }
+
+  @Test
+  public void takeChangedFeatures_shouldOnlyReturnChangedFeaturesForSameBuilder() {
+    CameraFeatures cameraFeatures = new CameraFeatures();
+    FlashFeature flashFeature = new FlashFeature(mockCameraProperties);
+    ExposureLockFeature exposureLockFeature = new ExposureLockFeature(mockCameraProperties);
+    cameraFeatures.setFlash(flashFeature);
+    cameraFeatures.setExposureLock(exposureLockFeature);
+    CaptureRequest.Builder mockRequestBuilder = mock(CaptureRequest.Builder.class);
+    cameraFeatures.takeChangedFeatures(mockRequestBuilder);
+
+    assertTrue(cameraFeatures.takeChangedFeatures(mockRequestBuilder).isEmpty());
+
+    flashFeature.setValue(FlashMode.torch);
+    assertEquals(
+        Collections.singletonList(flashFeature),
+        cameraFeatures.takeChangedFeatures(mockRequestBuilder));
+    assertTrue(cameraFeatures.takeChangedFeatures(mockRequestBuilder).isEmpty());
+  }
+
+  @Test
+  public void takeChangedFeatures_shouldReturnReplacedFeatures() {
+    CameraFeatures cameraFeatures = new CameraFeatures();
+    cameraFeatures.setExposureLock(new ExposureLockFeature(mockCameraProperties));
+    CaptureRequest.Builder mockRequestBuilder = mock(CaptureRequest.Builder.class);
+    cameraFeatures.takeChangedFeatures(mockRequestBuilder);
+
+    ExposureLockFeature replacement = new ExposureLockFeature(mockCameraProperties);
+    replacement.setValue(ExposureMode.locked);
+    cameraFeatures.setExposureLock(replacement);
+
+    assertEquals(
+        Collections.singletonList(replacement),
+        cameraFeatures.takeChangedFeatures(mockRequestBuilder));
+  }
+
+  @Test
+  public void takeChangedFeatures_shouldReuseListForSameBuilder() {
+    CameraFeatures cameraFeatures = new CameraFeatures();
+    FlashFeature flashFeature = new FlashFeature(mockCameraProperties);
+    cameraFeatures.setFlash(flashFeature);
+    CaptureRequest.Builder mockRequestBuilder = mock(CaptureRequest.Builder.class);
+
+    List<CameraFeature<?>> first = cameraFeatures.takeChangedFeatures(mockRequestBuilder);
+    flashFeature.setValue(FlashMode.torch);
+    List<CameraFeature<?>> second = cameraFeatures.takeChangedFeatures(mockRequestBuilder);
+
+    assertSame(first, second);
+    assertEquals(Collections.singletonList(flashFeature), second);
+  }
+}
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import android.media.CamcorderProfile;
@@ -39,6 +40,7 @@ public class ResolutionFeatureTest {
   @Before
   @SuppressWarnings("deprecation")
   public void beforeLegacy() {
+    ResolutionFeature.clearResolvedResolutions();
     mockedStaticProfile = mockStatic(CamcorderProfile.class);
     mockProfileLowLegacy = mock(CamcorderProfile.class);
     CamcorderProfile mockProfileLegacy = mock(CamcorderProfile.class);
@@ -227,6 +229,23 @@ public class ResolutionFeatureTest {
             1, ResolutionPreset.max));
   }
 
+  @Config(maxSdk = 30)
+  @SuppressWarnings("deprecation")
+  @Test
+  public void ctor_shouldReuseResolvedResolutionForSameCameraAndPresetLegacy() {
+    CameraProperties mockCameraProperties = mock(CameraProperties.class);
+
+    ResolutionFeature first =
+        new ResolutionFeature(mockCameraProperties, ResolutionPreset.high, cameraName);
+    ResolutionFeature second =
+        new ResolutionFeature(mockCameraProperties, ResolutionPreset.high, cameraName);
+
+    assertEquals(first.getRecordingProfileLegacy(), second.getRecordingProfileLegacy());
+    assertEquals(first.getPreviewSize(), second.getPreviewSize());
+    mockedStaticProfile.verify(
+        () -> CamcorderProfile.get(1, CamcorderProfile.QUALITY_720P), times(1));
+  }
+
   @Config(maxSdk = 30)
   @SuppressWarnings("deprecation")
   @Test
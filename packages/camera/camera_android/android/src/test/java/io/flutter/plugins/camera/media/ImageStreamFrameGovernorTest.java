@@ -0,0 +1,64 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ImageStreamFrameGovernorTest {
+  private static final long FRAME_NANOS_30_FPS = 33_333_333;
+
+  /** Returns how many of {@code count} images at 30 fps, with some jitter, are kept. */
+  private int countKept(ImageStreamFrameGovernor governor, int count) {
+    int kept = 0;
+    for (int i = 0; i < count; i++) {
+      long jitter = (i % 2 == 0 ? 1 : -1) * 500_000;
+      if (governor.shouldKeep(i * FRAME_NANOS_30_FPS + jitter)) {
+        kept++;
+      }
+    }
+    return kept;
+  }
+
+  @Test
+  public void shouldKeep_keepsEveryImageWithoutLimit() {
+    ImageStreamFrameGovernor governor = new ImageStreamFrameGovernor();
+
+    assertEquals(30, countKept(governor, 30));
+  }
+
+  @Test
+  public void shouldKeep_keepsImagesAtMaxFrameRateDespiteJitter() {
+    ImageStreamFrameGovernor governor = new ImageStreamFrameGovernor();
+    governor.setLimit(10, 1);
+
+    assertEquals(10, countKept(governor, 30));
+  }
+
+  @Test
+  public void shouldKeep_keepsEveryNthImage() {
+    ImageStreamFrameGovernor governor = new ImageStreamFrameGovernor();
+    governor.setLimit(0, 3);
+
+    assertTrue(governor.shouldKeep(0));
+    assertFalse(governor.shouldKeep(1));
+    assertFalse(governor.shouldKeep(2));
+    assertTrue(governor.shouldKeep(3));
+  }
+
+  @Test
+  public void shouldKeep_startsNewCadenceAfterGap() {
+    ImageStreamFrameGovernor governor = new ImageStreamFrameGovernor();
+    governor.setLimit(10, 1);
+
+    assertTrue(governor.shouldKeep(0));
+    assertTrue(governor.shouldKeep(1_000_000_000));
+    assertFalse(governor.shouldKeep(1_000_000_000 + FRAME_NANOS_30_FPS));
+    assertTrue(governor.shouldKeep(1_000_000_000 + 3 * FRAME_NANOS_30_FPS));
+  }
+}
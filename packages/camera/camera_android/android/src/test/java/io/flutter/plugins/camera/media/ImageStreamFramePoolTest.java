@@ -0,0 +1,212 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.flutter.plugin.common.EventChannel;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class ImageStreamFramePoolTest {
+  private final EventChannel.EventSink mockSink = mock(EventChannel.EventSink.class);
+
+  /** Acquires and submits a frame, returning it if the pool wants it posted now. */
+  private ImageStreamFramePool.Frame deliver(ImageStreamFramePool pool) {
+    ImageStreamFramePool.Frame frame = pool.acquire();
+    if (frame == null) {
+      return null;
+    }
+    frame.setSink(mockSink);
+    return pool.submit(frame) ? frame : null;
+  }
+
+  @Test
+  public void boundedQueue_dropsFramesOnceLimitIsReached() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 2);
+
+    assertNotNull(deliver(pool));
+    assertNotNull(deliver(pool));
+    assertNull(pool.acquire());
+    assertEquals(2, pool.getPendingCount());
+    assertEquals(2, pool.getDeliveredCount());
+    assertEquals(1, pool.getDroppedCount());
+  }
+
+  @Test
+  public void dropWhileBusy_dropsFramesUntilAcknowledged() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.DROP_WHILE_BUSY, 5);
+
+    ImageStreamFramePool.Frame first = deliver(pool);
+    assertNotNull(first);
+    assertNull(pool.acquire());
+
+    first.run();
+    assertNull(pool.release());
+
+    assertSame(first, deliver(pool));
+    assertEquals(2, pool.getDeliveredCount());
+    assertEquals(1, pool.getDroppedCount());
+  }
+
+  @Test
+  public void latestOnly_sendsMostRecentFrameOnceAcknowledged() {
+    ImageStreamFramePool pool = new ImageStreamFramePool(ImageStreamDeliveryPolicy.LATEST_ONLY, 1);
+
+    ImageStreamFramePool.Frame first = deliver(pool);
+    assertNotNull(first);
+    ImageStreamFramePool.Frame second = pool.acquire();
+    second.setSink(mockSink);
+    assertFalse(pool.submit(second));
+    ImageStreamFramePool.Frame third = pool.acquire();
+    third.setSink(mockSink);
+    assertFalse(pool.submit(third));
+
+    first.run();
+    assertSame(third, pool.release());
+    assertEquals(2, pool.getDeliveredCount());
+    assertEquals(1, pool.getDroppedCount());
+  }
+
+  @Test
+  public void release_returnsOldestDeliveredFrame() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 2);
+
+    ImageStreamFramePool.Frame first = deliver(pool);
+    ImageStreamFramePool.Frame second = deliver(pool);
+    first.run();
+    second.run();
+    verify(mockSink, times(2)).success(any());
+
+    pool.release();
+
+    assertEquals(1, pool.getPendingCount());
+    assertSame(first, pool.acquire());
+  }
+
+  @Test
+  public void release_recordsSequenceOfAcknowledgedFrame() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 2);
+    assertEquals(-1, pool.getAcknowledgedSequence());
+
+    ImageStreamFramePool.Frame first = pool.acquire();
+    first.setSink(mockSink);
+    first.setSequence(7);
+    pool.submit(first);
+    pool.release();
+    assertEquals(-1, pool.getAcknowledgedSequence());
+
+    first.run();
+    pool.release();
+
+    assertEquals(7, pool.getAcknowledgedSequence());
+  }
+
+  @Test
+  public void release_ignoresFramesThatWereNotDelivered() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 1);
+
+    deliver(pool);
+    pool.release();
+
+    assertEquals(1, pool.getPendingCount());
+    assertNull(pool.acquire());
+  }
+
+  @Test
+  public void recycle_returnsFrameToPool() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 1);
+
+    ImageStreamFramePool.Frame frame = pool.acquire();
+    pool.recycle(frame);
+
+    assertEquals(0, pool.getPendingCount());
+    assertSame(frame, pool.acquire());
+  }
+
+  @Test
+  public void trim_replacesFreeFramesButKeepsPendingOnes() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 2);
+
+    ImageStreamFramePool.Frame pending = deliver(pool);
+    ImageStreamFramePool.Frame free = pool.acquire();
+    pool.recycle(free);
+    pool.trim();
+
+    assertEquals(1, pool.getPendingCount());
+    ImageStreamFramePool.Frame replacement = pool.acquire();
+    assertNotNull(replacement);
+    assertNotSame(free, replacement);
+    assertNotSame(pending, replacement);
+    assertNull(pool.acquire());
+  }
+
+  @Test
+  public void reset_replacesPendingFrames() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 1);
+
+    ImageStreamFramePool.Frame frame = deliver(pool);
+    pool.reset();
+
+    assertEquals(0, pool.getPendingCount());
+    ImageStreamFramePool.Frame replacement = pool.acquire();
+    assertNotNull(replacement);
+    assertNotSame(frame, replacement);
+  }
+
+  @Test
+  public void resetCounters_clearsCounters() {
+    ImageStreamFramePool pool =
+        new ImageStreamFramePool(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 1);
+
+    deliver(pool);
+    pool.acquire();
+    pool.resetCounters();
+
+    assertEquals(0, pool.getDeliveredCount());
+    assertEquals(0, pool.getDroppedCount());
+  }
+
+  @Test
+  public void planeBytes_reusesArrayOfSameSize() {
+    ImageStreamFramePool.Frame frame = new ImageStreamFramePool.Frame();
+
+    byte[] bytes = frame.planeBytes(0, 16);
+
+    assertSame(bytes, frame.planeBytes(0, 16));
+    assertNotSame(bytes, frame.planeBytes(0, 32));
+  }
+
+  @Test
+  public void putInt_keepsBoxedValueWhenUnchanged() {
+    Map<String, Object> map = new HashMap<>();
+
+    ImageStreamFramePool.Frame.putInt(map, "width", 1920);
+    Object boxed = map.get("width");
+    ImageStreamFramePool.Frame.putInt(map, "width", 1920);
+
+    assertSame(boxed, map.get("width"));
+    ImageStreamFramePool.Frame.putInt(map, "width", 1280);
+    assertEquals(1280, map.get("width"));
+  }
+}
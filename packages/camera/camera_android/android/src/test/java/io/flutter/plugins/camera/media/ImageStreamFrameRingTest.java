@@ -0,0 +1,104 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.flutter.plugin.common.EventChannel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageStreamFrameRingTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final EventChannel.EventSink mockSink = mock(EventChannel.EventSink.class);
+
+  /** Acquires a slot for the frame and returns its offset in the ring file. */
+  private int fill(
+      ImageStreamFrameRing ring,
+      ImageStreamFramePool.Frame frame,
+      long sequence,
+      long acknowledgedSequence) {
+    frame.setSequence(sequence);
+    ByteBuffer slot = ring.acquireSlot(frame, acknowledgedSequence);
+    frame.setSink(mockSink);
+    return slot.position();
+  }
+
+  @Test
+  public void acquireSlot_reusesSlotOnlyOnceFrameWasAcknowledged() throws IOException {
+    ImageStreamFrameRing ring = ImageStreamFrameRing.create(temporaryFolder.getRoot(), 1, 4);
+    ImageStreamFramePool.Frame[] frames = new ImageStreamFramePool.Frame[4];
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = new ImageStreamFramePool.Frame();
+    }
+
+    assertEquals(0, fill(ring, frames[0], 0, -1));
+    frames[0].run();
+    assertEquals(4, fill(ring, frames[1], 1, -1));
+    frames[1].run();
+    assertEquals(8, fill(ring, frames[2], 2, -1));
+    frames[2].run();
+
+    // Delivered frames keep their slots until Dart has acknowledged them.
+    frames[3].setSequence(3);
+    assertNull(ring.acquireSlot(frames[3], -1));
+    assertEquals(0, fill(ring, frames[3], 3, 0));
+  }
+
+  @Test
+  public void acquireSlot_reusesSlotOfDroppedFrameFirst() throws IOException {
+    ImageStreamFrameRing ring = ImageStreamFrameRing.create(temporaryFolder.getRoot(), 2, 4);
+    ImageStreamFramePool.Frame delivered = new ImageStreamFramePool.Frame();
+    ImageStreamFramePool.Frame dropped = new ImageStreamFramePool.Frame();
+
+    assertEquals(0, fill(ring, delivered, 0, -1));
+    delivered.run();
+    assertEquals(4, fill(ring, dropped, 1, -1));
+
+    assertEquals(4, fill(ring, dropped, 2, -1));
+  }
+
+  @Test
+  public void fits_checksSlotSizeAndSlotCount() throws IOException {
+    ImageStreamFrameRing ring = ImageStreamFrameRing.create(temporaryFolder.getRoot(), 2, 16);
+
+    assertTrue(ring.fits(2, 16));
+    assertFalse(ring.fits(2, 17));
+    assertFalse(ring.fits(3, 16));
+    assertEquals(64, ring.getSize());
+  }
+
+  @Test
+  public void isUnreferenced_onceFrameAfterRetirementIsAcknowledged() throws IOException {
+    ImageStreamFrameRing ring = ImageStreamFrameRing.create(temporaryFolder.getRoot(), 1, 4);
+    assertFalse(ring.isUnreferenced(100));
+
+    ring.retire(5);
+
+    assertFalse(ring.isUnreferenced(4));
+    assertTrue(ring.isUnreferenced(5));
+    ring.close();
+  }
+
+  @Test
+  public void close_deletesFile() throws IOException {
+    ImageStreamFrameRing ring = ImageStreamFrameRing.create(temporaryFolder.getRoot(), 1, 4);
+    File file = new File(ring.getPath());
+    assertTrue(file.exists());
+
+    ring.close();
+
+    assertFalse(file.exists());
+  }
+}
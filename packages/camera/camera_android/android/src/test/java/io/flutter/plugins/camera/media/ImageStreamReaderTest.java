@@ -4,26 +4,49 @@
 
 package io.flutter.plugins.camera.media;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.graphics.ImageFormat;
 import android.media.Image;
 import android.media.ImageReader;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.camera.SdkCapabilityChecker;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
 
 @RunWith(RobolectricTestRunner.class)
 public class ImageStreamReaderTest {
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   /** If we request YUV42 we should stream in YUV420. */
   @Test
   public void computeStreamImageFormat_computesCorrectStreamFormatYuv() {
@@ -57,10 +80,6 @@ public class ImageStreamReaderTest {
     ImageStreamReader imageStreamReader =
         new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
 
-    ByteBuffer mockBytes = ByteBuffer.allocate(0);
-    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
-        .thenReturn(mockBytes);
-
     // The image format as streamed from the camera
     int imageFormat = ImageFormat.YUV_420_888;
 
@@ -102,7 +121,8 @@ public class ImageStreamReaderTest {
 
     // Make sure we processed the frame with parsePlanesForNv21
     verify(mockImageStreamReaderUtils)
-        .yuv420ThreePlanesToNV21(planes, mockImage.getWidth(), mockImage.getHeight());
+        .yuv420ThreePlanesToNV21(
+            eq(planes), eq(mockImage.getWidth()), eq(mockImage.getHeight()), any(byte[].class));
   }
 
   /** If we are requesting YUV420, then we should send the 3-plane image as it is. */
@@ -116,10 +136,6 @@ public class ImageStreamReaderTest {
     ImageStreamReader imageStreamReader =
         new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
 
-    ByteBuffer mockBytes = ByteBuffer.allocate(0);
-    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
-        .thenReturn(mockBytes);
-
     // The image format as streamed from the camera
     int imageFormat = ImageFormat.YUV_420_888;
 
@@ -160,6 +176,400 @@ public class ImageStreamReaderTest {
     imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
 
     // Make sure we processed the frame with parsePlanesForYuvOrJpeg
-    verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
+    verify(mockImageStreamReaderUtils, never())
+        .yuv420ThreePlanesToNV21(any(), anyInt(), anyInt(), any(byte[].class));
+  }
+
+  /** Frames are dropped while every pooled frame is still waiting on Dart. */
+  @Test
+  public void onImageAvailable_dropsFramesUntilAcknowledged() {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(4);
+    when(mockImage.getHeight()).thenReturn(4);
+    when(mockImage.getFormat()).thenReturn(dartImageFormat);
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {plane});
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+
+    for (int i = 0; i < 5; i++) {
+      imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    }
+    ShadowLooper.idleMainLooper();
+    verify(mockEventSink, times(3)).success(any());
+    verify(mockImage, times(5)).close();
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+    verify(mockEventSink, times(4)).success(any());
+  }
+
+  /**
+   * While the conversion thread is busy only the newest image is kept, and older ones are closed so
+   * that the camera always has a buffer to write into.
+   */
+  @Test
+  public void onImageReaderImageAvailable_keepsOnlyNewestImageWhileConverting() {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    Image firstImage = mock(Image.class);
+    Image secondImage = mock(Image.class);
+    for (Image image : new Image[] {firstImage, secondImage}) {
+      when(image.getWidth()).thenReturn(4);
+      when(image.getHeight()).thenReturn(4);
+      when(image.getFormat()).thenReturn(dartImageFormat);
+      when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    }
+    when(mockImageReader.acquireLatestImage()).thenReturn(firstImage, secondImage);
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.subscribeListener(
+        mockCaptureProps, mockEventSink, new Handler(Looper.getMainLooper()));
+    Looper conversionLooper = imageStreamReader.getConversionLooper();
+    assertNotNull(conversionLooper);
+    Shadows.shadowOf(conversionLooper).pause();
+
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    verify(firstImage, times(1)).close();
+    verify(secondImage, never()).close();
+
+    Shadows.shadowOf(conversionLooper).idle();
+    ShadowLooper.idleMainLooper();
+    verify(secondImage, times(1)).close();
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1, imageStreamReader.getDroppedFrameCount());
+
+    imageStreamReader.close();
+  }
+
+  /** Images skipped by the frame rate limit are closed without being converted. */
+  @Test
+  public void onImageReaderImageAvailable_closesImagesSkippedByFrameRateLimit() {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+    imageStreamReader.setFrameRateLimit(0, 2);
+
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    Image keptImage = mock(Image.class);
+    Image skippedImage = mock(Image.class);
+    for (Image image : new Image[] {keptImage, skippedImage}) {
+      when(image.getWidth()).thenReturn(4);
+      when(image.getHeight()).thenReturn(4);
+      when(image.getFormat()).thenReturn(dartImageFormat);
+      when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    }
+    when(mockImageReader.acquireLatestImage()).thenReturn(keptImage, skippedImage);
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.subscribeListener(
+        mockCaptureProps, mockEventSink, new Handler(Looper.getMainLooper()));
+    Looper conversionLooper = imageStreamReader.getConversionLooper();
+    assertNotNull(conversionLooper);
+
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    Shadows.shadowOf(conversionLooper).idle();
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    Shadows.shadowOf(conversionLooper).idle();
+    ShadowLooper.idleMainLooper();
+
+    verify(skippedImage, times(1)).close();
+    verify(skippedImage, never()).getPlanes();
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(0, imageStreamReader.getDroppedFrameCount());
+
+    imageStreamReader.close();
+  }
+
+  @Test
+  public void onImageReaderImageAvailable_closesImagesWhilePaused() {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    Image pausedImage = mock(Image.class);
+    Image resumedImage = mock(Image.class);
+    for (Image image : new Image[] {pausedImage, resumedImage}) {
+      when(image.getWidth()).thenReturn(4);
+      when(image.getHeight()).thenReturn(4);
+      when(image.getFormat()).thenReturn(dartImageFormat);
+      when(image.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    }
+    when(mockImageReader.acquireLatestImage()).thenReturn(pausedImage, resumedImage);
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.subscribeListener(
+        mockCaptureProps, mockEventSink, new Handler(Looper.getMainLooper()));
+    Looper conversionLooper = imageStreamReader.getConversionLooper();
+    assertNotNull(conversionLooper);
+
+    imageStreamReader.setPaused(true);
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    Shadows.shadowOf(conversionLooper).idle();
+    imageStreamReader.setPaused(false);
+    imageStreamReader.onImageReaderImageAvailable(mockImageReader);
+    Shadows.shadowOf(conversionLooper).idle();
+    ShadowLooper.idleMainLooper();
+
+    verify(pausedImage, times(1)).close();
+    verify(pausedImage, never()).getPlanes();
+    verify(mockEventSink, times(1)).success(any());
+
+    imageStreamReader.close();
+  }
+
+  /** With a luma-only region, only the cropped and downsampled Y plane is sent. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsCroppedAndDownsampledLumaPlane() {
+    int dartImageFormat = ImageFormat.YUV_420_888;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, new ImageStreamReaderUtils());
+    imageStreamReader.setRegion(new ImageStreamRegion(2, 0, 4, 4, 2, true));
+
+    ByteBuffer luma = ByteBuffer.allocate(32);
+    for (int i = 0; i < 32; i++) {
+      luma.put(i, (byte) i);
+    }
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(8);
+    when(mockImage.getHeight()).thenReturn(4);
+    when(mockImage.getFormat()).thenReturn(dartImageFormat);
+    Image.Plane planeY = mock(Image.Plane.class);
+    when(planeY.getBuffer()).thenReturn(luma);
+    when(planeY.getRowStride()).thenReturn(8);
+    when(planeY.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes())
+        .thenReturn(new Image.Plane[] {planeY, mock(Image.Plane.class), mock(Image.Plane.class)});
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+
+    ArgumentCaptor<Object> imageBufferCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockEventSink).success(imageBufferCaptor.capture());
+    Map<String, Object> imageBuffer = (Map<String, Object>) imageBufferCaptor.getValue();
+    List<Map<String, Object>> planes = (List<Map<String, Object>>) imageBuffer.get("planes");
+    assertEquals(2, imageBuffer.get("width"));
+    assertEquals(2, imageBuffer.get("height"));
+    assertEquals(1, planes.size());
+    assertEquals(2, planes.get(0).get("bytesPerRow"));
+    assertArrayEquals(new byte[] {2, 4, 18, 20}, (byte[]) planes.get(0).get("bytes"));
+  }
+
+  /** With a frame ring, the planes are written into the file and only their offsets are sent. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_writesPlanesToFrameRing() throws IOException {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+    imageStreamReader.setFrameRingDirectory(temporaryFolder.getRoot());
+
+    byte[] bytes = new byte[16];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i + 1);
+    }
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(4);
+    when(mockImage.getHeight()).thenReturn(4);
+    when(mockImage.getFormat()).thenReturn(dartImageFormat);
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.wrap(bytes));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {plane});
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.onImageAvailable(mockImage, mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+
+    ArgumentCaptor<Object> imageBufferCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockEventSink).success(imageBufferCaptor.capture());
+    Map<String, Object> imageBuffer = (Map<String, Object>) imageBufferCaptor.getValue();
+    Map<String, Object> planeBuffer =
+        ((List<Map<String, Object>>) imageBuffer.get("planes")).get(0);
+    assertFalse(planeBuffer.containsKey("bytes"));
+    assertEquals(16, planeBuffer.get("length"));
+    assertEquals(4, planeBuffer.get("bytesPerRow"));
+
+    byte[] written = new byte[16];
+    try (RandomAccessFile file = new RandomAccessFile((String) imageBuffer.get("ringPath"), "r")) {
+      assertEquals((long) (Integer) imageBuffer.get("ringSize"), file.length());
+      file.seek((Integer) planeBuffer.get("offset"));
+      file.readFully(written);
+    }
+    assertArrayEquals(bytes, written);
+
+    imageStreamReader.close();
+  }
+
+  /** A replaced frame ring is only deleted once Dart has received a frame from the newer one. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_keepsReplacedFrameRingUntilNewerFrameIsAcknowledged()
+      throws IOException {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+    imageStreamReader.setDeliveryPolicy(ImageStreamDeliveryPolicy.BOUNDED_QUEUE, 2);
+    imageStreamReader.setFrameRingDirectory(temporaryFolder.getRoot());
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    ArgumentCaptor<Object> imageBufferCaptor = ArgumentCaptor.forClass(Object.class);
+
+    imageStreamReader.onImageAvailable(
+        createImage(dartImageFormat, 16), mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+    verify(mockEventSink).success(imageBufferCaptor.capture());
+    File oldRing =
+        new File((String) ((Map<String, Object>) imageBufferCaptor.getValue()).get("ringPath"));
+
+    // A larger frame does not fit, so it is written into a new ring.
+    imageStreamReader.onImageAvailable(
+        createImage(dartImageFormat, 64), mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+    verify(mockEventSink, times(2)).success(imageBufferCaptor.capture());
+    Map<String, Object> newImageBuffer = (Map<String, Object>) imageBufferCaptor.getValue();
+    assertNotEquals(oldRing.getPath(), newImageBuffer.get("ringPath"));
+
+    // Dart has only received the frame from the old ring.
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(
+        createImage(dartImageFormat, 64), mockCaptureProps, mockEventSink);
+    assertTrue(oldRing.exists());
+
+    imageStreamReader.onFrameAcknowledged();
+    imageStreamReader.onImageAvailable(
+        createImage(dartImageFormat, 64), mockCaptureProps, mockEventSink);
+    assertFalse(oldRing.exists());
+
+    imageStreamReader.close();
+  }
+
+  /** Creates a one plane image with the given number of bytes. */
+  private static Image createImage(int format, int length) {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(length / 4);
+    when(mockImage.getHeight()).thenReturn(4);
+    when(mockImage.getFormat()).thenReturn(format);
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.wrap(new byte[length]));
+    when(plane.getRowStride()).thenReturn(length / 4);
+    when(plane.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {plane});
+    return mockImage;
+  }
+
+  /** From API 28, trimming memory also discards the buffers the reader does not hold. */
+  @Test
+  public void trimMemory_discardsFreeBuffersFromApi28() {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mockImageReader, ImageFormat.YUV_420_888, mock(ImageStreamReaderUtils.class));
+
+    int sdkVersion = SdkCapabilityChecker.SDK_VERSION;
+    try {
+      SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.O_MR1;
+      imageStreamReader.trimMemory();
+      verify(mockImageReader, never()).discardFreeBuffers();
+
+      SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.P;
+      imageStreamReader.trimMemory();
+      verify(mockImageReader, times(1)).discardFreeBuffers();
+    } finally {
+      SdkCapabilityChecker.SDK_VERSION = sdkVersion;
+    }
+  }
+
+  /** Each frame carries the metadata of its own capture rather than of the latest one. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onImageAvailable_sendsMetadataOfCaptureWithSameTimestamp() {
+    int dartImageFormat = ImageFormat.JPEG;
+
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, dartImageFormat, mockImageStreamReaderUtils);
+
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(4);
+    when(mockImage.getHeight()).thenReturn(4);
+    when(mockImage.getFormat()).thenReturn(dartImageFormat);
+    when(mockImage.getTimestamp()).thenReturn(1000L);
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenAnswer(invocation -> ByteBuffer.allocate(16));
+    when(plane.getRowStride()).thenReturn(4);
+    when(plane.getPixelStride()).thenReturn(1);
+    when(mockImage.getPlanes()).thenReturn(new Image.Plane[] {plane});
+
+    CameraCaptureProperties captureProps = new CameraCaptureProperties();
+    captureProps.recordCaptureMetadata(1000L, 1.8f, 10_000_000L, 100, 2.5f);
+    captureProps.recordCaptureMetadata(2000L, 1.8f, 20_000_000L, 400, null);
+    captureProps.setLastLensAperture(1.8f);
+    captureProps.setLastSensorExposureTime(20_000_000L);
+    captureProps.setLastSensorSensitivity(400);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    imageStreamReader.onImageAvailable(mockImage, captureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+
+    ArgumentCaptor<Object> imageBufferCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(mockEventSink).success(imageBufferCaptor.capture());
+    Map<String, Object> imageBuffer = (Map<String, Object>) imageBufferCaptor.getValue();
+    assertEquals(1000L, imageBuffer.get("sensorTimestamp"));
+    assertEquals(1.8f, imageBuffer.get("lensAperture"));
+    assertEquals(10_000_000L, imageBuffer.get("sensorExposureTime"));
+    assertEquals(100.0, imageBuffer.get("sensorSensitivity"));
+    assertEquals(2.5f, imageBuffer.get("lensFocusDistance"));
   }
 }
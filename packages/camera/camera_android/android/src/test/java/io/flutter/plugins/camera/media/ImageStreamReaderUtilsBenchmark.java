@@ -0,0 +1,75 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.media.Image;
+import java.util.Locale;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Measures how long the YUV_420_888 to NV21 conversion takes for every plane layout a camera may
+ * produce, next to the per-pixel reference.
+ *
+ * <p>The timings are printed rather than asserted, since they depend on the machine. The benchmark
+ * is excluded from regular test runs; run it with {@code ./gradlew testDebugUnitTest
+ * -PrunBenchmarks --tests '*ImageStreamReaderUtilsBenchmark'}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamReaderUtilsBenchmark {
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int ROUNDS = 5;
+  private static final int ITERATIONS_PER_ROUND = 10;
+
+  @Test
+  public void yuv420ThreePlanesToNV21() {
+    ImageStreamReaderUtils utils = new ImageStreamReaderUtils();
+    for (int[] size : ImageStreamReaderUtilsReferenceTest.SIZES) {
+      for (int padding : ImageStreamReaderUtilsReferenceTest.PADDINGS) {
+        for (ImageStreamReaderUtilsReferenceTest.ChromaLayout layout :
+            ImageStreamReaderUtilsReferenceTest.ChromaLayout.values()) {
+          for (boolean direct : new boolean[] {false, true}) {
+            Image.Plane[] planes =
+                ImageStreamReaderUtilsReferenceTest.createPlanes(
+                    size[0], size[1], padding, layout, direct);
+            byte[] out = new byte[ImageStreamReaderUtils.nv21Size(size[0], size[1])];
+
+            long nanos =
+                measure(() -> utils.yuv420ThreePlanesToNV21(planes, size[0], size[1], out));
+            long referenceNanos =
+                measure(
+                    () ->
+                        ImageStreamReaderUtilsReferenceTest.referenceYuv420ToNV21(
+                            planes, size[0], size[1], out));
+
+            System.out.printf(
+                Locale.US,
+                "%s: %d ns/frame (reference %d ns/frame)%n",
+                ImageStreamReaderUtilsReferenceTest.describe(size, padding, layout, direct),
+                nanos,
+                referenceNanos);
+          }
+        }
+      }
+    }
+  }
+
+  /** Returns the fastest average time per iteration over several rounds, in nanoseconds. */
+  private static long measure(Runnable conversion) {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      conversion.run();
+    }
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS_PER_ROUND; i++) {
+        conversion.run();
+      }
+      best = Math.min(best, (System.nanoTime() - start) / ITERATIONS_PER_ROUND);
+    }
+    return best;
+  }
+}
@@ -0,0 +1,160 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Checks the YUV_420_888 to NV21 conversion against a straightforward per-pixel implementation for
+ * every plane layout a camera may produce.
+ *
+ * <p>The frames and the reference are shared with {@link ImageStreamReaderUtilsBenchmark}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamReaderUtilsReferenceTest {
+  static final int[][] SIZES = {{640, 480}, {1280, 720}};
+  static final int[] PADDINGS = {0, 64};
+
+  /** How the chroma planes of a synthetic frame are laid out. */
+  enum ChromaLayout {
+    /** Separate U and V planes with a pixel stride of 1. */
+    PLANAR,
+    /** A single UVUV... buffer shared by both planes, with a pixel stride of 2. */
+    SEMI_PLANAR_NV12,
+    /** A single VUVU... buffer shared by both planes, with a pixel stride of 2. */
+    SEMI_PLANAR_NV21,
+  }
+
+  @Test
+  public void yuv420ThreePlanesToNV21_matchesReferenceForAllLayouts() {
+    for (int[] size : SIZES) {
+      for (int padding : PADDINGS) {
+        for (ChromaLayout layout : ChromaLayout.values()) {
+          for (boolean direct : new boolean[] {false, true}) {
+            Image.Plane[] planes = createPlanes(size[0], size[1], padding, layout, direct);
+            byte[] expected = new byte[ImageStreamReaderUtils.nv21Size(size[0], size[1])];
+            byte[] actual = new byte[expected.length];
+
+            referenceYuv420ToNV21(planes, size[0], size[1], expected);
+            new ImageStreamReaderUtils().yuv420ThreePlanesToNV21(planes, size[0], size[1], actual);
+
+            assertArrayEquals(describe(size, padding, layout, direct), expected, actual);
+          }
+        }
+      }
+    }
+  }
+
+  static String describe(int[] size, int padding, ChromaLayout layout, boolean direct) {
+    return String.format(
+        Locale.US,
+        "%dx%d padding=%d %s %s",
+        size[0],
+        size[1],
+        padding,
+        layout,
+        direct ? "direct" : "heap");
+  }
+
+  /**
+   * Creates the planes of a YUV_420_888 frame filled with random data. As on a real device, the
+   * last row of each plane does not include the row padding.
+   */
+  static Image.Plane[] createPlanes(
+      int width, int height, int padding, ChromaLayout layout, boolean direct) {
+    Random random = new Random(width * 31L + height + padding);
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+
+    int yRowStride = width + padding;
+    ByteBuffer yBuffer = randomBuffer(yRowStride * (height - 1) + width, direct, random);
+
+    ByteBuffer uBuffer;
+    ByteBuffer vBuffer;
+    int chromaRowStride;
+    int chromaPixelStride;
+    if (layout == ChromaLayout.PLANAR) {
+      chromaRowStride = chromaWidth + padding;
+      chromaPixelStride = 1;
+      int planeSize = chromaRowStride * (chromaHeight - 1) + chromaWidth;
+      uBuffer = randomBuffer(planeSize, direct, random);
+      vBuffer = randomBuffer(planeSize, direct, random);
+    } else {
+      chromaRowStride = width + padding;
+      chromaPixelStride = 2;
+      int planeSize = chromaRowStride * (chromaHeight - 1) + 2 * chromaWidth - 1;
+      ByteBuffer shared = randomBuffer(planeSize + 1, direct, random);
+      ByteBuffer first = slice(shared, 0, planeSize);
+      ByteBuffer second = slice(shared, 1, planeSize);
+      uBuffer = layout == ChromaLayout.SEMI_PLANAR_NV12 ? first : second;
+      vBuffer = layout == ChromaLayout.SEMI_PLANAR_NV12 ? second : first;
+    }
+
+    return new Image.Plane[] {
+      mockPlane(yBuffer, yRowStride, 1),
+      mockPlane(uBuffer, chromaRowStride, chromaPixelStride),
+      mockPlane(vBuffer, chromaRowStride, chromaPixelStride)
+    };
+  }
+
+  private static ByteBuffer randomBuffer(int size, boolean direct, Random random) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    buffer.put(bytes);
+    buffer.rewind();
+    return buffer;
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    duplicate.limit(offset + length);
+    return duplicate.slice();
+  }
+
+  private static Image.Plane mockPlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  /** Converts a frame one pixel at a time using absolute reads. */
+  static void referenceYuv420ToNV21(
+      Image.Plane[] planes, int width, int height, byte[] out) {
+    int imageSize = width * height;
+    referenceUnpackPlane(planes[0], width, height, out, 0, 1);
+    referenceUnpackPlane(planes[1], width / 2, height / 2, out, imageSize + 1, 2);
+    referenceUnpackPlane(planes[2], width / 2, height / 2, out, imageSize, 2);
+  }
+
+  private static void referenceUnpackPlane(
+      Image.Plane plane, int width, int height, byte[] out, int offset, int pixelStride) {
+    ByteBuffer buffer = plane.getBuffer();
+    int rowStride = plane.getRowStride();
+    int inputPixelStride = plane.getPixelStride();
+    int outputPos = offset;
+    for (int row = 0; row < height; row++) {
+      int inputPos = row * rowStride;
+      for (int col = 0; col < width; col++) {
+        out[outputPos] = buffer.get(inputPos);
+        outputPos += pixelStride;
+        inputPos += inputPixelStride;
+      }
+    }
+  }
+}
@@ -96,4 +96,55 @@ public class ImageStreamReaderUtilsTest {
         ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
         result.limit());
   }
+
+  @Test
+  public void yuv420ThreePlanesToNV21_returnsNewBufferOnEachCall() {
+    Image mockImage = getImage(160, 120, 16);
+
+    ByteBuffer first =
+        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+            mockImage.getPlanes(), mockImage.getWidth(), mockImage.getHeight());
+    ByteBuffer second =
+        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+            mockImage.getPlanes(), mockImage.getWidth(), mockImage.getHeight());
+
+    Assert.assertNotSame(first.array(), second.array());
+    Assert.assertArrayEquals(first.array(), second.array());
+  }
+
+  /** Returns a plane whose pixel at (column, row) holds row * 16 + column. */
+  Image.Plane getPlane(int width, int height, int rowStride, int pixelStride) {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(rowStride * (height - 1) + (width - 1) * pixelStride + 1);
+    for (int row = 0; row < height; row++) {
+      for (int column = 0; column < width; column++) {
+        buffer.put(row * rowStride + column * pixelStride, (byte) (row * 16 + column));
+      }
+    }
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  @Test
+  public void copyPlaneRegion_cropsAndDownsamples() {
+    Image.Plane plane = getPlane(8, 4, 10, 1);
+    byte[] out = new byte[4];
+
+    imageStreamReaderUtils.copyPlaneRegion(plane, 2, 0, 4, 4, 2, out, 0, 1);
+
+    Assert.assertArrayEquals(new byte[] {2, 4, 34, 36}, out);
+  }
+
+  @Test
+  public void copyPlaneRegion_interleavesPixelsOfPlaneWithPixelStride() {
+    Image.Plane plane = getPlane(4, 4, 10, 2);
+    byte[] out = new byte[8];
+
+    imageStreamReaderUtils.copyPlaneRegion(plane, 1, 1, 2, 2, 1, out, 1, 2);
+
+    Assert.assertArrayEquals(new byte[] {0, 17, 0, 18, 0, 33, 0, 34}, out);
+  }
 }
@@ -10,6 +10,9 @@ import static org.mockito.Mockito.*;
 import android.media.CamcorderProfile;
 import android.media.EncoderProfiles;
 import android.media.MediaRecorder;
+import android.os.Build;
+import android.view.Surface;
+import io.flutter.plugins.camera.SdkCapabilityChecker;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.List;
@@ -261,6 +264,38 @@ public class MediaRecorderBuilderTest {
     inOrder.verify(recorder).prepare();
   }
 
+  @Config(minSdk = 23, maxSdk = 30)
+  @SuppressWarnings("deprecation")
+  @Test
+  public void build_shouldSetInputSurfaceBeforePreparing() throws IOException {
+    CamcorderProfile recorderProfile = getEmptyCamcorderProfile();
+    MediaRecorderBuilder.MediaRecorderFactory mockFactory =
+        mock(MediaRecorderBuilder.MediaRecorderFactory.class);
+    MediaRecorder mockMediaRecorder = mock(MediaRecorder.class);
+    Surface mockInputSurface = mock(Surface.class);
+    MediaRecorderBuilder builder =
+        new MediaRecorderBuilder(
+                recorderProfile,
+                mockFactory,
+                new MediaRecorderBuilder.RecordingParameters("mock_video_file_path"))
+            .setInputSurface(mockInputSurface);
+
+    when(mockFactory.makeMediaRecorder()).thenReturn(mockMediaRecorder);
+
+    int sdkVersion = SdkCapabilityChecker.SDK_VERSION;
+    SdkCapabilityChecker.SDK_VERSION = Build.VERSION_CODES.M;
+    try {
+      MediaRecorder recorder = builder.build();
+
+      InOrder inOrder = inOrder(recorder);
+      inOrder.verify(recorder).setOutputFile("mock_video_file_path");
+      inOrder.verify(recorder).setInputSurface(mockInputSurface);
+      inOrder.verify(recorder).prepare();
+    } finally {
+      SdkCapabilityChecker.SDK_VERSION = sdkVersion;
+    }
+  }
+
   private CamcorderProfile getEmptyCamcorderProfile() {
     try {
       Constructor<CamcorderProfile> constructor =
@@ -0,0 +1,59 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CaptureMetadataIndexTest {
+  @Test
+  public void find_returnsMetadataOfResultWithTimestamp() {
+    CaptureMetadataIndex index = new CaptureMetadataIndex(4);
+    index.record(100, 1.8f, 10L, 200, 0.5f);
+    index.record(200, 2.0f, 20L, 400, null);
+
+    CaptureMetadataIndex.Entry entry = new CaptureMetadataIndex.Entry();
+    assertTrue(index.find(100, entry));
+    assertEquals(100, entry.getSensorTimestamp());
+    assertEquals(1.8f, entry.getLensAperture(), 0);
+    assertEquals(10L, entry.getSensorExposureTime());
+    assertEquals(200, entry.getSensorSensitivity());
+    assertTrue(entry.hasLensFocusDistance());
+    assertEquals(0.5f, entry.getLensFocusDistance(), 0);
+
+    assertTrue(index.find(200, entry));
+    assertEquals(400, entry.getSensorSensitivity());
+    assertFalse(entry.hasLensFocusDistance());
+  }
+
+  @Test
+  public void find_returnsFalseForUnknownTimestamp() {
+    CaptureMetadataIndex index = new CaptureMetadataIndex(4);
+    CaptureMetadataIndex.Entry entry = new CaptureMetadataIndex.Entry();
+
+    // Slots that were never written must not match a zero timestamp.
+    assertFalse(index.find(0, entry));
+    index.record(100, null, null, null, null);
+    assertFalse(index.find(101, entry));
+  }
+
+  @Test
+  public void record_replacesOldestResultWhenFull() {
+    CaptureMetadataIndex index = new CaptureMetadataIndex(2);
+    index.record(100, null, 10L, null, null);
+    index.record(200, null, 20L, null, null);
+    index.record(300, null, 30L, null, null);
+
+    CaptureMetadataIndex.Entry entry = new CaptureMetadataIndex.Entry();
+    assertFalse(index.find(100, entry));
+    assertTrue(index.find(200, entry));
+    assertEquals(20L, entry.getSensorExposureTime());
+    assertTrue(index.find(300, entry));
+    assertEquals(30L, entry.getSensorExposureTime());
+  }
+}
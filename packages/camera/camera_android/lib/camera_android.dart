@@ -3,3 +3,12 @@
 // found in the LICENSE file.
 
 export 'src/android_camera.dart';
+export 'src/android_camera_image_data.dart';
+export 'src/burst_frame.dart';
+export 'src/capture_metrics.dart';
+export 'src/capture_stats.dart';
+export 'src/capture_to_memory_options.dart';
+export 'src/image_stream_settings.dart';
+export 'src/memory_trim_policy.dart';
+export 'src/picture_destination.dart';
+export 'src/startup_trace.dart';
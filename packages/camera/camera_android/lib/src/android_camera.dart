@@ -11,15 +11,27 @@ import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'burst_frame.dart';
+import 'capture_metrics.dart';
+import 'capture_stats.dart';
+import 'capture_to_memory_options.dart';
+import 'frame_ring.dart';
+import 'image_stream_settings.dart';
+import 'memory_trim_policy.dart';
 import 'messages.g.dart';
+import 'picture_destination.dart';
+import 'startup_trace.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
 
 /// The Android implementation of [CameraPlatform] that uses method channels.
 class AndroidCamera extends CameraPlatform {
   /// Creates a new [CameraPlatform] instance.
-  AndroidCamera({@visibleForTesting CameraApi? hostApi})
-      : _hostApi = hostApi ?? CameraApi();
+  AndroidCamera({
+    @visibleForTesting CameraApi? hostApi,
+    @visibleForTesting FrameRingMapper? frameRingMapper,
+  })  : _hostApi = hostApi ?? CameraApi(),
+        _frameRingMapper = frameRingMapper ?? FrameRingMapper();
 
   /// Registers this class as the default instance of [CameraPlatform].
   static void registerWith() {
@@ -28,6 +40,10 @@ class AndroidCamera extends CameraPlatform {
 
   final CameraApi _hostApi;
 
+  /// Maps the files image stream frames are written into when they are
+  /// transferred through shared memory.
+  final FrameRingMapper _frameRingMapper;
+
   /// The name of the channel that device events from the platform side are
   /// sent on.
   @visibleForTesting
@@ -141,6 +157,7 @@ class AndroidCamera extends CameraPlatform {
     handler?.dispose();
 
     await _hostApi.dispose();
+    _frameRingMapper.release();
   }
 
   @override
@@ -194,22 +211,65 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// Captures a picture directly to memory as a JPEG.
+  ///
+  /// When [options] are given, the picture is scaled down on the platform side
+  /// before it is sent over, and a thumbnail can be returned along with it as
+  /// [AndroidCapturedImageData.thumbnail].
   @override
-  Future<CapturedImageData> captureToMemory(int cameraId) async {
+  Future<AndroidCapturedImageData> captureToMemory(int cameraId,
+      {CaptureToMemoryOptions? options}) async {
     try {
       final PlatformCapturedImageData platformData =
-          await _hostApi.captureToMemory();
+          await _hostApi.captureToMemory(options == null
+              ? null
+              : PlatformCaptureToMemoryOptions(
+                  maxDimension: options.maxDimension,
+                  quality: options.quality,
+                  thumbnailMaxDimension: options.thumbnailMaxDimension));
+      final Uint8List? thumbnailBytes = platformData.thumbnailBytes;
       // platformData.bytes is already Uint8List, no need to convert
-      return CapturedImageData(
+      return AndroidCapturedImageData(
         bytes: platformData.bytes,
         width: platformData.width,
         height: platformData.height,
+        thumbnail: thumbnailBytes == null
+            ? null
+            : CapturedImageData(
+                bytes: thumbnailBytes,
+                width: platformData.thumbnailWidth!,
+                height: platformData.thumbnailHeight!),
       );
     } on PlatformException catch (e) {
       throw CameraException(e.code, e.message);
     }
   }
 
+  /// Captures [count] still images back to back, as fast as the sensor allows.
+  ///
+  /// The precapture sequence is skipped, so the focus and exposure the preview
+  /// has settled on are used for every frame. The frames are returned in
+  /// capture order, and are saved to files unless [toMemory] is true. Frames
+  /// that fail to capture are left out. [count] must be between 1 and 10.
+  Future<List<BurstFrame>> captureBurst(int cameraId, int count,
+      {bool toMemory = false}) async {
+    try {
+      final List<PlatformBurstFrame> frames =
+          await _hostApi.captureBurst(count, toMemory);
+      return frames
+          .map((PlatformBurstFrame frame) => BurstFrame(
+                sensorTimestamp: frame.sensorTimestamp,
+                file: frame.path == null ? null : XFile(frame.path!),
+                bytes: frame.bytes,
+                width: frame.width,
+                height: frame.height,
+              ))
+          .toList();
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
   // This optimization is unnecessary on Android.
   @override
   Future<void> prepareForVideoRecording() async {}
@@ -257,7 +317,10 @@ class AndroidCamera extends CameraPlatform {
 
   StreamController<CameraImageData> _installStreamController(
       {void Function()? onListen}) {
+    // Frames are delivered synchronously, so that a frame is only
+    // acknowledged once the listener has handled it.
     _frameStreamController = StreamController<CameraImageData>(
+      sync: true,
       onListen: onListen ?? () {},
       onPause: _onFrameStreamPauseResume,
       onResume: _onFrameStreamPauseResume,
@@ -280,8 +343,20 @@ class AndroidCamera extends CameraPlatform {
         EventChannel('plugins.flutter.io/camera_android/imageStream');
     _platformImageStreamSubscription =
         cameraEventChannel.receiveBroadcastStream().listen((dynamic imageData) {
-      _frameStreamController!
-          .add(cameraImageFromPlatformData(imageData as Map<dynamic, dynamic>));
+      // The platform side reuses the buffers of the frame and sends the frames
+      // it held back once the frame is acknowledged, so it is only acknowledged
+      // after the listener has returned.
+      try {
+        _frameStreamController?.add(cameraImageFromPlatformData(
+            imageData as Map<dynamic, dynamic>,
+            mapFrameRing: _frameRingMapper.map));
+      } finally {
+        try {
+          _hostApi.receivedImageStreamData();
+        } on PlatformException catch (e) {
+          throw CameraException(e.code, e.message);
+        }
+      }
     });
   }
 
@@ -297,6 +372,212 @@ class AndroidCamera extends CameraPlatform {
         'Pause and resume are not supported for onStreamedFrameAvailable');
   }
 
+  /// Sets how image stream frames are delivered while the Dart side is still
+  /// processing earlier frames.
+  ///
+  /// [maxPendingFrames] limits how many frames may be waiting on the Dart side
+  /// at once when using [ImageStreamDeliveryPolicy.boundedQueue].
+  Future<void> setImageStreamDeliveryPolicy(
+      int cameraId, ImageStreamDeliveryPolicy policy,
+      {int maxPendingFrames = 3}) async {
+    try {
+      await _hostApi.setImageStreamDeliveryPolicy(
+          imageStreamDeliveryPolicyToPlatform(policy), maxPendingFrames);
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Sets how many images the native image stream buffers.
+  ///
+  /// More buffers let the camera keep producing frames while earlier frames are
+  /// still being converted, at the cost of memory. Must be at least 2, and
+  /// takes effect the next time the image stream is started.
+  Future<void> setImageStreamBufferCount(int cameraId, int bufferCount) async {
+    try {
+      await _hostApi.setImageStreamBufferCount(bufferCount);
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Sets how the planes of image stream frames are transferred from the
+  /// platform side, which takes effect the next time the image stream is
+  /// started.
+  ///
+  /// See [ImageStreamTransport.sharedMemory] for how long the planes of frames
+  /// transferred through shared memory stay valid.
+  Future<void> setImageStreamTransport(
+      int cameraId, ImageStreamTransport transport) async {
+    try {
+      await _hostApi
+          .setImageStreamTransport(imageStreamTransportToPlatform(transport));
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Sets which part of each image stream frame is sent from the platform side,
+  /// and at what resolution.
+  ///
+  /// Takes effect from the next frame. Only applies to YUV420 and NV21 streams.
+  Future<void> setImageStreamRegion(
+      int cameraId, ImageStreamRegion region) async {
+    try {
+      await _hostApi.setImageStreamRegion(imageStreamRegionToPlatform(region));
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Limits which image stream frames are sent from the platform side,
+  /// independently of the frame rate of the preview.
+  ///
+  /// Frames are sent at most at [maxFramesPerSecond], or without a limit when
+  /// it is null, and only every [frameStride]th frame is sent. Frames that are
+  /// not sent are skipped before they are converted, so the conversion and the
+  /// transfer only cost as much as the frames that are actually used. Skipped
+  /// frames are not counted as dropped.
+  Future<void> setImageStreamFrameRateLimit(int cameraId,
+      {double? maxFramesPerSecond, int frameStride = 1}) async {
+    try {
+      await _hostApi.setImageStreamFrameRateLimit(
+          maxFramesPerSecond, frameStride);
+    } on PlatformException catch (e) {
+      throw CameraException(e.code, e.message);
+    }
+  }
+
+  /// Returns how many image stream frames were delivered and dropped since the
+  /// image stream was last started.
+  Future<ImageStreamStats> getImageStreamStats(int cameraId) async {
+    final PlatformImageStreamStats stats = await _hostApi.getImageStreamStats();
+    return ImageStreamStats(
+        deliveredFrames: stats.deliveredFrames,
+        droppedFrames: stats.droppedFrames);
+  }
+
+  /// Returns the queue depths of the executors that process and save still
+  /// captures, which are shared by all cameras.
+  Future<CaptureExecutorStats> getCaptureExecutorStats() async {
+    final PlatformCaptureExecutorStats stats =
+        await _hostApi.getCaptureExecutorStats();
+    return CaptureExecutorStats(
+        processingQueueDepth: stats.processingQueueDepth,
+        processingMaxQueueDepth: stats.processingMaxQueueDepth,
+        processingCompletedTasks: stats.processingCompletedTasks,
+        ioQueueDepth: stats.ioQueueDepth,
+        ioMaxQueueDepth: stats.ioMaxQueueDepth,
+        ioCompletedTasks: stats.ioCompletedTasks);
+  }
+
+  /// Sets whether the preview keeps a few recent full-resolution frames so
+  /// that [captureToMemory] can return one immediately.
+  ///
+  /// While enabled, [captureToMemory] encodes the newest frame whose focus and
+  /// exposure had settled instead of running the focus and precapture
+  /// sequence, falling back to a regular capture when no frame is available.
+  /// This uses more memory and bandwidth, and not every device supports the
+  /// extra stream. Takes effect the next time the preview is started.
+  Future<void> setZeroShutterLagEnabled(int cameraId, bool enabled) =>
+      _hostApi.setZeroShutterLagEnabled(enabled);
+
+  /// Returns whether the current preview keeps recent frames for zero shutter
+  /// lag captures.
+  ///
+  /// This is false when [setZeroShutterLagEnabled] was not enabled, and also
+  /// when the device could not configure the preview with the extra stream,
+  /// in which case zero shutter lag is turned off for the camera.
+  Future<bool> isZeroShutterLagActive(int cameraId) =>
+      _hostApi.isZeroShutterLagActive();
+
+  /// Sets whether [takePicture] and [captureToMemory] capture immediately when
+  /// the preview shows that focus and exposure have already converged.
+  ///
+  /// The focus and precapture sequence still runs when the scene has not
+  /// settled or the flash is set to [FlashMode.always]. How often it was
+  /// skipped is reported by [getCaptureMetrics].
+  Future<void> setFastCaptureEnabled(int cameraId, bool enabled) =>
+      _hostApi.setFastCaptureEnabled(enabled);
+
+  /// Sets whether [takePicture] forces the picture to storage before returning
+  /// its path.
+  ///
+  /// The picture can always be read once its path is returned, but without
+  /// this it may be lost if the device loses power right after. Forcing it to
+  /// storage makes captures take longer.
+  Future<void> setSyncPictureFilesEnabled(int cameraId, bool enabled) =>
+      _hostApi.setSyncPictureFilesEnabled(enabled);
+
+  /// Sets where [takePicture] saves pictures, which takes effect from the next
+  /// capture.
+  ///
+  /// With [PictureDestination.mediaStore], the path of the returned file is the
+  /// content URI of the new media store item.
+  Future<void> setPictureDestination(
+          int cameraId, PictureDestination destination) =>
+      _hostApi.setPictureDestination(pictureDestinationToPlatform(destination));
+
+  /// Sets what the camera gives up when Android asks the app to reduce its
+  /// memory use.
+  ///
+  /// By default, buffers kept for reuse are released from
+  /// [MemoryTrimLevel.runningLow], and the image stream is paused from
+  /// [MemoryTrimLevel.uiHidden]. Both are restored once the app is back in the
+  /// foreground.
+  Future<void> setMemoryTrimPolicy(int cameraId, MemoryTrimPolicy policy) =>
+      _hostApi.setMemoryTrimLevels(policy.releaseBuffersLevel?.value,
+          policy.pauseImageStreamLevel?.value);
+
+  /// Sets whether the preview session is configured with the preview, still
+  /// capture, image stream and video recording outputs up front.
+  ///
+  /// While enabled, starting and stopping [onStreamedFrameAvailable] or
+  /// [startVideoCapturing] only changes the outputs the camera streams to, so
+  /// the preview keeps running instead of pausing while a new session is
+  /// configured. Requires Android 6.0, and falls back to a
+  /// session per mode on devices that cannot configure every output at once.
+  /// Zero shutter lag frames are not kept while it is used. Takes effect the
+  /// next time the preview is started.
+  Future<void> setSupersetSessionEnabled(int cameraId, bool enabled) =>
+      _hostApi.setSupersetSessionEnabled(enabled);
+
+  /// Returns latency histograms for each stage of the still captures taken
+  /// since the camera was created.
+  Future<CaptureMetrics> getCaptureMetrics(int cameraId) async {
+    final PlatformCaptureMetrics metrics = await _hostApi.getCaptureMetrics();
+    return CaptureMetrics(
+      bucketUpperBounds: metrics.bucketUpperBoundsMicros
+          .map((int bound) => Duration(microseconds: bound))
+          .toList(),
+      stages: <CaptureStage, CaptureStageMetrics>{
+        for (final PlatformCaptureStageMetrics stage in metrics.stages)
+          captureStageFromPlatform(stage.stage): CaptureStageMetrics(
+            count: stage.count,
+            total: Duration(microseconds: stage.totalMicros),
+            min: Duration(microseconds: stage.minMicros),
+            max: Duration(microseconds: stage.maxMicros),
+            bucketCounts: stage.bucketCounts,
+          ),
+      },
+      fastCaptureCount: metrics.fastCaptureCount,
+      sequencedCaptureCount: metrics.sequencedCaptureCount,
+    );
+  }
+
+  /// Returns how long the stages of the last time the camera was opened took,
+  /// from [initializeCamera] until the first preview frame.
+  Future<StartupTrace> getStartupTrace(int cameraId) async {
+    final PlatformStartupTrace trace = await _hostApi.getStartupTrace();
+    Duration? toDuration(int? micros) =>
+        micros == null ? null : Duration(microseconds: micros);
+    return StartupTrace(
+      deviceOpened: toDuration(trace.deviceOpenedMicros),
+      sessionConfigured: toDuration(trace.sessionConfiguredMicros),
+      firstFrame: toDuration(trace.firstFrameMicros),
+    );
+  }
+
   @override
   Future<void> setFlashMode(int cameraId, FlashMode mode) =>
       _hostApi.setFlashMode(flashModeToPlatform(mode));
@@ -0,0 +1,37 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+
+/// A streamed image with the Android specific metadata of the capture that
+/// produced it.
+///
+/// The metadata comes from the capture result with the same sensor timestamp
+/// as the image. When that result had not arrived yet by the time the image was
+/// sent, [lensAperture], [sensorExposureTime] and [sensorSensitivity] are the
+/// latest known values and [lensFocusDistance] is null.
+class AndroidCameraImageData extends CameraImageData {
+  /// Creates a new instance with the given format, planes, and metadata.
+  const AndroidCameraImageData({
+    required super.format,
+    required super.planes,
+    required super.height,
+    required super.width,
+    super.lensAperture,
+    super.sensorExposureTime,
+    super.sensorSensitivity,
+    this.sensorTimestamp,
+    this.lensFocusDistance,
+  });
+
+  /// The time the sensor started exposing this image, in nanoseconds.
+  ///
+  /// Uses the same time base as the camera's capture results.
+  final int? sensorTimestamp;
+
+  /// The distance the lens was focused at for this image, in diopters.
+  ///
+  /// Zero means the lens was focused at infinity.
+  final double? lensFocusDistance;
+}
@@ -0,0 +1,36 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// A single still image captured as part of a burst.
+@immutable
+class BurstFrame {
+  /// Creates a new burst frame.
+  const BurstFrame({
+    required this.sensorTimestamp,
+    this.file,
+    this.bytes,
+    required this.width,
+    required this.height,
+  });
+
+  /// The time the sensor started exposing the frame, in nanoseconds.
+  ///
+  /// Only meaningful relative to the other frames of the same burst.
+  final int sensorTimestamp;
+
+  /// The JPEG file the frame was saved to, when capturing to files.
+  final XFile? file;
+
+  /// The JPEG bytes of the frame, when the burst was captured to memory.
+  final Uint8List? bytes;
+
+  /// The width of the image in pixels.
+  final int width;
+
+  /// The height of the image in pixels.
+  final int height;
+}
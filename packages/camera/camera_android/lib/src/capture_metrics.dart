@@ -0,0 +1,90 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// A stage of a still capture whose latency is measured.
+///
+/// Each stage runs from the end of the previous stage that took place, so a
+/// capture that skips autofocus counts that time towards [precapture].
+enum CaptureStage {
+  /// From the capture request until autofocus has locked.
+  autoFocus,
+
+  /// Until the auto-exposure precapture sequence has converged.
+  precapture,
+
+  /// Until the sensor starts exposing the still frame.
+  sensorExposure,
+
+  /// Until the camera has produced the JPEG.
+  jpegAvailable,
+
+  /// Until the image has been processed in memory or saved to a file.
+  processing,
+
+  /// Until the result has been handed back to Dart.
+  delivery,
+
+  /// From the capture request until the result was handed back to Dart.
+  total,
+}
+
+/// The latency histogram of one [CaptureStage].
+@immutable
+class CaptureStageMetrics {
+  /// Creates a new stage histogram.
+  const CaptureStageMetrics({
+    required this.count,
+    required this.total,
+    required this.min,
+    required this.max,
+    required this.bucketCounts,
+  });
+
+  /// The number of captures that went through the stage.
+  final int count;
+
+  /// The time spent in the stage by all of those captures.
+  final Duration total;
+
+  /// The shortest time spent in the stage.
+  final Duration min;
+
+  /// The longest time spent in the stage.
+  final Duration max;
+
+  /// The number of durations in each bucket of
+  /// [CaptureMetrics.bucketUpperBounds], followed by the number of longer
+  /// durations.
+  final List<int> bucketCounts;
+
+  /// The average time spent in the stage.
+  Duration get mean => count == 0 ? Duration.zero : total ~/ count;
+}
+
+/// Latency histograms of the still captures taken by a camera.
+@immutable
+class CaptureMetrics {
+  /// Creates a new set of capture latency histograms.
+  const CaptureMetrics({
+    required this.bucketUpperBounds,
+    required this.stages,
+    required this.fastCaptureCount,
+    required this.sequencedCaptureCount,
+  });
+
+  /// The exclusive upper bounds of the histogram buckets, in increasing order.
+  final List<Duration> bucketUpperBounds;
+
+  /// The histograms of the stages that have been measured at least once.
+  final Map<CaptureStage, CaptureStageMetrics> stages;
+
+  /// The number of captures that skipped the focus and precapture sequence
+  /// because the preview had already converged.
+  final int fastCaptureCount;
+
+  /// The number of captures that ran the focus and precapture sequence.
+  final int sequencedCaptureCount;
+}
@@ -0,0 +1,60 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// Queue depths and completed task counts of the executors that process and
+/// save still captures on the platform side.
+///
+/// The depth of an executor counts the tasks that are waiting for it as well as
+/// the ones it is running.
+@immutable
+class CaptureExecutorStats {
+  /// Creates a new set of capture executor counters.
+  const CaptureExecutorStats({
+    required this.processingQueueDepth,
+    required this.processingMaxQueueDepth,
+    required this.processingCompletedTasks,
+    required this.ioQueueDepth,
+    required this.ioMaxQueueDepth,
+    required this.ioCompletedTasks,
+  });
+
+  /// The number of images currently being decoded or encoded, or waiting to be.
+  final int processingQueueDepth;
+
+  /// The highest [processingQueueDepth] seen so far.
+  final int processingMaxQueueDepth;
+
+  /// The number of images that have finished processing.
+  final int processingCompletedTasks;
+
+  /// The number of files currently being written, or waiting to be.
+  final int ioQueueDepth;
+
+  /// The highest [ioQueueDepth] seen so far.
+  final int ioMaxQueueDepth;
+
+  /// The number of files that have finished writing.
+  final int ioCompletedTasks;
+
+  @override
+  bool operator ==(Object other) =>
+      other is CaptureExecutorStats &&
+      other.processingQueueDepth == processingQueueDepth &&
+      other.processingMaxQueueDepth == processingMaxQueueDepth &&
+      other.processingCompletedTasks == processingCompletedTasks &&
+      other.ioQueueDepth == ioQueueDepth &&
+      other.ioMaxQueueDepth == ioMaxQueueDepth &&
+      other.ioCompletedTasks == ioCompletedTasks;
+
+  @override
+  int get hashCode => Object.hash(
+      processingQueueDepth,
+      processingMaxQueueDepth,
+      processingCompletedTasks,
+      ioQueueDepth,
+      ioMaxQueueDepth,
+      ioCompletedTasks);
+}
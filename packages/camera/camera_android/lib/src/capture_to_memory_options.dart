@@ -0,0 +1,47 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+import 'package:flutter/foundation.dart';
+
+/// Sizes that a picture captured to memory is scaled down to on the platform
+/// side, before it is sent to Dart.
+@immutable
+class CaptureToMemoryOptions {
+  /// Creates a new set of capture to memory options.
+  const CaptureToMemoryOptions({
+    this.maxDimension,
+    this.quality = 90,
+    this.thumbnailMaxDimension,
+  });
+
+  /// The longest side of the returned image in pixels, or null to return the
+  /// full capture.
+  ///
+  /// Captures that are already small enough are returned as they are.
+  final int? maxDimension;
+
+  /// The JPEG quality that scaled images and thumbnails are encoded with, from
+  /// 1 to 100.
+  final int quality;
+
+  /// The longest side of the thumbnail in pixels, or null to return no
+  /// thumbnail.
+  final int? thumbnailMaxDimension;
+}
+
+/// A picture captured to memory, along with its thumbnail when one was
+/// requested with [CaptureToMemoryOptions.thumbnailMaxDimension].
+class AndroidCapturedImageData extends CapturedImageData {
+  /// Creates a new captured picture.
+  const AndroidCapturedImageData({
+    required super.bytes,
+    required super.width,
+    required super.height,
+    this.thumbnail,
+  });
+
+  /// A smaller JPEG of the same capture.
+  final CapturedImageData? thumbnail;
+}
@@ -0,0 +1,118 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:convert';
+import 'dart:ffi';
+import 'dart:typed_data';
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+
+// Values shared by Linux and Android.
+const int _oReadOnly = 0;
+const int _protRead = 1;
+const int _mapShared = 1;
+
+/// The smallest page size, which every successful mapping is aligned to.
+const int _pageSize = 4096;
+
+final DynamicLibrary _libc = DynamicLibrary.process();
+
+final Pointer<Void> Function(int) _malloc = _libc
+    .lookupFunction<Pointer<Void> Function(Size), Pointer<Void> Function(int)>(
+        'malloc');
+
+final void Function(Pointer<Void>) _free = _libc.lookupFunction<
+    Void Function(Pointer<Void>), void Function(Pointer<Void>)>('free');
+
+final int Function(Pointer<Uint8>, int, int) _open = _libc.lookupFunction<
+    Int32 Function(Pointer<Uint8>, Int32, VarArgs<(Int32,)>),
+    int Function(Pointer<Uint8>, int, int)>('open');
+
+final int Function(int) _close =
+    _libc.lookupFunction<Int32 Function(Int32), int Function(int)>('close');
+
+final Pointer<Void> Function(Pointer<Void>, int, int, int, int, int) _mmap =
+    _libc.lookupFunction<
+        Pointer<Void> Function(Pointer<Void>, Size, Int32, Int32, Int32, Long),
+        Pointer<Void> Function(
+            Pointer<Void>, int, int, int, int, int)>('mmap');
+
+final int Function(Pointer<Void>, int) _munmap = _libc.lookupFunction<
+    Int32 Function(Pointer<Void>, Size),
+    int Function(Pointer<Void>, int)>('munmap');
+
+/// Unmaps a file once the bytes it was mapped to, and so every plane that is a
+/// view of them, can no longer be reached.
+final Finalizer<(Pointer<Void>, int)> _unmapFinalizer =
+    Finalizer<(Pointer<Void>, int)>(((Pointer<Void>, int) mapping) {
+  _munmap(mapping.$1, mapping.$2);
+});
+
+/// Maps the files the platform side writes image stream frames into when
+/// frames are transferred through shared memory.
+///
+/// Each file is mapped read-only the first time a frame in it arrives. The
+/// planes of frames read from it are views of the mapping, so it is only
+/// unmapped once none of them can be reached anymore, even after a newer file
+/// has replaced it.
+///
+/// The platform side reuses the part of the file a frame was written into once
+/// the frame is acknowledged, after the stream listener has handled it, so
+/// planes that are kept longer must be copied.
+class FrameRingMapper {
+  String? _mappedPath;
+  Uint8List? _mapping;
+
+  /// Returns a view of the whole file at [path], which is [size] bytes long.
+  Uint8List map(String path, int size) {
+    final Uint8List? existing = _mapping;
+    if (existing != null && path == _mappedPath) {
+      return existing;
+    }
+
+    final Uint8List encodedPath = utf8.encode(path);
+    final Pointer<Uint8> cPath = _malloc(encodedPath.length + 1).cast<Uint8>();
+    final int fd;
+    try {
+      cPath.asTypedList(encodedPath.length + 1)
+        ..setAll(0, encodedPath)
+        ..[encodedPath.length] = 0;
+      fd = _open(cPath, _oReadOnly, 0);
+    } finally {
+      _free(cPath.cast<Void>());
+    }
+    if (fd < 0) {
+      throw CameraException(
+          'IOError', 'Could not open the image stream frame ring at $path.');
+    }
+
+    final Pointer<Void> address;
+    try {
+      address = _mmap(nullptr, size, _protRead, _mapShared, fd, 0);
+    } finally {
+      // The mapping keeps the file alive on its own.
+      _close(fd);
+    }
+    // A failed mapping returns -1, which is never page aligned.
+    if (address.address % _pageSize != 0) {
+      throw CameraException(
+          'IOError', 'Could not map the image stream frame ring at $path.');
+    }
+
+    final Uint8List bytes = address.cast<Uint8>().asTypedList(size);
+    _unmapFinalizer.attach(bytes, (address, size));
+    // Frames arrive in the order they were written, so no frame from an older
+    // file follows this one, and it is unmapped once its planes are gone.
+    _mappedPath = path;
+    _mapping = bytes;
+    return bytes;
+  }
+
+  /// Forgets the mapped file, which is unmapped once no plane of a frame read
+  /// from it can be reached anymore.
+  void release() {
+    _mappedPath = null;
+    _mapping = null;
+  }
+}
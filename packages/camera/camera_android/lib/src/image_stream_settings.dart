@@ -0,0 +1,109 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:math';
+
+import 'package:flutter/foundation.dart';
+
+/// How image stream frames are delivered while the Dart side is still
+/// processing earlier frames.
+enum ImageStreamDeliveryPolicy {
+  /// Only one frame is in flight at a time. The most recent frame that arrives
+  /// meanwhile is sent as soon as the previous one is received, and older ones
+  /// are dropped.
+  latestOnly,
+
+  /// Frames are sent until a given number of them are waiting on the Dart
+  /// side, after which new frames are dropped.
+  boundedQueue,
+
+  /// Frames that arrive while the Dart side is busy with an earlier frame are
+  /// dropped.
+  dropWhileBusy,
+}
+
+/// How the planes of image stream frames are transferred from the platform
+/// side.
+enum ImageStreamTransport {
+  /// The plane bytes are copied through the platform channel.
+  messageChannel,
+
+  /// The planes are written into a memory-mapped file that is mapped on the
+  /// Dart side as well, so only their offsets go through the platform channel.
+  ///
+  /// The bytes of each plane are views of the shared memory rather than copies.
+  /// The memory of a frame is reused once the stream listener has returned, so
+  /// copy the bytes to keep them longer. The memory stays mapped while any
+  /// plane that is a view of it can still be reached.
+  sharedMemory,
+}
+
+/// Which part of each image stream frame is sent from the platform side, and
+/// at what resolution.
+///
+/// Only applies to YUV420 and NV21 streams. The region is copied out of the
+/// planes on the platform side, so pixels outside of it are never transferred.
+/// The planes of a cropped or downsampled frame have no row padding and a
+/// pixel stride of 1, and the frame reports its downsampled size.
+@immutable
+class ImageStreamRegion {
+  /// Creates a new image stream region.
+  const ImageStreamRegion({
+    this.crop,
+    this.downsampleFactor = 1,
+    this.lumaOnly = false,
+  });
+
+  /// Sends every pixel of every plane.
+  static const ImageStreamRegion fullFrame = ImageStreamRegion();
+
+  /// The part of the frame to send in pixels of the full frame, or null to send
+  /// the whole frame.
+  ///
+  /// The origin is rounded down to even pixels and the size down to a multiple
+  /// of twice [downsampleFactor], so that the chroma planes line up.
+  final Rectangle<int>? crop;
+
+  /// Only every nth pixel of every nth row is sent.
+  final int downsampleFactor;
+
+  /// Whether only the Y plane is sent.
+  final bool lumaOnly;
+
+  @override
+  bool operator ==(Object other) =>
+      other is ImageStreamRegion &&
+      other.crop == crop &&
+      other.downsampleFactor == downsampleFactor &&
+      other.lumaOnly == lumaOnly;
+
+  @override
+  int get hashCode => Object.hash(crop, downsampleFactor, lumaOnly);
+}
+
+/// How many image stream frames were delivered and dropped since the image
+/// stream was last started.
+@immutable
+class ImageStreamStats {
+  /// Creates a new set of image stream counters.
+  const ImageStreamStats({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+  });
+
+  /// The number of frames sent to the Dart side.
+  final int deliveredFrames;
+
+  /// The number of frames dropped on the platform side.
+  final int droppedFrames;
+
+  @override
+  bool operator ==(Object other) =>
+      other is ImageStreamStats &&
+      other.deliveredFrames == deliveredFrames &&
+      other.droppedFrames == droppedFrames;
+
+  @override
+  int get hashCode => Object.hash(deliveredFrames, droppedFrames);
+}
@@ -0,0 +1,69 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// How strongly Android asks the app to reduce its memory use, from least to
+/// most severe.
+///
+/// See `ComponentCallbacks2` in the Android documentation.
+enum MemoryTrimLevel {
+  /// The app is in the foreground and the device is beginning to run low on
+  /// memory.
+  runningModerate(5),
+
+  /// The app is in the foreground and the device is running much lower on
+  /// memory.
+  runningLow(10),
+
+  /// The app is in the foreground and the device is about to kill background
+  /// processes to free memory.
+  runningCritical(15),
+
+  /// The app's UI is no longer visible.
+  uiHidden(20),
+
+  /// The app is in the background and near the start of the list of
+  /// processes to kill.
+  background(40),
+
+  /// The app is in the background and near the middle of the list of
+  /// processes to kill.
+  moderate(60),
+
+  /// The app is in the background and will be among the first processes to
+  /// be killed.
+  complete(80);
+
+  const MemoryTrimLevel(this.value);
+
+  /// The Android `TRIM_MEMORY_*` constant of the level.
+  final int value;
+}
+
+/// What the camera gives up when Android asks the app to reduce its memory
+/// use.
+///
+/// Everything is restored once the app is back in the foreground.
+@immutable
+class MemoryTrimPolicy {
+  /// Creates a new memory trim policy.
+  const MemoryTrimPolicy({
+    this.releaseBuffersLevel = MemoryTrimLevel.runningLow,
+    this.pauseImageStreamLevel = MemoryTrimLevel.uiHidden,
+  });
+
+  /// A policy that never releases buffers or pauses the image stream.
+  const MemoryTrimPolicy.never()
+      : releaseBuffersLevel = null,
+        pauseImageStreamLevel = null;
+
+  /// The lowest level at which buffers kept for reuse are released and new
+  /// image stream readers hold as few images as possible, or null for never.
+  final MemoryTrimLevel? releaseBuffersLevel;
+
+  /// The lowest level at which image stream frames are dropped instead of
+  /// being sent to Dart, or null for never.
+  final MemoryTrimLevel? pauseImageStreamLevel;
+}
@@ -81,6 +81,55 @@ enum PlatformFlashMode {
   torch,
 }
 
+/// How image stream frames are delivered while Dart is still busy with earlier
+/// frames.
+enum PlatformImageStreamDeliveryPolicy {
+  /// Keeps only the most recent frame and sends it once Dart catches up.
+  latestOnly,
+  /// Sends frames until the given number are waiting on Dart, then drops new
+  /// frames.
+  boundedQueue,
+  /// Drops every frame that arrives while Dart is busy with an earlier frame.
+  dropWhileBusy,
+}
+
+/// The stages of a still capture whose latency is measured, each running from
+/// the end of the previous stage that took place.
+enum PlatformCaptureStage {
+  /// From the capture request until autofocus has locked.
+  autoFocus,
+  /// Until the auto-exposure precapture sequence has converged.
+  precapture,
+  /// Until the sensor starts exposing the still frame.
+  sensorExposure,
+  /// Until the camera has produced the JPEG.
+  jpegAvailable,
+  /// Until the image has been processed in memory or saved to a file.
+  processing,
+  /// Until the result has been handed back to Dart.
+  delivery,
+  /// From the capture request until the result was handed back to Dart.
+  total,
+}
+
+/// How the planes of image stream frames are transferred to Dart.
+enum PlatformImageStreamTransport {
+  /// The plane bytes are sent through the image stream event channel.
+  messageChannel,
+  /// The planes are written into a memory-mapped file that Dart maps as well,
+  /// and only their offsets are sent through the event channel.
+  sharedMemory,
+}
+
+/// Where pictures taken to a file are saved.
+enum PlatformPictureDestination {
+  /// A file in the app's cache directory, returned by its path.
+  cacheFile,
+  /// A new item in the shared pictures collection of the media store,
+  /// returned by its content URI.
+  mediaStore,
+}
+
 /// Pigeon equivalent of [CameraDescription].
 class PlatformCameraDescription {
   PlatformCameraDescription({
@@ -215,6 +264,9 @@ class PlatformCapturedImageData {
     required this.bytes,
     required this.width,
     required this.height,
+    this.thumbnailBytes,
+    this.thumbnailWidth,
+    this.thumbnailHeight,
   });
 
   Uint8List bytes;
@@ -223,11 +275,21 @@ class PlatformCapturedImageData {
 
   int height;
 
+  /// A smaller JPEG of the same capture, when a thumbnail was requested.
+  Uint8List? thumbnailBytes;
+
+  int? thumbnailWidth;
+
+  int? thumbnailHeight;
+
   Object encode() {
     return <Object?>[
       bytes,
       width,
       height,
+      thumbnailBytes,
+      thumbnailWidth,
+      thumbnailHeight,
     ];
   }
 
@@ -237,6 +299,9 @@ class PlatformCapturedImageData {
       bytes: result[0]! as Uint8List,
       width: result[1]! as int,
       height: result[2]! as int,
+      thumbnailBytes: result[3] as Uint8List?,
+      thumbnailWidth: result[4] as int?,
+      thumbnailHeight: result[5] as int?,
     );
   }
 }
@@ -283,6 +348,342 @@ class PlatformMediaSettings {
   }
 }
 
+/// Frame delivery counters for the image stream.
+class PlatformImageStreamStats {
+  PlatformImageStreamStats({
+    required this.deliveredFrames,
+    required this.droppedFrames,
+  });
+
+  int deliveredFrames;
+
+  int droppedFrames;
+
+  Object encode() {
+    return <Object?>[
+      deliveredFrames,
+      droppedFrames,
+    ];
+  }
+
+  static PlatformImageStreamStats decode(Object result) {
+    result as List<Object?>;
+    return PlatformImageStreamStats(
+      deliveredFrames: result[0]! as int,
+      droppedFrames: result[1]! as int,
+    );
+  }
+}
+
+/// Queue depths and completed task counts of the still capture executors.
+class PlatformCaptureExecutorStats {
+  PlatformCaptureExecutorStats({
+    required this.processingQueueDepth,
+    required this.processingMaxQueueDepth,
+    required this.processingCompletedTasks,
+    required this.ioQueueDepth,
+    required this.ioMaxQueueDepth,
+    required this.ioCompletedTasks,
+  });
+
+  int processingQueueDepth;
+
+  int processingMaxQueueDepth;
+
+  int processingCompletedTasks;
+
+  int ioQueueDepth;
+
+  int ioMaxQueueDepth;
+
+  int ioCompletedTasks;
+
+  Object encode() {
+    return <Object?>[
+      processingQueueDepth,
+      processingMaxQueueDepth,
+      processingCompletedTasks,
+      ioQueueDepth,
+      ioMaxQueueDepth,
+      ioCompletedTasks,
+    ];
+  }
+
+  static PlatformCaptureExecutorStats decode(Object result) {
+    result as List<Object?>;
+    return PlatformCaptureExecutorStats(
+      processingQueueDepth: result[0]! as int,
+      processingMaxQueueDepth: result[1]! as int,
+      processingCompletedTasks: result[2]! as int,
+      ioQueueDepth: result[3]! as int,
+      ioMaxQueueDepth: result[4]! as int,
+      ioCompletedTasks: result[5]! as int,
+    );
+  }
+}
+
+/// A single frame of a burst capture.
+class PlatformBurstFrame {
+  PlatformBurstFrame({
+    required this.sensorTimestamp,
+    this.path,
+    this.bytes,
+    required this.width,
+    required this.height,
+  });
+
+  /// The sensor timestamp of the frame, in nanoseconds.
+  int sensorTimestamp;
+
+  /// The path of the saved JPEG, when capturing to files.
+  String? path;
+
+  /// The JPEG bytes, when capturing to memory.
+  Uint8List? bytes;
+
+  int width;
+
+  int height;
+
+  Object encode() {
+    return <Object?>[
+      sensorTimestamp,
+      path,
+      bytes,
+      width,
+      height,
+    ];
+  }
+
+  static PlatformBurstFrame decode(Object result) {
+    result as List<Object?>;
+    return PlatformBurstFrame(
+      sensorTimestamp: result[0]! as int,
+      path: result[1] as String?,
+      bytes: result[2] as Uint8List?,
+      width: result[3]! as int,
+      height: result[4]! as int,
+    );
+  }
+}
+
+/// Pigeon version of CaptureToMemoryOptions.
+class PlatformCaptureToMemoryOptions {
+  PlatformCaptureToMemoryOptions({
+    this.maxDimension,
+    required this.quality,
+    this.thumbnailMaxDimension,
+  });
+
+  /// The longest side of the image in pixels, or null for the full size.
+  int? maxDimension;
+
+  /// The JPEG quality that scaled images are encoded with, from 1 to 100.
+  int quality;
+
+  /// The longest side of the thumbnail in pixels, or null for no thumbnail.
+  int? thumbnailMaxDimension;
+
+  Object encode() {
+    return <Object?>[
+      maxDimension,
+      quality,
+      thumbnailMaxDimension,
+    ];
+  }
+
+  static PlatformCaptureToMemoryOptions decode(Object result) {
+    result as List<Object?>;
+    return PlatformCaptureToMemoryOptions(
+      maxDimension: result[0] as int?,
+      quality: result[1]! as int,
+      thumbnailMaxDimension: result[2] as int?,
+    );
+  }
+}
+
+/// Latency histogram of one stage of still capture.
+class PlatformCaptureStageMetrics {
+  PlatformCaptureStageMetrics({
+    required this.stage,
+    required this.count,
+    required this.totalMicros,
+    required this.minMicros,
+    required this.maxMicros,
+    required this.bucketCounts,
+  });
+
+  PlatformCaptureStage stage;
+
+  int count;
+
+  int totalMicros;
+
+  int minMicros;
+
+  int maxMicros;
+
+  /// The number of durations in each bucket of
+  /// [PlatformCaptureMetrics.bucketUpperBoundsMicros], followed by the number
+  /// of longer durations.
+  List<int> bucketCounts;
+
+  Object encode() {
+    return <Object?>[
+      stage,
+      count,
+      totalMicros,
+      minMicros,
+      maxMicros,
+      bucketCounts,
+    ];
+  }
+
+  static PlatformCaptureStageMetrics decode(Object result) {
+    result as List<Object?>;
+    return PlatformCaptureStageMetrics(
+      stage: result[0]! as PlatformCaptureStage,
+      count: result[1]! as int,
+      totalMicros: result[2]! as int,
+      minMicros: result[3]! as int,
+      maxMicros: result[4]! as int,
+      bucketCounts: (result[5] as List<Object?>?)!.cast<int>(),
+    );
+  }
+}
+
+/// Latency histograms of the still captures taken by a camera.
+class PlatformCaptureMetrics {
+  PlatformCaptureMetrics({
+    required this.bucketUpperBoundsMicros,
+    required this.stages,
+    required this.fastCaptureCount,
+    required this.sequencedCaptureCount,
+  });
+
+  /// The exclusive upper bounds of the histogram buckets.
+  List<int> bucketUpperBoundsMicros;
+
+  /// The stages that have been measured at least once.
+  List<PlatformCaptureStageMetrics> stages;
+
+  /// The number of captures that skipped the focus and precapture sequence.
+  int fastCaptureCount;
+
+  /// The number of captures that ran the focus and precapture sequence.
+  int sequencedCaptureCount;
+
+  Object encode() {
+    return <Object?>[
+      bucketUpperBoundsMicros,
+      stages,
+      fastCaptureCount,
+      sequencedCaptureCount,
+    ];
+  }
+
+  static PlatformCaptureMetrics decode(Object result) {
+    result as List<Object?>;
+    return PlatformCaptureMetrics(
+      bucketUpperBoundsMicros: (result[0] as List<Object?>?)!.cast<int>(),
+      stages: (result[1] as List<Object?>?)!.cast<PlatformCaptureStageMetrics>(),
+      fastCaptureCount: result[2]! as int,
+      sequencedCaptureCount: result[3]! as int,
+    );
+  }
+}
+
+/// How long the stages of opening a camera took, or null for the stages
+/// that have not been reached.
+class PlatformStartupTrace {
+  PlatformStartupTrace({
+    this.deviceOpenedMicros,
+    this.sessionConfiguredMicros,
+    this.firstFrameMicros,
+  });
+
+  /// The time from the open request until the camera device was opened.
+  int? deviceOpenedMicros;
+
+  /// The time from the open request until the preview session was
+  /// configured.
+  int? sessionConfiguredMicros;
+
+  /// The time from the open request until the first preview frame was
+  /// captured.
+  int? firstFrameMicros;
+
+  Object encode() {
+    return <Object?>[
+      deviceOpenedMicros,
+      sessionConfiguredMicros,
+      firstFrameMicros,
+    ];
+  }
+
+  static PlatformStartupTrace decode(Object result) {
+    result as List<Object?>;
+    return PlatformStartupTrace(
+      deviceOpenedMicros: result[0] as int?,
+      sessionConfiguredMicros: result[1] as int?,
+      firstFrameMicros: result[2] as int?,
+    );
+  }
+}
+
+/// Which part of each image stream frame is sent, and at what resolution.
+class PlatformImageStreamRegion {
+  PlatformImageStreamRegion({
+    this.cropLeft,
+    this.cropTop,
+    this.cropWidth,
+    this.cropHeight,
+    required this.downsampleFactor,
+    required this.lumaOnly,
+  });
+
+  /// The first column to send, or null to send the whole frame.
+  int? cropLeft;
+
+  /// The first row to send, or null to send the whole frame.
+  int? cropTop;
+
+  /// The number of columns to send, or null to send the whole frame.
+  int? cropWidth;
+
+  /// The number of rows to send, or null to send the whole frame.
+  int? cropHeight;
+
+  /// Only every nth pixel of every nth row is sent.
+  int downsampleFactor;
+
+  /// Whether only the Y plane is sent.
+  bool lumaOnly;
+
+  Object encode() {
+    return <Object?>[
+      cropLeft,
+      cropTop,
+      cropWidth,
+      cropHeight,
+      downsampleFactor,
+      lumaOnly,
+    ];
+  }
+
+  static PlatformImageStreamRegion decode(Object result) {
+    result as List<Object?>;
+    return PlatformImageStreamRegion(
+      cropLeft: result[0] as int?,
+      cropTop: result[1] as int?,
+      cropWidth: result[2] as int?,
+      cropHeight: result[3] as int?,
+      downsampleFactor: result[4]! as int,
+      lumaOnly: result[5]! as bool,
+    );
+  }
+}
+
 
 class _PigeonCodec extends StandardMessageCodec {
   const _PigeonCodec();
@@ -312,23 +713,59 @@ class _PigeonCodec extends StandardMessageCodec {
     }    else if (value is PlatformFlashMode) {
       buffer.putUint8(135);
       writeValue(buffer, value.index);
-    }    else if (value is PlatformCameraDescription) {
+    }    else if (value is PlatformImageStreamDeliveryPolicy) {
       buffer.putUint8(136);
+      writeValue(buffer, value.index);
+    }    else if (value is PlatformCaptureStage) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.index);
+    }    else if (value is PlatformImageStreamTransport) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.index);
+    }    else if (value is PlatformPictureDestination) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.index);
+    }    else if (value is PlatformCameraDescription) {
+      buffer.putUint8(140);
       writeValue(buffer, value.encode());
     }    else if (value is PlatformCameraState) {
-      buffer.putUint8(137);
+      buffer.putUint8(141);
       writeValue(buffer, value.encode());
     }    else if (value is PlatformSize) {
-      buffer.putUint8(138);
+      buffer.putUint8(142);
       writeValue(buffer, value.encode());
     }    else if (value is PlatformPoint) {
-      buffer.putUint8(139);
+      buffer.putUint8(143);
       writeValue(buffer, value.encode());
     }    else if (value is PlatformCapturedImageData) {
-      buffer.putUint8(140);
+      buffer.putUint8(144);
       writeValue(buffer, value.encode());
     }    else if (value is PlatformMediaSettings) {
-      buffer.putUint8(141);
+      buffer.putUint8(145);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformImageStreamStats) {
+      buffer.putUint8(146);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformCaptureExecutorStats) {
+      buffer.putUint8(147);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformBurstFrame) {
+      buffer.putUint8(148);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformCaptureToMemoryOptions) {
+      buffer.putUint8(149);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformCaptureStageMetrics) {
+      buffer.putUint8(150);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformCaptureMetrics) {
+      buffer.putUint8(151);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformStartupTrace) {
+      buffer.putUint8(152);
+      writeValue(buffer, value.encode());
+    }    else if (value is PlatformImageStreamRegion) {
+      buffer.putUint8(153);
       writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
@@ -360,17 +797,45 @@ class _PigeonCodec extends StandardMessageCodec {
         final int? value = readValue(buffer) as int?;
         return value == null ? null : PlatformFlashMode.values[value];
       case 136: 
-        return PlatformCameraDescription.decode(readValue(buffer)!);
+        final int? value = readValue(buffer) as int?;
+        return value == null ? null : PlatformImageStreamDeliveryPolicy.values[value];
       case 137: 
-        return PlatformCameraState.decode(readValue(buffer)!);
+        final int? value = readValue(buffer) as int?;
+        return value == null ? null : PlatformCaptureStage.values[value];
       case 138: 
-        return PlatformSize.decode(readValue(buffer)!);
+        final int? value = readValue(buffer) as int?;
+        return value == null ? null : PlatformImageStreamTransport.values[value];
       case 139: 
-        return PlatformPoint.decode(readValue(buffer)!);
+        final int? value = readValue(buffer) as int?;
+        return value == null ? null : PlatformPictureDestination.values[value];
       case 140: 
-        return PlatformCapturedImageData.decode(readValue(buffer)!);
+        return PlatformCameraDescription.decode(readValue(buffer)!);
       case 141: 
+        return PlatformCameraState.decode(readValue(buffer)!);
+      case 142: 
+        return PlatformSize.decode(readValue(buffer)!);
+      case 143: 
+        return PlatformPoint.decode(readValue(buffer)!);
+      case 144: 
+        return PlatformCapturedImageData.decode(readValue(buffer)!);
+      case 145: 
         return PlatformMediaSettings.decode(readValue(buffer)!);
+      case 146: 
+        return PlatformImageStreamStats.decode(readValue(buffer)!);
+      case 147: 
+        return PlatformCaptureExecutorStats.decode(readValue(buffer)!);
+      case 148: 
+        return PlatformBurstFrame.decode(readValue(buffer)!);
+      case 149: 
+        return PlatformCaptureToMemoryOptions.decode(readValue(buffer)!);
+      case 150: 
+        return PlatformCaptureStageMetrics.decode(readValue(buffer)!);
+      case 151: 
+        return PlatformCaptureMetrics.decode(readValue(buffer)!);
+      case 152: 
+        return PlatformStartupTrace.decode(readValue(buffer)!);
+      case 153: 
+        return PlatformImageStreamRegion.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -712,16 +1177,18 @@ class CameraApi {
     }
   }
 
-  /// Sets the flash mode of the camera with the given ID.
-  Future<void> setFlashMode(PlatformFlashMode flashMode) async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setFlashMode$pigeonVar_messageChannelSuffix';
+  /// Called by the Dart side when it has received an image stream frame.
+  ///
+  /// This is used to throttle sending frames across the channel.
+  Future<void> receivedImageStreamData() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.receivedImageStreamData$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[flashMode]) as List<Object?>?;
+        await pigeonVar_channel.send(null) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -735,16 +1202,19 @@ class CameraApi {
     }
   }
 
-  /// Sets the exposure mode of the camera with the given ID.
-  Future<void> setExposureMode(PlatformExposureMode exposureMode) async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposureMode$pigeonVar_messageChannelSuffix';
+  /// Sets how image stream frames are delivered while Dart is busy.
+  ///
+  /// [maxPendingFrames] is the number of frames that may be waiting on Dart
+  /// at once when using [PlatformImageStreamDeliveryPolicy.boundedQueue].
+  Future<void> setImageStreamDeliveryPolicy(PlatformImageStreamDeliveryPolicy policy, int maxPendingFrames) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setImageStreamDeliveryPolicy$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[exposureMode]) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[policy, maxPendingFrames]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -758,18 +1228,17 @@ class CameraApi {
     }
   }
 
-  /// Sets the exposure point of the camera with the given ID.
-  ///
-  /// A null value resets to the default exposure point.
-  Future<void> setExposurePoint(PlatformPoint? point) async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposurePoint$pigeonVar_messageChannelSuffix';
+  /// Sets how many images the native image stream buffers, which takes effect
+  /// the next time the image stream is started.
+  Future<void> setImageStreamBufferCount(int bufferCount) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setImageStreamBufferCount$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[point]) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[bufferCount]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -783,16 +1252,17 @@ class CameraApi {
     }
   }
 
-  /// Returns the minimum exposure offset of the camera with the given ID.
-  Future<double> getMinExposureOffset() async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getMinExposureOffset$pigeonVar_messageChannelSuffix';
+  /// Sets how the planes of image stream frames are transferred to Dart, which
+  /// takes effect the next time the image stream is started.
+  Future<void> setImageStreamTransport(PlatformImageStreamTransport transport) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setImageStreamTransport$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(null) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[transport]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -801,26 +1271,22 @@ class CameraApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
-      throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
-      );
     } else {
-      return (pigeonVar_replyList[0] as double?)!;
+      return;
     }
   }
 
-  /// Returns the maximum exposure offset of the camera with the given ID.
-  Future<double> getMaxExposureOffset() async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getMaxExposureOffset$pigeonVar_messageChannelSuffix';
+  /// Sets which part of each image stream frame is sent, and at what
+  /// resolution.
+  Future<void> setImageStreamRegion(PlatformImageStreamRegion region) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setImageStreamRegion$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(null) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[region]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -829,19 +1295,40 @@ class CameraApi {
         message: pigeonVar_replyList[1] as String?,
         details: pigeonVar_replyList[2],
       );
-    } else if (pigeonVar_replyList[0] == null) {
+    } else {
+      return;
+    }
+  }
+
+  /// Limits the image stream to at most [maxFramesPerSecond], or no limit when
+  /// null, and to every [frameStride]th frame, independently of the frame rate
+  /// of the session.
+  Future<void> setImageStreamFrameRateLimit(double? maxFramesPerSecond, int frameStride) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setImageStreamFrameRateLimit$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[maxFramesPerSecond, frameStride]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
       throw PlatformException(
-        code: 'null-error',
-        message: 'Host platform returned null value for non-null return value.',
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
       );
     } else {
-      return (pigeonVar_replyList[0] as double?)!;
+      return;
     }
   }
 
-  /// Returns the exposure step size of the camera with the given ID.
-  Future<double> getExposureOffsetStepSize() async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getExposureOffsetStepSize$pigeonVar_messageChannelSuffix';
+  /// Returns the number of image stream frames delivered to and dropped before
+  /// Dart since the image stream was last started.
+  Future<PlatformImageStreamStats> getImageStreamStats() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getImageStreamStats$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
@@ -863,21 +1350,21 @@ class CameraApi {
         message: 'Host platform returned null value for non-null return value.',
       );
     } else {
-      return (pigeonVar_replyList[0] as double?)!;
+      return (pigeonVar_replyList[0] as PlatformImageStreamStats?)!;
     }
   }
 
-  /// Sets the exposure offset of the camera with the given ID and returns the
-  /// actual exposure offset.
-  Future<double> setExposureOffset(double offset) async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposureOffset$pigeonVar_messageChannelSuffix';
+  /// Returns the queue depths of the executors that process and save still
+  /// captures.
+  Future<PlatformCaptureExecutorStats> getCaptureExecutorStats() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getCaptureExecutorStats$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[offset]) as List<Object?>?;
+        await pigeonVar_channel.send(null) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -892,20 +1379,440 @@ class CameraApi {
         message: 'Host platform returned null value for non-null return value.',
       );
     } else {
-      return (pigeonVar_replyList[0] as double?)!;
+      return (pigeonVar_replyList[0] as PlatformCaptureExecutorStats?)!;
     }
   }
 
-  /// Sets the focus mode of the camera with the given ID.
-  Future<void> setFocusMode(PlatformFocusMode focusMode) async {
-    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setFocusMode$pigeonVar_messageChannelSuffix';
+  /// Sets whether preview sessions keep recent full-resolution frames so that
+  /// [captureToMemory] can return one immediately, which takes effect the next
+  /// time the preview is started.
+  Future<void> setZeroShutterLagEnabled(bool enabled) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setZeroShutterLagEnabled$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
       pigeonChannelCodec,
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(<Object?>[focusMode]) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[enabled]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns whether the current preview session keeps recent frames for zero
+  /// shutter lag captures. False when they are disabled or the device could
+  /// not configure a session with the extra stream.
+  Future<bool> isZeroShutterLagActive() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.isZeroShutterLagActive$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as bool?)!;
+    }
+  }
+
+  /// Sets whether still captures are taken immediately when autofocus and
+  /// auto-exposure have already converged and the flash is not needed.
+  Future<void> setFastCaptureEnabled(bool enabled) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setFastCaptureEnabled$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets whether pictures taken to a file are forced to storage before their
+  /// path is returned.
+  Future<void> setSyncPictureFilesEnabled(bool enabled) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setSyncPictureFilesEnabled$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets where pictures taken to a file are saved, which takes effect from
+  /// the next capture.
+  Future<void> setPictureDestination(PlatformPictureDestination destination) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setPictureDestination$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[destination]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets the Android memory trim levels from which pooled camera buffers are
+  /// released and the image stream is paused, or never when null. Both are
+  /// restored once the app is back in the foreground.
+  Future<void> setMemoryTrimLevels(int? releaseBuffersLevel, int? pauseImageStreamLevel) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setMemoryTrimLevels$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[releaseBuffersLevel, pauseImageStreamLevel]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets whether preview sessions are configured with the outputs of every
+  /// mode up front, so that starting the image stream or a recording does not
+  /// configure a new session. Takes effect the next time the preview is
+  /// started.
+  Future<void> setSupersetSessionEnabled(bool enabled) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setSupersetSessionEnabled$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[enabled]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns latency histograms for each stage of the still captures taken
+  /// since the camera was created.
+  Future<PlatformCaptureMetrics> getCaptureMetrics() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getCaptureMetrics$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlatformCaptureMetrics?)!;
+    }
+  }
+
+  /// Returns how long the stages of the last time the camera was opened
+  /// took.
+  Future<PlatformStartupTrace> getStartupTrace() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getStartupTrace$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as PlatformStartupTrace?)!;
+    }
+  }
+
+  /// Sets the flash mode of the camera with the given ID.
+  Future<void> setFlashMode(PlatformFlashMode flashMode) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setFlashMode$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[flashMode]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets the exposure mode of the camera with the given ID.
+  Future<void> setExposureMode(PlatformExposureMode exposureMode) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposureMode$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[exposureMode]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Sets the exposure point of the camera with the given ID.
+  ///
+  /// A null value resets to the default exposure point.
+  Future<void> setExposurePoint(PlatformPoint? point) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposurePoint$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[point]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns the minimum exposure offset of the camera with the given ID.
+  Future<double> getMinExposureOffset() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getMinExposureOffset$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as double?)!;
+    }
+  }
+
+  /// Returns the maximum exposure offset of the camera with the given ID.
+  Future<double> getMaxExposureOffset() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getMaxExposureOffset$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as double?)!;
+    }
+  }
+
+  /// Returns the exposure step size of the camera with the given ID.
+  Future<double> getExposureOffsetStepSize() async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.getExposureOffsetStepSize$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as double?)!;
+    }
+  }
+
+  /// Sets the exposure offset of the camera with the given ID and returns the
+  /// actual exposure offset.
+  Future<double> setExposureOffset(double offset) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setExposureOffset$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[offset]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as double?)!;
+    }
+  }
+
+  /// Sets the focus mode of the camera with the given ID.
+  Future<void> setFocusMode(PlatformFocusMode focusMode) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.setFocusMode$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[focusMode]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -1100,7 +2007,10 @@ class CameraApi {
   /// The image is captured at the camera's current resolution and compressed
   /// as JPEG. Orientation is automatically handled based on the device's
   /// current orientation.
-  Future<PlatformCapturedImageData> captureToMemory() async {
+  ///
+  /// When [options] are given, the image is scaled down to fit them before it
+  /// is returned, and a thumbnail can be returned along with it.
+  Future<PlatformCapturedImageData> captureToMemory(PlatformCaptureToMemoryOptions? options) async {
     final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.captureToMemory$pigeonVar_messageChannelSuffix';
     final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
       pigeonVar_channelName,
@@ -1108,7 +2018,7 @@ class CameraApi {
       binaryMessenger: pigeonVar_binaryMessenger,
     );
     final List<Object?>? pigeonVar_replyList =
-        await pigeonVar_channel.send(null) as List<Object?>?;
+        await pigeonVar_channel.send(<Object?>[options]) as List<Object?>?;
     if (pigeonVar_replyList == null) {
       throw _createConnectionError(pigeonVar_channelName);
     } else if (pigeonVar_replyList.length > 1) {
@@ -1126,6 +2036,37 @@ class CameraApi {
       return (pigeonVar_replyList[0] as PlatformCapturedImageData?)!;
     }
   }
+
+  /// Captures [count] still images back to back, without running the
+  /// precapture sequence in between, and returns them in capture order.
+  ///
+  /// The images are saved to files unless [toMemory] is true.
+  Future<List<PlatformBurstFrame>> captureBurst(int count, bool toMemory) async {
+    final String pigeonVar_channelName = 'dev.flutter.pigeon.camera_android.CameraApi.captureBurst$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel = BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[count, toMemory]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as List<Object?>?)!.cast<PlatformBurstFrame>();
+    }
+  }
 }
 
 /// Handles calls from native side to Dart that are not camera-specific.
@@ -0,0 +1,20 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+/// Where pictures taken with `takePicture` are saved.
+enum PictureDestination {
+  /// A file in the app's cache directory.
+  ///
+  /// The returned file's path is the path of the file.
+  cacheFile,
+
+  /// A new item in the shared pictures collection of the media store.
+  ///
+  /// The picture is written into the item directly, so it does not need to be
+  /// copied into the gallery afterwards. The returned file's path is the
+  /// `content://` URI of the item, which can be read through a content
+  /// resolver but not with `dart:io`. Before Android 10 this needs permission
+  /// to write to external storage.
+  mediaStore,
+}
@@ -0,0 +1,28 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// How long the stages of opening a camera took, measured from the request to
+/// open it.
+///
+/// Stages that have not been reached yet are null.
+@immutable
+class StartupTrace {
+  /// Creates a new startup trace.
+  const StartupTrace({
+    this.deviceOpened,
+    this.sessionConfigured,
+    this.firstFrame,
+  });
+
+  /// Until the camera device was opened.
+  final Duration? deviceOpened;
+
+  /// Until the preview session was configured.
+  final Duration? sessionConfigured;
+
+  /// Until the first preview frame was captured.
+  final Duration? firstFrame;
+}
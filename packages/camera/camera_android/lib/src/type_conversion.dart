@@ -6,20 +6,33 @@ import 'dart:typed_data';
 
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 
+import 'android_camera_image_data.dart';
+
 /// Converts method channel call [data] for `receivedImageStreamData` to a
-/// [CameraImageData].
-CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data) {
-  return CameraImageData(
+/// [CameraImageData], which is an [AndroidCameraImageData].
+///
+/// When the frame was written into a frame ring, [mapFrameRing] is called with
+/// the path and size of the ring file, and the planes are views of the bytes it
+/// returns.
+CameraImageData cameraImageFromPlatformData(Map<dynamic, dynamic> data,
+    {Uint8List Function(String path, int size)? mapFrameRing}) {
+  final String? ringPath = data['ringPath'] as String?;
+  final Uint8List? ring = ringPath == null
+      ? null
+      : mapFrameRing!(ringPath, data['ringSize'] as int);
+  return AndroidCameraImageData(
       format: _cameraImageFormatFromPlatformData(data['format']),
       height: data['height'] as int,
       width: data['width'] as int,
       lensAperture: data['lensAperture'] as double?,
       sensorExposureTime: data['sensorExposureTime'] as int?,
       sensorSensitivity: data['sensorSensitivity'] as double?,
+      sensorTimestamp: data['sensorTimestamp'] as int?,
+      lensFocusDistance: data['lensFocusDistance'] as double?,
       planes: List<CameraImagePlane>.unmodifiable(
           (data['planes'] as List<dynamic>).map<CameraImagePlane>(
               (dynamic planeData) => _cameraImagePlaneFromPlatformData(
-                  planeData as Map<dynamic, dynamic>))));
+                  planeData as Map<dynamic, dynamic>, ring))));
 }
 
 CameraImageFormat _cameraImageFormatFromPlatformData(dynamic data) {
@@ -39,9 +52,18 @@ ImageFormatGroup _imageFormatGroupFromPlatformData(dynamic data) {
   return ImageFormatGroup.unknown;
 }
 
-CameraImagePlane _cameraImagePlaneFromPlatformData(Map<dynamic, dynamic> data) {
+CameraImagePlane _cameraImagePlaneFromPlatformData(
+    Map<dynamic, dynamic> data, Uint8List? ring) {
+  final Uint8List bytes;
+  if (ring != null) {
+    final int offset = data['offset'] as int;
+    final int length = data['length'] as int;
+    bytes = Uint8List.sublistView(ring, offset, offset + length);
+  } else {
+    bytes = data['bytes'] as Uint8List;
+  }
   return CameraImagePlane(
-      bytes: data['bytes'] as Uint8List,
+      bytes: bytes,
       bytesPerPixel: data['bytesPerPixel'] as int?,
       bytesPerRow: data['bytesPerRow'] as int,
       height: data['height'] as int?,
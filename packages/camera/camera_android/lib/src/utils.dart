@@ -7,7 +7,10 @@ import 'dart:math';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
 
+import 'capture_metrics.dart';
+import 'image_stream_settings.dart';
 import 'messages.g.dart';
+import 'picture_destination.dart';
 
 /// Converts a [PlatformCameraLensDirection] to [CameraLensDirection].
 CameraLensDirection cameraLensDirectionFromPlatform(
@@ -159,3 +162,58 @@ PlatformFlashMode flashModeToPlatform(FlashMode mode) {
 /// Null becomes null.
 PlatformPoint? pointToPlatform(Point<double>? point) =>
     (point != null) ? PlatformPoint(x: point.x, y: point.y) : null;
+
+/// Converts an [ImageStreamDeliveryPolicy] to
+/// [PlatformImageStreamDeliveryPolicy].
+PlatformImageStreamDeliveryPolicy imageStreamDeliveryPolicyToPlatform(
+        ImageStreamDeliveryPolicy policy) =>
+    switch (policy) {
+      ImageStreamDeliveryPolicy.latestOnly =>
+        PlatformImageStreamDeliveryPolicy.latestOnly,
+      ImageStreamDeliveryPolicy.boundedQueue =>
+        PlatformImageStreamDeliveryPolicy.boundedQueue,
+      ImageStreamDeliveryPolicy.dropWhileBusy =>
+        PlatformImageStreamDeliveryPolicy.dropWhileBusy,
+    };
+
+/// Converts an [ImageStreamTransport] to [PlatformImageStreamTransport].
+PlatformImageStreamTransport imageStreamTransportToPlatform(
+        ImageStreamTransport transport) =>
+    switch (transport) {
+      ImageStreamTransport.messageChannel =>
+        PlatformImageStreamTransport.messageChannel,
+      ImageStreamTransport.sharedMemory =>
+        PlatformImageStreamTransport.sharedMemory,
+    };
+
+/// Converts a [PictureDestination] to [PlatformPictureDestination].
+PlatformPictureDestination pictureDestinationToPlatform(
+        PictureDestination destination) =>
+    switch (destination) {
+      PictureDestination.cacheFile => PlatformPictureDestination.cacheFile,
+      PictureDestination.mediaStore => PlatformPictureDestination.mediaStore,
+    };
+
+/// Converts an [ImageStreamRegion] to [PlatformImageStreamRegion].
+PlatformImageStreamRegion imageStreamRegionToPlatform(
+        ImageStreamRegion region) =>
+    PlatformImageStreamRegion(
+      cropLeft: region.crop?.left,
+      cropTop: region.crop?.top,
+      cropWidth: region.crop?.width,
+      cropHeight: region.crop?.height,
+      downsampleFactor: region.downsampleFactor,
+      lumaOnly: region.lumaOnly,
+    );
+
+/// Converts a [PlatformCaptureStage] to [CaptureStage].
+CaptureStage captureStageFromPlatform(PlatformCaptureStage stage) =>
+    switch (stage) {
+      PlatformCaptureStage.autoFocus => CaptureStage.autoFocus,
+      PlatformCaptureStage.precapture => CaptureStage.precapture,
+      PlatformCaptureStage.sensorExposure => CaptureStage.sensorExposure,
+      PlatformCaptureStage.jpegAvailable => CaptureStage.jpegAvailable,
+      PlatformCaptureStage.processing => CaptureStage.processing,
+      PlatformCaptureStage.delivery => CaptureStage.delivery,
+      PlatformCaptureStage.total => CaptureStage.total,
+    };
@@ -87,11 +87,37 @@ class PlatformCapturedImageData {
     required this.bytes,
     required this.width,
     required this.height,
+    this.thumbnailBytes,
+    this.thumbnailWidth,
+    this.thumbnailHeight,
   });
 
   final Uint8List bytes;
   final int width;
   final int height;
+
+  /// A smaller JPEG of the same capture, when a thumbnail was requested.
+  final Uint8List? thumbnailBytes;
+  final int? thumbnailWidth;
+  final int? thumbnailHeight;
+}
+
+/// Pigeon version of CaptureToMemoryOptions.
+class PlatformCaptureToMemoryOptions {
+  PlatformCaptureToMemoryOptions({
+    this.maxDimension,
+    required this.quality,
+    this.thumbnailMaxDimension,
+  });
+
+  /// The longest side of the image in pixels, or null for the full size.
+  final int? maxDimension;
+
+  /// The JPEG quality that scaled images are encoded with, from 1 to 100.
+  final int quality;
+
+  /// The longest side of the thumbnail in pixels, or null for no thumbnail.
+  final int? thumbnailMaxDimension;
 }
 
 /// Pigeon equivalent of [ResolutionPreset].
@@ -135,6 +161,211 @@ enum PlatformFlashMode {
   torch,
 }
 
+/// How image stream frames are delivered while Dart is still busy with earlier
+/// frames.
+enum PlatformImageStreamDeliveryPolicy {
+  /// Keeps only the most recent frame and sends it once Dart catches up.
+  latestOnly,
+
+  /// Sends frames until the given number are waiting on Dart, then drops new
+  /// frames.
+  boundedQueue,
+
+  /// Drops every frame that arrives while Dart is busy with an earlier frame.
+  dropWhileBusy,
+}
+
+/// The stages of a still capture whose latency is measured, each running from
+/// the end of the previous stage that took place.
+enum PlatformCaptureStage {
+  /// From the capture request until autofocus has locked.
+  autoFocus,
+
+  /// Until the auto-exposure precapture sequence has converged.
+  precapture,
+
+  /// Until the sensor starts exposing the still frame.
+  sensorExposure,
+
+  /// Until the camera has produced the JPEG.
+  jpegAvailable,
+
+  /// Until the image has been processed in memory or saved to a file.
+  processing,
+
+  /// Until the result has been handed back to Dart.
+  delivery,
+
+  /// From the capture request until the result was handed back to Dart.
+  total,
+}
+
+/// How the planes of image stream frames are transferred to Dart.
+enum PlatformImageStreamTransport {
+  /// The plane bytes are sent through the image stream event channel.
+  messageChannel,
+
+  /// The planes are written into a memory-mapped file that Dart maps as well,
+  /// and only their offsets are sent through the event channel.
+  sharedMemory,
+}
+
+/// Where pictures taken to a file are saved.
+enum PlatformPictureDestination {
+  /// A file in the app's cache directory, returned by its path.
+  cacheFile,
+
+  /// A new item in the shared pictures collection of the media store,
+  /// returned by its content URI.
+  mediaStore,
+}
+
+/// Frame delivery counters for the image stream.
+class PlatformImageStreamStats {
+  PlatformImageStreamStats(
+      {required this.deliveredFrames, required this.droppedFrames});
+
+  final int deliveredFrames;
+  final int droppedFrames;
+}
+
+/// Queue depths and completed task counts of the still capture executors.
+class PlatformCaptureExecutorStats {
+  PlatformCaptureExecutorStats({
+    required this.processingQueueDepth,
+    required this.processingMaxQueueDepth,
+    required this.processingCompletedTasks,
+    required this.ioQueueDepth,
+    required this.ioMaxQueueDepth,
+    required this.ioCompletedTasks,
+  });
+
+  final int processingQueueDepth;
+  final int processingMaxQueueDepth;
+  final int processingCompletedTasks;
+  final int ioQueueDepth;
+  final int ioMaxQueueDepth;
+  final int ioCompletedTasks;
+}
+
+/// A single frame of a burst capture.
+class PlatformBurstFrame {
+  PlatformBurstFrame({
+    required this.sensorTimestamp,
+    this.path,
+    this.bytes,
+    required this.width,
+    required this.height,
+  });
+
+  /// The sensor timestamp of the frame, in nanoseconds.
+  final int sensorTimestamp;
+
+  /// The path of the saved JPEG, when capturing to files.
+  final String? path;
+
+  /// The JPEG bytes, when capturing to memory.
+  final Uint8List? bytes;
+  final int width;
+  final int height;
+}
+
+/// Latency histogram of one stage of still capture.
+class PlatformCaptureStageMetrics {
+  PlatformCaptureStageMetrics({
+    required this.stage,
+    required this.count,
+    required this.totalMicros,
+    required this.minMicros,
+    required this.maxMicros,
+    required this.bucketCounts,
+  });
+
+  final PlatformCaptureStage stage;
+  final int count;
+  final int totalMicros;
+  final int minMicros;
+  final int maxMicros;
+
+  /// The number of durations in each bucket of
+  /// [PlatformCaptureMetrics.bucketUpperBoundsMicros], followed by the number
+  /// of longer durations.
+  final List<int> bucketCounts;
+}
+
+/// Latency histograms of the still captures taken by a camera.
+class PlatformCaptureMetrics {
+  PlatformCaptureMetrics({
+    required this.bucketUpperBoundsMicros,
+    required this.stages,
+    required this.fastCaptureCount,
+    required this.sequencedCaptureCount,
+  });
+
+  /// The exclusive upper bounds of the histogram buckets.
+  final List<int> bucketUpperBoundsMicros;
+
+  /// The stages that have been measured at least once.
+  final List<PlatformCaptureStageMetrics> stages;
+
+  /// The number of captures that skipped the focus and precapture sequence.
+  final int fastCaptureCount;
+
+  /// The number of captures that ran the focus and precapture sequence.
+  final int sequencedCaptureCount;
+}
+
+/// How long the stages of opening a camera took, or null for the stages that
+/// have not been reached.
+class PlatformStartupTrace {
+  PlatformStartupTrace({
+    this.deviceOpenedMicros,
+    this.sessionConfiguredMicros,
+    this.firstFrameMicros,
+  });
+
+  /// The time from the open request until the camera device was opened.
+  final int? deviceOpenedMicros;
+
+  /// The time from the open request until the preview session was
+  /// configured.
+  final int? sessionConfiguredMicros;
+
+  /// The time from the open request until the first preview frame was
+  /// captured.
+  final int? firstFrameMicros;
+}
+
+/// Which part of each image stream frame is sent, and at what resolution.
+class PlatformImageStreamRegion {
+  PlatformImageStreamRegion({
+    this.cropLeft,
+    this.cropTop,
+    this.cropWidth,
+    this.cropHeight,
+    required this.downsampleFactor,
+    required this.lumaOnly,
+  });
+
+  /// The first column to send, or null to send the whole frame.
+  final int? cropLeft;
+
+  /// The first row to send, or null to send the whole frame.
+  final int? cropTop;
+
+  /// The number of columns to send, or null to send the whole frame.
+  final int? cropWidth;
+
+  /// The number of rows to send, or null to send the whole frame.
+  final int? cropHeight;
+
+  /// Only every nth pixel of every nth row is sent.
+  final int downsampleFactor;
+
+  /// Whether only the Y plane is sent.
+  final bool lumaOnly;
+}
+
 /// Handles calls from Dart to the native side.
 @HostApi()
 abstract class CameraApi {
@@ -181,6 +412,86 @@ abstract class CameraApi {
   /// Stops streaming frames from the camera.
   void stopImageStream();
 
+  /// Called by the Dart side when it has received an image stream frame.
+  ///
+  /// This is used to throttle sending frames across the channel.
+  void receivedImageStreamData();
+
+  /// Sets how image stream frames are delivered while Dart is busy.
+  ///
+  /// [maxPendingFrames] is the number of frames that may be waiting on Dart
+  /// at once when using [PlatformImageStreamDeliveryPolicy.boundedQueue].
+  void setImageStreamDeliveryPolicy(
+      PlatformImageStreamDeliveryPolicy policy, int maxPendingFrames);
+
+  /// Sets how many images the native image stream buffers, which takes effect
+  /// the next time the image stream is started.
+  void setImageStreamBufferCount(int bufferCount);
+
+  /// Sets how the planes of image stream frames are transferred to Dart, which
+  /// takes effect the next time the image stream is started.
+  void setImageStreamTransport(PlatformImageStreamTransport transport);
+
+  /// Sets which part of each image stream frame is sent, and at what
+  /// resolution.
+  void setImageStreamRegion(PlatformImageStreamRegion region);
+
+  /// Limits the image stream to at most [maxFramesPerSecond], or no limit when
+  /// null, and to every [frameStride]th frame, independently of the frame rate
+  /// of the session.
+  void setImageStreamFrameRateLimit(
+      double? maxFramesPerSecond, int frameStride);
+
+  /// Returns the number of image stream frames delivered to and dropped before
+  /// Dart since the image stream was last started.
+  PlatformImageStreamStats getImageStreamStats();
+
+  /// Returns the queue depths of the executors that process and save still
+  /// captures.
+  PlatformCaptureExecutorStats getCaptureExecutorStats();
+
+  /// Sets whether preview sessions keep recent full-resolution frames so that
+  /// [captureToMemory] can return one immediately, which takes effect the next
+  /// time the preview is started.
+  void setZeroShutterLagEnabled(bool enabled);
+
+  /// Returns whether the current preview session keeps recent frames for zero
+  /// shutter lag captures. False when they are disabled or the device could
+  /// not configure a session with the extra stream.
+  bool isZeroShutterLagActive();
+
+  /// Sets whether still captures are taken immediately when autofocus and
+  /// auto-exposure have already converged and the flash is not needed.
+  void setFastCaptureEnabled(bool enabled);
+
+  /// Sets whether pictures taken to a file are forced to storage before their
+  /// path is returned.
+  void setSyncPictureFilesEnabled(bool enabled);
+
+  /// Sets where pictures taken to a file are saved, which takes effect from
+  /// the next capture.
+  void setPictureDestination(PlatformPictureDestination destination);
+
+  /// Sets the Android memory trim levels from which pooled camera buffers are
+  /// released and the image stream is paused, or never when null. Both are
+  /// restored once the app is back in the foreground.
+  void setMemoryTrimLevels(
+      int? releaseBuffersLevel, int? pauseImageStreamLevel);
+
+  /// Sets whether preview sessions are configured with the outputs of every
+  /// mode up front, so that starting the image stream or a recording does not
+  /// configure a new session. Takes effect the next time the preview is
+  /// started.
+  void setSupersetSessionEnabled(bool enabled);
+
+  /// Returns latency histograms for each stage of the still captures taken
+  /// since the camera was created.
+  PlatformCaptureMetrics getCaptureMetrics();
+
+  /// Returns how long the stages of the last time the camera was opened
+  /// took.
+  PlatformStartupTrace getStartupTrace();
+
   /// Sets the flash mode of the camera with the given ID.
   @async
   void setFlashMode(PlatformFlashMode flashMode);
@@ -245,8 +556,19 @@ abstract class CameraApi {
   /// The image is captured at the camera's current resolution and compressed
   /// as JPEG. Orientation is automatically handled based on the device's
   /// current orientation.
+  ///
+  /// When [options] are given, the image is scaled down to fit them before it
+  /// is returned, and a thumbnail can be returned along with it.
+  @async
+  PlatformCapturedImageData captureToMemory(
+      PlatformCaptureToMemoryOptions? options);
+
+  /// Captures [count] still images back to back, without running the
+  /// precapture sequence in between, and returns them in capture order.
+  ///
+  /// The images are saved to files unless [toMemory] is true.
   @async
-  PlatformCapturedImageData captureToMemory();
+  List<PlatformBurstFrame> captureBurst(int count, bool toMemory);
 }
 
 /// Handles calls from native side to Dart that are not camera-specific.
@@ -7,7 +7,14 @@ import 'dart:math';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/burst_frame.dart';
+import 'package:camera_android/src/capture_metrics.dart';
+import 'package:camera_android/src/capture_stats.dart';
+import 'package:camera_android/src/capture_to_memory_options.dart';
+import 'package:camera_android/src/image_stream_settings.dart';
+import 'package:camera_android/src/memory_trim_policy.dart';
 import 'package:camera_android/src/messages.g.dart';
+import 'package:camera_android/src/picture_destination.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
@@ -743,6 +750,45 @@ void main() {
       await subscription.cancel();
     });
 
+    test('Should acknowledge a frame after the listener has handled it',
+        () async {
+      // Arrange
+      const EventChannel imageStreamChannel =
+          EventChannel('plugins.flutter.io/camera_android/imageStream');
+      final MockStreamHandler streamHandler = MockStreamHandler.inline(
+          onListen: (Object? arguments, MockStreamHandlerEventSink events) {
+        events.success(<String, Object?>{
+          'format': 35,
+          'height': 1,
+          'width': 1,
+          'planes': <Object?>[],
+        });
+      });
+      TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .setMockStreamHandler(imageStreamChannel, streamHandler);
+      final List<String> calls = <String>[];
+      final Completer<void> acknowledged = Completer<void>();
+      when(mockCameraApi.receivedImageStreamData()).thenAnswer((_) async {
+        calls.add('acknowledged');
+        acknowledged.complete();
+      });
+
+      // Act
+      final StreamSubscription<CameraImageData> subscription = camera
+          .onStreamedFrameAvailable(cameraId)
+          .listen((CameraImageData imageData) {
+        calls.add('handled');
+      });
+      await acknowledged.future;
+
+      // Assert
+      expect(calls, <String>['handled', 'acknowledged']);
+
+      await subscription.cancel();
+      TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .setMockStreamHandler(imageStreamChannel, null);
+    });
+
     test('Should stop streaming', () async {
       // Arrange
       // Act
@@ -755,5 +801,380 @@ void main() {
       verify(mockCameraApi.startImageStream()).called(1);
       verify(mockCameraApi.stopImageStream()).called(1);
     });
+
+    test('Should set the image stream delivery policy', () async {
+      // Arrange
+      // Act
+      await camera.setImageStreamDeliveryPolicy(
+          cameraId, ImageStreamDeliveryPolicy.boundedQueue,
+          maxPendingFrames: 2);
+
+      // Assert
+      verify(mockCameraApi.setImageStreamDeliveryPolicy(
+              PlatformImageStreamDeliveryPolicy.boundedQueue, 2))
+          .called(1);
+    });
+
+    test(
+        'Should throw CameraException when an invalid delivery policy is supplied',
+        () async {
+      // Arrange
+      when(mockCameraApi.setImageStreamDeliveryPolicy(
+              PlatformImageStreamDeliveryPolicy.boundedQueue, 0))
+          .thenThrow(PlatformException(
+              code: 'IllegalArgumentException',
+              message: 'maxPendingFrames must be at least 1.'));
+
+      // Act & assert
+      expect(
+          () => camera.setImageStreamDeliveryPolicy(
+              cameraId, ImageStreamDeliveryPolicy.boundedQueue,
+              maxPendingFrames: 0),
+          throwsA(isA<CameraException>().having((CameraException e) => e.code,
+              'code', 'IllegalArgumentException')));
+    });
+
+    test('Should set the image stream buffer count', () async {
+      // Act
+      await camera.setImageStreamBufferCount(cameraId, 4);
+
+      // Assert
+      verify(mockCameraApi.setImageStreamBufferCount(4)).called(1);
+    });
+
+    test(
+        'Should throw CameraException when an invalid buffer count is supplied',
+        () async {
+      // Arrange
+      when(mockCameraApi.setImageStreamBufferCount(1)).thenThrow(
+          PlatformException(
+              code: 'IllegalArgumentException',
+              message: 'bufferCount must be at least 2.'));
+
+      // Act & assert
+      expect(
+          () => camera.setImageStreamBufferCount(cameraId, 1),
+          throwsA(isA<CameraException>().having((CameraException e) => e.code,
+              'code', 'IllegalArgumentException')));
+    });
+
+    test('Should set the image stream transport', () async {
+      // Act
+      await camera.setImageStreamTransport(
+          cameraId, ImageStreamTransport.sharedMemory);
+
+      // Assert
+      verify(mockCameraApi.setImageStreamTransport(
+              PlatformImageStreamTransport.sharedMemory))
+          .called(1);
+    });
+
+    test('Should set the image stream region', () async {
+      // Act
+      await camera.setImageStreamRegion(
+          cameraId, const ImageStreamRegion(downsampleFactor: 2));
+
+      // Assert
+      final PlatformImageStreamRegion region =
+          verify(mockCameraApi.setImageStreamRegion(captureAny)).captured.single
+              as PlatformImageStreamRegion;
+      expect(region.downsampleFactor, 2);
+      expect(region.lumaOnly, false);
+    });
+
+    test(
+        'Should throw CameraException when an invalid image stream region is supplied',
+        () async {
+      // Arrange
+      when(mockCameraApi.setImageStreamRegion(any)).thenThrow(PlatformException(
+          code: 'IllegalArgumentException',
+          message: 'downsampleFactor must be at least 1.'));
+
+      // Act & assert
+      expect(
+          () => camera.setImageStreamRegion(
+              cameraId, const ImageStreamRegion(downsampleFactor: 0)),
+          throwsA(isA<CameraException>().having((CameraException e) => e.code,
+              'code', 'IllegalArgumentException')));
+    });
+
+    test('Should set the image stream frame rate limit', () async {
+      // Act
+      await camera.setImageStreamFrameRateLimit(cameraId,
+          maxFramesPerSecond: 10, frameStride: 2);
+
+      // Assert
+      verify(mockCameraApi.setImageStreamFrameRateLimit(10, 2)).called(1);
+    });
+
+    test('Should enable zero shutter lag', () async {
+      // Act
+      await camera.setZeroShutterLagEnabled(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setZeroShutterLagEnabled(true)).called(1);
+    });
+
+    test('Should report whether zero shutter lag is active', () async {
+      // Arrange
+      when(mockCameraApi.isZeroShutterLagActive())
+          .thenAnswer((_) async => false);
+
+      // Act
+      final bool active = await camera.isZeroShutterLagActive(cameraId);
+
+      // Assert
+      expect(active, isFalse);
+      verify(mockCameraApi.isZeroShutterLagActive()).called(1);
+    });
+
+    test('Should enable fast capture', () async {
+      // Act
+      await camera.setFastCaptureEnabled(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setFastCaptureEnabled(true)).called(1);
+    });
+
+    test('Should enable syncing picture files', () async {
+      // Act
+      await camera.setSyncPictureFilesEnabled(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setSyncPictureFilesEnabled(true)).called(1);
+    });
+
+    test('Should set the picture destination', () async {
+      // Act
+      await camera.setPictureDestination(
+          cameraId, PictureDestination.mediaStore);
+
+      // Assert
+      verify(mockCameraApi.setPictureDestination(
+              PlatformPictureDestination.mediaStore))
+          .called(1);
+    });
+
+    test('Should set the memory trim levels', () async {
+      // Act
+      await camera.setMemoryTrimPolicy(
+          cameraId,
+          const MemoryTrimPolicy(
+              releaseBuffersLevel: MemoryTrimLevel.runningCritical));
+
+      // Assert
+      verify(mockCameraApi.setMemoryTrimLevels(15, 20)).called(1);
+    });
+
+    test('Should never trim memory with the never policy', () async {
+      // Act
+      await camera.setMemoryTrimPolicy(
+          cameraId, const MemoryTrimPolicy.never());
+
+      // Assert
+      verify(mockCameraApi.setMemoryTrimLevels(null, null)).called(1);
+    });
+
+    test('Should enable superset sessions', () async {
+      // Act
+      await camera.setSupersetSessionEnabled(cameraId, true);
+
+      // Assert
+      verify(mockCameraApi.setSupersetSessionEnabled(true)).called(1);
+    });
+
+    test('Should get the image stream stats', () async {
+      // Arrange
+      when(mockCameraApi.getImageStreamStats()).thenAnswer((_) async =>
+          PlatformImageStreamStats(deliveredFrames: 10, droppedFrames: 4));
+
+      // Act
+      final ImageStreamStats stats = await camera.getImageStreamStats(cameraId);
+
+      // Assert
+      expect(stats,
+          const ImageStreamStats(deliveredFrames: 10, droppedFrames: 4));
+    });
+
+    test('Should capture to memory at full size without options', () async {
+      // Arrange
+      final Uint8List bytes = Uint8List.fromList(<int>[1, 2, 3]);
+      when(mockCameraApi.captureToMemory(null)).thenAnswer((_) async =>
+          PlatformCapturedImageData(bytes: bytes, width: 4000, height: 3000));
+
+      // Act
+      final CapturedImageData data = await camera.captureToMemory(cameraId);
+
+      // Assert
+      expect(data.bytes, bytes);
+      expect(data.width, 4000);
+      expect(data.height, 3000);
+    });
+
+    test('Should capture to memory with a thumbnail', () async {
+      // Arrange
+      final Uint8List bytes = Uint8List.fromList(<int>[1, 2, 3]);
+      final Uint8List thumbnailBytes = Uint8List.fromList(<int>[4, 5]);
+      when(mockCameraApi.captureToMemory(any)).thenAnswer((_) async =>
+          PlatformCapturedImageData(
+              bytes: bytes,
+              width: 1280,
+              height: 960,
+              thumbnailBytes: thumbnailBytes,
+              thumbnailWidth: 256,
+              thumbnailHeight: 192));
+
+      // Act
+      final AndroidCapturedImageData data = await camera.captureToMemory(
+          cameraId,
+          options: const CaptureToMemoryOptions(
+              maxDimension: 1280, quality: 80, thumbnailMaxDimension: 256));
+
+      // Assert
+      final PlatformCaptureToMemoryOptions options =
+          verify(mockCameraApi.captureToMemory(captureAny)).captured.single
+              as PlatformCaptureToMemoryOptions;
+      expect(options.maxDimension, 1280);
+      expect(options.quality, 80);
+      expect(options.thumbnailMaxDimension, 256);
+      expect(data.width, 1280);
+      expect(data.thumbnail?.bytes, thumbnailBytes);
+      expect(data.thumbnail?.width, 256);
+      expect(data.thumbnail?.height, 192);
+    });
+
+    test('Should get the capture metrics', () async {
+      // Arrange
+      when(mockCameraApi.getCaptureMetrics()).thenAnswer((_) async =>
+          PlatformCaptureMetrics(
+              bucketUpperBoundsMicros: <int>[1000, 2000],
+              stages: <PlatformCaptureStageMetrics>[
+                PlatformCaptureStageMetrics(
+                    stage: PlatformCaptureStage.processing,
+                    count: 2,
+                    totalMicros: 3000,
+                    minMicros: 1000,
+                    maxMicros: 2000,
+                    bucketCounts: <int>[0, 1, 1]),
+              ],
+              fastCaptureCount: 3,
+              sequencedCaptureCount: 1));
+
+      // Act
+      final CaptureMetrics metrics = await camera.getCaptureMetrics(cameraId);
+
+      // Assert
+      expect(metrics.bucketUpperBounds, const <Duration>[
+        Duration(milliseconds: 1),
+        Duration(milliseconds: 2),
+      ]);
+      final CaptureStageMetrics? processing =
+          metrics.stages[CaptureStage.processing];
+      expect(processing?.count, 2);
+      expect(processing?.mean, const Duration(microseconds: 1500));
+      expect(processing?.max, const Duration(milliseconds: 2));
+      expect(processing?.bucketCounts, <int>[0, 1, 1]);
+      expect(metrics.stages.containsKey(CaptureStage.total), isFalse);
+      expect(metrics.fastCaptureCount, 3);
+      expect(metrics.sequencedCaptureCount, 1);
+    });
+
+    test('Should get the startup trace', () async {
+      // Arrange
+      when(mockCameraApi.getStartupTrace()).thenAnswer((_) async =>
+          PlatformStartupTrace(
+              deviceOpenedMicros: 120000, sessionConfiguredMicros: 250000));
+
+      // Act
+      final StartupTrace trace = await camera.getStartupTrace(cameraId);
+
+      // Assert
+      expect(trace.deviceOpened, const Duration(milliseconds: 120));
+      expect(trace.sessionConfigured, const Duration(milliseconds: 250));
+      expect(trace.firstFrame, isNull);
+    });
+
+    test('Should capture a burst to memory', () async {
+      // Arrange
+      final Uint8List bytes = Uint8List.fromList(<int>[1, 2, 3]);
+      when(mockCameraApi.captureBurst(2, true)).thenAnswer((_) async =>
+          <PlatformBurstFrame>[
+            PlatformBurstFrame(
+                sensorTimestamp: 100, bytes: bytes, width: 4, height: 3),
+            PlatformBurstFrame(
+                sensorTimestamp: 200, bytes: bytes, width: 4, height: 3),
+          ]);
+
+      // Act
+      final List<BurstFrame> frames =
+          await camera.captureBurst(cameraId, 2, toMemory: true);
+
+      // Assert
+      expect(frames.length, 2);
+      expect(frames[0].sensorTimestamp, 100);
+      expect(frames[0].bytes, bytes);
+      expect(frames[0].file, isNull);
+      expect(frames[1].sensorTimestamp, 200);
+      expect(frames[1].width, 4);
+      expect(frames[1].height, 3);
+    });
+
+    test('Should capture a burst to files', () async {
+      // Arrange
+      when(mockCameraApi.captureBurst(1, false)).thenAnswer((_) async =>
+          <PlatformBurstFrame>[
+            PlatformBurstFrame(
+                sensorTimestamp: 100,
+                path: '/cache/CAP1.jpg',
+                width: 4,
+                height: 3),
+          ]);
+
+      // Act
+      final List<BurstFrame> frames = await camera.captureBurst(cameraId, 1);
+
+      // Assert
+      expect(frames.single.file?.path, '/cache/CAP1.jpg');
+      expect(frames.single.bytes, isNull);
+    });
+
+    test('Should throw CameraException when a burst fails', () async {
+      // Arrange
+      when(mockCameraApi.captureBurst(11, false)).thenThrow(PlatformException(
+          code: 'IllegalArgumentException',
+          message: 'count must be between 1 and 10.'));
+
+      // Act & assert
+      expect(
+          () => camera.captureBurst(cameraId, 11),
+          throwsA(isA<CameraException>().having((CameraException e) => e.code,
+              'code', 'IllegalArgumentException')));
+    });
+
+    test('Should get the capture executor stats', () async {
+      // Arrange
+      when(mockCameraApi.getCaptureExecutorStats()).thenAnswer((_) async =>
+          PlatformCaptureExecutorStats(
+              processingQueueDepth: 1,
+              processingMaxQueueDepth: 2,
+              processingCompletedTasks: 3,
+              ioQueueDepth: 0,
+              ioMaxQueueDepth: 1,
+              ioCompletedTasks: 4));
+
+      // Act
+      final CaptureExecutorStats stats = await camera.getCaptureExecutorStats();
+
+      // Assert
+      expect(
+          stats,
+          const CaptureExecutorStats(
+              processingQueueDepth: 1,
+              processingMaxQueueDepth: 2,
+              processingCompletedTasks: 3,
+              ioQueueDepth: 0,
+              ioMaxQueueDepth: 1,
+              ioCompletedTasks: 4));
+    });
   });
 }
@@ -22,6 +22,61 @@ import 'package:mockito/src/dummies.dart' as _i3;
 // ignore_for_file: camel_case_types
 // ignore_for_file: subtype_of_sealed_class
 
+class _FakePlatformImageStreamStats_0 extends _i1.SmartFake
+    implements _i2.PlatformImageStreamStats {
+  _FakePlatformImageStreamStats_0(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformCaptureExecutorStats_1 extends _i1.SmartFake
+    implements _i2.PlatformCaptureExecutorStats {
+  _FakePlatformCaptureExecutorStats_1(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformCapturedImageData_2 extends _i1.SmartFake
+    implements _i2.PlatformCapturedImageData {
+  _FakePlatformCapturedImageData_2(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformCaptureMetrics_3 extends _i1.SmartFake
+    implements _i2.PlatformCaptureMetrics {
+  _FakePlatformCaptureMetrics_3(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformStartupTrace_4 extends _i1.SmartFake
+    implements _i2.PlatformStartupTrace {
+  _FakePlatformStartupTrace_4(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
 /// A class which mocks [CameraApi].
 ///
 /// See the documentation for Mockito's code generation for more information.
@@ -210,6 +265,291 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
         returnValueForMissingStub: _i4.Future<void>.value(),
       ) as _i4.Future<void>);
 
+  @override
+  _i4.Future<void> receivedImageStreamData() => (super.noSuchMethod(
+        Invocation.method(
+          #receivedImageStreamData,
+          [],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setImageStreamDeliveryPolicy(
+    _i2.PlatformImageStreamDeliveryPolicy? policy,
+    int? maxPendingFrames,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setImageStreamDeliveryPolicy,
+          [
+            policy,
+            maxPendingFrames,
+          ],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setImageStreamBufferCount(int? bufferCount) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setImageStreamBufferCount,
+          [bufferCount],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setImageStreamTransport(
+          _i2.PlatformImageStreamTransport? transport) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setImageStreamTransport,
+          [transport],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setImageStreamRegion(
+          _i2.PlatformImageStreamRegion? region) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setImageStreamRegion,
+          [region],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setImageStreamFrameRateLimit(
+    double? maxFramesPerSecond,
+    int? frameStride,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setImageStreamFrameRateLimit,
+          [
+            maxFramesPerSecond,
+            frameStride,
+          ],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setZeroShutterLagEnabled(bool? enabled) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setZeroShutterLagEnabled,
+          [enabled],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<bool> isZeroShutterLagActive() => (super.noSuchMethod(
+        Invocation.method(
+          #isZeroShutterLagActive,
+          [],
+        ),
+        returnValue: _i4.Future<bool>.value(false),
+        returnValueForMissingStub: _i4.Future<bool>.value(false),
+      ) as _i4.Future<bool>);
+
+  @override
+  _i4.Future<void> setFastCaptureEnabled(bool? enabled) => (super.noSuchMethod(
+        Invocation.method(
+          #setFastCaptureEnabled,
+          [enabled],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setSyncPictureFilesEnabled(bool? enabled) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setSyncPictureFilesEnabled,
+          [enabled],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setPictureDestination(
+          _i2.PlatformPictureDestination? destination) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setPictureDestination,
+          [destination],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setMemoryTrimLevels(
+    int? releaseBuffersLevel,
+    int? pauseImageStreamLevel,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setMemoryTrimLevels,
+          [
+            releaseBuffersLevel,
+            pauseImageStreamLevel,
+          ],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<void> setSupersetSessionEnabled(bool? enabled) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setSupersetSessionEnabled,
+          [enabled],
+        ),
+        returnValue: _i4.Future<void>.value(),
+        returnValueForMissingStub: _i4.Future<void>.value(),
+      ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<_i2.PlatformCaptureMetrics> getCaptureMetrics() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getCaptureMetrics,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformCaptureMetrics>.value(
+            _FakePlatformCaptureMetrics_3(
+          this,
+          Invocation.method(
+            #getCaptureMetrics,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformCaptureMetrics>.value(
+                _FakePlatformCaptureMetrics_3(
+          this,
+          Invocation.method(
+            #getCaptureMetrics,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformCaptureMetrics>);
+
+  @override
+  _i4.Future<_i2.PlatformStartupTrace> getStartupTrace() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getStartupTrace,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformStartupTrace>.value(
+            _FakePlatformStartupTrace_4(
+          this,
+          Invocation.method(
+            #getStartupTrace,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformStartupTrace>.value(
+                _FakePlatformStartupTrace_4(
+          this,
+          Invocation.method(
+            #getStartupTrace,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformStartupTrace>);
+
+  @override
+  _i4.Future<_i2.PlatformImageStreamStats> getImageStreamStats() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getImageStreamStats,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformImageStreamStats>.value(
+            _FakePlatformImageStreamStats_0(
+          this,
+          Invocation.method(
+            #getImageStreamStats,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformImageStreamStats>.value(
+                _FakePlatformImageStreamStats_0(
+          this,
+          Invocation.method(
+            #getImageStreamStats,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformImageStreamStats>);
+
+  @override
+  _i4.Future<_i2.PlatformCaptureExecutorStats> getCaptureExecutorStats() =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #getCaptureExecutorStats,
+          [],
+        ),
+        returnValue: _i4.Future<_i2.PlatformCaptureExecutorStats>.value(
+            _FakePlatformCaptureExecutorStats_1(
+          this,
+          Invocation.method(
+            #getCaptureExecutorStats,
+            [],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformCaptureExecutorStats>.value(
+                _FakePlatformCaptureExecutorStats_1(
+          this,
+          Invocation.method(
+            #getCaptureExecutorStats,
+            [],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformCaptureExecutorStats>);
+
+  @override
+  _i4.Future<List<_i2.PlatformBurstFrame>> captureBurst(
+    int? count,
+    bool? toMemory,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #captureBurst,
+          [
+            count,
+            toMemory,
+          ],
+        ),
+        returnValue: _i4.Future<List<_i2.PlatformBurstFrame>>.value(
+            <_i2.PlatformBurstFrame>[]),
+        returnValueForMissingStub:
+            _i4.Future<List<_i2.PlatformBurstFrame>>.value(
+                <_i2.PlatformBurstFrame>[]),
+      ) as _i4.Future<List<_i2.PlatformBurstFrame>>);
+
   @override
   _i4.Future<void> setFlashMode(_i2.PlatformFlashMode? flashMode) =>
       (super.noSuchMethod(
@@ -365,4 +705,31 @@ class MockCameraApi extends _i1.Mock implements _i2.CameraApi {
         returnValue: _i4.Future<void>.value(),
         returnValueForMissingStub: _i4.Future<void>.value(),
       ) as _i4.Future<void>);
+
+  @override
+  _i4.Future<_i2.PlatformCapturedImageData> captureToMemory(
+          _i2.PlatformCaptureToMemoryOptions? options) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #captureToMemory,
+          [options],
+        ),
+        returnValue: _i4.Future<_i2.PlatformCapturedImageData>.value(
+            _FakePlatformCapturedImageData_2(
+          this,
+          Invocation.method(
+            #captureToMemory,
+            [options],
+          ),
+        )),
+        returnValueForMissingStub:
+            _i4.Future<_i2.PlatformCapturedImageData>.value(
+                _FakePlatformCapturedImageData_2(
+          this,
+          Invocation.method(
+            #captureToMemory,
+            [options],
+          ),
+        )),
+      ) as _i4.Future<_i2.PlatformCapturedImageData>);
 }
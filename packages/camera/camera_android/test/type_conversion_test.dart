@@ -4,6 +4,7 @@
 
 import 'dart:typed_data';
 
+import 'package:camera_android/src/android_camera_image_data.dart';
 import 'package:camera_android/src/type_conversion.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter_test/flutter_test.dart';
@@ -77,4 +78,70 @@ void main() {
     });
     expect(cameraImage.format.group, ImageFormatGroup.nv21);
   });
+
+  test('CameraImageData planes are views of the frame ring', () {
+    final Uint8List ring = Uint8List.fromList(<int>[0, 0, 1, 2, 3, 4, 5, 6]);
+    String? mappedPath;
+    final CameraImageData cameraImage =
+        cameraImageFromPlatformData(<dynamic, dynamic>{
+      'format': 35,
+      'height': 1,
+      'width': 2,
+      'ringPath': '/cache/image_stream_ring.bin',
+      'ringSize': 8,
+      'planes': <dynamic>[
+        <dynamic, dynamic>{
+          'offset': 2,
+          'length': 2,
+          'bytesPerPixel': 1,
+          'bytesPerRow': 2,
+        },
+        <dynamic, dynamic>{
+          'offset': 4,
+          'length': 4,
+          'bytesPerPixel': 2,
+          'bytesPerRow': 4,
+        }
+      ]
+    }, mapFrameRing: (String path, int size) {
+      mappedPath = path;
+      expect(size, 8);
+      return ring;
+    });
+
+    expect(mappedPath, '/cache/image_stream_ring.bin');
+    expect(cameraImage.planes[0].bytes, <int>[1, 2]);
+    expect(cameraImage.planes[1].bytes, <int>[3, 4, 5, 6]);
+    expect(cameraImage.planes[1].bytes.buffer, ring.buffer);
+  });
+
+  test('CameraImageData carries the metadata of its capture', () {
+    final CameraImageData cameraImage =
+        cameraImageFromPlatformData(<dynamic, dynamic>{
+      'format': 35,
+      'height': 1,
+      'width': 4,
+      'lensAperture': 1.8,
+      'sensorExposureTime': 9991324,
+      'sensorSensitivity': 92.0,
+      'sensorTimestamp': 123456789,
+      'lensFocusDistance': 2.5,
+      'planes': <dynamic>[
+        <dynamic, dynamic>{
+          'bytes': Uint8List.fromList(<int>[1, 2, 3, 4]),
+          'bytesPerPixel': 1,
+          'bytesPerRow': 4,
+          'height': 1,
+          'width': 4
+        }
+      ]
+    });
+
+    expect(cameraImage, isA<AndroidCameraImageData>());
+    final AndroidCameraImageData androidImage =
+        cameraImage as AndroidCameraImageData;
+    expect(androidImage.sensorTimestamp, 123456789);
+    expect(androidImage.lensFocusDistance, 2.5);
+    expect(androidImage.sensorExposureTime, 9991324);
+  });
 }
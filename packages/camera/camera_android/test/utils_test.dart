@@ -2,7 +2,11 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:math';
+
+import 'package:camera_android/src/image_stream_settings.dart';
 import 'package:camera_android/src/messages.g.dart';
+import 'package:camera_android/src/picture_destination.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
@@ -55,5 +59,61 @@ void main() {
       expect(focusModeFromPlatform(PlatformFocusMode.auto), FocusMode.auto);
       expect(focusModeFromPlatform(PlatformFocusMode.locked), FocusMode.locked);
     });
+
+    test('imageStreamDeliveryPolicyToPlatform() should convert correctly', () {
+      expect(
+          imageStreamDeliveryPolicyToPlatform(
+              ImageStreamDeliveryPolicy.latestOnly),
+          PlatformImageStreamDeliveryPolicy.latestOnly);
+      expect(
+          imageStreamDeliveryPolicyToPlatform(
+              ImageStreamDeliveryPolicy.boundedQueue),
+          PlatformImageStreamDeliveryPolicy.boundedQueue);
+      expect(
+          imageStreamDeliveryPolicyToPlatform(
+              ImageStreamDeliveryPolicy.dropWhileBusy),
+          PlatformImageStreamDeliveryPolicy.dropWhileBusy);
+    });
+
+    test('imageStreamTransportToPlatform() should convert correctly', () {
+      expect(
+          imageStreamTransportToPlatform(ImageStreamTransport.messageChannel),
+          PlatformImageStreamTransport.messageChannel);
+      expect(imageStreamTransportToPlatform(ImageStreamTransport.sharedMemory),
+          PlatformImageStreamTransport.sharedMemory);
+    });
+
+    test('pictureDestinationToPlatform() should convert correctly', () {
+      expect(pictureDestinationToPlatform(PictureDestination.cacheFile),
+          PlatformPictureDestination.cacheFile);
+      expect(pictureDestinationToPlatform(PictureDestination.mediaStore),
+          PlatformPictureDestination.mediaStore);
+    });
+
+    test('imageStreamRegionToPlatform() should convert correctly', () {
+      final PlatformImageStreamRegion region = imageStreamRegionToPlatform(
+          const ImageStreamRegion(
+              crop: Rectangle<int>(10, 20, 300, 200),
+              downsampleFactor: 2,
+              lumaOnly: true));
+      expect(region.cropLeft, 10);
+      expect(region.cropTop, 20);
+      expect(region.cropWidth, 300);
+      expect(region.cropHeight, 200);
+      expect(region.downsampleFactor, 2);
+      expect(region.lumaOnly, true);
+
+      final PlatformImageStreamRegion fullFrame =
+          imageStreamRegionToPlatform(ImageStreamRegion.fullFrame);
+      expect(fullFrame.cropLeft, isNull);
+      expect(fullFrame.downsampleFactor, 1);
+      expect(fullFrame.lumaOnly, false);
+    });
+
+    test('captureStageFromPlatform() should convert correctly', () {
+      for (final PlatformCaptureStage stage in PlatformCaptureStage.values) {
+        expect(captureStageFromPlatform(stage).name, stage.name);
+      }
+    });
   });
 }